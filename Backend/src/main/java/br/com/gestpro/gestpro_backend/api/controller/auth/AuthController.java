@@ -5,7 +5,9 @@ import br.com.gestpro.gestpro_backend.api.dto.auth.AuthDTO.LoginResponse;
 import br.com.gestpro.gestpro_backend.api.dto.auth.AuthDTO.LoginUsuarioDTO;
 import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.service.authService.AuthenticationService;
+import br.com.gestpro.gestpro_backend.domain.service.authService.LimiteTentativasLoginOperation;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,7 +15,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,12 +27,14 @@ import java.util.stream.Collectors;
 public class AuthController {
 
     private final AuthenticationService authService;
+    private final LimiteTentativasLoginOperation limiteLogin;
 
     @Value("${app.base-url}")
     private String baseUrl;
 
-    public AuthController(AuthenticationService authService) {
+    public AuthController(AuthenticationService authService, LimiteTentativasLoginOperation limiteLogin) {
         this.authService = authService;
+        this.limiteLogin = limiteLogin;
     }
 
 
@@ -76,10 +79,11 @@ public class AuthController {
     }
 
 
-    // Login manual
+    // Login manual (limite por IP e por conta antes de qualquer consulta ou BCrypt)
     @PostMapping("/login")
-    @Transactional
-    public ResponseEntity<LoginResponse> loginUsuario(@RequestBody LoginUsuarioDTO loginRequest) {
+    public ResponseEntity<LoginResponse> loginUsuario(@RequestBody LoginUsuarioDTO loginRequest,
+                                                      HttpServletRequest request) {
+        limiteLogin.verificar(request.getRemoteAddr(), loginRequest.email(), "/auth/login");
 
         LoginResponse loginResponse = authService.loginManual(
                 loginRequest.email(),
@@ -1,6 +1,8 @@
 package br.com.gestpro.gestpro_backend.api.controller.auth;
 
+import br.com.gestpro.gestpro_backend.api.dto.auth.jwt.EstatisticasCacheTokensDTO;
 import br.com.gestpro.gestpro_backend.domain.service.authService.UserAuthenticatedService;
+import br.com.gestpro.gestpro_backend.infra.jwt.CacheTokensVerificados;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,9 +12,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserAuthenticatedController {
 
     private final UserAuthenticatedService userAuthenticatedService;
+    private final CacheTokensVerificados cacheTokens;
 
-    public UserAuthenticatedController(UserAuthenticatedService userAuthenticatedService) {
+    public UserAuthenticatedController(UserAuthenticatedService userAuthenticatedService,
+                                       CacheTokensVerificados cacheTokens) {
         this.userAuthenticatedService = userAuthenticatedService;
+        this.cacheTokens = cacheTokens;
     }
 
     @GetMapping("/api/usuario/autenticado")
@@ -21,4 +26,12 @@ public class UserAuthenticatedController {
     ) {
         return userAuthenticatedService.getUsuarioPorToken(token);
     }
+
+    /**
+     * Acertos e faltas do cache de tokens verificados desta instância.
+     */
+    @GetMapping("/api/auth/tokens/estatisticas")
+    public ResponseEntity<EstatisticasCacheTokensDTO> estatisticasTokens() {
+        return ResponseEntity.ok(cacheTokens.estatisticas());
+    }
 }
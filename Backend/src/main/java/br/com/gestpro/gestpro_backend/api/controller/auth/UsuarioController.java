@@ -5,6 +5,7 @@ import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.domain.service.authService.AuthenticationService;
 import br.com.gestpro.gestpro_backend.infra.jwt.JwtService;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
@@ -20,13 +21,16 @@ public class UsuarioController {
     private final JwtService jwtService;
     private final UsuarioRepository usuarioRepository;
     private final AuthenticationService authenticationService;
+    private final RevogacaoTokens revogacaoTokens;
 
     public UsuarioController(JwtService jwtService,
                              UsuarioRepository usuarioRepository,
-                             AuthenticationService authenticationService) {
+                             AuthenticationService authenticationService,
+                             RevogacaoTokens revogacaoTokens) {
         this.jwtService = jwtService;
         this.usuarioRepository = usuarioRepository;
         this.authenticationService = authenticationService;
+        this.revogacaoTokens = revogacaoTokens;
     }
 
     @GetMapping("/api/usuario")
@@ -80,7 +84,14 @@ public class UsuarioController {
     // Logout
     // ===============================
     @PostMapping("/auth/logout")
-    public ResponseEntity<String> logout(HttpServletResponse response) {
+    public ResponseEntity<String> logout(@CookieValue(name = "jwt_token", required = false) String token,
+                                         HttpServletResponse response) {
+        // Revoga o token em si: apagar o cookie não impede que uma cópia dele continue valendo até o exp.
+        // Uma falha do Redis fica no log (RevogacaoTokens) e não impede que o cookie seja apagado
+        if (token != null && jwtService.isTokenValid(token)) {
+            revogacaoTokens.revogarToken(jwtService.verificar(token));
+        }
+
         Cookie cookie = new Cookie("jwt_token", null); // mesmo nome usado no login
         cookie.setHttpOnly(true);
         cookie.setSecure(true); // apenas HTTPS em produção
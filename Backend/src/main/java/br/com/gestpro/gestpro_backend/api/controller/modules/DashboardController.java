@@ -1,16 +1,30 @@
 package br.com.gestpro.gestpro_backend.api.controller.modules;
 
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.DashboardCompletoResponse;
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.DashboardVisaoGeralResponse;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.EstatisticasCacheDashboardDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.MetodoPagamentoDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.SerieVendasResponse;
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.VendasDiariasDTO;
+import br.com.gestpro.gestpro_backend.domain.model.enums.Granularidade;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.AtualizarCachesDashboardOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.DashboardAgregadoOperation;
 import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.DashboardServiceInterface;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.DashboardStreamOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.RankingProdutosOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.SerieVendasOperation;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,9 +32,43 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardServiceInterface dashboardService;
+    private final DashboardAgregadoOperation dashboardAgregado;
+    private final AtualizarCachesDashboardOperation atualizarCachesDashboard;
+    private final DashboardStreamOperation dashboardStream;
+    private final SerieVendasOperation serieVendas;
+    private final RankingProdutosOperation rankingProdutos;
 
-    public DashboardController(DashboardServiceInterface dashboardService) {
+    public DashboardController(DashboardServiceInterface dashboardService,
+                               DashboardAgregadoOperation dashboardAgregado,
+                               AtualizarCachesDashboardOperation atualizarCachesDashboard,
+                               DashboardStreamOperation dashboardStream,
+                               SerieVendasOperation serieVendas,
+                               RankingProdutosOperation rankingProdutos) {
         this.dashboardService = dashboardService;
+        this.dashboardAgregado = dashboardAgregado;
+        this.atualizarCachesDashboard = atualizarCachesDashboard;
+        this.dashboardStream = dashboardStream;
+        this.serieVendas = serieVendas;
+        this.rankingProdutos = rankingProdutos;
+    }
+
+    /**
+     * Visão geral + gráficos em uma chamada; as consultas rodam em paralelo.
+     */
+    @GetMapping("/completo")
+    public ResponseEntity<DashboardCompletoResponse> getDashboardCompleto(Authentication authentication) {
+        String emailUsuario = getEmailUsuario(authentication);
+        return ResponseEntity.ok(dashboardAgregado.dashboardCompleto(emailUsuario));
+    }
+
+    /**
+     * Dashboard ao vivo (text/event-stream): evento "venda" com o que somar à tela a cada venda confirmada.
+     * Variações durante uma queda não são reenviadas: ao reconectar, a tela recarrega o /completo.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication authentication) {
+        String emailUsuario = getEmailUsuario(authentication);
+        return dashboardStream.inscrever(emailUsuario);
     }
 
     @GetMapping("/visao-geral")
@@ -40,10 +88,18 @@ public class DashboardController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Os {@code limite} produtos mais vendidos e, se houver mais, um item "Outros" com o restante.
+     * Com inicio e/ou fim (datas inclusivas), considera só as vendas do período.
+     */
     @GetMapping("/vendas/produto")
-    public ResponseEntity<List<ProdutoVendasDTO>> vendasPorProduto(Authentication authentication) {
+    public ResponseEntity<List<ProdutoVendasDTO>> vendasPorProduto(
+            Authentication authentication,
+            @RequestParam(defaultValue = "" + RankingProdutosOperation.LIMITE_PADRAO) int limite,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
         String emailUsuario = getEmailUsuario(authentication);
-        List<ProdutoVendasDTO> result = dashboardService.vendasPorProduto(emailUsuario);
+        List<ProdutoVendasDTO> result = rankingProdutos.ranking(emailUsuario, limite, inicio, fim);
         return ResponseEntity.ok(result);
     }
 
@@ -54,6 +110,30 @@ public class DashboardController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Série de vendas em qualquer intervalo (datas inclusivas), em baldes de HORA, DIA, SEMANA ou MES.
+     * Com comparar=true, inclui o período anterior de mesmo tamanho e a variação percentual.
+     */
+    @GetMapping("/vendas/serie")
+    public ResponseEntity<SerieVendasResponse> serieVendas(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "DIA") Granularidade granularidade,
+            @RequestParam(defaultValue = "false") boolean comparar) {
+        String emailUsuario = getEmailUsuario(authentication);
+        return ResponseEntity.ok(serieVendas.serie(emailUsuario, inicio, fim, granularidade, comparar));
+    }
+
+    /**
+     * Acertos/faltas dos caches do dashboard e quantas vendas atualizaram o cache no lugar (desta instância).
+     * Números de todos os usuários: liberado só para os e-mails em app.admin.emails (ver SecurityConfig).
+     */
+    @GetMapping("/cache/estatisticas")
+    public ResponseEntity<EstatisticasCacheDashboardDTO> estatisticasCache() {
+        return ResponseEntity.ok(atualizarCachesDashboard.estatisticas());
+    }
+
     // ------------------ MÉTODOS AUXILIAR ------------------
 
     private String getEmailUsuario(Authentication authentication) {
@@ -1,28 +1,65 @@
 package br.com.gestpro.gestpro_backend.api.controller.modules;
 
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.PaginaVendasDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ResultadoVendaLoteDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
 import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.venda.ExportarVendasCaixaOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.venda.IdempotenciaVendaOperation;
 import br.com.gestpro.gestpro_backend.domain.service.modulesService.venda.VendaServiceInterface;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/vendas")
 public class VendaController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final VendaServiceInterface vendaService;
+    private final IdempotenciaVendaOperation idempotenciaVendaOperation;
+    private final ExportarVendasCaixaOperation exportarVendasCaixaOperation;
 
-    public VendaController(VendaServiceInterface vendaService) {
+    public VendaController(VendaServiceInterface vendaService,
+                           IdempotenciaVendaOperation idempotenciaVendaOperation,
+                           ExportarVendasCaixaOperation exportarVendasCaixaOperation) {
         this.vendaService = vendaService;
+        this.idempotenciaVendaOperation = idempotenciaVendaOperation;
+        this.exportarVendasCaixaOperation = exportarVendasCaixaOperation;
     }
 
+    /**
+     * Registra a venda. Com o header Idempotency-Key, retentativas do PDV com a mesma chave e o mesmo corpo
+     * recebem a resposta original (regras em {@link IdempotenciaVendaOperation}).
+     */
     @PostMapping("/registrar")
-    public ResponseEntity<VendaResponseDTO> registrarVenda(@RequestBody RegistrarVendaDTO dto) {
-        Venda venda = vendaService.registrarVenda(dto);
-        return ResponseEntity.ok(new VendaResponseDTO(venda));
+    public ResponseEntity<VendaResponseDTO> registrarVenda(@Valid @RequestBody RegistrarVendaDTO dto,
+                                                           @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                           Authentication authentication) {
+        String usuario = authentication != null ? authentication.getName() : null;
+        return ResponseEntity.ok(idempotenciaVendaOperation.execute(dto, usuario, idempotencyKey));
+    }
+
+    /**
+     * Recebe as vendas acumuladas offline pelo PDV e devolve o resultado de cada uma, na mesma ordem.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoVendaLoteDTO>> registrarLote(@RequestBody List<@Valid RegistrarVendaDTO> vendas,
+                                                                     Authentication authentication) {
+        return ResponseEntity.ok(vendaService.registrarVendasEmLote(vendas, authentication.getName()));
     }
 
     @GetMapping("/caixa/{idCaixa}")
@@ -34,6 +71,44 @@ public class VendaController {
         return ResponseEntity.ok(vendas);
     }
 
+    /**
+     * Listagem paginada das vendas do caixa (mais recentes primeiro).
+     * Primeira página sem cursor; as seguintes com aposData/aposId devolvidos pela página anterior.
+     */
+    @GetMapping("/caixa/{idCaixa}/paginado")
+    public ResponseEntity<PaginaVendasDTO> listarPorCaixaPaginado(
+            @PathVariable Long idCaixa,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime aposData,
+            @RequestParam(required = false) Long aposId,
+            @RequestParam(defaultValue = "50") int tamanho) {
+        return ResponseEntity.ok(vendaService.listarPorCaixaPaginado(idCaixa, aposData, aposId, tamanho));
+    }
+
+    /**
+     * Exporta todas as vendas do caixa em NDJSON (padrão) ou CSV, escrevendo direto do cursor do banco.
+     */
+    @GetMapping("/caixa/{idCaixa}/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarPorCaixa(@PathVariable Long idCaixa,
+                                                                  @RequestParam(defaultValue = "ndjson") String formato) {
+        ExportarVendasCaixaOperation.Formato tipo = switch (formato.toLowerCase()) {
+            case "ndjson" -> ExportarVendasCaixaOperation.Formato.NDJSON;
+            case "csv" -> ExportarVendasCaixaOperation.Formato.CSV;
+            default -> throw new ApiException("Formato de exportação inválido: " + formato,
+                    HttpStatus.BAD_REQUEST, "/api/vendas/caixa/" + idCaixa + "/exportar");
+        };
+
+        MediaType mediaType = tipo == ExportarVendasCaixaOperation.Formato.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        String arquivo = "vendas-caixa-" + idCaixa + (tipo == ExportarVendasCaixaOperation.Formato.CSV ? ".csv" : ".ndjson");
+
+        StreamingResponseBody corpo = out -> exportarVendasCaixaOperation.execute(idCaixa, tipo, out);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+                .body(corpo);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VendaResponseDTO> buscarPorId(@PathVariable Long id) {
         Venda venda = vendaService.buscarPorId(id);
@@ -0,0 +1,43 @@
+package br.com.gestpro.gestpro_backend.api.dto.auth.jwt;
+
+/**
+ * Contadores do cache de tokens verificados desta instância desde a subida.
+ * acertos: token reaproveitado sem nova verificação; faltas: verificado na hora; removidos: entradas
+ * descartadas pelo limite de tamanho ou por expiração do token.
+ */
+public class EstatisticasCacheTokensDTO {
+    private final long acertos;
+    private final long faltas;
+    private final double taxaAcerto;
+    private final long removidos;
+    private final long tamanho;
+
+    public EstatisticasCacheTokensDTO(long acertos, long faltas, double taxaAcerto,
+                                      long removidos, long tamanho) {
+        this.acertos = acertos;
+        this.faltas = faltas;
+        this.taxaAcerto = taxaAcerto;
+        this.removidos = removidos;
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public long getFaltas() {
+        return faltas;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public long getRemovidos() {
+        return removidos;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Período anterior de mesmo tamanho, terminando no dia antes do início do período pedido.
+ * As variações são percentuais sobre o anterior; null quando o anterior é zero.
+ */
+public class ComparacaoPeriodoDTO {
+    private LocalDate inicio;
+    private LocalDate fim;
+    private List<PontoSerieDTO> pontos;
+    private long totalVendas;
+    private BigDecimal totalFaturamento;
+    private Double variacaoVendasPercentual;
+    private Double variacaoFaturamentoPercentual;
+
+    public ComparacaoPeriodoDTO() {
+    }
+
+    public ComparacaoPeriodoDTO(LocalDate inicio, LocalDate fim, List<PontoSerieDTO> pontos, long totalVendas,
+                                BigDecimal totalFaturamento, Double variacaoVendasPercentual,
+                                Double variacaoFaturamentoPercentual) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.pontos = pontos;
+        this.totalVendas = totalVendas;
+        this.totalFaturamento = totalFaturamento;
+        this.variacaoVendasPercentual = variacaoVendasPercentual;
+        this.variacaoFaturamentoPercentual = variacaoFaturamentoPercentual;
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDate inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDate getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDate fim) {
+        this.fim = fim;
+    }
+
+    public List<PontoSerieDTO> getPontos() {
+        return pontos;
+    }
+
+    public void setPontos(List<PontoSerieDTO> pontos) {
+        this.pontos = pontos;
+    }
+
+    public long getTotalVendas() {
+        return totalVendas;
+    }
+
+    public void setTotalVendas(long totalVendas) {
+        this.totalVendas = totalVendas;
+    }
+
+    public BigDecimal getTotalFaturamento() {
+        return totalFaturamento;
+    }
+
+    public void setTotalFaturamento(BigDecimal totalFaturamento) {
+        this.totalFaturamento = totalFaturamento;
+    }
+
+    public Double getVariacaoVendasPercentual() {
+        return variacaoVendasPercentual;
+    }
+
+    public void setVariacaoVendasPercentual(Double variacaoVendasPercentual) {
+        this.variacaoVendasPercentual = variacaoVendasPercentual;
+    }
+
+    public Double getVariacaoFaturamentoPercentual() {
+        return variacaoFaturamentoPercentual;
+    }
+
+    public void setVariacaoFaturamentoPercentual(Double variacaoFaturamentoPercentual) {
+        this.variacaoFaturamentoPercentual = variacaoFaturamentoPercentual;
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.dashboard;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Visão geral e gráficos do dashboard numa única resposta.
+ * Seções que não ficaram prontas dentro do tempo limite vêm null e listadas em secoesIndisponiveis.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DashboardCompletoResponse {
+    private DashboardVisaoGeralResponse visaoGeral;
+    private List<MetodoPagamentoDTO> vendasPorMetodoPagamento;
+    private List<ProdutoVendasDTO> vendasPorProduto;
+    private List<VendasDiariasDTO> vendasDiarias;
+    private List<String> secoesIndisponiveis;
+
+    public DashboardCompletoResponse() {
+    }
+
+    public DashboardCompletoResponse(DashboardVisaoGeralResponse visaoGeral,
+                                     List<MetodoPagamentoDTO> vendasPorMetodoPagamento,
+                                     List<ProdutoVendasDTO> vendasPorProduto,
+                                     List<VendasDiariasDTO> vendasDiarias,
+                                     List<String> secoesIndisponiveis) {
+        this.visaoGeral = visaoGeral;
+        this.vendasPorMetodoPagamento = vendasPorMetodoPagamento;
+        this.vendasPorProduto = vendasPorProduto;
+        this.vendasDiarias = vendasDiarias;
+        this.secoesIndisponiveis = secoesIndisponiveis;
+    }
+
+    public DashboardVisaoGeralResponse getVisaoGeral() {
+        return visaoGeral;
+    }
+
+    public void setVisaoGeral(DashboardVisaoGeralResponse visaoGeral) {
+        this.visaoGeral = visaoGeral;
+    }
+
+    public List<MetodoPagamentoDTO> getVendasPorMetodoPagamento() {
+        return vendasPorMetodoPagamento;
+    }
+
+    public void setVendasPorMetodoPagamento(List<MetodoPagamentoDTO> vendasPorMetodoPagamento) {
+        this.vendasPorMetodoPagamento = vendasPorMetodoPagamento;
+    }
+
+    public List<ProdutoVendasDTO> getVendasPorProduto() {
+        return vendasPorProduto;
+    }
+
+    public void setVendasPorProduto(List<ProdutoVendasDTO> vendasPorProduto) {
+        this.vendasPorProduto = vendasPorProduto;
+    }
+
+    public List<VendasDiariasDTO> getVendasDiarias() {
+        return vendasDiarias;
+    }
+
+    public void setVendasDiarias(List<VendasDiariasDTO> vendasDiarias) {
+        this.vendasDiarias = vendasDiarias;
+    }
+
+    public List<String> getSecoesIndisponiveis() {
+        return secoesIndisponiveis;
+    }
+
+    public void setSecoesIndisponiveis(List<String> secoesIndisponiveis) {
+        this.secoesIndisponiveis = secoesIndisponiveis;
+    }
+}
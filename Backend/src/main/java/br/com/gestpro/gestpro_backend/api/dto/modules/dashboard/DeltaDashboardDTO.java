@@ -0,0 +1,60 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.dashboard;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * O que somar ao dashboard já exibido depois de vendas confirmadas (evento "venda" de /api/dashboard/stream).
+ * vendasHoje/vendasSemana vão para a visão geral, vendasPorMetodo e quantidadePorProduto para os gráficos,
+ * faturamentoPorDia (chave yyyy-MM-dd) para as vendas diárias. alertas traz os produtos que zeraram o estoque.
+ */
+public class DeltaDashboardDTO {
+    private final long vendasHoje;
+    private final long vendasSemana;
+    private final BigDecimal faturamento;
+    private final Map<String, Long> vendasPorMetodo;
+    private final Map<String, Long> quantidadePorProduto;
+    private final Map<String, BigDecimal> faturamentoPorDia;
+    private final List<String> alertas;
+
+    public DeltaDashboardDTO(long vendasHoje, long vendasSemana, BigDecimal faturamento,
+                             Map<String, Long> vendasPorMetodo, Map<String, Long> quantidadePorProduto,
+                             Map<String, BigDecimal> faturamentoPorDia, List<String> alertas) {
+        this.vendasHoje = vendasHoje;
+        this.vendasSemana = vendasSemana;
+        this.faturamento = faturamento;
+        this.vendasPorMetodo = vendasPorMetodo;
+        this.quantidadePorProduto = quantidadePorProduto;
+        this.faturamentoPorDia = faturamentoPorDia;
+        this.alertas = alertas;
+    }
+
+    public long getVendasHoje() {
+        return vendasHoje;
+    }
+
+    public long getVendasSemana() {
+        return vendasSemana;
+    }
+
+    public BigDecimal getFaturamento() {
+        return faturamento;
+    }
+
+    public Map<String, Long> getVendasPorMetodo() {
+        return vendasPorMetodo;
+    }
+
+    public Map<String, Long> getQuantidadePorProduto() {
+        return quantidadePorProduto;
+    }
+
+    public Map<String, BigDecimal> getFaturamentoPorDia() {
+        return faturamentoPorDia;
+    }
+
+    public List<String> getAlertas() {
+        return alertas;
+    }
+}
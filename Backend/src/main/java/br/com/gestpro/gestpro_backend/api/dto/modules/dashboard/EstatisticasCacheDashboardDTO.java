@@ -0,0 +1,62 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.dashboard;
+
+/**
+ * Contadores desta instância desde a subida.
+ * Leitura: acertos (valor em cache), faltas (calculado na hora) e antigosServidos (valor anterior
+ * servido enquanto recalcula). Vendas: atualizacoes (entrada ajustada no lugar), recalculos (entrada
+ * removida por inconsistência), semEntrada (nada em cache para ajustar) e conflitos (entrada regravada por
+ * outro entre o registro e o commit da venda; também conta em recalculos).
+ */
+public class EstatisticasCacheDashboardDTO {
+    private final long acertos;
+    private final long faltas;
+    private final long antigosServidos;
+    private final long atualizacoes;
+    private final long recalculos;
+    private final long semEntrada;
+    private final long conflitos;
+
+    public EstatisticasCacheDashboardDTO(long acertos, long faltas, long antigosServidos,
+                                         long atualizacoes, long recalculos, long semEntrada, long conflitos) {
+        this.acertos = acertos;
+        this.faltas = faltas;
+        this.antigosServidos = antigosServidos;
+        this.atualizacoes = atualizacoes;
+        this.recalculos = recalculos;
+        this.semEntrada = semEntrada;
+        this.conflitos = conflitos;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public long getFaltas() {
+        return faltas;
+    }
+
+    public long getAntigosServidos() {
+        return antigosServidos;
+    }
+
+    public long getAtualizacoes() {
+        return atualizacoes;
+    }
+
+    public long getRecalculos() {
+        return recalculos;
+    }
+
+    public long getSemEntrada() {
+        return semEntrada;
+    }
+
+    public long getConflitos() {
+        return conflitos;
+    }
+
+    public double getTaxaAcerto() {
+        long leituras = acertos + faltas + antigosServidos;
+        return leituras == 0 ? 0.0 : (double) acertos / leituras;
+    }
+}
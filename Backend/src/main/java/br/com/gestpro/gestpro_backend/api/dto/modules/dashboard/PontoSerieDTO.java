@@ -0,0 +1,47 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Um balde da série: início (hora, dia, segunda-feira da semana ou dia 1 do mês) e os totais.
+ * O primeiro balde começa no início do período pedido, mesmo no meio da semana ou do mês.
+ */
+public class PontoSerieDTO {
+    private LocalDateTime inicio;
+    private long quantidadeVendas;
+    private BigDecimal faturamento;
+
+    public PontoSerieDTO() {
+    }
+
+    public PontoSerieDTO(LocalDateTime inicio, long quantidadeVendas, BigDecimal faturamento) {
+        this.inicio = inicio;
+        this.quantidadeVendas = quantidadeVendas;
+        this.faturamento = faturamento;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public long getQuantidadeVendas() {
+        return quantidadeVendas;
+    }
+
+    public void setQuantidadeVendas(long quantidadeVendas) {
+        this.quantidadeVendas = quantidadeVendas;
+    }
+
+    public BigDecimal getFaturamento() {
+        return faturamento;
+    }
+
+    public void setFaturamento(BigDecimal faturamento) {
+        this.faturamento = faturamento;
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Série de vendas de /api/dashboard/vendas/serie: um ponto por balde, inclusive os sem venda.
+ * comparacao vem null quando não pedida.
+ */
+public class SerieVendasResponse {
+    private String granularidade;
+    private LocalDate inicio;
+    private LocalDate fim;
+    private List<PontoSerieDTO> pontos;
+    private long totalVendas;
+    private BigDecimal totalFaturamento;
+    private ComparacaoPeriodoDTO comparacao;
+
+    public SerieVendasResponse() {
+    }
+
+    public SerieVendasResponse(String granularidade, LocalDate inicio, LocalDate fim,
+                               List<PontoSerieDTO> pontos, long totalVendas, BigDecimal totalFaturamento,
+                               ComparacaoPeriodoDTO comparacao) {
+        this.granularidade = granularidade;
+        this.inicio = inicio;
+        this.fim = fim;
+        this.pontos = pontos;
+        this.totalVendas = totalVendas;
+        this.totalFaturamento = totalFaturamento;
+        this.comparacao = comparacao;
+    }
+
+    public String getGranularidade() {
+        return granularidade;
+    }
+
+    public void setGranularidade(String granularidade) {
+        this.granularidade = granularidade;
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDate inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDate getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDate fim) {
+        this.fim = fim;
+    }
+
+    public List<PontoSerieDTO> getPontos() {
+        return pontos;
+    }
+
+    public void setPontos(List<PontoSerieDTO> pontos) {
+        this.pontos = pontos;
+    }
+
+    public long getTotalVendas() {
+        return totalVendas;
+    }
+
+    public void setTotalVendas(long totalVendas) {
+        this.totalVendas = totalVendas;
+    }
+
+    public BigDecimal getTotalFaturamento() {
+        return totalFaturamento;
+    }
+
+    public void setTotalFaturamento(BigDecimal totalFaturamento) {
+        this.totalFaturamento = totalFaturamento;
+    }
+
+    public ComparacaoPeriodoDTO getComparacao() {
+        return comparacao;
+    }
+
+    public void setComparacao(ComparacaoPeriodoDTO comparacao) {
+        this.comparacao = comparacao;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.vendas;
+
+import java.math.BigDecimal;
+
+public interface ItemVendaProjecao {
+    Long getIdVenda();
+
+    Long getIdProduto();
+
+    String getNomeProduto();
+
+    Integer getQuantidade();
+
+    BigDecimal getPrecoUnitario();
+
+    BigDecimal getSubtotal();
+}
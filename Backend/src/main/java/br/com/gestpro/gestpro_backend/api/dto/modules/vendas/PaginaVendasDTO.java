@@ -0,0 +1,23 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.vendas;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Página da listagem de vendas por caixa (keyset em data_venda, id).
+ * Para a próxima página, envie {@code proximaData}/{@code proximoId} como {@code aposData}/{@code aposId}.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaVendasDTO {
+
+    private List<VendaResponseDTO> vendas;
+    private boolean temMais;
+    private LocalDateTime proximaData;
+    private Long proximoId;
+}
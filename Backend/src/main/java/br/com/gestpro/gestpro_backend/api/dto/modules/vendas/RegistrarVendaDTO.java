@@ -1,6 +1,7 @@
 package br.com.gestpro.gestpro_backend.api.dto.modules.vendas;
 
 import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.Builder;
 import lombok.Data;
@@ -21,7 +22,7 @@ public class RegistrarVendaDTO {
     private Long idCliente;
 
     @NotEmpty(message = "Lista de itens não pode ser vazia")
-    private List<ItemVendaDTO> itens;
+    private List<@Valid ItemVendaDTO> itens;
 
     @NotNull(message = "Forma de pagamento é obrigatória")
     private FormaDePagamento formaPagamento;
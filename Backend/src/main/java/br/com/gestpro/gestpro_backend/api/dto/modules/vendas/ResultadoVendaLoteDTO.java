@@ -0,0 +1,31 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.vendas;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de uma venda dentro de um lote (sincronização do PDV offline).
+ * {@code indice} é a posição da venda na lista enviada.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoVendaLoteDTO {
+
+    private int indice;
+    private boolean sucesso;
+    private Long idVenda;
+    private BigDecimal valorFinal;
+    private String erro;
+
+    public static ResultadoVendaLoteDTO sucesso(int indice, Long idVenda, BigDecimal valorFinal) {
+        return new ResultadoVendaLoteDTO(indice, true, idVenda, valorFinal, null);
+    }
+
+    public static ResultadoVendaLoteDTO falha(int indice, String erro) {
+        return new ResultadoVendaLoteDTO(indice, false, null, null, erro);
+    }
+}
@@ -21,6 +21,10 @@ public class VendaResponseDTO {
     private LocalDateTime dataVenda;
     private String observacao;
 
+    // usado na desserialização (ex: respostas idempotentes guardadas no Redis)
+    protected VendaResponseDTO() {
+    }
+
     public VendaResponseDTO(Venda venda) {
         this.id = venda.getId();
         this.emailUsuario = venda.getUsuario() != null ? venda.getUsuario().getEmail() : null;
@@ -39,6 +43,20 @@ public class VendaResponseDTO {
         this.observacao = venda.getObservacao();
     }
 
+    public VendaResponseDTO(VendaResumoProjecao venda, Long idCaixa, List<ItemVendaDTO> itens) {
+        this.id = venda.getId();
+        this.emailUsuario = venda.getEmailUsuario();
+        this.idCaixa = idCaixa;
+        this.nomeCliente = venda.getNomeCliente();
+        this.itens = itens;
+        this.valorTotal = venda.getTotal();
+        this.desconto = venda.getDesconto();
+        this.valorFinal = venda.getValorFinal();
+        this.formaPagamento = venda.getFormaPagamento() != null ? venda.getFormaPagamento().name() : null;
+        this.dataVenda = venda.getDataVenda();
+        this.observacao = venda.getObservacao();
+    }
+
     // Getters
     public Long getId() {
         return id;
@@ -0,0 +1,29 @@
+package br.com.gestpro.gestpro_backend.api.dto.modules.vendas;
+
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Colunas de uma venda usadas na listagem paginada do caixa (sem hidratar a entidade).
+ */
+public interface VendaResumoProjecao {
+    Long getId();
+
+    LocalDateTime getDataVenda();
+
+    String getEmailUsuario();
+
+    String getNomeCliente();
+
+    BigDecimal getTotal();
+
+    BigDecimal getDesconto();
+
+    BigDecimal getValorFinal();
+
+    FormaDePagamento getFormaPagamento();
+
+    String getObservacao();
+}
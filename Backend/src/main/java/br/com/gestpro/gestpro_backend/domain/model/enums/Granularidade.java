@@ -0,0 +1,41 @@
+package br.com.gestpro.gestpro_backend.domain.model.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Tamanho dos baldes das séries de vendas. Semana começa na segunda-feira.
+ * O cálculo do balde é feito em Java, então não depende de funções de data do banco.
+ */
+public enum Granularidade {
+    HORA,
+    DIA,
+    SEMANA,
+    MES;
+
+    /**
+     * Início do balde que contém o instante.
+     */
+    public LocalDateTime truncar(LocalDateTime instante) {
+        return switch (this) {
+            case HORA -> instante.truncatedTo(ChronoUnit.HOURS);
+            case DIA -> instante.truncatedTo(ChronoUnit.DAYS);
+            case SEMANA -> instante.truncatedTo(ChronoUnit.DAYS).with(DayOfWeek.MONDAY);
+            case MES -> instante.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Início do balde seguinte ao que contém o instante.
+     */
+    public LocalDateTime proximo(LocalDateTime instante) {
+        LocalDateTime inicio = truncar(instante);
+        return switch (this) {
+            case HORA -> inicio.plusHours(1);
+            case DIA -> inicio.plusDays(1);
+            case SEMANA -> inicio.plusWeeks(1);
+            case MES -> inicio.plusMonths(1);
+        };
+    }
+}
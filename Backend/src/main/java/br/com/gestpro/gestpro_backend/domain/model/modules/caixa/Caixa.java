@@ -11,10 +11,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 @Entity
-@Table(name = "caixa")
+@Table(name = "caixa", indexes = {
+        // caixa aberto por usuário (RegistroCaixasAbertos)
+        @Index(name = "idx_caixa_usuario_status", columnList = "usuario_id, status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -55,6 +57,12 @@ public class Caixa {
     @Column(name = "fechado_por")
     private String fechadoPor;
 
+    /**
+     * Id do usuário enquanto o caixa está aberto, null depois de fechado. A restrição única garante no banco
+     * um caixa aberto por usuário, mesmo com aberturas simultâneas em instâncias diferentes.
+     */
+    @Column(name = "aberto_usuario_id", unique = true)
+    private Long abertoUsuarioId;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
@@ -67,24 +75,22 @@ public class Caixa {
     @Version
     private Long version; // optimistic lock
 
-    // helpers para manter o lado bidirecional consistente
+    // helpers para manter o lado bidirecional consistente.
+    // O total é ajustado de forma incremental, sem percorrer (e carregar) a coleção lazy de vendas.
     public void adicionarVenda(Venda venda) {
         vendas.add(venda);
         venda.setCaixa(this);
-        recalcularTotalVendas();
+        this.totalVendas = valorOuZero(totalVendas).add(valorOuZero(venda.getValorFinal()));
     }
 
     public void removerVenda(Venda venda) {
         vendas.remove(venda);
         venda.setCaixa(null);
-        recalcularTotalVendas();
+        this.totalVendas = valorOuZero(totalVendas).subtract(valorOuZero(venda.getValorFinal()));
     }
 
-    public void recalcularTotalVendas() {
-        this.totalVendas = vendas.stream()
-                .filter(Objects::nonNull)
-                .map(Venda::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static BigDecimal valorOuZero(BigDecimal valor) {
+        return valor != null ? valor : BigDecimal.ZERO;
     }
 
     public void fechar(BigDecimal valorFinal, String fechadoPor) {
@@ -92,6 +98,7 @@ public class Caixa {
         this.dataFechamento = LocalDateTime.now();
         this.aberto = false;
         this.status = StatusCaixa.FECHADO;
+        this.abertoUsuarioId = null;
         // Opção de dizer quem fechou (fechadoPor) - Adicionável
     }
 }
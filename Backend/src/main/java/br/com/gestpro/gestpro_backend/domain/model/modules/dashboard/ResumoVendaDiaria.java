@@ -0,0 +1,42 @@
+package br.com.gestpro.gestpro_backend.domain.model.modules.dashboard;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais de vendas de um usuário em um dia (pré-agregado para o dashboard).
+ * Mantido por ResumoVendasDiarioOperation a cada venda registrada.
+ */
+@Entity
+@Table(name = "resumo_venda_diaria", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_resumo_venda_diaria", columnNames = {"usuario_id", "dia"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ResumoVendaDiaria {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "quantidade_vendas", nullable = false)
+    private Long quantidadeVendas = 0L;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal faturamento = BigDecimal.ZERO;
+}
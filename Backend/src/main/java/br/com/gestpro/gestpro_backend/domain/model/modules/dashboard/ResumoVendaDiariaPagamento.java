@@ -0,0 +1,46 @@
+package br.com.gestpro.gestpro_backend.domain.model.modules.dashboard;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Vendas de um usuário em um dia, por forma de pagamento.
+ */
+@Entity
+@Table(name = "resumo_venda_diaria_pagamento", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_resumo_venda_diaria_pagamento", columnNames = {"usuario_id", "dia", "forma_pagamento"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ResumoVendaDiariaPagamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "forma_pagamento", nullable = false, length = 30)
+    private FormaDePagamento formaPagamento;
+
+    @Column(name = "quantidade_vendas", nullable = false)
+    private Long quantidadeVendas = 0L;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal faturamento = BigDecimal.ZERO;
+}
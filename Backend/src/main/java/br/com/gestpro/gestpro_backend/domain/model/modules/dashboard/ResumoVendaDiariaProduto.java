@@ -0,0 +1,46 @@
+package br.com.gestpro.gestpro_backend.domain.model.modules.dashboard;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Unidades vendidas e faturamento (subtotal dos itens, sem o desconto da venda) de um produto em um dia.
+ */
+@Entity
+@Table(name = "resumo_venda_diaria_produto", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_resumo_venda_diaria_produto", columnNames = {"usuario_id", "dia", "produto_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ResumoVendaDiariaProduto {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "produto_id", nullable = false)
+    private Produto produto;
+
+    @Column(nullable = false)
+    private Long quantidade = 0L;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal faturamento = BigDecimal.ZERO;
+}
@@ -18,8 +18,12 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class ItemVenda {
 
+    // Sequence com allocationSize > 1 (otimizador pooled-lo): o Hibernate reserva ids em blocos e
+    // consegue agrupar os INSERTs em batch JDBC, o que IDENTITY impede. No MySQL vira uma tabela de sequence,
+    // ajustada acima dos ids existentes por AjusteSequenciasVenda.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_venda_seq")
+    @SequenceGenerator(name = "item_venda_seq", sequenceName = "item_venda_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
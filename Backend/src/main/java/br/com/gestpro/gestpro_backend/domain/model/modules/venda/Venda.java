@@ -17,15 +17,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "venda")
+@Table(name = "venda", indexes = {
+        // listagem paginada por caixa (keyset em data_venda, id)
+        @Index(name = "idx_venda_caixa_data_id", columnList = "caixa_id, data_venda, id"),
+        // série de vendas por hora (sem resumo; lê o intervalo do usuário)
+        @Index(name = "idx_venda_usuario_data", columnList = "usuario_id, data_venda")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Venda {
 
+    // Sequence com allocationSize > 1 (otimizador pooled-lo): o Hibernate reserva ids em blocos e
+    // consegue agrupar os INSERTs em batch JDBC, o que IDENTITY impede. No MySQL vira uma tabela de sequence,
+    // ajustada acima dos ids existentes por AjusteSequenciasVenda.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "venda_seq")
+    @SequenceGenerator(name = "venda_seq", sequenceName = "venda_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,9 +3,17 @@ package br.com.gestpro.gestpro_backend.domain.repository.modules;
 import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.model.enums.StatusCaixa;
 import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CaixaRepository extends JpaRepository<Caixa, Long> {
 
@@ -17,5 +25,35 @@ public interface CaixaRepository extends JpaRepository<Caixa, Long> {
 
     boolean existsByUsuarioAndStatus(Usuario usuario, StatusCaixa status);
 
-    Optional<Caixa> findTopByOrderByDataAberturaDesc();
+    /**
+     * Ids dos caixas do usuário no status informado, servido pelo índice (usuario_id, status).
+     */
+    @Query("SELECT c.id FROM Caixa c WHERE c.usuario.id = :idUsuario AND c.status = :status ORDER BY c.id DESC")
+    List<Long> buscarIdsPorUsuarioEStatus(@Param("idUsuario") Long idUsuario,
+                                          @Param("status") StatusCaixa status,
+                                          Limit limit);
+
+    /**
+     * Dos caixas informados, os que estão abertos agora (lidos do banco, não do contexto de persistência).
+     */
+    @Query("SELECT c.id FROM Caixa c WHERE c.id IN :ids AND c.aberto = true")
+    Set<Long> buscarIdsAbertos(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Soma {@code valor} ao total de vendas do caixa direto no banco (UPDATE atômico),
+     * sem carregar o caixa nem a coleção de vendas.
+     *
+     * O UPDATE em massa não passa pelo @Version: a versão é incrementada aqui, para que quem tenha o caixa
+     * carregado antes (ex.: um fechamento concorrente) falhe no lock otimista em vez de sobrescrever o total.
+     * O contexto é descarregado antes e limpo depois, para não seguir com um Caixa gerenciado desatualizado.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Caixa c SET c.totalVendas = c.totalVendas + :valor, c.version = c.version + 1 WHERE c.id = :id")
+    int incrementarTotalVendas(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    /**
+     * Recalcula o total de vendas do caixa com um único SUM, sem hidratar as vendas.
+     */
+    @Query("SELECT COALESCE(SUM(v.valorFinal), 0) FROM Venda v WHERE v.caixa.id = :id")
+    BigDecimal somarTotalVendas(@Param("id") Long id);
 }
@@ -6,7 +6,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface DashboardRepository extends JpaRepository<Venda, Long> {
@@ -48,19 +50,42 @@ public interface DashboardRepository extends JpaRepository<Venda, Long> {
                             @Param("fim") LocalDateTime fim);
 
     /**
-     * Query agregada que retorna a projection DashboardCountsProjection.
+     * Tudo da visão geral em uma ida ao banco: contadores (vendas do resumo diário), plano do usuário
+     * e até 10 produtos zerados, já limitados no SQL. Ver {@link VisaoGeralProjection}.
      */
     @Query(value =
             "SELECT " +
-                    "  COALESCE((SELECT COUNT(v.id) FROM venda v JOIN usuarios u1 ON u1.id = v.usuario_id " +
-                    "            WHERE u1.email = :email AND DATE(v.data_venda) = CURRENT_DATE), 0) AS vendasHoje, " +
-                    "  COALESCE((SELECT COUNT(p.id) FROM produto p JOIN usuarios u2 ON u2.id = p.usuario_id " +
-                    "            WHERE u2.email = :email AND p.quantidade_estoque > 0), 0) AS produtosComEstoque, " +
-                    "  COALESCE((SELECT COUNT(p2.id) FROM produto p2 JOIN usuarios u3 ON u3.id = p2.usuario_id " +
-                    "            WHERE u3.email = :email AND p2.quantidade_estoque = 0), 0) AS produtosSemEstoque, " +
-                    "  COALESCE((SELECT COUNT(c.id) FROM clientes c JOIN usuarios u4 ON u4.id = c.usuario_id " +
-                    "            WHERE u4.email = :email AND c.ativo = 1), 0) AS clientesAtivos",
+                    "  (SELECT COALESCE(SUM(r.quantidade_vendas), 0) FROM resumo_venda_diaria r " +
+                    "    WHERE r.usuario_id = u.id AND r.dia = :hoje) AS vendasHoje, " +
+                    "  (SELECT COALESCE(SUM(r2.quantidade_vendas), 0) FROM resumo_venda_diaria r2 " +
+                    "    WHERE r2.usuario_id = u.id AND r2.dia BETWEEN :inicioSemana AND :fimSemana) AS vendasSemana, " +
+                    "  (SELECT COUNT(p.id) FROM produto p " +
+                    "    WHERE p.usuario_id = u.id AND p.quantidade_estoque > 0) AS produtosComEstoque, " +
+                    "  (SELECT COUNT(p2.id) FROM produto p2 " +
+                    "    WHERE p2.usuario_id = u.id AND p2.quantidade_estoque = 0) AS produtosSemEstoque, " +
+                    "  (SELECT COUNT(c.id) FROM clientes c " +
+                    "    WHERE c.usuario_id = u.id AND c.ativo = TRUE) AS clientesAtivos, " +
+                    "  u.tipo_plano AS tipoPlano, " +
+                    "  u.data_criacao AS dataCriacao, " +
+                    "  u.data_assinatura_plus AS dataAssinaturaPlus, " +
+                    "  z.nome AS produtoZerado " +
+                    "FROM usuarios u " +
+                    "LEFT JOIN (SELECT p3.nome FROM produto p3 JOIN usuarios u3 ON u3.id = p3.usuario_id " +
+                    "           WHERE u3.email = :email AND p3.quantidade_estoque = 0 " +
+                    "           ORDER BY p3.nome LIMIT 10) z ON 1 = 1 " +
+                    "WHERE u.email = :email",
             nativeQuery = true)
-    DashboardCountsProjection findDashboardCountsByEmail(@Param("email") String email);
+    List<VisaoGeralProjection> buscarVisaoGeral(@Param("email") String email,
+                                                @Param("hoje") LocalDate hoje,
+                                                @Param("inicioSemana") LocalDate inicioSemana,
+                                                @Param("fimSemana") LocalDate fimSemana);
 
+    /**
+     * Quantidade de vendas no intervalo de dias, somada do resumo diário.
+     */
+    @Query("SELECT COALESCE(SUM(r.quantidadeVendas), 0) FROM ResumoVendaDiaria r " +
+            "WHERE r.usuario.email = :email AND r.dia BETWEEN :inicio AND :fim")
+    Long somarVendasResumo(@Param("email") String email,
+                           @Param("inicio") LocalDate inicio,
+                           @Param("fim") LocalDate fim);
 }
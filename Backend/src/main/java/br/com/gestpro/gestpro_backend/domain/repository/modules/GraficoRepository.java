@@ -2,10 +2,12 @@ package br.com.gestpro.gestpro_backend.domain.repository.modules;
 
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
 import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -27,37 +29,81 @@ public interface GraficoRepository extends JpaRepository<Venda, Long> {
 
 
     /**
-     * Retorna ProdutoVendasDTO (nome do produto, soma das quantidades).
-     * Usa ItemVenda relacionamento para agregação.
+     * Linhas (dia, hora, quantidade, faturamento) das vendas do usuário em [inicio, fim).
+     * Não há resumo por hora: lê a tabela de vendas. extract é traduzido pelo dialeto (MySQL, H2).
+     */
+    @Query("""
+            SELECT extract(date from v.dataVenda), extract(hour from v.dataVenda), COUNT(v), COALESCE(SUM(v.valorFinal), 0)
+            FROM Venda v
+            WHERE v.usuario.id = :usuarioId
+              AND v.dataVenda >= :inicio AND v.dataVenda < :fim
+            GROUP BY extract(date from v.dataVenda), extract(hour from v.dataVenda)
+            """)
+    List<Object[]> vendasPorHora(Long usuarioId, LocalDateTime inicio, LocalDateTime fim);
+
+    // ---------------- resumo diário (resumo_venda_diaria*) ----------------
+    // Custam proporcional ao número de dias com venda, não ao número de vendas.
+
+    @Query("""
+            SELECT r.formaPagamento, SUM(r.quantidadeVendas)
+            FROM ResumoVendaDiariaPagamento r
+            WHERE r.usuario.email = :email
+            GROUP BY r.formaPagamento
+            """)
+    List<Object[]> somarVendasPorFormaPagamentoResumo(String email);
+
+    /**
+     * Os produtos mais vendidos (nome, quantidade), limitados no banco; o restante entra em "Outros"
+     * a partir de {@link #quantidadeVendidaResumo}.
      */
     @Query("""
             SELECT new br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO(
-                p.nome, SUM(iv.quantidade)
+                p.nome, SUM(r.quantidade)
             )
-            FROM ItemVenda iv
-            JOIN iv.produto p
-            JOIN iv.venda v
-            WHERE v.usuario.email = :email
+            FROM ResumoVendaDiariaProduto r
+            JOIN r.produto p
+            WHERE r.usuario.email = :email
             GROUP BY p.nome
-            ORDER BY SUM(iv.quantidade) DESC
+            ORDER BY SUM(r.quantidade) DESC
+            """)
+    List<ProdutoVendasDTO> maisVendidosResumo(String email, Limit limite);
+
+    @Query("""
+            SELECT COALESCE(SUM(r.quantidade), 0)
+            FROM ResumoVendaDiariaProduto r
+            WHERE r.usuario.email = :email
             """)
-    List<ProdutoVendasDTO> countVendasPorProdutoDTO(String email);
+    long quantidadeVendidaResumo(String email);
+
+    @Query("""
+            SELECT new br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO(
+                p.nome, SUM(r.quantidade)
+            )
+            FROM ResumoVendaDiariaProduto r
+            JOIN r.produto p
+            WHERE r.usuario.email = :email
+              AND r.dia BETWEEN :inicio AND :fim
+            GROUP BY p.nome
+            ORDER BY SUM(r.quantidade) DESC
+            """)
+    List<ProdutoVendasDTO> maisVendidosResumoNoPeriodo(String email, LocalDate inicio, LocalDate fim, Limit limite);
+
+    @Query("""
+            SELECT COALESCE(SUM(r.quantidade), 0)
+            FROM ResumoVendaDiariaProduto r
+            WHERE r.usuario.email = :email
+              AND r.dia BETWEEN :inicio AND :fim
+            """)
+    long quantidadeVendidaResumoNoPeriodo(String email, LocalDate inicio, LocalDate fim);
 
     /**
-     * Para vendas diárias usamos query nativa porque usamos funções de data específicas.
-     * Retorna linhas: (dia_numero, dia_nome, total)
-     * Mapeamento é feito no service.
+     * Linhas (dia, quantidade, faturamento) do usuário no intervalo; dias sem venda não aparecem.
      */
-    @Query(value = """
-            SELECT 
-                DAYOFWEEK(v.data_venda) AS dia_numero,
-                DAYNAME(v.data_venda) AS dia_nome,
-                COALESCE(SUM(v.valor_final), 0) AS total
-            FROM venda v
-            WHERE v.data_venda BETWEEN ?1 AND ?2
-              AND v.usuario_id = ?3
-            GROUP BY DAYOFWEEK(v.data_venda), DAYNAME(v.data_venda)
-            ORDER BY dia_numero
-            """, nativeQuery = true)
-    List<Object[]> countVendasDiariasRawPorUsuario(LocalDateTime inicio, LocalDateTime fim, Long usuarioId);
+    @Query("""
+            SELECT r.dia, r.quantidadeVendas, r.faturamento
+            FROM ResumoVendaDiaria r
+            WHERE r.usuario.id = :usuarioId
+              AND r.dia BETWEEN :inicio AND :fim
+            """)
+    List<Object[]> vendasDiariasResumo(Long usuarioId, LocalDate inicio, LocalDate fim);
 }
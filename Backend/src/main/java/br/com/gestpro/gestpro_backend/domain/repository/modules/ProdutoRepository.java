@@ -3,8 +3,11 @@ package br.com.gestpro.gestpro_backend.domain.repository.modules;
 import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,4 +21,10 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     List<Produto> findByQuantidadeEstoqueAndUsuarioEmail(int quantidade, String email);
 
 
+    /**
+     * Emails dos donos e nomes dos produtos informados que estão com estoque zerado (busca por chave primária).
+     */
+    @Query("SELECT p.usuario.email, p.nome FROM Produto p WHERE p.id IN :ids AND p.quantidadeEstoque <= 0")
+    List<Object[]> buscarSemEstoque(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,8 +1,10 @@
 package br.com.gestpro.gestpro_backend.domain.repository.modules;
 
-import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ItemVendaProjecao;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResumoProjecao;
 import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
 import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -30,21 +33,6 @@ public interface VendaRepository extends JpaRepository<Venda, Long> {
     // MÉTODOS COM @QUERY (AGREGAÇÃO / JOIN)
     // ----------------------------
 
-
-    @Query("""
-                SELECT new br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO(
-                    p.nome, SUM(iv.quantidade)
-                )
-                FROM ItemVenda iv
-                JOIN iv.venda v
-                JOIN iv.produto p
-                WHERE v.usuario.email = :email
-                GROUP BY p.nome
-                ORDER BY SUM(iv.quantidade) DESC
-            """)
-    List<ProdutoVendasDTO> countVendasPorProduto(@Param("email") String email);
-
-
     // Total de vendas por período e usuário
     @Query("SELECT COALESCE(SUM(v.valorFinal), 0) " +
             "FROM Venda v " +
@@ -53,8 +41,56 @@ public interface VendaRepository extends JpaRepository<Venda, Long> {
     BigDecimal somarVendasPorUsuarioEPeriodo(@Param("inicio") LocalDateTime inicio,
                                              @Param("fim") LocalDateTime fim,
                                              @Param("email") String email);
-}
 
 
+    // ----------------------------
+    // LISTAGEM PAGINADA POR CAIXA (KEYSET EM data_venda, id)
+    // ----------------------------
 
+    /**
+     * Primeira página: vendas mais recentes do caixa, só com as colunas da listagem.
+     */
+    @Query("""
+                SELECT v.id AS id, v.dataVenda AS dataVenda, u.email AS emailUsuario, c.nome AS nomeCliente,
+                       v.total AS total, v.desconto AS desconto, v.valorFinal AS valorFinal,
+                       v.formaPagamento AS formaPagamento, v.observacao AS observacao
+                FROM Venda v
+                JOIN v.usuario u
+                LEFT JOIN v.cliente c
+                WHERE v.caixa.id = :idCaixa
+                ORDER BY v.dataVenda DESC, v.id DESC
+            """)
+    List<VendaResumoProjecao> listarResumoPorCaixa(@Param("idCaixa") Long idCaixa, Limit limite);
 
+    /**
+     * Páginas seguintes: continua a partir da última venda entregue (dataVenda, id), sem OFFSET.
+     */
+    @Query("""
+                SELECT v.id AS id, v.dataVenda AS dataVenda, u.email AS emailUsuario, c.nome AS nomeCliente,
+                       v.total AS total, v.desconto AS desconto, v.valorFinal AS valorFinal,
+                       v.formaPagamento AS formaPagamento, v.observacao AS observacao
+                FROM Venda v
+                JOIN v.usuario u
+                LEFT JOIN v.cliente c
+                WHERE v.caixa.id = :idCaixa
+                  AND (v.dataVenda < :aposData OR (v.dataVenda = :aposData AND v.id < :aposId))
+                ORDER BY v.dataVenda DESC, v.id DESC
+            """)
+    List<VendaResumoProjecao> listarResumoPorCaixaApos(@Param("idCaixa") Long idCaixa,
+                                                       @Param("aposData") LocalDateTime aposData,
+                                                       @Param("aposId") Long aposId,
+                                                       Limit limite);
+
+    /**
+     * Itens de várias vendas em uma única consulta (evita N+1 na listagem).
+     */
+    @Query("""
+                SELECT iv.venda.id AS idVenda, p.id AS idProduto, p.nome AS nomeProduto,
+                       iv.quantidade AS quantidade, iv.precoUnitario AS precoUnitario, iv.subtotal AS subtotal
+                FROM ItemVenda iv
+                JOIN iv.produto p
+                WHERE iv.venda.id IN :idsVenda
+                ORDER BY iv.venda.id, iv.id
+            """)
+    List<ItemVendaProjecao> listarItensPorVendas(@Param("idsVenda") Collection<Long> idsVenda);
+}
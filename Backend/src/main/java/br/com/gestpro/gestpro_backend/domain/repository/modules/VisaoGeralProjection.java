@@ -0,0 +1,27 @@
+package br.com.gestpro.gestpro_backend.domain.repository.modules;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha da consulta única da visão geral: contadores e plano repetidos em todas as linhas,
+ * uma linha por produto zerado (no máximo 10) ou uma só, com produtoZerado nulo.
+ */
+public interface VisaoGeralProjection {
+    Long getVendasHoje();
+
+    Long getVendasSemana();
+
+    Long getProdutosComEstoque();
+
+    Long getProdutosSemEstoque();
+
+    Long getClientesAtivos();
+
+    String getTipoPlano();
+
+    LocalDateTime getDataCriacao();
+
+    LocalDateTime getDataAssinaturaPlus();
+
+    String getProdutoZerado();
+}
@@ -7,9 +7,7 @@ import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.domain.service.EmailService;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -22,20 +20,22 @@ public class CadastroManualOperation {
 
     private final UsuarioRepository usuarioRepository;
     private final EmailService emailService;
-    private final PasswordEncoder passwordEncoder;
+    private final HashSenhaOperation hashSenha;
     private final UploadFotoOperation uploadFotoOperation;
 
     public CadastroManualOperation(UsuarioRepository usuarioRepository,
                                    EmailService emailService,
-                                   PasswordEncoder passwordEncoder,
+                                   HashSenhaOperation hashSenha,
                                    UploadFotoOperation uploadFotoOperation) {
         this.usuarioRepository = usuarioRepository;
         this.emailService = emailService;
-        this.passwordEncoder = passwordEncoder;
+        this.hashSenha = hashSenha;
         this.uploadFotoOperation = uploadFotoOperation;
     }
 
-    @Transactional
+    /**
+     * Sem transação em volta, como no login: o BCrypt não segura conexão do banco; o save é a única escrita.
+     */
     public Usuario execute(String nome, String email, String senha, MultipartFile foto, String baseUrl, String path) throws IOException {
 
         validarCampos(email, senha, path);
@@ -73,7 +73,7 @@ public class CadastroManualOperation {
 
 
         // 4️⃣ Novo cadastro
-        Usuario usuario = criarNovoUsuario(nome, email, senha, foto);
+        Usuario usuario = criarNovoUsuario(nome, email, senha, foto, path);
         usuarioRepository.save(usuario);
 
         enviarEmailConfirmacao(usuario, baseUrl);
@@ -92,11 +92,11 @@ public class CadastroManualOperation {
         }
     }
 
-    private Usuario criarNovoUsuario(String nome, String email, String senha, MultipartFile foto) throws IOException {
+    private Usuario criarNovoUsuario(String nome, String email, String senha, MultipartFile foto, String path) throws IOException {
         Usuario usuario = new Usuario();
         usuario.setNome(nome);
         usuario.setEmail(email);
-        usuario.setSenha(passwordEncoder.encode(senha));
+        usuario.setSenha(hashSenha.codificar(senha, path));
         usuario.setTipoPlano(TipoPlano.EXPERIMENTAL);
         usuario.setStatusAcesso(StatusAcesso.ATIVO);
         usuario.setEmailConfirmado(false);
@@ -113,8 +113,8 @@ public class CadastroManualOperation {
         return usuario;
     }
 
-    private void atualizarUsuarioGoogleExistente(Usuario usuario, String nome, String senha, MultipartFile foto) throws IOException {
-        usuario.setSenha(passwordEncoder.encode(senha));
+    private void atualizarUsuarioGoogleExistente(Usuario usuario, String nome, String senha, MultipartFile foto, String path) throws IOException {
+        usuario.setSenha(hashSenha.codificar(senha, path));
         usuario.setLoginGoogle(false);
         usuario.setEmailConfirmado(false);
 
@@ -0,0 +1,91 @@
+package br.com.gestpro.gestpro_backend.domain.service.authService;
+
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt de login e cadastro em um pool próprio e pequeno, fora das threads de requisição: uma rajada de logins
+ * (ou de tentativas de senha) ocupa no máximo {@code app.auth.hash.threads} núcleos, e o resto da API (vendas,
+ * caixa) continua com CPU. Com a fila cheia, a requisição volta na hora com 429 em vez de esperar; quem espera
+ * na fila desiste depois de {@code app.auth.hash.espera-ms} com 503.
+ */
+@Component
+public class HashSenhaOperation {
+
+    private static final String MENSAGEM_FILA_CHEIA = "Muitos logins ao mesmo tempo, tente novamente em instantes";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService pool;
+    private final long esperaMs;
+
+    @Autowired
+    public HashSenhaOperation(PasswordEncoder passwordEncoder,
+                              @Value("${app.auth.hash.threads:2}") int threads,
+                              @Value("${app.auth.hash.fila:8}") int fila,
+                              @Value("${app.auth.hash.espera-ms:3000}") long esperaMs) {
+        this(passwordEncoder, criarPool(threads, fila), esperaMs);
+    }
+
+    HashSenhaOperation(PasswordEncoder passwordEncoder, ExecutorService pool, long esperaMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.pool = pool;
+        this.esperaMs = esperaMs;
+    }
+
+    private static ExecutorService criarPool(int threads, int fila) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = r -> {
+            Thread t = new Thread(r, "hash-senha-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila), fabrica, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdownNow();
+    }
+
+    public String codificar(String senha, String path) {
+        return executar(() -> passwordEncoder.encode(senha), path);
+    }
+
+    public boolean confere(String senha, String hash, String path) {
+        return executar(() -> passwordEncoder.matches(senha, hash), path);
+    }
+
+    private <T> T executar(Callable<T> tarefa, String path) {
+        Future<T> futuro;
+        try {
+            futuro = pool.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new ApiException(MENSAGEM_FILA_CHEIA, HttpStatus.TOO_MANY_REQUESTS, path);
+        }
+
+        try {
+            return futuro.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new ApiException(MENSAGEM_FILA_CHEIA, HttpStatus.SERVICE_UNAVAILABLE, path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(true);
+            throw new ApiException(MENSAGEM_FILA_CHEIA, HttpStatus.SERVICE_UNAVAILABLE, path);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.gestpro.gestpro_backend.domain.service.authService;
+
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de tokens por IP e por conta na frente de /auth/login, antes de qualquer consulta ou BCrypt.
+ * Cada tentativa gasta um token; os baldes enchem de novo a uma taxa fixa por minuto até a capacidade.
+ *
+ * O balde da conta é por conta e IP: um IP que insiste numa conta esgota só as próprias tentativas nela, e o
+ * dono, de outro endereço, continua entrando. Um balde só por conta seria esvaziado por um único atacante
+ * (o limite por IP é maior que o da conta). Quem tenta a mesma conta de vários IPs fica limitado pelo balde
+ * de cada IP. Os baldes são desta instância (em memória); com várias instâncias, o limite efetivo é
+ * multiplicado pelo número delas.
+ */
+@Component
+public class LimiteTentativasLoginOperation {
+
+    private final Limite porIp;
+    private final Limite porConta;
+
+    @Autowired
+    public LimiteTentativasLoginOperation(@Value("${app.auth.login.limite.ip.capacidade:20}") int capacidadeIp,
+                                          @Value("${app.auth.login.limite.ip.por-minuto:20}") int porMinutoIp,
+                                          @Value("${app.auth.login.limite.conta.capacidade:5}") int capacidadeConta,
+                                          @Value("${app.auth.login.limite.conta.por-minuto:5}") int porMinutoConta,
+                                          @Value("${app.auth.login.limite.chaves:100000}") long chaves) {
+        this(capacidadeIp, porMinutoIp, capacidadeConta, porMinutoConta, chaves, System::nanoTime);
+    }
+
+    LimiteTentativasLoginOperation(int capacidadeIp, int porMinutoIp, int capacidadeConta, int porMinutoConta,
+                                   long chaves, LongSupplier relogioNanos) {
+        this.porIp = new Limite(capacidadeIp, porMinutoIp, chaves, relogioNanos);
+        this.porConta = new Limite(capacidadeConta, porMinutoConta, chaves, relogioNanos);
+    }
+
+    public void verificar(String ip, String email, String path) {
+        if (ip != null && !porIp.consumir(ip)) {
+            throw new ApiException("Muitas tentativas de login deste endereço, tente novamente em instantes",
+                    HttpStatus.TOO_MANY_REQUESTS, path);
+        }
+        if (email != null && !porConta.consumir(email.trim().toLowerCase(Locale.ROOT) + "|" + (ip != null ? ip : ""))) {
+            throw new ApiException("Muitas tentativas de login nesta conta, tente novamente em instantes",
+                    HttpStatus.TOO_MANY_REQUESTS, path);
+        }
+    }
+
+    /**
+     * Baldes de uma dimensão (IP ou conta). Um balde parado some depois do tempo de encher por completo:
+     * recriado cheio, dá no mesmo.
+     */
+    private static final class Limite {
+
+        private final int capacidade;
+        private final double tokensPorNano;
+        private final LongSupplier relogioNanos;
+        private final Cache<String, Balde> baldes;
+
+        Limite(int capacidade, int porMinuto, long chaves, LongSupplier relogioNanos) {
+            this.capacidade = capacidade;
+            this.tokensPorNano = porMinuto / (double) Duration.ofMinutes(1).toNanos();
+            this.relogioNanos = relogioNanos;
+            long encherNanos = (long) Math.ceil(capacidade / tokensPorNano);
+            this.baldes = Caffeine.newBuilder()
+                    .expireAfterAccess(Duration.ofNanos(encherNanos))
+                    .maximumSize(chaves)
+                    .build();
+        }
+
+        boolean consumir(String chave) {
+            long agora = relogioNanos.getAsLong();
+            return baldes.get(chave, c -> new Balde(capacidade, agora)).consumir(agora, capacidade, tokensPorNano);
+        }
+    }
+
+    private static final class Balde {
+
+        private double tokens;
+        private long atualizadoEm;
+
+        Balde(int capacidade, long agora) {
+            this.tokens = capacidade;
+            this.atualizadoEm = agora;
+        }
+
+        synchronized boolean consumir(long agora, int capacidade, double tokensPorNano) {
+            tokens = Math.min(capacidade, tokens + Math.max(0, agora - atualizadoEm) * tokensPorNano);
+            atualizadoEm = Math.max(atualizadoEm, agora);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
@@ -7,31 +7,32 @@ import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.domain.service.authService.jwtService.JwtTokenServiceInterface;
 import br.com.gestpro.gestpro_backend.domain.service.authService.planoService.VerificarPlanoOperation;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
-import jakarta.transaction.Transactional;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
 public class LoginManualOperation {
 
     private final UsuarioRepository usuarioRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final HashSenhaOperation hashSenha;
     private final VerificarPlanoOperation verificarPlano;
     private final JwtTokenServiceInterface jwtTokenService;
 
     public LoginManualOperation(UsuarioRepository usuarioRepository,
-                                PasswordEncoder passwordEncoder,
+                                HashSenhaOperation hashSenha,
                                 VerificarPlanoOperation verificarPlano,
                                 JwtTokenServiceInterface jwtTokenService) {
         this.usuarioRepository = usuarioRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.hashSenha = hashSenha;
         this.verificarPlano = verificarPlano;
         this.jwtTokenService = jwtTokenService;
     }
 
 
-    @Transactional
+    /**
+     * Sem transação em volta: o BCrypt (que pode esperar na fila do {@link HashSenhaOperation}) não segura
+     * conexão do banco. Cada save roda na própria transação do repositório.
+     */
     public LoginResponse execute(LoginUsuarioDTO loginRequest, String path) {
 
         // 1. Busca usuário por email
@@ -45,12 +46,12 @@ public class LoginManualOperation {
 
         // 3. Se usuário era login Google, converte para manual
         if (usuario.isLoginGoogle()) {
-            usuario.setSenha(passwordEncoder.encode(loginRequest.senha()));
+            usuario.setSenha(hashSenha.codificar(loginRequest.senha(), path));
             usuario.setLoginGoogle(false);
             usuarioRepository.save(usuario);
         } else {
             // 4. Verifica senha para usuários manuais
-            if (!passwordEncoder.matches(loginRequest.senha(), usuario.getSenha())) {
+            if (!hashSenha.confere(loginRequest.senha(), usuario.getSenha(), path)) {
                 throw new ApiException("Senha inválida", HttpStatus.UNAUTHORIZED, path);
             }
         }
@@ -4,6 +4,7 @@ import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.domain.service.EmailService;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -19,16 +20,19 @@ public class UpdatePasswordService {
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final RevogacaoTokens revogacaoTokens;
 
     // Mapa para guardar códigos temporariamente (email -> código + expiração)
     private final Map<String, VerificationCode> codigoMap = new HashMap<>();
 
     public UpdatePasswordService(UsuarioRepository usuarioRepository,
                                  PasswordEncoder passwordEncoder,
-                                 EmailService emailService) {
+                                 EmailService emailService,
+                                 RevogacaoTokens revogacaoTokens) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
+        this.revogacaoTokens = revogacaoTokens;
     }
 
 
@@ -81,6 +85,9 @@ public class UpdatePasswordService {
         usuario.setSenha(passwordEncoder.encode(novaSenha));
         usuarioRepository.save(usuario);
 
+        // Sessões abertas com a senha antiga deixam de valer
+        revogacaoTokens.revogarDoUsuario(email);
+
         // Remove código usado
         codigoMap.remove(email);
 
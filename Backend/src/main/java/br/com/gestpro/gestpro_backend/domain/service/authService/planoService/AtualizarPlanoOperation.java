@@ -5,6 +5,7 @@ import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
 import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import br.com.gestpro.gestpro_backend.infra.jwt.CachePrincipalJwt;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,9 +16,11 @@ import java.time.LocalDateTime;
 public class AtualizarPlanoOperation {
 
     private final UsuarioRepository usuarioRepository;
+    private final CachePrincipalJwt cachePrincipal;
 
-    public AtualizarPlanoOperation(UsuarioRepository usuarioRepository) {
+    public AtualizarPlanoOperation(UsuarioRepository usuarioRepository, CachePrincipalJwt cachePrincipal) {
         this.usuarioRepository = usuarioRepository;
+        this.cachePrincipal = cachePrincipal;
     }
 
     /**
@@ -53,6 +56,9 @@ public class AtualizarPlanoOperation {
         usuario.setTipoPlano(TipoPlano.ASSINANTE);
         usuario.setStatusAcesso(StatusAcesso.ATIVO);
 
-        return usuarioRepository.save(usuario);
+        Usuario salvo = usuarioRepository.save(usuario);
+        // tokens já emitidos ainda trazem o plano antigo nos claims; vale para todas as instâncias (ver CachePrincipalJwt)
+        cachePrincipal.invalidar(email);
+        return salvo;
     }
 }
@@ -5,6 +5,8 @@ import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
 import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import br.com.gestpro.gestpro_backend.infra.jwt.CachePrincipalJwt;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
@@ -16,9 +18,14 @@ import java.time.temporal.ChronoUnit;
 public class VerificarPlanoOperation {
 
     private final UsuarioRepository usuarioRepository;
+    private final CachePrincipalJwt cachePrincipal;
+    private final RevogacaoTokens revogacaoTokens;
 
-    public VerificarPlanoOperation(UsuarioRepository usuarioRepository) {
+    public VerificarPlanoOperation(UsuarioRepository usuarioRepository, CachePrincipalJwt cachePrincipal,
+                                   RevogacaoTokens revogacaoTokens) {
         this.usuarioRepository = usuarioRepository;
+        this.cachePrincipal = cachePrincipal;
+        this.revogacaoTokens = revogacaoTokens;
     }
 
     public void execute(Usuario usuario) {
@@ -98,10 +105,13 @@ public class VerificarPlanoOperation {
     }
 
     /**
-     * Método auxiliar para salvar o usuário e lançar exceção
+     * Método auxiliar para salvar o usuário e lançar exceção. Tokens emitidos com o plano ainda ativo
+     * são revogados: o acesso pago não continua até o exp deles.
      */
     private void salvarEExpirar(Usuario usuario, String mensagem) {
         usuarioRepository.save(usuario);
+        cachePrincipal.invalidar(usuario.getEmail());
+        revogacaoTokens.revogarDoUsuario(usuario.getEmail());
         throw new ApiException(mensagem, HttpStatus.FORBIDDEN, "/pagamento");
     }
 }
@@ -3,18 +3,24 @@ package br.com.gestpro.gestpro_backend.domain.service.modulesService.caixa;
 import br.com.gestpro.gestpro_backend.api.dto.modules.caixa.AbrirCaixaRequest;
 import br.com.gestpro.gestpro_backend.api.dto.modules.caixa.CaixaResponse;
 import br.com.gestpro.gestpro_backend.api.dto.modules.caixa.FecharCaixaRequest;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.model.enums.StatusCaixa;
 import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.CaixaRepository;
+import br.com.gestpro.gestpro_backend.infra.concorrencia.TravasPorCaixa;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -27,7 +33,11 @@ public class CaixaServiceImpl implements CaixaServiceInterface {
     private static final Logger log = LoggerFactory.getLogger(CaixaServiceImpl.class);
 
     private final CaixaRepository caixaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final RegistroCaixasAbertos registroCaixasAbertos;
+    private final TravasPorCaixa travasPorCaixa;
     private final ApplicationEventPublisher eventPublisher; // opcional, caso você publique eventos
+    private final PlatformTransactionManager transactionManager;
 
 
     @Override
@@ -36,10 +46,13 @@ public class CaixaServiceImpl implements CaixaServiceInterface {
         log.info("Solicitação de abertura de caixa iniciada. abertoPor={}, saldoInicial={}",
                 req.getAbertoPor(), req.getSaldoInicial());
 
-        // verifica se já existe caixa aberto
-        Optional<Caixa> ultimo = caixaRepository.findTopByOrderByDataAberturaDesc();
-        if (ultimo.isPresent() && Boolean.TRUE.equals(ultimo.get().getAberto())) {
-            log.warn("Tentativa de abrir caixa quando já existe um aberto. caixaId={}", ultimo.get().getId());
+        Usuario usuario = usuarioRepository.findByEmail(req.getAbertoPor())
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado: " + req.getAbertoPor()));
+
+        // verifica se o usuário já tem caixa aberto (registro em memória, confirmado no banco quando aponta um caixa)
+        Optional<Long> aberto = registroCaixasAbertos.caixaAberto(usuario.getId());
+        if (aberto.isPresent()) {
+            log.warn("Tentativa de abrir caixa quando já existe um aberto. caixaId={}", aberto.get());
             throw new IllegalStateException("Já existe um caixa aberto.");
         }
 
@@ -51,10 +64,21 @@ public class CaixaServiceImpl implements CaixaServiceInterface {
 
 
         caixa.setAbertoPor(req.getAbertoPor());
+        caixa.setUsuario(usuario);
+        caixa.setAbertoUsuarioId(usuario.getId());
 
         caixa.setTotalVendas(BigDecimal.ZERO);
 
-        Caixa salvo = caixaRepository.save(caixa);
+        // o registro é só uma dica: quem garante um caixa aberto por usuário é a restrição única do banco
+        Caixa salvo;
+        try {
+            salvo = caixaRepository.saveAndFlush(caixa);
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Abertura recusada pelo banco: já existe caixa aberto. usuarioId={}", usuario.getId());
+            registroCaixasAbertos.invalidar(usuario.getId());
+            throw new IllegalStateException("Já existe um caixa aberto.", ex);
+        }
+        registroCaixasAbertos.registrarAbertura(usuario.getId(), salvo.getId());
 
         log.info("Caixa aberto com sucesso. caixaId={}", salvo.getId());
         return mapToResponse(salvo);
@@ -62,11 +86,18 @@ public class CaixaServiceImpl implements CaixaServiceInterface {
 
 
     @Override
-    @Transactional
     public CaixaResponse fecharCaixa(FecharCaixaRequest req) {
         log.info("Solicitação de fechamento de caixa iniciada. caixaId={}, fechadoPor={}, valorFinal={}",
                 req.getCaixaId(), req.getFechadoPor(), req.getSaldoFinal());
 
+        // espera as vendas em andamento neste caixa; nenhuma outra entra até o commit do fechamento.
+        // A trava vem antes da transação, para a espera não segurar conexão do pool.
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return travasPorCaixa.executarComTrava(req.getCaixaId(), "/api/v1/caixas/fechar",
+                () -> transactionTemplate.execute(status -> fechar(req)));
+    }
+
+    private CaixaResponse fechar(FecharCaixaRequest req) {
         Caixa caixa = caixaRepository.findById(req.getCaixaId())
                 .orElseThrow(() -> new EntityNotFoundException("Caixa não encontrado com id: " + req.getCaixaId()));
 
@@ -76,12 +107,14 @@ public class CaixaServiceImpl implements CaixaServiceInterface {
         }
 
         try {
-            caixa.recalcularTotalVendas();
+            // reconcilia o total incremental com um único SUM no banco
+            caixa.setTotalVendas(caixaRepository.somarTotalVendas(caixa.getId()));
 
             caixa.setValorFinal(req.getSaldoFinal());
             caixa.setDataFechamento(LocalDateTime.now());
             caixa.setAberto(false);
             caixa.setStatus(StatusCaixa.FECHADO);
+            caixa.setAbertoUsuarioId(null);
 
             if (req.getFechadoPor() != null) {
                 caixa.setFechadoPor(req.getFechadoPor());
@@ -98,6 +131,10 @@ public class CaixaServiceImpl implements CaixaServiceInterface {
                 throw new OptimisticLockingFailureException("Conflito ao fechar caixa. Tente novamente.", ex);
             }
 
+            if (salvo.getUsuario() != null) {
+                registroCaixasAbertos.registrarFechamento(salvo.getUsuario().getId(), salvo.getId());
+            }
+
             log.info("Caixa fechado com sucesso. caixaId={}", salvo.getId());
 
             try {
@@ -121,8 +158,7 @@ public class CaixaServiceImpl implements CaixaServiceInterface {
         Caixa caixa = caixaRepository.findById(caixaId)
                 .orElseThrow(() -> new EntityNotFoundException("Caixa não encontrado com id: " + caixaId));
 
-        // garante total atualizado
-        caixa.recalcularTotalVendas();
+        // totalVendas já é mantido incrementalmente a cada venda registrada
         return mapToResponse(caixa);
     }
 
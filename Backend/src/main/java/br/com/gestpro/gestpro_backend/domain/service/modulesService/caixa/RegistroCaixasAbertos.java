@@ -0,0 +1,141 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.caixa;
+
+import br.com.gestpro.gestpro_backend.domain.model.enums.StatusCaixa;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.CaixaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Caixa aberto de cada usuário, em memória, usado como dica.
+ *
+ * A primeira consulta de um usuário vai ao banco (índice usuario_id + status); depois disso a resposta sai do
+ * mapa. Abertura e fechamento atualizam o registro só após o commit, para que um rollback não deixe o registro
+ * diferente do banco, e avisam as outras instâncias pelo canal {@link #CANAL}, que descartam a entrada do
+ * usuário. Pub/sub não garante entrega, por isso as entradas também expiram sozinhas após um TTL curto.
+ *
+ * Um caixa aberto vindo do mapa é confirmado no banco (pela chave primária) antes de ser devolvido, então um
+ * caixa fechado em outra instância nunca impede uma nova abertura aqui. O "nenhum caixa aberto" não é
+ * confirmado: a regra de um caixa aberto por usuário é garantida pela restrição única em
+ * {@code caixa.aberto_usuario_id}, que também fecha a corrida entre verificar e inserir.
+ */
+@Component
+public class RegistroCaixasAbertos implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroCaixasAbertos.class);
+
+    public static final String CANAL = "caixa:abertos";
+
+    /**
+     * idCaixa null = usuário sem caixa aberto.
+     */
+    private record Estado(Long idCaixa) {
+    }
+
+    private static final Estado NENHUM = new Estado(null);
+
+    private final Cache<Long, Estado> porUsuario;
+    private final CaixaRepository caixaRepository;
+    private final StringRedisTemplate redis;
+    private final String origem = UUID.randomUUID().toString();
+
+    public RegistroCaixasAbertos(CaixaRepository caixaRepository,
+                                 StringRedisTemplate redis,
+                                 @Value("${app.caixa.registro.ttl-segundos:60}") long ttlSegundos) {
+        this.caixaRepository = caixaRepository;
+        this.redis = redis;
+        this.porUsuario = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public Optional<Long> caixaAberto(Long idUsuario) {
+        Estado estado = porUsuario.get(idUsuario, this::buscarNoBanco);
+        if (estado.idCaixa() != null && caixaRepository.buscarIdsAbertos(Set.of(estado.idCaixa())).isEmpty()) {
+            // fechado em outra instância (ou a mensagem se perdeu): relê do banco
+            estado = buscarNoBanco(idUsuario);
+            porUsuario.put(idUsuario, estado);
+        }
+        return Optional.ofNullable(estado.idCaixa());
+    }
+
+    public void registrarAbertura(Long idUsuario, Long idCaixa) {
+        aposCommit(() -> {
+            porUsuario.put(idUsuario, new Estado(idCaixa));
+            publicar(idUsuario);
+        });
+    }
+
+    public void registrarFechamento(Long idUsuario, Long idCaixa) {
+        // só limpa se o registro ainda aponta para este caixa
+        aposCommit(() -> {
+            porUsuario.asMap().computeIfPresent(idUsuario,
+                    (id, estado) -> idCaixa.equals(estado.idCaixa()) ? NENHUM : estado);
+            publicar(idUsuario);
+        });
+    }
+
+    public void invalidar(Long idUsuario) {
+        porUsuario.invalidate(idUsuario);
+    }
+
+    /**
+     * Mensagem: origem|idUsuario. As próprias mensagens são ignoradas.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] partes = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 2);
+        if (partes.length < 2 || origem.equals(partes[0])) {
+            return;
+        }
+        try {
+            invalidar(Long.valueOf(partes[1]));
+        } catch (NumberFormatException e) {
+            log.warn("Mensagem inválida no canal {}: {}", CANAL, partes[1]);
+        }
+    }
+
+    private Estado buscarNoBanco(Long idUsuario) {
+        List<Long> ids = caixaRepository.buscarIdsPorUsuarioEStatus(idUsuario, StatusCaixa.ABERTO, Limit.of(1));
+        return ids.isEmpty() ? NENHUM : new Estado(ids.get(0));
+    }
+
+    private void publicar(Long idUsuario) {
+        try {
+            redis.convertAndSend(CANAL, origem + "|" + idUsuario);
+        } catch (RuntimeException e) {
+            log.warn("Abertura/fechamento de caixa do usuário {} não publicado; outras instâncias o verão após o TTL: {}",
+                    idUsuario, e.getMessage());
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,302 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.*;
+import br.com.gestpro.gestpro_backend.infra.cache.CacheDoisNiveis;
+import br.com.gestpro.gestpro_backend.infra.cache.CacheManagerDoisNiveis;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aplica vendas novas diretamente nos caches do dashboard do usuário, em vez de removê-los:
+ * soma em vendas de hoje/semana, no método de pagamento e no dia da semana. O ranking de produtos é mantido
+ * à parte, em {@link RankingProdutosOperation}.
+ *
+ * Roda após o commit das vendas, ao receber o {@link VendasConfirmadasEvento}. Se o valor em cache não
+ * tiver o formato esperado, ou se algum produto da venda zerou o estoque (muda contadores e alertas de
+ * estoque da visão geral), a entrada é removida e recalculada na próxima leitura. Sem entrada em cache não há o que atualizar.
+ *
+ * Só soma em um valor que sabidamente não inclui as vendas: antes do commit ({@link VendasEmConfirmacaoEvento}) guarda a
+ * instância em cache de cada usuário; depois do commit, soma apenas se a entrada ainda é essa instância. Outra
+ * instância na entrada quer dizer que alguém a gravou no meio do caminho: um recalculo que pode já ter lido as
+ * vendas, a soma de outra transação do mesmo usuário ou a de outra instância. Nesse caso a entrada é removida
+ * em vez de somada, para não contar a venda duas vezes nem apagar a soma alheia.
+ *
+ * As atualizações de um mesmo usuário são serializadas nesta instância. Entre instâncias resta a janela até a
+ * invalidação do L1 chegar por pub/sub; o TTL do cache limita quanto tempo uma diferença dura.
+ */
+@Component
+public class AtualizarCachesDashboardOperation {
+
+    private static final Logger log = LoggerFactory.getLogger(AtualizarCachesDashboardOperation.class);
+
+    static final String VISAO_GERAL = "dashboard-v2";
+    static final String METODOS = "grafico-metodos";
+    static final String DIARIAS = "grafico-vendas-diarias";
+    public static final List<String> CACHES = List.of(VISAO_GERAL, METODOS, DIARIAS);
+
+    private static final int FAIXAS_TRAVA = 64;
+
+    private final CacheManager cacheManager;
+    private final Object[] travas = new Object[FAIXAS_TRAVA];
+    /**
+     * Por cache|email, a instância em cache antes do commit das vendas; consumida ao aplicá-las. Expira para não
+     * acumular as de transações que voltaram atrás.
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> bases = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .maximumSize(10_000)
+            .build();
+
+    private final LongAdder atualizadas = new LongAdder();
+    private final LongAdder recalculos = new LongAdder();
+    private final LongAdder semEntrada = new LongAdder();
+    private final LongAdder conflitos = new LongAdder();
+
+    public AtualizarCachesDashboardOperation(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        for (int i = 0; i < FAIXAS_TRAVA; i++) {
+            travas[i] = new Object();
+        }
+    }
+
+    /**
+     * Recebido dentro da transação das vendas, antes do commit (ver {@link PublicarVendasConfirmadasOperation}):
+     * o que está em cache agora foi calculado sem elas.
+     */
+    @EventListener
+    public void antesDoCommit(VendasEmConfirmacaoEvento evento) {
+        for (String email : evento.emails()) {
+            synchronized (travas[Math.floorMod(email.hashCode(), FAIXAS_TRAVA)]) {
+                for (String nome : CACHES) {
+                    Cache cache = cacheManager.getCache(nome);
+                    Cache.ValueWrapper valor = cache != null ? cache.get(email) : null;
+                    // já há base (outra transação ainda não aplicada): fica a mais antiga, e a segunda a aplicar
+                    // encontra a soma da primeira no lugar dela e remove a entrada
+                    if (valor != null && valor.get() != null) {
+                        bases.asMap().putIfAbsent(chaveBase(nome, email), valor.get());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Chamado depois do commit das vendas (ver {@link PublicarVendasConfirmadasOperation}); antes do stream,
+     * para que uma tela que recarregue ao receber a variação já leia o cache atualizado.
+     */
+    @EventListener
+    @Order(0)
+    public void aoConfirmarVendas(VendasConfirmadasEvento evento) {
+        evento.porUsuario().forEach((email, doUsuario) -> {
+            synchronized (travas[Math.floorMod(email.hashCode(), FAIXAS_TRAVA)]) {
+                try {
+                    atualizarVisaoGeral(email, doUsuario, !evento.produtosZerados(email).isEmpty());
+                    atualizarMetodos(email, doUsuario);
+                    atualizarDiarias(email, doUsuario);
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao atualizar caches do dashboard de {}; removendo: {}", email, e.getMessage());
+                    CACHES.forEach(nome -> {
+                        bases.invalidate(chaveBase(nome, email));
+                        recalcular(nome, email);
+                    });
+                }
+            }
+        });
+    }
+
+    // ------------------ UM MÉTODO POR CACHE ------------------
+
+    private void atualizarVisaoGeral(String email, List<VendaResumida> vendas, boolean zerouEstoque) {
+        Cache cache = cacheManager.getCache(VISAO_GERAL);
+        Cache.ValueWrapper valor = entrada(cache, VISAO_GERAL, email);
+        if (valor == null) {
+            return;
+        }
+        if (!(valor.get() instanceof DashboardVisaoGeralResponse atual) || atual.getVendasHoje() == null
+                || atual.getVendasSemana() == null || atual.getAlertas() == null) {
+            recalcular(VISAO_GERAL, email);
+            return;
+        }
+
+        if (zerouEstoque) {
+            // contadores de estoque e a lista de produtos zerados mudaram
+            recalcular(VISAO_GERAL, email);
+            return;
+        }
+
+        LocalDate hoje = LocalDate.now();
+        long deHoje = vendas.stream().filter(v -> v.dia().equals(hoje)).count();
+        long daSemana = vendas.stream().filter(v -> naSemana(v.dia(), hoje)).count();
+        long vendasSemana = atual.getVendasSemana() + daSemana;
+
+        gravar(cache, email, new DashboardVisaoGeralResponse(
+                atual.getVendasHoje() + deHoje,
+                atual.getProdutosComEstoque(),
+                atual.getProdutosSemEstoque(),
+                atual.getClientesAtivos(),
+                vendasSemana,
+                atual.getPlanoUsuario(),
+                VisaoGeralOperation.comAlertaVendasSemana(atual.getAlertas(), vendasSemana)));
+    }
+
+    private void atualizarMetodos(String email, List<VendaResumida> vendas) {
+        Cache cache = cacheManager.getCache(METODOS);
+        Cache.ValueWrapper valor = entrada(cache, METODOS, email);
+        if (valor == null) {
+            return;
+        }
+        List<MetodoPagamentoDTO> atual = listaDe(valor.get(), MetodoPagamentoDTO.class);
+        if (atual == null) {
+            recalcular(METODOS, email);
+            return;
+        }
+
+        // cópias: o valor em cache é compartilhado com quem já o leu
+        Map<String, MetodoPagamentoDTO> porMetodo = new LinkedHashMap<>();
+        for (MetodoPagamentoDTO dto : atual) {
+            MetodoPagamentoDTO copia = new MetodoPagamentoDTO();
+            copia.setMetodo(dto.getMetodo());
+            copia.setTotal(dto.getTotal() != null ? dto.getTotal() : 0L);
+            porMetodo.put(dto.getMetodo(), copia);
+        }
+        for (VendaResumida venda : vendas) {
+            if (venda.forma() == null) {
+                continue; // o resumo por forma de pagamento também ignora
+            }
+            MetodoPagamentoDTO bucket = porMetodo.computeIfAbsent(venda.forma().name(),
+                    m -> new MetodoPagamentoDTO(venda.forma(), 0L));
+            bucket.setTotal(bucket.getTotal() + 1);
+        }
+
+        gravar(cache, email, new ArrayList<>(porMetodo.values()));
+    }
+
+    private void atualizarDiarias(String email, List<VendaResumida> vendas) {
+        Cache cache = cacheManager.getCache(DIARIAS);
+        Cache.ValueWrapper valor = entrada(cache, DIARIAS, email);
+        if (valor == null) {
+            return;
+        }
+        List<VendasDiariasDTO> atual = listaDe(valor.get(), VendasDiariasDTO.class);
+        if (atual == null || atual.size() != DayOfWeek.values().length) {
+            recalcular(DIARIAS, email);
+            return;
+        }
+
+        // Segunda→Domingo, como em GraficoServiceOperation.vendasDiariasSemana
+        double[] totais = atual.stream().mapToDouble(VendasDiariasDTO::getTotal).toArray();
+        LocalDate hoje = LocalDate.now();
+        for (VendaResumida venda : vendas) {
+            if (naSemana(venda.dia(), hoje)) {
+                totais[venda.dia().getDayOfWeek().getValue() - 1] += venda.valorFinal().doubleValue();
+            }
+        }
+
+        List<VendasDiariasDTO> novo = new ArrayList<>();
+        for (int i = 0; i < totais.length; i++) {
+            novo.add(new VendasDiariasDTO(atual.get(i).getDia(), totais[i]));
+        }
+        gravar(cache, email, novo);
+    }
+
+    /**
+     * "Hoje" e "semana" dos valores em cache mudam à meia-noite; na virada eles são descartados.
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void limparAoVirarODia() {
+        for (String nome : List.of(VISAO_GERAL, DIARIAS)) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    // ------------------ ESTATÍSTICAS ------------------
+
+    public EstatisticasCacheDashboardDTO estatisticas() {
+        long acertos = 0;
+        long faltas = 0;
+        long antigosServidos = 0;
+        if (cacheManager instanceof CacheManagerDoisNiveis doisNiveis) {
+            for (String nome : CACHES) {
+                CacheDoisNiveis.Estatisticas e = doisNiveis.estatisticas(nome);
+                if (e != null) {
+                    acertos += e.acertos();
+                    faltas += e.faltas();
+                    antigosServidos += e.antigosServidos();
+                }
+            }
+        }
+        return new EstatisticasCacheDashboardDTO(acertos, faltas, antigosServidos,
+                atualizadas.sum(), recalculos.sum(), semEntrada.sum(), conflitos.sum());
+    }
+
+    // ------------------ MÉTODOS AUXILIARES ------------------
+
+    /**
+     * Entrada a somar; null quando não há entrada (ou cache) para atualizar ou quando ela foi gravada por outro
+     * depois de {@link #antesDoCommit} (conflito: a entrada é removida).
+     */
+    private Cache.ValueWrapper entrada(Cache cache, String nomeCache, String email) {
+        Object base = bases.asMap().remove(chaveBase(nomeCache, email));
+        Cache.ValueWrapper wrapper = cache != null ? cache.get(email) : null;
+        if (wrapper == null) {
+            semEntrada.increment();
+            return null;
+        }
+        if (base != wrapper.get()) {
+            conflitos.increment();
+            recalcular(nomeCache, email);
+            return null;
+        }
+        return wrapper;
+    }
+
+    private void gravar(Cache cache, String email, Object novo) {
+        cache.put(email, novo);
+        atualizadas.increment();
+    }
+
+    private static String chaveBase(String nomeCache, String email) {
+        return nomeCache + "|" + email;
+    }
+
+    private void recalcular(String nomeCache, String email) {
+        Cache cache = cacheManager.getCache(nomeCache);
+        if (cache != null) {
+            cache.evict(email);
+        }
+        recalculos.increment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> listaDe(Object valor, Class<T> tipo) {
+        if (!(valor instanceof List<?> lista)) {
+            return null;
+        }
+        for (Object item : lista) {
+            if (!tipo.isInstance(item)) {
+                return null;
+            }
+        }
+        return (List<T>) lista;
+    }
+
+    static boolean naSemana(LocalDate dia, LocalDate hoje) {
+        return !dia.isBefore(hoje.with(DayOfWeek.MONDAY)) && !dia.isAfter(hoje.with(DayOfWeek.SUNDAY));
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
+
+import java.util.*;
+
+/**
+ * Os produtos mais vendidos de um usuário, no máximo {@code capacidade}, atualizados a cada venda (Space-Saving).
+ *
+ * Os itens ficam ordenados por quantidade, então o top-N é lido sem ordenar nada. Quando um produto fora
+ * da lista vende com a lista cheia, ele toma o lugar do último e herda a quantidade dele como erro: a
+ * quantidade de um item pode passar da real em até {@code erro}, nunca ficar abaixo. Produto com venda
+ * real maior que a do último da lista está sempre nela.
+ */
+final class ContadorMaisVendidos {
+
+    record Item(String nome, long quantidade, long erro) {
+    }
+
+    private static final Comparator<Item> ORDEM =
+            Comparator.comparingLong(Item::quantidade).reversed().thenComparing(Item::nome);
+
+    private final int capacidade;
+    private final Map<String, Item> porNome = new HashMap<>();
+    private final TreeSet<Item> ordenados = new TreeSet<>(ORDEM);
+    private long total;
+
+    /**
+     * @param iniciais os mais vendidos exatos (até {@code capacidade}), lidos do resumo
+     * @param total    quantidade vendida de todos os produtos
+     */
+    ContadorMaisVendidos(int capacidade, List<ProdutoVendasDTO> iniciais, long total) {
+        this.capacidade = capacidade;
+        this.total = total;
+        for (ProdutoVendasDTO produto : iniciais) {
+            if (porNome.size() == capacidade) {
+                break;
+            }
+            Item item = new Item(produto.getNome(), produto.getQuantidade() != null ? produto.getQuantidade() : 0, 0);
+            porNome.put(item.nome(), item);
+            ordenados.add(item);
+        }
+    }
+
+    synchronized void somar(String nome, long quantidade) {
+        total += quantidade;
+        Item atual = porNome.get(nome);
+        Item novo;
+        if (atual != null) {
+            ordenados.remove(atual);
+            novo = new Item(nome, atual.quantidade() + quantidade, atual.erro());
+        } else if (porNome.size() < capacidade) {
+            novo = new Item(nome, quantidade, 0);
+        } else {
+            Item ultimo = ordenados.pollLast();
+            porNome.remove(ultimo.nome());
+            novo = new Item(nome, ultimo.quantidade() + quantidade, ultimo.quantidade());
+        }
+        porNome.put(nome, novo);
+        ordenados.add(novo);
+    }
+
+    synchronized List<Item> top(int limite) {
+        List<Item> top = new ArrayList<>(Math.min(limite, ordenados.size()));
+        for (Item item : ordenados) {
+            if (top.size() == limite) {
+                break;
+            }
+            top.add(item);
+        }
+        return top;
+    }
+
+    synchronized long total() {
+        return total;
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Monta o dashboard completo disparando visão geral e os três gráficos ao mesmo tempo.
+ *
+ * As chamadas passam pelo {@link DashboardServiceInterface} (proxy), então cache e transação de cada
+ * método continuam valendo; cada uma roda numa thread do pool próprio desta classe. O tempo total fica
+ * próximo da consulta mais lenta, limitado por app.dashboard.agregado.timeout-ms: o que não terminar
+ * até lá é descartado e volta como seção indisponível.
+ *
+ * Cada tarefa segura uma conexão do Hikari enquanto roda, então app.dashboard.agregado.threads deve
+ * ficar abaixo do tamanho do pool de conexões. Com a fila cheia a tarefa roda na thread da requisição.
+ * O pool não é exposto como bean Executor para não substituir o applicationTaskExecutor do Spring.
+ */
+@Component
+public class DashboardAgregadoOperation {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAgregadoOperation.class);
+
+    static final String VISAO_GERAL = "visaoGeral";
+    static final String METODO_PAGAMENTO = "vendasPorMetodoPagamento";
+    static final String PRODUTO = "vendasPorProduto";
+    static final String DIARIAS = "vendasDiarias";
+
+    private final DashboardServiceInterface dashboardService;
+    private final ExecutorService executor;
+    private final long timeoutMs;
+
+    @Autowired
+    public DashboardAgregadoOperation(DashboardServiceInterface dashboardService,
+                                      @Value("${app.dashboard.agregado.threads:8}") int threads,
+                                      @Value("${app.dashboard.agregado.fila:200}") int fila,
+                                      @Value("${app.dashboard.agregado.timeout-ms:3000}") long timeoutMs) {
+        this(dashboardService, criarPool(threads, fila), timeoutMs);
+    }
+
+    DashboardAgregadoOperation(DashboardServiceInterface dashboardService, ExecutorService executor, long timeoutMs) {
+        this.dashboardService = dashboardService;
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    private static ExecutorService criarPool(int threads, int fila) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = r -> {
+            Thread t = new Thread(r, "dashboard-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila), fabrica, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    public DashboardCompletoResponse dashboardCompleto(String email) {
+        CompletableFuture<DashboardVisaoGeralResponse> visaoGeral = disparar(() -> dashboardService.visaoGeral(email));
+        CompletableFuture<List<MetodoPagamentoDTO>> metodos = disparar(() -> dashboardService.vendasPorMetodoPagamento(email));
+        CompletableFuture<List<ProdutoVendasDTO>> produtos = disparar(() -> dashboardService.vendasPorProduto(email));
+        CompletableFuture<List<VendasDiariasDTO>> diarias = disparar(() -> dashboardService.vendasDiariasSemana(email));
+
+        // um único prazo para o conjunto, não um por seção
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<String> indisponiveis = new ArrayList<>();
+
+        DashboardCompletoResponse response = new DashboardCompletoResponse();
+        response.setVisaoGeral(aguardar(visaoGeral, prazo, VISAO_GERAL, indisponiveis));
+        response.setVendasPorMetodoPagamento(aguardar(metodos, prazo, METODO_PAGAMENTO, indisponiveis));
+        response.setVendasPorProduto(aguardar(produtos, prazo, PRODUTO, indisponiveis));
+        response.setVendasDiarias(aguardar(diarias, prazo, DIARIAS, indisponiveis));
+        response.setSecoesIndisponiveis(indisponiveis);
+        return response;
+    }
+
+    private <T> CompletableFuture<T> disparar(Supplier<T> consulta) {
+        return CompletableFuture.supplyAsync(consulta, executor);
+    }
+
+    private <T> T aguardar(CompletableFuture<T> futuro, long prazo, String secao, List<String> indisponiveis) {
+        try {
+            long restante = Math.max(0, prazo - System.nanoTime());
+            return futuro.get(restante, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            log.warn("Dashboard: seção {} não terminou em {} ms", secao, timeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard: falha ao carregar seção {}: {}", secao, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(true);
+        }
+        indisponiveis.add(secao);
+        return null;
+    }
+}
@@ -1,27 +1,25 @@
 package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
 
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.*;
-import br.com.gestpro.gestpro_backend.domain.repository.modules.DashboardRepository;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Stream;
 
 @Service
 public class DashboardServiceImpl implements DashboardServiceInterface {
 
-    private final DashboardRepository dashboardRepository;
     private final GraficoServiceOperation graficoServiceOperation;
     private final VisaoGeralOperation visaoGeralOperation;
+    private final RankingProdutosOperation rankingProdutos;
 
-    public DashboardServiceImpl(DashboardRepository dashboardRepository,
-                                GraficoServiceOperation graficoServiceOperation,
-                                VisaoGeralOperation visaoGeralOperation) {
-        this.dashboardRepository = dashboardRepository;
+    public DashboardServiceImpl(GraficoServiceOperation graficoServiceOperation,
+                                VisaoGeralOperation visaoGeralOperation,
+                                RankingProdutosOperation rankingProdutos) {
         this.graficoServiceOperation = graficoServiceOperation;
         this.visaoGeralOperation = visaoGeralOperation;
+        this.rankingProdutos = rankingProdutos;
     }
 
 
@@ -36,22 +34,26 @@ public class DashboardServiceImpl implements DashboardServiceInterface {
 
 
     // Graficos
+    // sync = true: acessos simultâneos sem cache esperam um único cálculo e, depois de uma venda,
+    // recebem o valor anterior enquanto o novo é calculado (ver CacheDoisNiveis). Listas vazias também
+    // ficam em cache (sync não aceita unless); a próxima venda as remove.
     @Override
-    @Cacheable(cacheNames = "grafico-metodos", key = "#email", unless = "#result == null || #result.isEmpty()")
+    @Cacheable(cacheNames = "grafico-metodos", key = "#email", sync = true)
     @Transactional(readOnly = true)
     public List<MetodoPagamentoDTO> vendasPorMetodoPagamento(String email) {
         return graficoServiceOperation.vendasPorMetodoPagamento(email);
     }
 
+    /**
+     * Sem cache no Redis: o ranking já é mantido em memória a cada venda (ver RankingProdutosOperation).
+     */
     @Override
-    @Cacheable(cacheNames = "grafico-produtos", key = "#email", unless = "#result == null || #result.isEmpty()")
-    @Transactional(readOnly = true)
     public List<ProdutoVendasDTO> vendasPorProduto(String email) {
-        return graficoServiceOperation.vendasPorProduto(email);
+        return rankingProdutos.ranking(email, RankingProdutosOperation.LIMITE_PADRAO, null, null);
     }
 
     @Override
-    @Cacheable(cacheNames = "grafico-vendas-diarias", key = "#email")
+    @Cacheable(cacheNames = "grafico-vendas-diarias", key = "#email", sync = true)
     @Transactional(readOnly = true)
     public List<VendasDiariasDTO> vendasDiariasSemana(String email) {
         return graficoServiceOperation.vendasDiariasSemana(email);
@@ -59,35 +61,10 @@ public class DashboardServiceImpl implements DashboardServiceInterface {
 
 
     @Override
-    @Cacheable(cacheNames = "dashboard-v2", key = "#email")
+    @Cacheable(cacheNames = "dashboard-v2", key = "#email", sync = true)
     @Transactional(readOnly = true)
     public DashboardVisaoGeralResponse visaoGeral(String email) {
-
-        var p = dashboardRepository.findDashboardCountsByEmail(email);
-
-        Long vendasHoje = p.getVendasHoje();
-        Long produtosComEstoque = p == null ? 0L : (p.getProdutosComEstoque() == null ? 0L : p.getProdutosComEstoque());
-        Long produtosSemEstoque = p.getProdutosSemEstoque();
-        Long clientesAtivos = p.getClientesAtivos();
-        Long vendasSemanais = visaoGeralOperation.vendasSemana(email);
-        PlanoDTO planoUsuario = planoUsuarioLogado(email);
-
-        List<String> alertas = Stream.concat(
-                visaoGeralOperation.alertasProdutosZerados(email).stream(),
-                visaoGeralOperation.alertasVendasSemana(email).stream()
-        ).toList();
-
-
-        return new DashboardVisaoGeralResponse(
-                vendasHoje,
-                produtosComEstoque,
-                produtosSemEstoque,
-                clientesAtivos,
-                vendasSemanais,
-                planoUsuario,
-                alertas
-        );
+        // contadores, plano e alertas em uma única consulta
+        return visaoGeralOperation.visaoGeral(email);
     }
-
-
 }
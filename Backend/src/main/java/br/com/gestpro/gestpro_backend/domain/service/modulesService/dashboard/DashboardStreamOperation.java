@@ -0,0 +1,214 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.DeltaDashboardDTO;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conexões de /api/dashboard/stream: cada venda confirmada vira um evento "venda" com o {@link DeltaDashboardDTO}
+ * para as telas abertas do dono, em vez de as telas consultarem o dashboard de tempos em tempos.
+ *
+ * A conexão parada não ocupa thread (resposta assíncrona do servlet); os envios rodam em um pool pequeno,
+ * fora da thread do commit. Um comentário periódico mantém proxies abertos e descobre conexões mortas.
+ * Os eventos são desta instância: a tela conectada em outra instância só vê vendas feitas nela.
+ */
+@Component
+public class DashboardStreamOperation {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamOperation.class);
+
+    static final String EVENTO_VENDA = "venda";
+    private static final String CAMINHO = "/api/dashboard/stream";
+    private static final long RECONEXAO_MS = 3000;
+
+    private final ConcurrentHashMap<String, Set<SseEmitter>> porUsuario = new ConcurrentHashMap<>();
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final ExecutorService envios;
+    private final long timeoutMs;
+    private final int maxConexoes;
+    private final int maxPorUsuario;
+
+    @Autowired
+    public DashboardStreamOperation(@Value("${app.dashboard.stream.threads:4}") int threads,
+                                    @Value("${app.dashboard.stream.fila:1000}") int fila,
+                                    @Value("${app.dashboard.stream.timeout-ms:1800000}") long timeoutMs,
+                                    @Value("${app.dashboard.stream.max-conexoes:5000}") int maxConexoes,
+                                    @Value("${app.dashboard.stream.max-por-usuario:10}") int maxPorUsuario) {
+        this(criarPool(threads, fila), timeoutMs, maxConexoes, maxPorUsuario);
+    }
+
+    DashboardStreamOperation(ExecutorService envios, long timeoutMs, int maxConexoes, int maxPorUsuario) {
+        this.envios = envios;
+        this.timeoutMs = timeoutMs;
+        this.maxConexoes = maxConexoes;
+        this.maxPorUsuario = maxPorUsuario;
+    }
+
+    private static ExecutorService criarPool(int threads, int fila) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = r -> {
+            Thread t = new Thread(r, "dashboard-stream-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila), fabrica, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        porUsuario.values().forEach(inscritos -> inscritos.forEach(SseEmitter::complete));
+        envios.shutdown();
+    }
+
+    public SseEmitter inscrever(String email) {
+        if (conexoes.incrementAndGet() > maxConexoes) {
+            conexoes.decrementAndGet();
+            throw new ApiException("Limite de conexões ao vivo atingido, tente novamente em instantes",
+                    HttpStatus.SERVICE_UNAVAILABLE, CAMINHO);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        boolean[] aceito = {false};
+        porUsuario.compute(email, (e, atuais) -> {
+            Set<SseEmitter> inscritos = atuais != null ? atuais : ConcurrentHashMap.newKeySet();
+            if (inscritos.size() < maxPorUsuario) {
+                aceito[0] = inscritos.add(emitter);
+            }
+            return inscritos.isEmpty() ? null : inscritos;
+        });
+        if (!aceito[0]) {
+            conexoes.decrementAndGet();
+            throw new ApiException("Muitas telas com o dashboard ao vivo abertas", HttpStatus.TOO_MANY_REQUESTS, CAMINHO);
+        }
+
+        emitter.onCompletion(() -> remover(email, emitter));
+        emitter.onError(e -> remover(email, emitter));
+        emitter.onTimeout(emitter::complete);
+        try {
+            // antes da resposta começar, o envio só fica guardado; sai junto com os cabeçalhos
+            emitter.send(SseEmitter.event().reconnectTime(RECONEXAO_MS).comment("conectado"));
+        } catch (IOException e) {
+            remover(email, emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Depois do cache (ver {@link AtualizarCachesDashboardOperation#aoConfirmarVendas}). Só monta o evento
+     * para usuários com tela aberta nesta instância.
+     */
+    @EventListener
+    @Order(1)
+    public void aoConfirmarVendas(VendasConfirmadasEvento evento) {
+        evento.porUsuario().forEach((email, vendas) -> {
+            Set<SseEmitter> inscritos = porUsuario.get(email);
+            if (inscritos == null || inscritos.isEmpty()) {
+                return;
+            }
+            Set<DataWithMediaType> dados = SseEmitter.event()
+                    .id(Long.toString(sequencia.incrementAndGet()))
+                    .name(EVENTO_VENDA)
+                    .data(delta(vendas, evento.produtosZerados(email)), MediaType.APPLICATION_JSON)
+                    .build();
+            List<SseEmitter> destino = List.copyOf(inscritos);
+            try {
+                envios.execute(() -> destino.forEach(emitter -> enviar(email, emitter, dados)));
+            } catch (RejectedExecutionException e) {
+                // a variação se perderia: encerra para a tela reconectar e recarregar o dashboard
+                log.warn("Fila de envio do dashboard ao vivo cheia; encerrando {} conexões de {}", destino.size(), email);
+                destino.forEach(SseEmitter::complete);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.heartbeat-ms:25000}")
+    public void manterConexoes() {
+        if (porUsuario.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        try {
+            envios.execute(() -> porUsuario.forEach((email, inscritos) ->
+                    List.copyOf(inscritos).forEach(emitter -> enviar(email, emitter, ping))));
+        } catch (RejectedExecutionException e) {
+            // pool ocupado com vendas: fica para a próxima rodada
+        }
+    }
+
+    public int conexoesAtivas() {
+        return conexoes.get();
+    }
+
+    // ------------------ MÉTODOS AUXILIARES ------------------
+
+    private void enviar(String email, SseEmitter emitter, Set<DataWithMediaType> dados) {
+        try {
+            emitter.send(dados);
+        } catch (IOException | IllegalStateException e) {
+            // cliente desconectou (ou a conexão já foi encerrada); o container finaliza a resposta
+            remover(email, emitter);
+        }
+    }
+
+    private void remover(String email, SseEmitter emitter) {
+        boolean[] removido = {false};
+        porUsuario.computeIfPresent(email, (e, inscritos) -> {
+            removido[0] = inscritos.remove(emitter);
+            return inscritos.isEmpty() ? null : inscritos;
+        });
+        if (removido[0]) {
+            conexoes.decrementAndGet();
+        }
+    }
+
+    static DeltaDashboardDTO delta(List<VendaResumida> vendas, List<String> produtosZerados) {
+        LocalDate hoje = LocalDate.now();
+        long vendasHoje = 0;
+        long vendasSemana = 0;
+        BigDecimal faturamento = BigDecimal.ZERO;
+        Map<String, Long> porMetodo = new LinkedHashMap<>();
+        Map<String, Long> porProduto = new LinkedHashMap<>();
+        Map<String, BigDecimal> porDia = new TreeMap<>();
+
+        for (VendaResumida venda : vendas) {
+            if (venda.dia().equals(hoje)) {
+                vendasHoje++;
+            }
+            if (AtualizarCachesDashboardOperation.naSemana(venda.dia(), hoje)) {
+                vendasSemana++;
+            }
+            faturamento = faturamento.add(venda.valorFinal());
+            if (venda.forma() != null) {
+                porMetodo.merge(venda.forma().name(), 1L, Long::sum);
+            }
+            venda.quantidadePorProduto().forEach((nome, quantidade) -> porProduto.merge(nome, quantidade, Long::sum));
+            porDia.merge(venda.dia().toString(), venda.valorFinal(), BigDecimal::add);
+        }
+
+        List<String> alertas = produtosZerados.stream().map(VisaoGeralOperation::alertaEstoqueZerado).toList();
+        return new DeltaDashboardDTO(vendasHoje, vendasSemana, faturamento, porMetodo, porProduto, porDia, alertas);
+    }
+}
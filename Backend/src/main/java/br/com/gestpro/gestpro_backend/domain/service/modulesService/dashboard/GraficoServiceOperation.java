@@ -1,47 +1,46 @@
 package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
 
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.MetodoPagamentoDTO;
-import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.PontoSerieDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.VendasDiariasDTO;
 import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.enums.Granularidade;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.GraficoRepository;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class GraficoServiceOperation {
 
     private final GraficoRepository graficoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final SerieVendasOperation serieVendas;
 
     public GraficoServiceOperation(GraficoRepository graficoRepository,
-                                   UsuarioRepository usuarioRepository) {
+                                   UsuarioRepository usuarioRepository,
+                                   SerieVendasOperation serieVendas) {
         this.graficoRepository = graficoRepository;
         this.usuarioRepository = usuarioRepository;
+        this.serieVendas = serieVendas;
     }
 
     // ---------------------------- GRÁFICOS ---------------------------------------------
 
     /**
      * Gráfico de pizza: total de vendas por método de pagamento.
-     * Cache por usuário (email). TTL configurado globalmente via RedisCacheConfig.
+     * O cache fica em DashboardServiceImpl (grafico-metodos), que é o que as vendas atualizam.
      */
-    @Cacheable(cacheNames = "grafico:pagamento", key = "#email", unless = "#result == null || #result.isEmpty()")
     @Transactional(readOnly = true)
     public List<MetodoPagamentoDTO> vendasPorMetodoPagamento(String email) {
-        List<Object[]> raw = graficoRepository.countVendasPorFormaPagamentoRaw(email);
+        List<Object[]> raw = graficoRepository.somarVendasPorFormaPagamentoResumo(email);
 
         return raw.stream()
                 .map(o -> {
@@ -52,24 +51,10 @@ public class GraficoServiceOperation {
                 .toList();
     }
 
-    /**
-     * Gráfico de barras: total de vendas por produto (top produtos ordenados).
-     * Cache por usuário.
-     */
-    @Cacheable(cacheNames = "grafico:produto", key = "#email", unless = "#result == null || #result.isEmpty()")
-    @Transactional(readOnly = true)
-    public List<ProdutoVendasDTO> vendasPorProduto(String email) {
-        // Repo já fornece ProdutoVendasDTO via constructor expression (nome, SUM(qtd))
-        List<ProdutoVendasDTO> response = graficoRepository.countVendasPorProdutoDTO(email);
-        return response;
-    }
-
     /**
      * Gráfico de linha: vendas diárias da semana atual.
-     * Aqui usamos query nativa; mapeamos para DTO com nomes dos dias.
-     * Cache por usuário.
+     * Série diária de segunda a domingo (ver {@link SerieVendasOperation}); dias sem venda entram com zero.
      */
-    @Cacheable(cacheNames = "grafico:diarias", key = "#email", unless = "#result == null || #result.isEmpty()")
     @Transactional(readOnly = true)
     public List<VendasDiariasDTO> vendasDiariasSemana(String email) {
         Long usuarioId = usuarioRepository.findByEmail(email)
@@ -81,29 +66,14 @@ public class GraficoServiceOperation {
         LocalDate inicioSemana = hoje.with(DayOfWeek.MONDAY);
         LocalDate fimSemana = hoje.with(DayOfWeek.SUNDAY);
 
-        LocalDateTime inicio = inicioSemana.atStartOfDay();
-        LocalDateTime fim = fimSemana.atTime(23, 59, 59);
-
-        List<Object[]> raw = graficoRepository.countVendasDiariasRawPorUsuario(inicio, fim, usuarioId);
-
-        // Map: dia_numero (1=Sunday..7=Saturday in MySQL DAYOFWEEK) → total
-        Map<Integer, Double> vendasPorDia = raw.stream()
-                .collect(Collectors.toMap(
-                        o -> ((Number) o[0]).intValue(),                    // dia_numero
-                        o -> o[2] == null ? 0.0 : ((Number) o[2]).doubleValue()
-                ));
-
-        // Nomes padronizados (usando index 1..7 conforme MySQL)
-        String[] nomesDias = {"", "Domingo", "Segunda", "Terça", "Quarta", "Quinta", "Sexta", "Sábado"};
+        List<PontoSerieDTO> pontos = serieVendas.pontos(usuarioId, inicioSemana, fimSemana, Granularidade.DIA);
 
-        // Converte para DTOs na ordem Segunda..Domingo (se preferir mostrar Segunda primeiro)
+        // Segunda→Domingo
+        String[] nomesDias = {"Segunda", "Terça", "Quarta", "Quinta", "Sexta", "Sábado", "Domingo"};
         List<VendasDiariasDTO> result = new ArrayList<>();
-        // se quiser ordem Domingo→Sábado: for i=1..7
-        // geralmente prefiro Segunda→Domingo:
-        int[] ordem = {2, 3, 4, 5, 6, 7, 1}; // 2=segunda ... 1=domingo
-        for (int diaNumero : ordem) {
-            double total = vendasPorDia.getOrDefault(diaNumero, 0.0);
-            result.add(new VendasDiariasDTO(nomesDias[diaNumero], total));
+        for (PontoSerieDTO ponto : pontos) {
+            String nome = nomesDias[ponto.getInicio().getDayOfWeek().getValue() - 1];
+            result.add(new VendasDiariasDTO(nome, ponto.getFaturamento().doubleValue()));
         }
 
         return result;
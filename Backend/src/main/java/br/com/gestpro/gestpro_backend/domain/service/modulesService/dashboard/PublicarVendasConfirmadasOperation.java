@@ -0,0 +1,95 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.ProdutoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Barramento interno das vendas registradas: publica um {@link VendasEmConfirmacaoEvento} ainda na transação e um
+ * {@link VendasConfirmadasEvento} depois do commit.
+ * Quem escuta: {@link AtualizarCachesDashboardOperation} e {@link RankingProdutosOperation} (guardam a base antes
+ * do commit e somam depois) e {@link DashboardStreamOperation} (envia a variação para as telas abertas).
+ */
+@Component
+public class PublicarVendasConfirmadasOperation {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicarVendasConfirmadasOperation.class);
+
+    private final ApplicationEventPublisher eventos;
+    private final ProdutoRepository produtoRepository;
+
+    public PublicarVendasConfirmadasOperation(ApplicationEventPublisher eventos, ProdutoRepository produtoRepository) {
+        this.eventos = eventos;
+        this.produtoRepository = produtoRepository;
+    }
+
+    /**
+     * Agenda a publicação para depois do commit (na hora, se não houver transação).
+     * Deve ser chamado depois da baixa de estoque, na mesma transação que grava as vendas.
+     */
+    public void registrar(Collection<Venda> vendas) {
+        List<VendaResumida> resumidas = vendas.stream().map(VendaResumida::de).toList();
+        if (resumidas.isEmpty()) {
+            return;
+        }
+        VendasConfirmadasEvento evento = new VendasConfirmadasEvento(resumidas, produtosZerados(resumidas));
+        antesDoCommit(evento);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publicar(evento);
+            return;
+        }
+        // afterCompletion e não afterCommit: nesse ponto a sincronização já foi encerrada, então o put no
+        // cache transacional feito pelos listeners é imediato em vez de ser agendado para um commit que já passou
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    publicar(evento);
+                }
+            }
+        });
+    }
+
+    private void antesDoCommit(VendasConfirmadasEvento evento) {
+        try {
+            eventos.publishEvent(new VendasEmConfirmacaoEvento(Set.copyOf(evento.porUsuario().keySet())));
+        } catch (RuntimeException e) {
+            // sem base guardada, a soma depois do commit vira remoção da entrada; a venda segue
+            log.warn("Falha ao publicar vendas em confirmação: {}", e.getMessage());
+        }
+    }
+
+    private void publicar(VendasConfirmadasEvento evento) {
+        try {
+            eventos.publishEvent(evento);
+        } catch (RuntimeException e) {
+            // a venda já foi gravada: caches e telas se corrigem na próxima leitura
+            log.warn("Falha ao publicar vendas confirmadas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Produtos da venda sem estoque após a baixa (consulta feita dentro da transação).
+     */
+    private Map<String, List<String>> produtosZerados(List<VendaResumida> vendas) {
+        Set<Long> ids = new HashSet<>();
+        vendas.forEach(v -> ids.addAll(v.idsProduto()));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, List<String>> porUsuario = new HashMap<>();
+        for (Object[] linha : produtoRepository.buscarSemEstoque(ids)) {
+            porUsuario.computeIfAbsent((String) linha[0], e -> new ArrayList<>()).add((String) linha[1]);
+        }
+        return porUsuario;
+    }
+}
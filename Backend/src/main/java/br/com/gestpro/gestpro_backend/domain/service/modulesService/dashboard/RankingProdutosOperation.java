@@ -0,0 +1,139 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.GraficoRepository;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranking dos produtos mais vendidos: os {@code limite} primeiros e, se sobrar, um item "Outros" com o restante.
+ *
+ * Sem período, o ranking sai de um {@link ContadorMaisVendidos} por usuário, em memória: carregado do resumo
+ * na primeira leitura e somado a cada venda confirmada nesta instância, então a leitura não ordena nada.
+ * Como vendas feitas em outras instâncias não chegam aqui, o contador é recarregado depois de
+ * {@code app.dashboard.ranking.validade-segundos}. Com período, a consulta vai ao resumo diário, limitada no banco.
+ *
+ * Mesma regra dos caches em {@link AtualizarCachesDashboardOperation}: só soma num contador que sabidamente não
+ * inclui as vendas. Antes do commit guarda o contador de cada usuário; depois, soma só se ele ainda é o mesmo. Um
+ * contador carregado depois disso pode ter lido o resumo já com as vendas, então é descartado e relido.
+ */
+@Component
+public class RankingProdutosOperation {
+
+    public static final String OUTROS = "Outros";
+    public static final int LIMITE_PADRAO = 10;
+    private static final int DIAS_PADRAO = 30;
+    private static final String CAMINHO = "/api/dashboard/vendas/produto";
+
+    private final GraficoRepository graficoRepository;
+    private final int capacidade;
+    private final Cache<String, ContadorMaisVendidos> contadores;
+    /**
+     * Por email, o contador carregado antes do commit das vendas; consumido ao somá-las. Expira para não acumular
+     * os de transações que voltaram atrás.
+     */
+    private final Cache<String, ContadorMaisVendidos> bases = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .maximumSize(10_000)
+            .build();
+
+    public RankingProdutosOperation(GraficoRepository graficoRepository,
+                                    @Value("${app.dashboard.ranking.capacidade:100}") int capacidade,
+                                    @Value("${app.dashboard.ranking.validade-segundos:300}") long validadeSegundos,
+                                    @Value("${app.dashboard.ranking.usuarios:10000}") long maximoUsuarios) {
+        this.graficoRepository = graficoRepository;
+        this.capacidade = capacidade;
+        this.contadores = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(validadeSegundos))
+                .maximumSize(maximoUsuarios)
+                .build();
+    }
+
+    /**
+     * @param inicio primeiro dia do período; sem inicio e fim, considera todas as vendas
+     * @param fim    último dia, inclusive (padrão com período: hoje)
+     */
+    @Transactional(readOnly = true)
+    public List<ProdutoVendasDTO> ranking(String email, int limite, LocalDate inicio, LocalDate fim) {
+        if (limite < 1 || limite > capacidade) {
+            throw new ApiException("O limite deve estar entre 1 e " + capacidade, HttpStatus.BAD_REQUEST, CAMINHO);
+        }
+
+        if (inicio == null && fim == null) {
+            ContadorMaisVendidos contador = contadores.get(email, this::carregar);
+            List<ProdutoVendasDTO> itens = new ArrayList<>();
+            contador.top(limite).forEach(item -> itens.add(new ProdutoVendasDTO(item.nome(), item.quantidade())));
+            return comOutros(itens, contador.total());
+        }
+
+        LocalDate ate = fim != null ? fim : LocalDate.now();
+        LocalDate de = inicio != null ? inicio : ate.minusDays(DIAS_PADRAO - 1);
+        if (de.isAfter(ate)) {
+            throw new ApiException("Data inicial depois da final", HttpStatus.BAD_REQUEST, CAMINHO);
+        }
+        List<ProdutoVendasDTO> itens = graficoRepository.maisVendidosResumoNoPeriodo(email, de, ate, Limit.of(limite));
+        return comOutros(new ArrayList<>(itens), graficoRepository.quantidadeVendidaResumoNoPeriodo(email, de, ate));
+    }
+
+    /**
+     * Recebido dentro da transação das vendas: o contador carregado agora não as inclui.
+     */
+    @EventListener
+    public void antesDoCommit(VendasEmConfirmacaoEvento evento) {
+        for (String email : evento.emails()) {
+            ContadorMaisVendidos contador = contadores.getIfPresent(email);
+            // já há base (outra transação ainda não aplicada): fica a mais antiga, e a segunda a aplicar não a
+            // encontra e descarta o contador
+            if (contador != null) {
+                bases.asMap().putIfAbsent(email, contador);
+            }
+        }
+    }
+
+    /**
+     * Soma as vendas nos contadores carregados antes do commit; um contador carregado depois é descartado. Os
+     * demais leem o resumo (já com a venda) quando pedidos.
+     */
+    @EventListener
+    public void aoConfirmarVendas(VendasConfirmadasEvento evento) {
+        evento.porUsuario().forEach((email, doUsuario) -> {
+            ContadorMaisVendidos base = bases.asMap().remove(email);
+            ContadorMaisVendidos contador = contadores.getIfPresent(email);
+            if (contador == null) {
+                return;
+            }
+            if (contador != base) {
+                contadores.asMap().remove(email, contador);
+                return;
+            }
+            doUsuario.forEach(venda -> venda.quantidadePorProduto().forEach(contador::somar));
+        });
+    }
+
+    private ContadorMaisVendidos carregar(String email) {
+        return new ContadorMaisVendidos(capacidade,
+                graficoRepository.maisVendidosResumo(email, Limit.of(capacidade)),
+                graficoRepository.quantidadeVendidaResumo(email));
+    }
+
+    private static List<ProdutoVendasDTO> comOutros(List<ProdutoVendasDTO> itens, long total) {
+        long noRanking = itens.stream().mapToLong(ProdutoVendasDTO::getQuantidade).sum();
+        long outros = total - noRanking;
+        if (outros > 0) {
+            itens.add(new ProdutoVendasDTO(OUTROS, outros));
+        }
+        return itens;
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mantém as tabelas resumo_venda_diaria* (por usuário e dia) que alimentam os gráficos do dashboard.
+ *
+ * {@link #registrar(Collection)} roda dentro da transação que grava as vendas: o resumo só passa a valer
+ * junto com o commit delas. Cada linha é somada com UPDATE; se ainda não existir, INSERT. Se outra
+ * transação criar a mesma linha no meio tempo, a chave única recusa o INSERT e a soma cai no UPDATE.
+ */
+@Component
+public class ResumoVendasDiarioOperation {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumoVendasDiarioOperation.class);
+
+    private static final String SOMAR_DIA = """
+            UPDATE resumo_venda_diaria SET quantidade_vendas = quantidade_vendas + ?, faturamento = faturamento + ?
+            WHERE usuario_id = ? AND dia = ?
+            """;
+    private static final String INSERIR_DIA = """
+            INSERT INTO resumo_venda_diaria (quantidade_vendas, faturamento, usuario_id, dia) VALUES (?, ?, ?, ?)
+            """;
+    private static final String SOMAR_PAGAMENTO = """
+            UPDATE resumo_venda_diaria_pagamento SET quantidade_vendas = quantidade_vendas + ?, faturamento = faturamento + ?
+            WHERE usuario_id = ? AND dia = ? AND forma_pagamento = ?
+            """;
+    private static final String INSERIR_PAGAMENTO = """
+            INSERT INTO resumo_venda_diaria_pagamento (quantidade_vendas, faturamento, usuario_id, dia, forma_pagamento)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final String SOMAR_PRODUTO = """
+            UPDATE resumo_venda_diaria_produto SET quantidade = quantidade + ?, faturamento = faturamento + ?
+            WHERE usuario_id = ? AND dia = ? AND produto_id = ?
+            """;
+    private static final String INSERIR_PRODUTO = """
+            INSERT INTO resumo_venda_diaria_produto (quantidade, faturamento, usuario_id, dia, produto_id)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillAutomatico;
+
+    public ResumoVendasDiarioOperation(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.dashboard.resumo.backfill-automatico:true}") boolean backfillAutomatico) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillAutomatico = backfillAutomatico;
+    }
+
+    private record ChaveDia(Long idUsuario, LocalDate dia) {
+    }
+
+    private record ChavePagamento(Long idUsuario, LocalDate dia, FormaDePagamento forma) {
+    }
+
+    private record ChaveProduto(Long idUsuario, LocalDate dia, Long idProduto) {
+    }
+
+    private static final class Acumulado {
+        private long quantidade;
+        private BigDecimal valor = BigDecimal.ZERO;
+
+        void somar(long quantidade, BigDecimal valor) {
+            this.quantidade += quantidade;
+            this.valor = this.valor.add(valor != null ? valor : BigDecimal.ZERO);
+        }
+    }
+
+    /**
+     * Soma as vendas ao resumo. Deve ser chamado na mesma transação que as grava.
+     * Vendas do mesmo usuário/dia são agrupadas antes, então um lote gera uma escrita por linha de resumo.
+     */
+    public void registrar(Collection<Venda> vendas) {
+        Map<ChaveDia, Acumulado> porDia = new LinkedHashMap<>();
+        Map<ChavePagamento, Acumulado> porPagamento = new LinkedHashMap<>();
+        Map<ChaveProduto, Acumulado> porProduto = new LinkedHashMap<>();
+
+        for (Venda venda : vendas) {
+            Long idUsuario = venda.getUsuario().getId();
+            LocalDate dia = venda.getDataVenda() != null ? venda.getDataVenda().toLocalDate() : LocalDate.now();
+
+            porDia.computeIfAbsent(new ChaveDia(idUsuario, dia), k -> new Acumulado())
+                    .somar(1, venda.getValorFinal());
+            if (venda.getFormaPagamento() != null) {
+                porPagamento.computeIfAbsent(new ChavePagamento(idUsuario, dia, venda.getFormaPagamento()), k -> new Acumulado())
+                        .somar(1, venda.getValorFinal());
+            }
+            for (ItemVenda item : venda.getItens()) {
+                porProduto.computeIfAbsent(new ChaveProduto(idUsuario, dia, item.getProduto().getId()), k -> new Acumulado())
+                        .somar(item.getQuantidade() != null ? item.getQuantidade() : 0, item.getSubtotal());
+            }
+        }
+
+        porDia.forEach((chave, soma) -> somar(SOMAR_DIA, INSERIR_DIA, soma,
+                chave.idUsuario(), Date.valueOf(chave.dia())));
+        porPagamento.forEach((chave, soma) -> somar(SOMAR_PAGAMENTO, INSERIR_PAGAMENTO, soma,
+                chave.idUsuario(), Date.valueOf(chave.dia()), chave.forma().name()));
+        porProduto.forEach((chave, soma) -> somar(SOMAR_PRODUTO, INSERIR_PRODUTO, soma,
+                chave.idUsuario(), Date.valueOf(chave.dia()), chave.idProduto()));
+    }
+
+    private void somar(String update, String insert, Acumulado soma, Object... chave) {
+        Object[] params = new Object[chave.length + 2];
+        params[0] = soma.quantidade;
+        params[1] = soma.valor;
+        System.arraycopy(chave, 0, params, 2, chave.length);
+
+        if (jdbcTemplate.update(update, params) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(insert, params);
+        } catch (DuplicateKeyException e) {
+            // outra transação criou a linha depois do UPDATE acima
+            jdbcTemplate.update(update, params);
+        }
+    }
+
+    /**
+     * Recalcula todo o resumo a partir de venda/item_venda (vendas anteriores ao resumo, ou correção manual).
+     */
+    public void reconstruir() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM resumo_venda_diaria");
+            jdbcTemplate.update("DELETE FROM resumo_venda_diaria_pagamento");
+            jdbcTemplate.update("DELETE FROM resumo_venda_diaria_produto");
+
+            jdbcTemplate.update("""
+                    INSERT INTO resumo_venda_diaria (usuario_id, dia, quantidade_vendas, faturamento)
+                    SELECT v.usuario_id, CAST(v.data_venda AS DATE), COUNT(*), COALESCE(SUM(v.valor_final), 0)
+                    FROM venda v
+                    GROUP BY v.usuario_id, CAST(v.data_venda AS DATE)
+                    """);
+            jdbcTemplate.update("""
+                    INSERT INTO resumo_venda_diaria_pagamento (usuario_id, dia, forma_pagamento, quantidade_vendas, faturamento)
+                    SELECT v.usuario_id, CAST(v.data_venda AS DATE), v.forma_pagamento, COUNT(*), COALESCE(SUM(v.valor_final), 0)
+                    FROM venda v
+                    WHERE v.forma_pagamento IS NOT NULL
+                    GROUP BY v.usuario_id, CAST(v.data_venda AS DATE), v.forma_pagamento
+                    """);
+            jdbcTemplate.update("""
+                    INSERT INTO resumo_venda_diaria_produto (usuario_id, dia, produto_id, quantidade, faturamento)
+                    SELECT v.usuario_id, CAST(v.data_venda AS DATE), iv.produto_id, SUM(iv.quantidade), COALESCE(SUM(iv.subtotal), 0)
+                    FROM item_venda iv
+                    JOIN venda v ON v.id = iv.venda_id
+                    GROUP BY v.usuario_id, CAST(v.data_venda AS DATE), iv.produto_id
+                    """);
+        });
+    }
+
+    /**
+     * Na primeira subida com as tabelas de resumo vazias, preenche com o histórico de vendas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSeVazio() {
+        if (!backfillAutomatico) {
+            return;
+        }
+        try {
+            boolean resumoVazio = jdbcTemplate.queryForList("SELECT id FROM resumo_venda_diaria LIMIT 1", Long.class).isEmpty();
+            boolean possuiVendas = !jdbcTemplate.queryForList("SELECT id FROM venda LIMIT 1", Long.class).isEmpty();
+            if (resumoVazio && possuiVendas) {
+                log.info("Resumo diário de vendas vazio; reconstruindo a partir do histórico.");
+                reconstruir();
+            }
+        } catch (RuntimeException e) {
+            // não impede a subida; os gráficos só ficam sem o histórico até um reconstruir()
+            log.warn("Falha ao preencher o resumo diário de vendas: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ComparacaoPeriodoDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.PontoSerieDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.SerieVendasResponse;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.Granularidade;
+import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.GraficoRepository;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Séries de vendas para os gráficos: qualquer intervalo de dias, em baldes de hora, dia, semana ou mês.
+ *
+ * Dia/semana/mês saem do resumo diário (resumo_venda_diaria); hora, que não tem resumo, da tabela de vendas.
+ * O banco devolve só linhas com venda, por dia (ou dia e hora); os baldes são montados aqui, com os vazios
+ * preenchidos com zero. Com comparação, o período anterior vem na mesma consulta e é separado em memória.
+ */
+@Component
+public class SerieVendasOperation {
+
+    static final int MAX_PONTOS = 1000;
+    private static final int DIAS_PADRAO = 30;
+    private static final String CAMINHO = "/api/dashboard/vendas/serie";
+
+    private final GraficoRepository graficoRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    public SerieVendasOperation(GraficoRepository graficoRepository, UsuarioRepository usuarioRepository) {
+        this.graficoRepository = graficoRepository;
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    /**
+     * Linha lida do banco: vendas de um dia, ou de uma hora.
+     */
+    private record Linha(LocalDateTime instante, long quantidade, BigDecimal faturamento) {
+    }
+
+    /**
+     * @param inicio primeiro dia (padrão: 29 dias antes do fim)
+     * @param fim    último dia, inclusive (padrão: hoje)
+     */
+    @Transactional(readOnly = true)
+    public SerieVendasResponse serie(String email, LocalDate inicio, LocalDate fim,
+                                     Granularidade granularidade, boolean comparar) {
+        LocalDate ate = fim != null ? fim : LocalDate.now();
+        LocalDate de = inicio != null ? inicio : ate.minusDays(DIAS_PADRAO - 1);
+        if (de.isAfter(ate)) {
+            throw new ApiException("Data inicial depois da final", HttpStatus.BAD_REQUEST, CAMINHO);
+        }
+        validarTamanho(de, ate, granularidade);
+
+        Long usuarioId = usuarioRepository.findByEmail(email)
+                .map(Usuario::getId)
+                .orElseThrow(() -> new ApiException("Usuário não encontrado", HttpStatus.BAD_REQUEST, CAMINHO));
+
+        long dias = ChronoUnit.DAYS.between(de, ate) + 1;
+        LocalDate deAnterior = de.minusDays(dias);
+        List<Linha> linhas = ler(usuarioId, comparar ? deAnterior : de, ate, granularidade);
+
+        List<PontoSerieDTO> pontos = baldes(linhas, de, ate, granularidade);
+        long totalVendas = somarVendas(pontos);
+        BigDecimal totalFaturamento = somarFaturamento(pontos);
+
+        ComparacaoPeriodoDTO comparacao = null;
+        if (comparar) {
+            LocalDate ateAnterior = de.minusDays(1);
+            List<PontoSerieDTO> anteriores = baldes(linhas, deAnterior, ateAnterior, granularidade);
+            long vendasAnteriores = somarVendas(anteriores);
+            BigDecimal faturamentoAnterior = somarFaturamento(anteriores);
+            comparacao = new ComparacaoPeriodoDTO(deAnterior, ateAnterior, anteriores, vendasAnteriores, faturamentoAnterior,
+                    variacao(BigDecimal.valueOf(totalVendas), BigDecimal.valueOf(vendasAnteriores)),
+                    variacao(totalFaturamento, faturamentoAnterior));
+        }
+
+        return new SerieVendasResponse(granularidade.name(), de, ate, pontos, totalVendas, totalFaturamento, comparacao);
+    }
+
+    /**
+     * Pontos de um intervalo já validado, para gráficos fixos (ex.: vendas da semana).
+     */
+    List<PontoSerieDTO> pontos(Long usuarioId, LocalDate inicio, LocalDate fim, Granularidade granularidade) {
+        return baldes(ler(usuarioId, inicio, fim, granularidade), inicio, fim, granularidade);
+    }
+
+    // ------------------ MÉTODOS AUXILIARES ------------------
+
+    private List<Linha> ler(Long usuarioId, LocalDate inicio, LocalDate fim, Granularidade granularidade) {
+        List<Linha> linhas = new ArrayList<>();
+        if (granularidade == Granularidade.HORA) {
+            for (Object[] o : graficoRepository.vendasPorHora(usuarioId, inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay())) {
+                LocalDateTime instante = data(o[0]).atTime(((Number) o[1]).intValue(), 0);
+                linhas.add(new Linha(instante, ((Number) o[2]).longValue(), decimal(o[3])));
+            }
+        } else {
+            for (Object[] o : graficoRepository.vendasDiariasResumo(usuarioId, inicio, fim)) {
+                linhas.add(new Linha(data(o[0]).atStartOfDay(), ((Number) o[1]).longValue(), decimal(o[2])));
+            }
+        }
+        return linhas;
+    }
+
+    /**
+     * Um ponto por balde de [inicio, fim], com zero nos baldes sem linha. O primeiro balde começa em
+     * inicio mesmo que a semana/mês tenha começado antes.
+     */
+    private static List<PontoSerieDTO> baldes(List<Linha> linhas, LocalDate inicio, LocalDate fim, Granularidade granularidade) {
+        LocalDateTime de = inicio.atStartOfDay();
+        LocalDateTime ate = fim.plusDays(1).atStartOfDay();
+
+        Map<LocalDateTime, PontoSerieDTO> porBalde = new TreeMap<>();
+        for (LocalDateTime balde = de; balde.isBefore(ate); balde = granularidade.proximo(balde)) {
+            porBalde.put(balde, new PontoSerieDTO(balde, 0, BigDecimal.ZERO));
+        }
+        for (Linha linha : linhas) {
+            if (linha.instante().isBefore(de) || !linha.instante().isBefore(ate)) {
+                continue;
+            }
+            LocalDateTime balde = granularidade.truncar(linha.instante());
+            PontoSerieDTO ponto = porBalde.get(balde.isBefore(de) ? de : balde);
+            ponto.setQuantidadeVendas(ponto.getQuantidadeVendas() + linha.quantidade());
+            ponto.setFaturamento(ponto.getFaturamento().add(linha.faturamento()));
+        }
+        return new ArrayList<>(porBalde.values());
+    }
+
+    private static void validarTamanho(LocalDate inicio, LocalDate fim, Granularidade granularidade) {
+        LocalDateTime ate = fim.plusDays(1).atStartOfDay();
+        int pontos = 0;
+        for (LocalDateTime balde = inicio.atStartOfDay(); balde.isBefore(ate); balde = granularidade.proximo(balde)) {
+            if (++pontos > MAX_PONTOS) {
+                throw new ApiException("Intervalo grande demais para a granularidade " + granularidade
+                        + " (máximo de " + MAX_PONTOS + " pontos)", HttpStatus.BAD_REQUEST, CAMINHO);
+            }
+        }
+    }
+
+    private static long somarVendas(List<PontoSerieDTO> pontos) {
+        return pontos.stream().mapToLong(PontoSerieDTO::getQuantidadeVendas).sum();
+    }
+
+    private static BigDecimal somarFaturamento(List<PontoSerieDTO> pontos) {
+        return pontos.stream().map(PontoSerieDTO::getFaturamento).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Variação percentual de atual sobre anterior, com 2 casas; null se anterior for zero.
+     */
+    private static Double variacao(BigDecimal atual, BigDecimal anterior) {
+        if (anterior.signum() == 0) {
+            return null;
+        }
+        return atual.subtract(anterior)
+                .multiply(BigDecimal.valueOf(100))
+                .divide(anterior, 2, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+
+    private static LocalDate data(Object valor) {
+        return valor instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) valor;
+    }
+
+    private static BigDecimal decimal(Object valor) {
+        if (valor == null) {
+            return BigDecimal.ZERO;
+        }
+        return valor instanceof BigDecimal bd ? bd : new BigDecimal(valor.toString());
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * O que o dashboard precisa de uma venda, copiado dentro da transação (sem lazy loading depois do commit).
+ */
+public record VendaResumida(String email, LocalDate dia, FormaDePagamento forma, BigDecimal valorFinal,
+                            Map<String, Long> quantidadePorProduto, Set<Long> idsProduto) {
+
+    public static VendaResumida de(Venda venda) {
+        Map<String, Long> quantidadePorProduto = new LinkedHashMap<>();
+        Set<Long> idsProduto = new HashSet<>();
+        for (ItemVenda item : venda.getItens()) {
+            long quantidade = item.getQuantidade() != null ? item.getQuantidade() : 0;
+            quantidadePorProduto.merge(item.getProduto().getNome(), quantidade, Long::sum);
+            idsProduto.add(item.getProduto().getId());
+        }
+        LocalDate dia = venda.getDataVenda() != null ? venda.getDataVenda().toLocalDate() : LocalDate.now();
+        return new VendaResumida(venda.getUsuario().getEmail(), dia, venda.getFormaPagamento(),
+                venda.getValorFinal() != null ? venda.getValorFinal() : BigDecimal.ZERO,
+                quantidadePorProduto, idsProduto);
+    }
+}
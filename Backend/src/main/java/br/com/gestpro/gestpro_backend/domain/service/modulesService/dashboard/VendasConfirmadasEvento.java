@@ -0,0 +1,26 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vendas que acabaram de ser commitadas, publicado por {@link PublicarVendasConfirmadasOperation}.
+ * Os listeners rodam na thread do commit, um depois do outro: devem ser rápidos e não lançar exceção
+ * (a primeira que escapa impede os listeners seguintes).
+ *
+ * @param produtosZeradosPorUsuario nomes dos produtos vendidos que ficaram sem estoque, por email do dono
+ */
+public record VendasConfirmadasEvento(List<VendaResumida> vendas, Map<String, List<String>> produtosZeradosPorUsuario) {
+
+    public Map<String, List<VendaResumida>> porUsuario() {
+        Map<String, List<VendaResumida>> porUsuario = new LinkedHashMap<>();
+        vendas.forEach(v -> porUsuario.computeIfAbsent(v.email(), e -> new ArrayList<>()).add(v));
+        return porUsuario;
+    }
+
+    public List<String> produtosZerados(String email) {
+        return produtosZeradosPorUsuario.getOrDefault(email, List.of());
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import java.util.Set;
+
+/**
+ * Vendas gravadas e ainda não commitadas, publicado por {@link PublicarVendasConfirmadasOperation} dentro da
+ * transação, antes do {@link VendasConfirmadasEvento}. Serve a quem soma as vendas em valores já calculados:
+ * o que esses valores têm agora não inclui as vendas. Se a transação voltar atrás, o evento de confirmação não vem.
+ *
+ * @param emails donos das vendas
+ */
+public record VendasEmConfirmacaoEvento(Set<String> emails) {
+}
@@ -1,32 +1,32 @@
 package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
 
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.DashboardVisaoGeralResponse;
 import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.PlanoDTO;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
-import br.com.gestpro.gestpro_backend.domain.repository.modules.ProdutoRepository;
-import br.com.gestpro.gestpro_backend.domain.repository.modules.VendaRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.DashboardRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.VisaoGeralProjection;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class VisaoGeralOperation {
 
-    private final VendaRepository vendaRepository;
-    private final ProdutoRepository produtoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final DashboardRepository dashboardRepository;
 
-    public VisaoGeralOperation(VendaRepository vendaRepository,
-                               ProdutoRepository produtoRepository,
-                               UsuarioRepository usuarioRepository) {
-        this.vendaRepository = vendaRepository;
-        this.produtoRepository = produtoRepository;
+    public VisaoGeralOperation(UsuarioRepository usuarioRepository,
+                               DashboardRepository dashboardRepository) {
         this.usuarioRepository = usuarioRepository;
+        this.dashboardRepository = dashboardRepository;
     }
 
 
@@ -36,53 +36,105 @@ public class VisaoGeralOperation {
         LocalDate inicioSemana = hoje.with(DayOfWeek.MONDAY);
         LocalDate fimSemana = hoje.with(DayOfWeek.SUNDAY);
 
-        LocalDateTime inicio = inicioSemana.atStartOfDay();
-        LocalDateTime fim = fimSemana.atTime(23, 59, 59);
-
-        Long total = vendaRepository.countByDataVendaBetweenAndUsuarioEmail(inicio, fim, emailUsuario);
+        // soma os até 7 dias do resumo diário em vez de contar as vendas
+        Long total = dashboardRepository.somarVendasResumo(emailUsuario, inicioSemana, fimSemana);
         return total != null ? total : 0L;
     }
 
-    // ------------------------- ALERTAS ---------------------------------
-
+    /**
+     * Monta a visão geral inteira com uma única consulta (DashboardRepository.buscarVisaoGeral).
+     */
     @Transactional(readOnly = true)
-    public List<String> alertasProdutosZerados(String emailUsuario) {
-        List<String> produtosZerados = produtoRepository.findByQuantidadeEstoqueAndUsuarioEmail(0, emailUsuario)
-                .stream()
-                .map(p -> "Produto " + p.getNome() + " está com estoque zerado!")
-                .limit(10)
+    public DashboardVisaoGeralResponse visaoGeral(String emailUsuario) {
+        LocalDate hoje = LocalDate.now();
+        List<VisaoGeralProjection> linhas = dashboardRepository.buscarVisaoGeral(
+                emailUsuario, hoje, hoje.with(DayOfWeek.MONDAY), hoje.with(DayOfWeek.SUNDAY));
+
+        if (linhas.isEmpty()) {
+            // usuário inexistente: mesmo retorno de antes (zeros e plano NENHUM)
+            return new DashboardVisaoGeralResponse(0L, 0L, 0L, 0L, 0L, new PlanoDTO("NENHUM", 0),
+                    montarAlertas(List.of(), 0L));
+        }
+
+        VisaoGeralProjection primeira = linhas.get(0);
+        List<String> produtosZerados = linhas.stream()
+                .map(VisaoGeralProjection::getProdutoZerado)
+                .filter(Objects::nonNull)
                 .toList();
 
+        Usuario usuario = new Usuario();
+        usuario.setTipoPlano(TipoPlano.valueOf(primeira.getTipoPlano()));
+        usuario.setDataCriacao(primeira.getDataCriacao());
+        usuario.setDataAssinaturaPlus(primeira.getDataAssinaturaPlus());
+
+        long vendasSemana = valorOuZero(primeira.getVendasSemana());
+        return new DashboardVisaoGeralResponse(
+                valorOuZero(primeira.getVendasHoje()),
+                valorOuZero(primeira.getProdutosComEstoque()),
+                valorOuZero(primeira.getProdutosSemEstoque()),
+                valorOuZero(primeira.getClientesAtivos()),
+                vendasSemana,
+                plano(usuario),
+                montarAlertas(produtosZerados, vendasSemana)
+        );
+    }
+
+    // ------------------------- ALERTAS ---------------------------------
+
+    static final String ALERTA_VENDAS_SEMANA = "Vendas da semana abaixo do esperado";
+    private static final long META_VENDAS_SEMANA = 50;
+
+    private List<String> montarAlertas(List<String> produtosZerados, long vendasSemana) {
+        List<String> alertas = new ArrayList<>();
         if (produtosZerados.isEmpty()) {
-            return List.of("Nenhum produto está com estoque zerado!");
+            alertas.add("Nenhum produto está com estoque zerado!");
+        } else {
+            produtosZerados.forEach(nome -> alertas.add(alertaEstoqueZerado(nome)));
         }
+        return comAlertaVendasSemana(alertas, vendasSemana);
+    }
 
-        return produtosZerados;
+    static String alertaEstoqueZerado(String nomeProduto) {
+        return "Produto " + nomeProduto + " está com estoque zerado!";
     }
 
-    @Transactional(readOnly = true)
-    public List<String> alertasVendasSemana(String emailUsuario) {
-        if (vendasSemana(emailUsuario) < 50) {
-            return List.of("Vendas da semana abaixo do esperado");
+    /**
+     * Alertas de estoque mantidos; o de vendas da semana recalculado para o novo total.
+     */
+    static List<String> comAlertaVendasSemana(List<String> alertas, long vendasSemana) {
+        List<String> resultado = new ArrayList<>();
+        for (String alerta : alertas) {
+            if (!ALERTA_VENDAS_SEMANA.equals(alerta)) {
+                resultado.add(alerta);
+            }
+        }
+        if (vendasSemana < META_VENDAS_SEMANA) {
+            resultado.add(ALERTA_VENDAS_SEMANA);
         }
-        return List.of();
+        return resultado;
     }
 
     @Transactional(readOnly = true)
     public PlanoDTO planoUsuarioLogado(String emailUsuario) {
         return usuarioRepository.findByEmail(emailUsuario)
-                .map(usuario -> {
-                    TipoPlano tipoPlano = usuario.getTipoPlano();
-                    LocalDate dataExpiracao = usuario.getDataExpiracaoPlano();
-                    long diasRestantes = dataExpiracao != null
-                            ? ChronoUnit.DAYS.between(LocalDate.now(), dataExpiracao)
-                            : 0;
-                    diasRestantes = Math.max(diasRestantes, 0);
-                    return new PlanoDTO(tipoPlano.name(), diasRestantes);
-                })
+                .map(VisaoGeralOperation::plano)
                 .orElse(new PlanoDTO("NENHUM", 0));
     }
 
+    private static PlanoDTO plano(Usuario usuario) {
+        TipoPlano tipoPlano = usuario.getTipoPlano();
+        LocalDate dataExpiracao = usuario.getDataExpiracaoPlano();
+        long diasRestantes = dataExpiracao != null
+                ? ChronoUnit.DAYS.between(LocalDate.now(), dataExpiracao)
+                : 0;
+        diasRestantes = Math.max(diasRestantes, 0);
+        return new PlanoDTO(tipoPlano.name(), diasRestantes);
+    }
+
+    private static long valorOuZero(Long valor) {
+        return valor != null ? valor : 0L;
+    }
+
 
 }
 
@@ -0,0 +1,61 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Baixa de estoque de uma venda (ou de um chunk do lote) em um único batch JDBC: um UPDATE condicional por
+ * produto, enviados juntos ao banco, cada um só alterando a linha se ainda houver saldo no momento da escrita.
+ * Uma quantidade zero ou negativa nunca altera a linha (seria uma entrada de estoque disfarçada de venda).
+ *
+ * O número de linhas de cada UPDATE é conferido: se algum produto não tinha saldo, a exceção desfaz a
+ * transação inteira (as outras baixas do batch inclusive). Deve rodar dentro da transação da venda.
+ * Não passa pelo contexto de persistência, como o UPDATE em JPQL que substitui.
+ */
+@Component
+public class BaixaEstoqueOperation {
+
+    static final String SQL = "UPDATE produto SET quantidade_estoque = quantidade_estoque - ? " +
+            "WHERE id = ? AND ? > 0 AND quantidade_estoque >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BaixaEstoqueOperation(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param quantidadePorProduto quantidades já agrupadas por produto; um mapa ordenado por id mantém a
+     *                             ordem de travas de linha igual entre vendas concorrentes
+     * @param produtos             produtos carregados, só para a mensagem de erro
+     */
+    public void baixar(Map<Long, Integer> quantidadePorProduto, Map<Long, Produto> produtos, String path) {
+        if (quantidadePorProduto.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(quantidadePorProduto.size());
+        List<Object[]> parametros = new ArrayList<>(quantidadePorProduto.size());
+        quantidadePorProduto.forEach((idProduto, quantidade) -> {
+            ids.add(idProduto);
+            parametros.add(new Object[]{quantidade, idProduto, quantidade, quantidade});
+        });
+
+        int[] linhas = jdbcTemplate.batchUpdate(SQL, parametros);
+
+        for (int i = 0; i < linhas.length; i++) {
+            if (linhas[i] == 0) {
+                Produto produto = produtos.get(ids.get(i));
+                String nome = produto != null ? produto.getNome() : String.valueOf(ids.get(i));
+                throw new ApiException("Estoque insuficiente para o produto: " + nome, HttpStatus.BAD_REQUEST, path);
+            }
+        }
+    }
+}
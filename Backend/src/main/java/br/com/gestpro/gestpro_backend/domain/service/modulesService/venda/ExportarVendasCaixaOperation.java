@@ -0,0 +1,261 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Exporta as vendas de um caixa (auditoria de fechamento) direto de um cursor JDBC forward-only
+ * para o OutputStream da resposta. Cada venda é escrita assim que suas linhas terminam de chegar,
+ * então o uso de memória não depende do tamanho do turno.
+ *
+ * No MySQL, o driver só faz streaming de verdade com {@code useCursorFetch=true} no DB_URL
+ * (respeitando o fetch size); sem isso ele carrega o ResultSet inteiro.
+ */
+@Component
+public class ExportarVendasCaixaOperation {
+
+    public enum Formato {NDJSON, CSV}
+
+    // Uma linha por item (LEFT JOIN mantém vendas sem item); ordenado para agrupar as linhas de cada venda
+    private static final String SQL = """
+            SELECT v.id, v.data_venda, u.email, c.nome AS nome_cliente,
+                   v.total, v.desconto, v.valor_final, v.forma_pagamento, v.observacao,
+                   iv.produto_id, p.nome AS nome_produto, iv.quantidade, iv.preco_unitario, iv.subtotal
+            FROM venda v
+            JOIN usuarios u ON u.id = v.usuario_id
+            LEFT JOIN clientes c ON c.id = v.cliente_id
+            LEFT JOIN item_venda iv ON iv.venda_id = v.id
+            LEFT JOIN produto p ON p.id = iv.produto_id
+            WHERE v.caixa_id = ?
+            ORDER BY v.data_venda, v.id, iv.id
+            """;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public ExportarVendasCaixaOperation(JdbcTemplate jdbcTemplate,
+                                        @Value("${app.vendas.exportacao.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    public void execute(Long idCaixa, Formato formato, OutputStream out) throws IOException {
+        Escritor escritor = formato == Formato.CSV ? new EscritorCsv(out, idCaixa) : new EscritorNdjson(out, idCaixa);
+
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, idCaixa);
+                return ps;
+            }, new AgrupadorPorVenda(escritor));
+
+            escritor.fim();
+        } catch (UncheckedIOException e) {
+            // cliente desconectou no meio do download
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Recebe as linhas do cursor e avisa o escritor quando começa uma nova venda.
+     */
+    private record AgrupadorPorVenda(Escritor escritor) implements RowCallbackHandler {
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                escritor.linha(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private abstract static class Escritor {
+        private Long vendaAtual;
+
+        void linha(ResultSet rs) throws SQLException, IOException {
+            long idVenda = rs.getLong("id");
+            if (vendaAtual == null || vendaAtual != idVenda) {
+                if (vendaAtual != null) {
+                    fecharVenda();
+                }
+                vendaAtual = idVenda;
+                abrirVenda(rs);
+            }
+            if (rs.getObject("produto_id") != null) {
+                item(rs);
+            }
+        }
+
+        void fim() throws IOException {
+            if (vendaAtual != null) {
+                fecharVenda();
+            }
+            flush();
+        }
+
+        abstract void abrirVenda(ResultSet rs) throws SQLException, IOException;
+
+        abstract void item(ResultSet rs) throws SQLException, IOException;
+
+        abstract void fecharVenda() throws IOException;
+
+        abstract void flush() throws IOException;
+
+        static String dataVenda(ResultSet rs) throws SQLException {
+            Timestamp data = rs.getTimestamp("data_venda");
+            return data != null ? data.toLocalDateTime().toString() : null;
+        }
+    }
+
+    /**
+     * Uma venda por linha, no mesmo formato de campos do VendaResponseDTO, com os itens aninhados.
+     */
+    private static class EscritorNdjson extends Escritor {
+        private final JsonGenerator json;
+        private final Long idCaixa;
+
+        EscritorNdjson(OutputStream out, Long idCaixa) throws IOException {
+            this.json = JSON_FACTORY.createGenerator(out);
+            this.json.setRootValueSeparator(null);
+            this.idCaixa = idCaixa;
+        }
+
+        @Override
+        void abrirVenda(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeStringField("emailUsuario", rs.getString("email"));
+            json.writeNumberField("idCaixa", idCaixa);
+            json.writeStringField("nomeCliente", rs.getString("nome_cliente"));
+            escreverDecimal("valorTotal", rs.getBigDecimal("total"));
+            escreverDecimal("desconto", rs.getBigDecimal("desconto"));
+            escreverDecimal("valorFinal", rs.getBigDecimal("valor_final"));
+            json.writeStringField("formaPagamento", rs.getString("forma_pagamento"));
+            json.writeStringField("dataVenda", dataVenda(rs));
+            json.writeStringField("observacao", rs.getString("observacao"));
+            json.writeArrayFieldStart("itens");
+        }
+
+        @Override
+        void item(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("idProduto", rs.getLong("produto_id"));
+            json.writeStringField("nomeProduto", rs.getString("nome_produto"));
+            json.writeNumberField("quantidade", rs.getInt("quantidade"));
+            escreverDecimal("precoUnitario", rs.getBigDecimal("preco_unitario"));
+            escreverDecimal("subtotal", rs.getBigDecimal("subtotal"));
+            json.writeEndObject();
+        }
+
+        @Override
+        void fecharVenda() throws IOException {
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            json.flush();
+        }
+
+        private void escreverDecimal(String campo, BigDecimal valor) throws IOException {
+            if (valor == null) {
+                json.writeNullField(campo);
+            } else {
+                json.writeNumberField(campo, valor);
+            }
+        }
+    }
+
+    /**
+     * Uma venda por linha, com a quantidade de itens (unidades) no lugar da lista.
+     */
+    private static class EscritorCsv extends Escritor {
+        private final Writer writer;
+        private final Long idCaixa;
+        private String[] venda;
+        private int quantidadeItens;
+
+        EscritorCsv(OutputStream out, Long idCaixa) throws IOException {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            this.idCaixa = idCaixa;
+            writer.write("id,idCaixa,dataVenda,emailUsuario,nomeCliente,valorTotal,desconto,valorFinal,formaPagamento,quantidadeItens,observacao\n");
+        }
+
+        @Override
+        void abrirVenda(ResultSet rs) throws SQLException {
+            venda = new String[]{
+                    String.valueOf(rs.getLong("id")),
+                    String.valueOf(idCaixa),
+                    dataVenda(rs),
+                    rs.getString("email"),
+                    rs.getString("nome_cliente"),
+                    texto(rs.getBigDecimal("total")),
+                    texto(rs.getBigDecimal("desconto")),
+                    texto(rs.getBigDecimal("valor_final")),
+                    rs.getString("forma_pagamento"),
+                    null,
+                    rs.getString("observacao")
+            };
+            quantidadeItens = 0;
+        }
+
+        @Override
+        void item(ResultSet rs) throws SQLException {
+            quantidadeItens += rs.getInt("quantidade");
+        }
+
+        @Override
+        void fecharVenda() throws IOException {
+            venda[9] = String.valueOf(quantidadeItens);
+            for (int i = 0; i < venda.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escapar(venda[i]));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String texto(BigDecimal valor) {
+            return valor != null ? valor.toPlainString() : null;
+        }
+
+        private static String escapar(String valor) {
+            if (valor == null) {
+                return "";
+            }
+            if (valor.contains(",") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+                return "\"" + valor.replace("\"", "\"\"") + "\"";
+            }
+            return valor;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import br.com.gestpro.gestpro_backend.infra.idempotencia.HashPayload;
+import br.com.gestpro.gestpro_backend.infra.idempotencia.IdempotenciaVendaStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Registra a venda respeitando o header Idempotency-Key: retentativas do PDV com a mesma chave e o mesmo corpo
+ * recebem a resposta original sem registrar outra venda (nem baixar estoque de novo); a mesma chave com outro
+ * corpo recebe 422, e a mesma chave ainda em processamento recebe 409.
+ *
+ * A chave é escopada pelo usuário autenticado (não pelo corpo), para que terminais de lojas diferentes não
+ * colidam nem leiam a resposta um do outro.
+ */
+@Component
+public class IdempotenciaVendaOperation {
+
+    private static final String PATH = "/api/vendas/registrar";
+
+    private final VendaServiceInterface vendaService;
+    private final IdempotenciaVendaStore idempotenciaStore;
+
+    public IdempotenciaVendaOperation(VendaServiceInterface vendaService, IdempotenciaVendaStore idempotenciaStore) {
+        this.vendaService = vendaService;
+        this.idempotenciaStore = idempotenciaStore;
+    }
+
+    /**
+     * @param usuarioAutenticado nome do usuário autenticado; só é usado quando há chave
+     * @param idempotencyKey     valor do header, ou null/vazio para registrar sem idempotência
+     */
+    public VendaResponseDTO execute(RegistrarVendaDTO dto, String usuarioAutenticado, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new VendaResponseDTO(vendaService.registrarVenda(dto));
+        }
+
+        String chave = usuarioAutenticado + ":" + idempotencyKey;
+        String hashPayload = HashPayload.de(dto);
+
+        Optional<IdempotenciaVendaStore.Registro> existente = idempotenciaStore.buscar(chave);
+        if (existente.isPresent()) {
+            return respostaGuardada(existente.get(), hashPayload);
+        }
+
+        String reserva = idempotenciaStore.reservar(chave, hashPayload);
+        if (reserva == null) {
+            // outra requisição reservou entre a busca e a reserva
+            return idempotenciaStore.buscar(chave)
+                    .map(registro -> respostaGuardada(registro, hashPayload))
+                    .orElseThrow(IdempotenciaVendaOperation::emProcessamento);
+        }
+
+        try {
+            VendaResponseDTO resposta = new VendaResponseDTO(vendaService.registrarVenda(dto));
+            idempotenciaStore.concluir(chave, hashPayload, resposta);
+            return resposta;
+        } catch (RuntimeException ex) {
+            idempotenciaStore.liberar(chave, reserva);
+            throw ex;
+        }
+    }
+
+    private VendaResponseDTO respostaGuardada(IdempotenciaVendaStore.Registro registro, String hashPayload) {
+        if (!registro.hashPayload().equals(hashPayload)) {
+            throw new ApiException("Idempotency-Key já usada com outro corpo de requisição",
+                    HttpStatus.UNPROCESSABLE_ENTITY, PATH);
+        }
+        if (registro.emProcessamento()) {
+            throw emProcessamento();
+        }
+        return registro.resposta();
+    }
+
+    private static ApiException emProcessamento() {
+        return new ApiException("Venda com esta Idempotency-Key ainda está em processamento",
+                HttpStatus.CONFLICT, PATH);
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.cliente.Cliente;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Regras de montagem de uma venda comuns à venda avulsa ({@link VendaServiceImpl}) e ao lote
+ * ({@link RegistrarVendasLoteOperation}): validação dos itens, dono e situação do caixa, itens, total e desconto.
+ * Quem chama carrega as entidades do seu jeito (uma a uma ou o lote inteiro de uma vez).
+ */
+final class MontagemVenda {
+
+    private MontagemVenda() {
+    }
+
+    /**
+     * Quantidades agrupadas por produto (o mesmo produto pode vir em mais de uma linha).
+     * O TreeMap ordena por id, então vendas concorrentes travam as linhas de produto sempre na mesma ordem.
+     */
+    static Map<Long, Integer> quantidadesPorProduto(RegistrarVendaDTO dto, String path) {
+        if (dto == null || dto.getItens() == null || dto.getItens().isEmpty()) {
+            throw new ApiException("Nenhum item enviado para a venda", HttpStatus.BAD_REQUEST, path);
+        }
+
+        Map<Long, Integer> quantidadePorProduto = new TreeMap<>();
+        for (RegistrarVendaDTO.ItemVendaDTO itemDTO : dto.getItens()) {
+            if (itemDTO.getIdProduto() == null) {
+                throw new ApiException("Produto é obrigatório", HttpStatus.BAD_REQUEST, path);
+            }
+            // quantidade <= 0 passaria no UPDATE condicional e aumentaria o estoque
+            if (quantidadeDoItem(itemDTO) <= 0) {
+                throw new ApiException("Quantidade deve ser maior que zero", HttpStatus.BAD_REQUEST, path);
+            }
+            quantidadePorProduto.merge(itemDTO.getIdProduto(), quantidadeDoItem(itemDTO), Integer::sum);
+        }
+        return quantidadePorProduto;
+    }
+
+    /**
+     * O caixa precisa ser do usuário da venda e estar aberto.
+     */
+    static void validarCaixa(Caixa caixa, Usuario usuario, boolean aberto, String path) {
+        if (caixa.getUsuario() == null || !Objects.equals(caixa.getUsuario().getId(), usuario.getId())) {
+            throw new ApiException("Caixa não pertence ao usuário", HttpStatus.FORBIDDEN, path);
+        }
+        if (!aberto) {
+            throw new ApiException("Caixa está fechado", HttpStatus.BAD_REQUEST, path);
+        }
+    }
+
+    /**
+     * Monta a venda com os itens, o total e o valor final (total menos desconto, nunca negativo).
+     * Os produtos de todos os itens já devem estar em {@code produtos}.
+     */
+    static Venda montar(RegistrarVendaDTO dto, Usuario usuario, Caixa caixa, Cliente cliente,
+                        Map<Long, Produto> produtos) {
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setCaixa(caixa);
+        venda.setCliente(cliente);
+        venda.setFormaPagamento(dto.getFormaPagamento());
+        venda.setObservacao(dto.getObservacao());
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (RegistrarVendaDTO.ItemVendaDTO itemDTO : dto.getItens()) {
+            ItemVenda itemVenda = new ItemVenda();
+            itemVenda.setVenda(venda);
+            itemVenda.setProduto(produtos.get(itemDTO.getIdProduto()));
+            itemVenda.setQuantidade(quantidadeDoItem(itemDTO));
+            itemVenda.setPrecoUnitario(itemVenda.getProduto().getPreco());
+            itemVenda.calcularSubtotal();
+
+            total = total.add(itemVenda.getSubtotal());
+            venda.getItens().add(itemVenda);
+        }
+
+        BigDecimal desconto = dto.getDesconto() != null ? dto.getDesconto() : BigDecimal.ZERO;
+        venda.setDesconto(desconto);
+        venda.setTotal(total);
+        venda.setValorFinal(total.subtract(desconto).max(BigDecimal.ZERO));
+        return venda;
+    }
+
+    private static int quantidadeDoItem(RegistrarVendaDTO.ItemVendaDTO itemDTO) {
+        return itemDTO.getQuantidade() != null ? itemDTO.getQuantidade() : 1;
+    }
+}
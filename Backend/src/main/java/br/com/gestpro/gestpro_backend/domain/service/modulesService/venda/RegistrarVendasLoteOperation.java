@@ -0,0 +1,318 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ResultadoVendaLoteDTO;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.cliente.Cliente;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.CaixaRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.ClienteRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.ProdutoRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.VendaRepository;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.PublicarVendasConfirmadasOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.ResumoVendasDiarioOperation;
+import br.com.gestpro.gestpro_backend.infra.concorrencia.TravasPorCaixa;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro de vendas em lote (sincronização do PDV que ficou offline).
+ *
+ * Usuários, caixas, clientes e produtos do lote inteiro são carregados uma única vez.
+ * As vendas são gravadas em chunks de {@code app.vendas.lote.tamanho-chunk}, cada um em sua transação:
+ * as baixas de estoque são agrupadas por produto (um UPDATE condicional por produto, todos em um batch JDBC),
+ * os totais agrupados por caixa (e no resumo diário do dashboard) e as vendas inseridas em batch.
+ *
+ * Uma venda inválida (estoque, produto inexistente, caixa fechado ou de outro usuário, etc.) falha sozinha. Se o
+ * estoque mudar por fora durante o chunk, ele é desfeito e reprocessado venda a venda com o saldo recarregado.
+ * Falhas de infraestrutura (trava ocupada, banco, Redis) não são reprocessadas: as vendas restantes do lote são
+ * devolvidas como falha para o PDV reenviar. Como o caixa pode ser fechado entre a carga e o chunk, a situação
+ * dos caixas é relida dentro de cada chunk, já com a trava.
+ * Lotes acima de {@code app.vendas.lote.tamanho-maximo} são recusados inteiros.
+ */
+@Component
+public class RegistrarVendasLoteOperation {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrarVendasLoteOperation.class);
+
+    private static final String PATH = "/api/vendas/lote";
+
+    private final VendaRepository vendaRepository;
+    private final ProdutoRepository produtoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final CaixaRepository caixaRepository;
+    private final ClienteRepository clienteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TravasPorCaixa travasPorCaixa;
+    private final ResumoVendasDiarioOperation resumoVendasDiario;
+    private final PublicarVendasConfirmadasOperation vendasConfirmadas;
+    private final BaixaEstoqueOperation baixaEstoque;
+    private final int tamanhoChunk;
+    private final int tamanhoMaximo;
+
+    public RegistrarVendasLoteOperation(VendaRepository vendaRepository,
+                                        ProdutoRepository produtoRepository,
+                                        UsuarioRepository usuarioRepository,
+                                        CaixaRepository caixaRepository,
+                                        ClienteRepository clienteRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        TravasPorCaixa travasPorCaixa,
+                                        ResumoVendasDiarioOperation resumoVendasDiario,
+                                        PublicarVendasConfirmadasOperation vendasConfirmadas,
+                                        BaixaEstoqueOperation baixaEstoque,
+                                        @Value("${app.vendas.lote.tamanho-chunk:100}") int tamanhoChunk,
+                                        @Value("${app.vendas.lote.tamanho-maximo:1000}") int tamanhoMaximo) {
+        this.vendaRepository = vendaRepository;
+        this.produtoRepository = produtoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.caixaRepository = caixaRepository;
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.travasPorCaixa = travasPorCaixa;
+        this.resumoVendasDiario = resumoVendasDiario;
+        this.vendasConfirmadas = vendasConfirmadas;
+        this.baixaEstoque = baixaEstoque;
+        this.tamanhoChunk = Math.max(1, tamanhoChunk);
+        this.tamanhoMaximo = Math.max(1, tamanhoMaximo);
+    }
+
+    /**
+     * @param emailAutenticado usuário autenticado; vendas em nome de outro usuário falham sozinhas
+     */
+    public List<ResultadoVendaLoteDTO> execute(List<RegistrarVendaDTO> vendas, String emailAutenticado) {
+        if (vendas == null || vendas.isEmpty()) {
+            throw new ApiException("Nenhuma venda enviada no lote", HttpStatus.BAD_REQUEST, PATH);
+        }
+        if (vendas.size() > tamanhoMaximo) {
+            throw new ApiException("Lote com " + vendas.size() + " vendas excede o máximo de " + tamanhoMaximo,
+                    HttpStatus.PAYLOAD_TOO_LARGE, PATH);
+        }
+
+        Referencias refs = carregarReferencias(vendas);
+        ResultadoVendaLoteDTO[] resultados = new ResultadoVendaLoteDTO[vendas.size()];
+
+        for (int inicio = 0; inicio < vendas.size(); inicio += tamanhoChunk) {
+            int fim = Math.min(inicio + tamanhoChunk, vendas.size());
+            try {
+                processarChunk(vendas, inicio, fim, emailAutenticado, refs, resultados);
+            } catch (RuntimeException ex) {
+                if (!falhaDeNegocio(ex)) {
+                    interromper(vendas, inicio, resultados, ex);
+                    break;
+                }
+                // outra venda mexeu no estoque durante o chunk: recarrega o saldo e segue venda a venda
+                log.warn("Chunk do lote desfeito, reprocessando venda a venda. inicio={}, fim={}, causa={}",
+                        inicio, fim, ex.getMessage());
+                refs.recarregarEstoque(produtoRepository);
+                if (!reprocessarVendaAVenda(vendas, inicio, fim, emailAutenticado, refs, resultados)) {
+                    break;
+                }
+            }
+        }
+
+        long sucessos = Arrays.stream(resultados).filter(ResultadoVendaLoteDTO::isSucesso).count();
+        log.info("Lote de vendas processado. total={}, sucesso={}, falha={}",
+                vendas.size(), sucessos, vendas.size() - sucessos);
+
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * @return false se uma falha de infraestrutura interrompeu o lote
+     */
+    private boolean reprocessarVendaAVenda(List<RegistrarVendaDTO> vendas, int inicio, int fim, String emailAutenticado,
+                                           Referencias refs, ResultadoVendaLoteDTO[] resultados) {
+        for (int i = inicio; i < fim; i++) {
+            try {
+                processarChunk(vendas, i, i + 1, emailAutenticado, refs, resultados);
+            } catch (RuntimeException e) {
+                if (!falhaDeNegocio(e)) {
+                    interromper(vendas, i, resultados, e);
+                    return false;
+                }
+                resultados[i] = ResultadoVendaLoteDTO.falha(i, e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Só uma falha de negócio (4xx, como estoque que mudou por fora) justifica refazer o chunk venda a venda.
+     * Trava ocupada (409), banco ou Redis fora do ar falhariam de novo em cada venda, cada uma esperando a trava.
+     */
+    private static boolean falhaDeNegocio(RuntimeException ex) {
+        return ex instanceof ApiException api
+                && api.getStatus().is4xxClientError()
+                && api.getStatus() != HttpStatus.CONFLICT;
+    }
+
+    /**
+     * Marca como falha todas as vendas ainda não processadas, a partir de {@code inicio}; o PDV reenvia depois.
+     */
+    private void interromper(List<RegistrarVendaDTO> vendas, int inicio, ResultadoVendaLoteDTO[] resultados,
+                             RuntimeException ex) {
+        log.error("Lote de vendas interrompido por falha de infraestrutura. inicio={}, restantes={}",
+                inicio, vendas.size() - inicio, ex);
+        String erro = ex instanceof ApiException
+                ? ex.getMessage()
+                : "Venda não processada por falha temporária. Reenvie mais tarde.";
+        for (int i = inicio; i < vendas.size(); i++) {
+            resultados[i] = ResultadoVendaLoteDTO.falha(i, erro);
+        }
+    }
+
+    /**
+     * Grava as vendas [inicio, fim) em uma transação. Só preenche os resultados após o commit;
+     * qualquer exceção desfaz o chunk inteiro.
+     */
+    private void processarChunk(List<RegistrarVendaDTO> vendas, int inicio, int fim, String emailAutenticado,
+                                Referencias refs, ResultadoVendaLoteDTO[] resultados) {
+        Map<Long, Integer> baixas = new TreeMap<>(); // ordenado por id: mesma ordem de travas que registrarVenda
+        Map<Long, BigDecimal> totalPorCaixa = new HashMap<>();
+        Map<Integer, Venda> novas = new LinkedHashMap<>();
+        Map<Integer, String> falhas = new HashMap<>();
+
+        // serializa com vendas avulsas e fechamento dos mesmos caixas; a trava vem antes da transação,
+        // para a espera não segurar conexão do pool
+        Set<Long> idsCaixa = new HashSet<>();
+        for (int i = inicio; i < fim; i++) {
+            if (vendas.get(i) != null && vendas.get(i).getIdCaixa() != null) idsCaixa.add(vendas.get(i).getIdCaixa());
+        }
+
+        travasPorCaixa.executarComTrava(idsCaixa, PATH, () -> transactionTemplate.execute(status -> {
+            // com a trava, um fechamento não passa mais no meio do chunk: relê quais caixas seguem abertos
+            Set<Long> caixasAbertos = idsCaixa.isEmpty() ? Set.of() : caixaRepository.buscarIdsAbertos(idsCaixa);
+
+            for (int i = inicio; i < fim; i++) {
+                try {
+                    Venda venda = montarVenda(vendas.get(i), emailAutenticado, refs, caixasAbertos, baixas);
+                    novas.put(i, venda);
+                    totalPorCaixa.merge(venda.getCaixa().getId(), venda.getValorFinal(), BigDecimal::add);
+                } catch (ApiException ex) {
+                    falhas.put(i, ex.getMessage());
+                }
+            }
+
+            baixaEstoque.baixar(baixas, refs.produtos, PATH);
+
+            vendaRepository.saveAll(novas.values());
+            totalPorCaixa.forEach(caixaRepository::incrementarTotalVendas);
+            resumoVendasDiario.registrar(novas.values());
+            vendasConfirmadas.registrar(novas.values());
+            return null;
+        }));
+
+        // commit feito: atualiza o saldo conhecido e publica os resultados
+        baixas.forEach((idProduto, quantidade) -> refs.estoque.merge(idProduto, -quantidade, Integer::sum));
+        novas.forEach((i, venda) -> resultados[i] = ResultadoVendaLoteDTO.sucesso(i, venda.getId(), venda.getValorFinal()));
+        falhas.forEach((i, erro) -> resultados[i] = ResultadoVendaLoteDTO.falha(i, erro));
+    }
+
+    /**
+     * Valida a venda contra as referências em memória e reserva o estoque em {@code baixas}.
+     * Nada é reservado se a venda for rejeitada.
+     */
+    private Venda montarVenda(RegistrarVendaDTO dto, String emailAutenticado, Referencias refs,
+                              Set<Long> caixasAbertos, Map<Long, Integer> baixas) {
+        Map<Long, Integer> quantidadePorProduto = MontagemVenda.quantidadesPorProduto(dto, PATH);
+
+        if (!Objects.equals(dto.getEmailUsuario(), emailAutenticado)) {
+            throw new ApiException("Venda em nome de outro usuário", HttpStatus.FORBIDDEN, PATH);
+        }
+        Usuario usuario = refs.usuarios.get(dto.getEmailUsuario());
+        if (usuario == null) {
+            throw new ApiException("Usuário não encontrado", HttpStatus.BAD_REQUEST, PATH);
+        }
+
+        Caixa caixa = refs.caixas.get(dto.getIdCaixa());
+        if (caixa == null) {
+            throw new ApiException("Caixa não encontrado", HttpStatus.BAD_REQUEST, PATH);
+        }
+        MontagemVenda.validarCaixa(caixa, usuario, caixasAbertos.contains(caixa.getId()), PATH);
+
+        Cliente cliente = null;
+        if (dto.getIdCliente() != null) {
+            cliente = refs.clientes.get(dto.getIdCliente());
+            if (cliente == null) {
+                throw new ApiException("Cliente não encontrado", HttpStatus.BAD_REQUEST, PATH);
+            }
+        }
+
+        for (Map.Entry<Long, Integer> entry : quantidadePorProduto.entrySet()) {
+            Produto produto = refs.produtos.get(entry.getKey());
+            if (produto == null) {
+                throw new ApiException("Produto não encontrado: " + entry.getKey(), HttpStatus.BAD_REQUEST, PATH);
+            }
+            int disponivel = refs.estoque.getOrDefault(entry.getKey(), 0) - baixas.getOrDefault(entry.getKey(), 0);
+            if (disponivel < entry.getValue()) {
+                throw new ApiException("Estoque insuficiente para o produto: " + produto.getNome(), HttpStatus.BAD_REQUEST, PATH);
+            }
+        }
+        quantidadePorProduto.forEach((idProduto, quantidade) -> baixas.merge(idProduto, quantidade, Integer::sum));
+
+        return MontagemVenda.montar(dto, usuario, caixa, cliente, refs.produtos);
+    }
+
+    private Referencias carregarReferencias(List<RegistrarVendaDTO> vendas) {
+        Set<String> emails = new HashSet<>();
+        Set<Long> idsCaixa = new HashSet<>();
+        Set<Long> idsCliente = new HashSet<>();
+        Set<Long> idsProduto = new HashSet<>();
+
+        for (RegistrarVendaDTO dto : vendas) {
+            if (dto == null) continue;
+            if (dto.getEmailUsuario() != null) emails.add(dto.getEmailUsuario());
+            if (dto.getIdCaixa() != null) idsCaixa.add(dto.getIdCaixa());
+            if (dto.getIdCliente() != null) idsCliente.add(dto.getIdCliente());
+            if (dto.getItens() != null) {
+                dto.getItens().stream()
+                        .map(RegistrarVendaDTO.ItemVendaDTO::getIdProduto)
+                        .filter(Objects::nonNull)
+                        .forEach(idsProduto::add);
+            }
+        }
+
+        Referencias refs = new Referencias();
+        refs.usuarios = usuarioRepository.findByEmailIn(emails).stream()
+                .collect(Collectors.toMap(Usuario::getEmail, Function.identity()));
+        refs.caixas = caixaRepository.findAllById(idsCaixa).stream()
+                .collect(Collectors.toMap(Caixa::getId, Function.identity()));
+        refs.clientes = idsCliente.isEmpty() ? Map.of() : clienteRepository.findAllById(idsCliente).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        refs.produtos = produtoRepository.findAllById(idsProduto).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        refs.produtos.values().forEach(p -> refs.estoque.put(p.getId(), p.getQuantidadeEstoque()));
+        return refs;
+    }
+
+    /**
+     * Entidades do lote carregadas uma vez. O saldo de estoque fica num mapa separado
+     * para nunca alterar as entidades (que podem estar gerenciadas).
+     */
+    private static class Referencias {
+        private Map<String, Usuario> usuarios;
+        private Map<Long, Caixa> caixas;
+        private Map<Long, Cliente> clientes;
+        private Map<Long, Produto> produtos;
+        private final Map<Long, Integer> estoque = new HashMap<>();
+
+        void recarregarEstoque(ProdutoRepository produtoRepository) {
+            produtoRepository.findAllById(produtos.keySet())
+                    .forEach(p -> estoque.put(p.getId(), p.getQuantidadeEstoque()));
+        }
+    }
+}
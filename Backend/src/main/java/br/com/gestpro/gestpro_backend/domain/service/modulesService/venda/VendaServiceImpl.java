@@ -1,50 +1,81 @@
 package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
 
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ItemVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ItemVendaProjecao;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.PaginaVendasDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ResultadoVendaLoteDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResumoProjecao;
 import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
 import br.com.gestpro.gestpro_backend.domain.model.modules.cliente.Cliente;
 import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
-import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
 import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.CaixaRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.ClienteRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.ProdutoRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.VendaRepository;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.PublicarVendasConfirmadasOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.ResumoVendasDiarioOperation;
+import br.com.gestpro.gestpro_backend.infra.concorrencia.TravasPorCaixa;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class VendaServiceImpl implements VendaServiceInterface {
 
     private static final Logger log = LoggerFactory.getLogger(VendaServiceImpl.class);
 
+    private static final int TAMANHO_PAGINA_MAXIMO = 200;
+
     private final VendaRepository vendaRepository;
     private final ProdutoRepository produtoRepository;
     private final UsuarioRepository usuarioRepository;
     private final CaixaRepository caixaRepository;
     private final ClienteRepository clienteRepository;
+    private final RegistrarVendasLoteOperation registrarVendasLote;
+    private final TravasPorCaixa travasPorCaixa;
+    private final ResumoVendasDiarioOperation resumoVendasDiario;
+    private final PublicarVendasConfirmadasOperation vendasConfirmadas;
+    private final BaixaEstoqueOperation baixaEstoque;
+    private final TransactionTemplate transactionTemplate;
 
     public VendaServiceImpl(VendaRepository vendaRepository,
                             ProdutoRepository produtoRepository,
                             UsuarioRepository usuarioRepository,
                             CaixaRepository caixaRepository,
-                            ClienteRepository clienteRepository) {
+                            ClienteRepository clienteRepository,
+                            RegistrarVendasLoteOperation registrarVendasLote,
+                            TravasPorCaixa travasPorCaixa,
+                            ResumoVendasDiarioOperation resumoVendasDiario,
+                            PublicarVendasConfirmadasOperation vendasConfirmadas,
+                            BaixaEstoqueOperation baixaEstoque,
+                            PlatformTransactionManager transactionManager) {
         this.vendaRepository = vendaRepository;
         this.produtoRepository = produtoRepository;
         this.usuarioRepository = usuarioRepository;
         this.caixaRepository = caixaRepository;
         this.clienteRepository = clienteRepository;
+        this.registrarVendasLote = registrarVendasLote;
+        this.travasPorCaixa = travasPorCaixa;
+        this.resumoVendasDiario = resumoVendasDiario;
+        this.vendasConfirmadas = vendasConfirmadas;
+        this.baixaEstoque = baixaEstoque;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -53,21 +84,27 @@ public class VendaServiceImpl implements VendaServiceInterface {
      * - decrementa estoque dos produtos
      * - associa itens à venda
      * - atualiza total do caixa
-     * - invalida cache 'dashboard' para o usuário (cache key = email do usuário)
+     * - avisa o dashboard do usuário (caches e telas ao vivo) após o commit
      */
     @Override
-    @Transactional
-    @CacheEvict(value = {"dashboard-v2", "grafico-metodos", "grafico-produtos", "grafico-vendas-diarias"}, key = "#email")
     public Venda registrarVenda(RegistrarVendaDTO dto) {
         if (dto.getItens() == null || dto.getItens().isEmpty()) {
             throw new ApiException("Nenhum item enviado para a venda", HttpStatus.BAD_REQUEST, "/api/vendas");
         }
 
+        // vendas do mesmo caixa (e o fechamento) passam uma de cada vez; caixas diferentes seguem em paralelo.
+        // A trava vem antes da transação: a espera pela vez do caixa não segura conexão do pool.
+        return travasPorCaixa.executarComTrava(dto.getIdCaixa(), "/api/vendas",
+                () -> transactionTemplate.execute(status -> gravarVenda(dto)));
+    }
+
+    private Venda gravarVenda(RegistrarVendaDTO dto) {
         Usuario usuario = usuarioRepository.findByEmail(dto.getEmailUsuario())
                 .orElseThrow(() -> new ApiException("Usuário não encontrado", HttpStatus.BAD_REQUEST, "/api/vendas"));
 
         Caixa caixa = caixaRepository.findById(dto.getIdCaixa())
                 .orElseThrow(() -> new ApiException("Caixa não encontrado", HttpStatus.BAD_REQUEST, "/api/vendas"));
+        MontagemVenda.validarCaixa(caixa, usuario, !Boolean.FALSE.equals(caixa.getAberto()), "/api/vendas");
 
         Cliente cliente = null;
         if (dto.getIdCliente() != null) {
@@ -75,53 +112,38 @@ public class VendaServiceImpl implements VendaServiceInterface {
                     .orElseThrow(() -> new ApiException("Cliente não encontrado", HttpStatus.BAD_REQUEST, "/api/vendas"));
         }
 
-        Venda venda = new Venda();
-        venda.setUsuario(usuario);
-        venda.setCaixa(caixa);
-        venda.setCliente(cliente);
-        venda.setFormaPagamento(dto.getFormaPagamento());
-        venda.setObservacao(dto.getObservacao());
+        Map<Long, Integer> quantidadePorProduto = MontagemVenda.quantidadesPorProduto(dto, "/api/vendas");
 
-        List<ItemVenda> itens = new ArrayList<>();
-        BigDecimal total = BigDecimal.ZERO;
+        // Carrega todos os produtos da venda em uma única consulta
+        Map<Long, Produto> produtos = produtoRepository.findAllById(quantidadePorProduto.keySet())
+                .stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
 
-        // Processa itens: valida produto, decrementa estoque e cria ItemVenda
-        for (RegistrarVendaDTO.ItemVendaDTO itemDTO : dto.getItens()) {
-            Produto produto = produtoRepository.findById(itemDTO.getIdProduto())
-                    .orElseThrow(() -> new ApiException("Produto não encontrado: " + itemDTO.getIdProduto(), HttpStatus.BAD_REQUEST, "/api/vendas"));
-
-            int quantidade = itemDTO.getQuantidade() != null ? itemDTO.getQuantidade() : 1;
-            if (produto.getQuantidadeEstoque() < quantidade) {
+        // Pré-validação em memória: falha cedo sem tocar no estoque quando já se sabe que não há saldo
+        for (Map.Entry<Long, Integer> entry : quantidadePorProduto.entrySet()) {
+            Produto produto = produtos.get(entry.getKey());
+            if (produto == null) {
+                throw new ApiException("Produto não encontrado: " + entry.getKey(), HttpStatus.BAD_REQUEST, "/api/vendas");
+            }
+            if (produto.getQuantidadeEstoque() < entry.getValue()) {
                 throw new ApiException("Estoque insuficiente para o produto: " + produto.getNome(), HttpStatus.BAD_REQUEST, "/api/vendas");
             }
-
-            // decrementa estoque e persiste a alteração do produto
-            produto.setQuantidadeEstoque(produto.getQuantidadeEstoque() - quantidade);
-            produtoRepository.save(produto);
-
-            ItemVenda itemVenda = new ItemVenda();
-            itemVenda.setVenda(venda);
-            itemVenda.setProduto(produto);
-            itemVenda.setQuantidade(quantidade);
-            itemVenda.setPrecoUnitario(produto.getPreco());
-            itemVenda.calcularSubtotal();
-
-            total = total.add(itemVenda.getSubtotal());
-            itens.add(itemVenda);
         }
 
-        venda.setItens(itens);
+        // Baixa de estoque atômica, todos os produtos em um batch: cada UPDATE só altera a linha se ainda houver
+        // saldo no momento da escrita. Se outra venda consumiu o estoque entre a leitura e aqui, a exceção desfaz tudo.
+        baixaEstoque.baixar(quantidadePorProduto, produtos, "/api/vendas");
 
-        BigDecimal desconto = dto.getDesconto() != null ? dto.getDesconto() : BigDecimal.ZERO;
-        venda.setTotal(total);
-        venda.setValorFinal(total.subtract(desconto).max(BigDecimal.ZERO));
+        Venda venda = MontagemVenda.montar(dto, usuario, caixa, cliente, produtos);
 
         Venda salvo = vendaRepository.save(venda);
 
-        // Atualiza o caixa: soma ao total de vendas do caixa
-        BigDecimal novoTotalVendas = caixa.getTotalVendas() != null ? caixa.getTotalVendas().add(salvo.getValorFinal()) : salvo.getValorFinal();
-        caixa.setTotalVendas(novoTotalVendas);
-        caixaRepository.save(caixa);
+        // Atualiza o caixa: soma ao total de vendas do caixa com um UPDATE atômico (sem read-modify-write)
+        caixaRepository.incrementarTotalVendas(caixa.getId(), salvo.getValorFinal());
+
+        // resumo diário do dashboard, na mesma transação da venda
+        resumoVendasDiario.registrar(List.of(salvo));
+        vendasConfirmadas.registrar(List.of(salvo));
 
         log.info("Venda registrada com sucesso. vendaId={}, usuario={}, caixaId={}, valorFinal={}",
                 salvo.getId(), usuario.getEmail(), caixa.getId(), salvo.getValorFinal());
@@ -129,11 +151,60 @@ public class VendaServiceImpl implements VendaServiceInterface {
         return salvo;
     }
 
+    /**
+     * Registra um lote de vendas (sincronização do PDV offline), com resultado individual por venda.
+     * As transações são controladas por chunk dentro da operação.
+     */
+    @Override
+    public List<ResultadoVendaLoteDTO> registrarVendasEmLote(List<RegistrarVendaDTO> vendas, String emailAutenticado) {
+        return registrarVendasLote.execute(vendas, emailAutenticado);
+    }
+
     @Override
     public List<Venda> listarPorCaixa(Long idCaixa) {
         return vendaRepository.findByCaixaId(idCaixa);
     }
 
+    /**
+     * Listagem paginada por keyset em (dataVenda, id), mais recentes primeiro.
+     * Uma consulta de projeção para as vendas da página e outra para todos os itens delas,
+     * então o custo por página não depende de quantas vendas o caixa já tem.
+     */
+    @Override
+    public PaginaVendasDTO listarPorCaixaPaginado(Long idCaixa, LocalDateTime aposData, Long aposId, int tamanho) {
+        int tamanhoPagina = Math.min(Math.max(tamanho, 1), TAMANHO_PAGINA_MAXIMO);
+        // busca um registro a mais só para saber se existe próxima página
+        Limit limite = Limit.of(tamanhoPagina + 1);
+
+        List<VendaResumoProjecao> linhas = aposData != null && aposId != null
+                ? vendaRepository.listarResumoPorCaixaApos(idCaixa, aposData, aposId, limite)
+                : vendaRepository.listarResumoPorCaixa(idCaixa, limite);
+
+        boolean temMais = linhas.size() > tamanhoPagina;
+        List<VendaResumoProjecao> pagina = temMais ? linhas.subList(0, tamanhoPagina) : linhas;
+
+        Map<Long, List<ItemVendaDTO>> itensPorVenda = pagina.isEmpty()
+                ? Map.of()
+                : vendaRepository.listarItensPorVendas(pagina.stream().map(VendaResumoProjecao::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ItemVendaProjecao::getIdVenda,
+                        Collectors.mapping(item -> new ItemVendaDTO(item.getIdProduto(), item.getNomeProduto(),
+                                item.getQuantidade(), item.getPrecoUnitario(), item.getSubtotal()), Collectors.toList())));
+
+        List<VendaResponseDTO> vendas = pagina.stream()
+                .map(v -> new VendaResponseDTO(v, idCaixa, itensPorVenda.getOrDefault(v.getId(), List.of())))
+                .toList();
+
+        VendaResumoProjecao ultima = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1);
+        return new PaginaVendasDTO(
+                vendas,
+                temMais,
+                temMais ? ultima.getDataVenda() : null,
+                temMais ? ultima.getId() : null
+        );
+    }
+
     @Override
     public Venda buscarPorId(Long id) {
         return vendaRepository.findById(id)
@@ -1,14 +1,21 @@
 package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
 
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.PaginaVendasDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ResultadoVendaLoteDTO;
 import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface VendaServiceInterface {
     Venda registrarVenda(RegistrarVendaDTO dto);
 
+    List<ResultadoVendaLoteDTO> registrarVendasEmLote(List<RegistrarVendaDTO> vendas, String emailAutenticado);
+
     List<Venda> listarPorCaixa(Long idCaixa);
 
+    PaginaVendasDTO listarPorCaixaPaginado(Long idCaixa, LocalDateTime aposData, Long aposId, int tamanho);
+
     Venda buscarPorId(Long id);
 }
@@ -0,0 +1,264 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache com uma cópia local (Caffeine, L1) na frente do cache compartilhado (Redis, L2).
+ *
+ * Leitura: L1, depois L2 (e o valor encontrado sobe para o L1). Escrita e remoção vão para os dois
+ * níveis e avisam as outras instâncias pelo {@link CacheManagerDoisNiveis}, que descartam o L1 da chave.
+ *
+ * Recalculo ({@link #get(Object, Callable)}, usado por @Cacheable(sync = true)):
+ * - requisições simultâneas pela mesma chave esperam um único cálculo em andamento;
+ * - com trava distribuída, só uma instância calcula; as outras aguardam o valor aparecer no Redis;
+ * - nos caches com stale, o valor removido do L1 fica guardado por um tempo e é servido enquanto o
+ *   recalculo roda em segundo plano. O valor antigo é local: outra instância sem cópia calcula na hora.
+ *
+ * O L1 guarda a mesma instância para todas as leituras: os valores cacheados não devem ser alterados
+ * por quem os recebe.
+ */
+public class CacheDoisNiveis implements Cache {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheDoisNiveis.class);
+
+    private static final long INTERVALO_ESPERA_TRAVA_MS = 50;
+
+    private final String nome;
+    private final Cache l2;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> l1;
+    /**
+     * Valores removidos, servidos durante o recalculo; null quando o cache não usa stale.
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> antigos;
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+    private final CacheManagerDoisNiveis manager;
+    private final OpcoesRecalculo opcoes;
+
+    // leituras com loader (@Cacheable sync); get(key) avulso não entra na conta
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder antigosServidos = new LongAdder();
+
+    public record Estatisticas(long acertos, long faltas, long antigosServidos) {
+    }
+
+    CacheDoisNiveis(String nome, Cache l2,
+                    com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> l1,
+                    com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> antigos,
+                    CacheManagerDoisNiveis manager, OpcoesRecalculo opcoes) {
+        this.nome = nome;
+        this.l2 = l2;
+        this.l1 = l1;
+        this.antigos = antigos;
+        this.manager = manager;
+        this.opcoes = opcoes;
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = l1.getIfPresent(key);
+        if (local != null) {
+            return local;
+        }
+        ValueWrapper remoto = l2.get(key);
+        if (remoto != null) {
+            l1.put(key, new SimpleValueWrapper(remoto.get()));
+        }
+        return remoto;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object valor = wrapper.get();
+        if (valor != null && type != null && !type.isInstance(valor)) {
+            throw new IllegalStateException("Valor em cache '" + nome + "' não é do tipo " + type.getName() + ": " + valor);
+        }
+        return (T) valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper atual = get(key);
+        if (atual != null) {
+            acertos.increment();
+            return (T) atual.get();
+        }
+
+        ValueWrapper antigo = antigos != null ? antigos.getIfPresent(key) : null;
+        if (antigo != null) {
+            antigosServidos.increment();
+            recalcular(key, valueLoader, true).exceptionally(e -> {
+                log.warn("Cache {}: falha ao recalcular {} em segundo plano: {}", nome, key, e.getMessage());
+                return null;
+            });
+            return (T) antigo.get();
+        }
+
+        faltas.increment();
+        try {
+            return (T) recalcular(key, valueLoader, false).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    /**
+     * Um cálculo por chave: quem chega com outro em andamento recebe o mesmo futuro.
+     */
+    private CompletableFuture<Object> recalcular(Object key, Callable<?> loader, boolean emSegundoPlano) {
+        CompletableFuture<Object> futuro = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emAndamento.putIfAbsent(key, futuro);
+        if (existente != null) {
+            return existente;
+        }
+
+        Runnable tarefa = () -> {
+            try {
+                futuro.complete(calcular(key, loader));
+            } catch (ValueRetrievalException e) {
+                futuro.completeExceptionally(e);
+            } catch (Exception e) {
+                futuro.completeExceptionally(new ValueRetrievalException(key, loader, e));
+            } finally {
+                emAndamento.remove(key, futuro);
+            }
+        };
+
+        if (!emSegundoPlano) {
+            tarefa.run();
+            return futuro;
+        }
+        try {
+            opcoes.executor().execute(tarefa);
+        } catch (RejectedExecutionException e) {
+            // pool cheio: o valor antigo continua sendo servido e a próxima leitura tenta de novo
+            emAndamento.remove(key, futuro);
+            futuro.completeExceptionally(e);
+        }
+        return futuro;
+    }
+
+    private Object calcular(Object key, Callable<?> loader) throws Exception {
+        TravaDistribuida trava = opcoes.trava();
+        String chaveTrava = "cache:trava:" + nome + ":" + key;
+        String token = null;
+
+        if (trava != null) {
+            long limite = System.nanoTime() + opcoes.esperaTrava().toNanos();
+            try {
+                while ((token = trava.adquirir(chaveTrava, opcoes.ttlTrava())) == null && System.nanoTime() < limite) {
+                    // outra instância está calculando: o resultado dela chega pelo Redis
+                    ValueWrapper pronto = l2.get(key);
+                    if (pronto != null) {
+                        l1.put(key, new SimpleValueWrapper(pronto.get()));
+                        return pronto.get();
+                    }
+                    Thread.sleep(INTERVALO_ESPERA_TRAVA_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            } catch (RuntimeException e) {
+                log.warn("Cache {}: trava distribuída indisponível, calculando sem ela: {}", nome, e.getMessage());
+            }
+        }
+
+        try {
+            Object valor = loader.call();
+            put(key, valor);
+            if (antigos != null) {
+                antigos.invalidate(key);
+            }
+            return valor;
+        } finally {
+            if (token != null) {
+                liberar(trava, chaveTrava, token);
+            }
+        }
+    }
+
+    private void liberar(TravaDistribuida trava, String chaveTrava, String token) {
+        try {
+            trava.liberar(chaveTrava, token);
+        } catch (RuntimeException e) {
+            // expira sozinha pelo ttl
+            log.warn("Cache {}: falha ao liberar trava {}: {}", nome, chaveTrava, e.getMessage());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        l1.put(key, new SimpleValueWrapper(value));
+        manager.publicarRemocao(nome, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        removerLocal(key);
+        manager.publicarRemocao(nome, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean removido = l2.evictIfPresent(key);
+        removerLocal(key);
+        manager.publicarRemocao(nome, key);
+        return removido;
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        limparLocal();
+        manager.publicarLimpeza(nome);
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(acertos.sum(), faltas.sum(), antigosServidos.sum());
+    }
+
+    void removerLocal(Object key) {
+        ValueWrapper removido = l1.asMap().remove(key);
+        if (removido != null && antigos != null) {
+            antigos.put(key, removido);
+        }
+    }
+
+    void limparLocal() {
+        if (antigos != null) {
+            antigos.putAll(l1.asMap());
+        }
+        l1.invalidateAll();
+    }
+}
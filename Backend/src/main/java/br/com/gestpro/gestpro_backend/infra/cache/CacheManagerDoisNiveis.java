@@ -0,0 +1,151 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * CacheManager em dois níveis: cada cache do manager de L2 (Redis) ganha um L1 local (Caffeine).
+ *
+ * Toda escrita/remoção publica uma mensagem no canal {@link #CANAL}; as outras instâncias recebem em
+ * {@link #onMessage} e descartam a chave do próprio L1, que na próxima leitura busca de novo no Redis.
+ * Pub/sub não garante entrega (ex.: reconexão), por isso o L1 também expira sozinho após um TTL curto.
+ *
+ * Mensagem: tipo|origem|cache|chave, com tipo E (remover chave) ou C (limpar cache). Só chaves String
+ * atravessam a rede; para outros tipos a remoção vira limpeza do cache inteiro.
+ */
+public class CacheManagerDoisNiveis implements CacheManager, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheManagerDoisNiveis.class);
+
+    public static final String CANAL = "cache:invalidacao";
+
+    private static final String REMOVER = "E";
+    private static final String LIMPAR = "C";
+
+    private final CacheManager l2Manager;
+    private final Duration ttlLocal;
+    private final long tamanhoMaximoLocal;
+    private final boolean transactionAware;
+    private final Consumer<String> publicador;
+    private final OpcoesRecalculo opcoesRecalculo;
+    private final String origem = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<String, CacheDoisNiveis> caches = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Cache> decorados = new ConcurrentHashMap<>();
+
+    /**
+     * @param publicador envia a mensagem de invalidação às outras instâncias (ex.: convertAndSend no {@link #CANAL})
+     */
+    public CacheManagerDoisNiveis(CacheManager l2Manager, Duration ttlLocal, long tamanhoMaximoLocal,
+                                  boolean transactionAware, Consumer<String> publicador) {
+        this(l2Manager, ttlLocal, tamanhoMaximoLocal, transactionAware, publicador, OpcoesRecalculo.semStale());
+    }
+
+    public CacheManagerDoisNiveis(CacheManager l2Manager, Duration ttlLocal, long tamanhoMaximoLocal,
+                                  boolean transactionAware, Consumer<String> publicador,
+                                  OpcoesRecalculo opcoesRecalculo) {
+        this.l2Manager = l2Manager;
+        this.ttlLocal = ttlLocal;
+        this.tamanhoMaximoLocal = tamanhoMaximoLocal;
+        this.transactionAware = transactionAware;
+        this.publicador = publicador;
+        this.opcoesRecalculo = opcoesRecalculo;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return decorados.computeIfAbsent(name, n -> {
+            Cache l2 = l2Manager.getCache(n);
+            if (l2 == null) {
+                return null;
+            }
+            CacheDoisNiveis cache = new CacheDoisNiveis(n, l2,
+                    Caffeine.newBuilder()
+                            .expireAfterWrite(ttlLocal)
+                            .maximumSize(tamanhoMaximoLocal)
+                            .build(),
+                    opcoesRecalculo.cachesComStale().contains(n)
+                            ? Caffeine.newBuilder()
+                            .expireAfterWrite(opcoesRecalculo.ttlStale())
+                            .maximumSize(tamanhoMaximoLocal)
+                            .build()
+                            : null,
+                    this, opcoesRecalculo);
+            caches.put(n, cache);
+            // put/evict só depois do commit, como no RedisCacheManager.transactionAware()
+            return transactionAware ? new TransactionAwareCacheDecorator(cache) : cache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(decorados.keySet());
+    }
+
+    /**
+     * Contadores de leitura do cache, ou null se ele ainda não foi usado nesta instância.
+     */
+    public CacheDoisNiveis.Estatisticas estatisticas(String nome) {
+        CacheDoisNiveis cache = caches.get(nome);
+        return cache != null ? cache.estatisticas() : null;
+    }
+
+    void publicarRemocao(String cache, Object chave) {
+        if (chave instanceof String texto) {
+            publicar(REMOVER + "|" + origem + "|" + cache + "|" + texto);
+        } else {
+            publicar(LIMPAR + "|" + origem + "|" + cache + "|");
+        }
+    }
+
+    void publicarLimpeza(String cache) {
+        publicar(LIMPAR + "|" + origem + "|" + cache + "|");
+    }
+
+    private void publicar(String mensagem) {
+        try {
+            publicador.accept(mensagem);
+        } catch (RuntimeException e) {
+            // o L2 já foi atualizado; as outras instâncias só ficam com o L1 antigo até o TTL local
+            log.warn("Falha ao publicar invalidação de cache: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        aplicarInvalidacao(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Aplica no L1 local uma invalidação publicada por outra instância.
+     */
+    public void aplicarInvalidacao(String mensagem) {
+        String[] partes = mensagem.split("\\|", 4);
+        if (partes.length < 4 || origem.equals(partes[1])) {
+            return;
+        }
+        CacheDoisNiveis cache = caches.get(partes[2]);
+        if (cache == null) {
+            return;
+        }
+        if (REMOVER.equals(partes[0])) {
+            cache.removerLocal(partes[3]);
+        } else {
+            cache.limparLocal();
+        }
+    }
+}
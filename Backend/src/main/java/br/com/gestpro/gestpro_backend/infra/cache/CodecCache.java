@@ -0,0 +1,24 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Formato binário de um tipo guardado no cache. Os campos são gravados em ordem fixa, sem nomes nem
+ * nome de classe; o {@link #id()} identifica o tipo no payload e não pode mudar depois de publicado.
+ * Mudou o formato de um tipo (ou de um tipo que ele embute)? Incremente a {@link #versao()}: entradas gravadas
+ * com outra versão são lidas como ausentes e recalculadas, em vez de lidas com o layout errado.
+ */
+public interface CodecCache<T> {
+
+    byte id();
+
+    byte versao();
+
+    Class<T> tipo();
+
+    void escrever(T valor, DataOutputStream out) throws IOException;
+
+    T ler(DataInputStream in) throws IOException;
+}
@@ -0,0 +1,196 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.*;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codecs dos DTOs guardados nos caches do dashboard (visão geral e gráficos).
+ */
+public final class CodecsDashboard {
+
+    private CodecsDashboard() {
+    }
+
+    public static List<CodecCache<?>> todos() {
+        return List.of(VISAO_GERAL, PLANO, METODO_PAGAMENTO, PRODUTO_VENDAS, VENDAS_DIARIAS);
+    }
+
+    static final CodecCache<PlanoDTO> PLANO = new CodecCache<>() {
+        public byte id() {
+            return 11;
+        }
+
+        public byte versao() {
+            return 1;
+        }
+
+        public Class<PlanoDTO> tipo() {
+            return PlanoDTO.class;
+        }
+
+        public void escrever(PlanoDTO valor, DataOutputStream out) throws IOException {
+            escreverTexto(valor.getTipoPlano(), out);
+            out.writeLong(valor.getDiasRestantes());
+        }
+
+        public PlanoDTO ler(DataInputStream in) throws IOException {
+            return new PlanoDTO(lerTexto(in), in.readLong());
+        }
+    };
+
+    // embute o PLANO: mudou o formato do plano, incremente as duas versões
+    static final CodecCache<DashboardVisaoGeralResponse> VISAO_GERAL = new CodecCache<>() {
+        public byte id() {
+            return 10;
+        }
+
+        public byte versao() {
+            return 1;
+        }
+
+        public Class<DashboardVisaoGeralResponse> tipo() {
+            return DashboardVisaoGeralResponse.class;
+        }
+
+        public void escrever(DashboardVisaoGeralResponse valor, DataOutputStream out) throws IOException {
+            escreverLong(valor.getVendasHoje(), out);
+            escreverLong(valor.getProdutosComEstoque(), out);
+            escreverLong(valor.getProdutosSemEstoque(), out);
+            escreverLong(valor.getClientesAtivos(), out);
+            escreverLong(valor.getVendasSemana(), out);
+            out.writeBoolean(valor.getPlanoUsuario() != null);
+            if (valor.getPlanoUsuario() != null) {
+                PLANO.escrever(valor.getPlanoUsuario(), out);
+            }
+            List<String> alertas = valor.getAlertas();
+            out.writeInt(alertas != null ? alertas.size() : -1);
+            if (alertas != null) {
+                for (String alerta : alertas) {
+                    escreverTexto(alerta, out);
+                }
+            }
+        }
+
+        public DashboardVisaoGeralResponse ler(DataInputStream in) throws IOException {
+            DashboardVisaoGeralResponse valor = new DashboardVisaoGeralResponse();
+            valor.setVendasHoje(lerLong(in));
+            valor.setProdutosComEstoque(lerLong(in));
+            valor.setProdutosSemEstoque(lerLong(in));
+            valor.setClientesAtivos(lerLong(in));
+            valor.setVendasSemana(lerLong(in));
+            if (in.readBoolean()) {
+                valor.setPlanoUsuario(PLANO.ler(in));
+            }
+            int quantidadeAlertas = in.readInt();
+            if (quantidadeAlertas >= 0) {
+                List<String> alertas = new ArrayList<>(quantidadeAlertas);
+                for (int i = 0; i < quantidadeAlertas; i++) {
+                    alertas.add(lerTexto(in));
+                }
+                valor.setAlertas(alertas);
+            }
+            return valor;
+        }
+    };
+
+    static final CodecCache<MetodoPagamentoDTO> METODO_PAGAMENTO = new CodecCache<>() {
+        public byte id() {
+            return 12;
+        }
+
+        public byte versao() {
+            return 1;
+        }
+
+        public Class<MetodoPagamentoDTO> tipo() {
+            return MetodoPagamentoDTO.class;
+        }
+
+        public void escrever(MetodoPagamentoDTO valor, DataOutputStream out) throws IOException {
+            escreverTexto(valor.getMetodo(), out);
+            escreverLong(valor.getTotal(), out);
+        }
+
+        public MetodoPagamentoDTO ler(DataInputStream in) throws IOException {
+            MetodoPagamentoDTO valor = new MetodoPagamentoDTO();
+            valor.setMetodo(lerTexto(in));
+            valor.setTotal(lerLong(in));
+            return valor;
+        }
+    };
+
+    static final CodecCache<ProdutoVendasDTO> PRODUTO_VENDAS = new CodecCache<>() {
+        public byte id() {
+            return 13;
+        }
+
+        public byte versao() {
+            return 1;
+        }
+
+        public Class<ProdutoVendasDTO> tipo() {
+            return ProdutoVendasDTO.class;
+        }
+
+        public void escrever(ProdutoVendasDTO valor, DataOutputStream out) throws IOException {
+            escreverTexto(valor.getNome(), out);
+            escreverLong(valor.getQuantidade(), out);
+        }
+
+        public ProdutoVendasDTO ler(DataInputStream in) throws IOException {
+            return new ProdutoVendasDTO(lerTexto(in), lerLong(in));
+        }
+    };
+
+    static final CodecCache<VendasDiariasDTO> VENDAS_DIARIAS = new CodecCache<>() {
+        public byte id() {
+            return 14;
+        }
+
+        public byte versao() {
+            return 1;
+        }
+
+        public Class<VendasDiariasDTO> tipo() {
+            return VendasDiariasDTO.class;
+        }
+
+        public void escrever(VendasDiariasDTO valor, DataOutputStream out) throws IOException {
+            escreverTexto(valor.getDia(), out);
+            out.writeDouble(valor.getTotal());
+        }
+
+        public VendasDiariasDTO ler(DataInputStream in) throws IOException {
+            return new VendasDiariasDTO(lerTexto(in), in.readDouble());
+        }
+    };
+
+    // ------------------ CAMPOS OPCIONAIS ------------------
+
+    private static void escreverLong(Long valor, DataOutputStream out) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeLong(valor);
+        }
+    }
+
+    private static Long lerLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void escreverTexto(String valor, DataOutputStream out) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeUTF(valor);
+        }
+    }
+
+    private static String lerTexto(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
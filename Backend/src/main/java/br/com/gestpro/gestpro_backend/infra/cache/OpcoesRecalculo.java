@@ -0,0 +1,27 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Como o {@link CacheManagerDoisNiveis} recalcula entradas ausentes (get com loader / @Cacheable(sync = true)).
+ *
+ * @param cachesComStale caches que, após uma remoção, ainda servem o valor antigo enquanto recalculam
+ * @param ttlStale       por quanto tempo o valor antigo pode ser servido
+ * @param executor       onde rodam os recálculos em segundo plano do stale-while-revalidate
+ * @param trava          trava entre instâncias; null = só entre threads desta instância
+ * @param ttlTrava       validade da trava (maior que o recálculo mais lento)
+ * @param esperaTrava    quanto esperar pela instância que segura a trava antes de recalcular mesmo assim
+ */
+public record OpcoesRecalculo(Set<String> cachesComStale,
+                              Duration ttlStale,
+                              Executor executor,
+                              TravaDistribuida trava,
+                              Duration ttlTrava,
+                              Duration esperaTrava) {
+
+    public static OpcoesRecalculo semStale() {
+        return new OpcoesRecalculo(Set.of(), Duration.ZERO, Runnable::run, null, Duration.ZERO, Duration.ZERO);
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SET NX PX com token aleatório; a liberação só apaga a chave se o token ainda for o nosso
+ * (a trava pode ter expirado e sido pega por outra instância).
+ */
+public class RedisTravaDistribuida implements TravaDistribuida {
+
+    private static final DefaultRedisScript<Long> LIBERAR = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisTravaDistribuida(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public String adquirir(String chave, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(chave, token, ttl)) ? token : null;
+    }
+
+    @Override
+    public void liberar(String chave, String token) {
+        redisTemplate.execute(LIBERAR, List.of(chave), token);
+    }
+}
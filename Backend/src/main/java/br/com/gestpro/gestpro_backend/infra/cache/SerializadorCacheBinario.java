@@ -0,0 +1,208 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serializador de valores do cache Redis: tipos com {@link CodecCache} registrado (e listas deles) vão
+ * em binário, sem nomes de campo nem de classe; o resto (e NullValue) segue para o serializador JSON.
+ *
+ * Payload: [MAGICO][flags][corpo], corpo = [tipo][versao][campos], [LISTA][tipo][versao][tamanho][itens] ou
+ * [LISTA_VAZIA]. Acima de comprimirAcimaBytes o corpo é comprimido com Deflate, se ficar menor.
+ *
+ * Valor gravado com outra versão do codec (ou no formato binário anterior, sem versão) é devolvido como null,
+ * que o RedisCache trata como ausente: o valor é recalculado e regravado. Valores sem byte mágico são lidos
+ * pelo JSON, então as entradas JSON antigas continuam legíveis até expirarem.
+ */
+public class SerializadorCacheBinario implements RedisSerializer<Object> {
+
+    // não começam JSON válido ('{', '[', '"', dígito, letra)
+    private static final byte MAGICO = (byte) 0xB2;
+    private static final byte MAGICO_SEM_VERSAO = (byte) 0xB1;
+    private static final int COMPRIMIDO = 1;
+
+    private static final byte JSON = 0;
+    private static final byte LISTA = 1;
+    private static final byte LISTA_VAZIA = 2;
+
+    private final Map<Class<?>, CodecCache<?>> porTipo = new HashMap<>();
+    private final Map<Byte, CodecCache<?>> porId = new HashMap<>();
+    private final RedisSerializer<Object> fallback;
+    private final int comprimirAcimaBytes;
+
+    public SerializadorCacheBinario(List<CodecCache<?>> codecs, RedisSerializer<Object> fallback, int comprimirAcimaBytes) {
+        for (CodecCache<?> codec : codecs) {
+            if (codec.id() <= LISTA_VAZIA || porId.putIfAbsent(codec.id(), codec) != null) {
+                throw new IllegalArgumentException("Id de codec inválido ou repetido: " + codec.id());
+            }
+            porTipo.put(codec.tipo(), codec);
+        }
+        this.fallback = fallback;
+        this.comprimirAcimaBytes = comprimirAcimaBytes;
+    }
+
+    @Override
+    public byte[] serialize(Object valor) throws SerializationException {
+        if (valor == null) {
+            return fallback.serialize(null);
+        }
+        try {
+            byte[] corpo = escreverCorpo(valor);
+            int flags = 0;
+            if (corpo.length > comprimirAcimaBytes) {
+                byte[] comprimido = comprimir(corpo);
+                if (comprimido.length < corpo.length) {
+                    corpo = comprimido;
+                    flags |= COMPRIMIDO;
+                }
+            }
+            byte[] payload = new byte[corpo.length + 2];
+            payload[0] = MAGICO;
+            payload[1] = (byte) flags;
+            System.arraycopy(corpo, 0, payload, 2, corpo.length);
+            return payload;
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao serializar valor de cache", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == MAGICO_SEM_VERSAO) {
+            return null;
+        }
+        if (bytes[0] != MAGICO) {
+            return fallback.deserialize(bytes);
+        }
+        try {
+            InputStream corpo = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+            if ((bytes[1] & COMPRIMIDO) != 0) {
+                corpo = new InflaterInputStream(corpo);
+            }
+            return lerCorpo(new DataInputStream(corpo));
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao ler valor de cache", e);
+        }
+    }
+
+    private byte[] escreverCorpo(Object valor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        CodecCache<Object> codec = codecDe(valor.getClass());
+        CodecCache<Object> elemento = codec == null && valor instanceof List<?> lista ? codecDeLista(lista) : null;
+        if (codec != null) {
+            out.writeByte(codec.id());
+            out.writeByte(codec.versao());
+            codec.escrever(valor, out);
+        } else if (valor instanceof List<?> lista && lista.isEmpty()) {
+            // sem itens não há tipo de elemento nem versão a gravar
+            out.writeByte(LISTA_VAZIA);
+        } else if (elemento != null) {
+            List<?> lista = (List<?>) valor;
+            out.writeByte(LISTA);
+            out.writeByte(elemento.id());
+            out.writeByte(elemento.versao());
+            out.writeInt(lista.size());
+            for (Object item : lista) {
+                elemento.escrever(item, out);
+            }
+        } else {
+            out.writeByte(JSON);
+            out.write(fallback.serialize(valor));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return o valor, ou null se foi gravado com outra versão do codec
+     */
+    private Object lerCorpo(DataInputStream in) throws IOException {
+        byte tipo = in.readByte();
+        if (tipo == JSON) {
+            return fallback.deserialize(in.readAllBytes());
+        }
+        if (tipo == LISTA_VAZIA) {
+            return new ArrayList<>();
+        }
+        if (tipo == LISTA) {
+            CodecCache<?> elemento = codecPorId(in.readByte());
+            if (in.readByte() != elemento.versao()) {
+                return null;
+            }
+            int tamanho = in.readInt();
+            List<Object> lista = new ArrayList<>(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                lista.add(elemento.ler(in));
+            }
+            return lista;
+        }
+        CodecCache<?> codec = codecPorId(tipo);
+        return in.readByte() == codec.versao() ? codec.ler(in) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CodecCache<Object> codecDe(Class<?> tipo) {
+        return (CodecCache<Object>) porTipo.get(tipo);
+    }
+
+    private CodecCache<?> codecPorId(byte id) throws IOException {
+        CodecCache<?> codec = porId.get(id);
+        if (codec == null) {
+            throw new IOException("Tipo de cache desconhecido: " + id);
+        }
+        return codec;
+    }
+
+    /**
+     * Codec comum a todos os itens de uma lista não vazia, ou null se não há.
+     */
+    private CodecCache<Object> codecDeLista(List<?> lista) {
+        if (lista.isEmpty()) {
+            return null;
+        }
+        Object primeiro = lista.get(0);
+        if (primeiro == null) {
+            return null;
+        }
+        CodecCache<Object> codec = codecDe(primeiro.getClass());
+        if (codec == null) {
+            return null;
+        }
+        for (Object item : lista) {
+            if (item == null || item.getClass() != primeiro.getClass()) {
+                return null;
+            }
+        }
+        return codec;
+    }
+
+    private static byte[] comprimir(byte[] dados) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(dados.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(dados);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+}
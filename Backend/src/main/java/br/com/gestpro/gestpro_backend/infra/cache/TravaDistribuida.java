@@ -0,0 +1,16 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import java.time.Duration;
+
+/**
+ * Trava entre instâncias usada para que só uma recalcule a mesma entrada de cache.
+ */
+public interface TravaDistribuida {
+
+    /**
+     * @return token para {@link #liberar}, ou null se outra instância já segura a trava
+     */
+    String adquirir(String chave, Duration ttl);
+
+    void liberar(String chave, String token);
+}
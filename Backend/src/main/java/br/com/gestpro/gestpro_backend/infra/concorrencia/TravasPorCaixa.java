@@ -0,0 +1,124 @@
+package br.com.gestpro.gestpro_backend.infra.concorrencia;
+
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa, por caixa, as operações que mexem no total do caixa (registrar venda, lote, fechar caixa).
+ *
+ * Cada caixa tem sua própria trava, criada sob demanda e descartada quando ninguém mais a usa:
+ * vendas em caixas diferentes nunca esperam umas pelas outras. A trava é adquirida antes de a transação
+ * começar e só é liberada depois do commit/rollback: quem espera a vez do caixa não segura uma conexão do
+ * pool, e a próxima operação do mesmo caixa já enxerga o que a anterior gravou. Por isso a operação
+ * recebida deve abrir a própria transação (TransactionTemplate) e a chamada não pode vir de dentro de uma.
+ *
+ * As travas são ReentrantLocks desta JVM: a serialização só vale dentro de uma instância. Com mais de uma
+ * instância, vendas do mesmo caixa em nós diferentes ainda correm em paralelo, e quem as protege são os UPDATEs
+ * condicionais e o @Version do caixa (o conflito volta ao PDV como 409, para nova tentativa). Por isso nada do
+ * tratamento de concorrência otimista pode ser removido por causa desta classe; ela só evita as retentativas
+ * entre vendas da mesma instância (ver TravasPorCaixaBenchmark).
+ */
+@Component
+public class TravasPorCaixa {
+
+    private final ConcurrentHashMap<Long, Trava> travas = new ConcurrentHashMap<>();
+    private final long esperaMaximaMs;
+
+    public TravasPorCaixa(@Value("${app.caixa.trava.espera-maxima-ms:5000}") long esperaMaximaMs) {
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    /**
+     * Executa a operação com o caixa travado.
+     */
+    public <T> T executarComTrava(Long idCaixa, String path, Supplier<T> operacao) {
+        return executarComTrava(idCaixa == null ? List.of() : List.of(idCaixa), path, operacao);
+    }
+
+    /**
+     * Trava vários caixas sempre em ordem crescente de id, para que duas operações nunca se esperem em ciclo.
+     */
+    public <T> T executarComTrava(Collection<Long> idsCaixa, String path, Supplier<T> operacao) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Trava de caixa deve ser adquirida antes de abrir a transação");
+        }
+
+        TreeSet<Long> ordenados = new TreeSet<>();
+        idsCaixa.stream().filter(Objects::nonNull).forEach(ordenados::add);
+
+        Deque<Long> travados = new ArrayDeque<>();
+        try {
+            for (Long idCaixa : ordenados) {
+                travar(idCaixa, path);
+                travados.push(idCaixa);
+            }
+            return operacao.get();
+        } finally {
+            while (!travados.isEmpty()) {
+                liberar(travados.pop());
+            }
+        }
+    }
+
+    private void travar(Long idCaixa, String path) {
+        Trava trava = referenciar(idCaixa);
+        boolean adquirida;
+        try {
+            adquirida = trava.lock.tryLock(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            adquirida = false;
+        }
+
+        if (!adquirida) {
+            desreferenciar(idCaixa);
+            throw new ApiException("Caixa ocupado com outra operação. Tente novamente.", HttpStatus.CONFLICT, path);
+        }
+    }
+
+    private void liberar(Long idCaixa) {
+        travas.get(idCaixa).lock.unlock();
+        desreferenciar(idCaixa);
+    }
+
+    /**
+     * Quantidade de caixas com trava em uso ou em espera (para testes/monitoramento).
+     */
+    int travasEmUso() {
+        return travas.size();
+    }
+
+    private Trava referenciar(Long idCaixa) {
+        return travas.compute(idCaixa, (id, trava) -> {
+            Trava atual = trava != null ? trava : new Trava();
+            atual.referencias++;
+            return atual;
+        });
+    }
+
+    private void desreferenciar(Long idCaixa) {
+        travas.computeIfPresent(idCaixa, (id, trava) -> --trava.referencias == 0 ? null : trava);
+    }
+
+    /**
+     * {@code referencias} só é alterado dentro de compute/computeIfPresent, que já é atômico por chave.
+     */
+    private static final class Trava {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int referencias;
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.gestpro.gestpro_backend.infra.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * A coluna {@code caixa.aberto_usuario_id} (única) garante um caixa aberto por usuário, mas chega vazia nos
+ * caixas que já estavam abertos quando ela foi criada pelo ddl-auto.
+ *
+ * Na subida, preenche a coluna no caixa aberto mais recente de cada usuário que ainda não tem nenhum caixa
+ * reservado. Caixas abertos em duplicidade de antes da restrição ficam sem a coluna (e continuam podendo ser
+ * fechados); não são fechados aqui. O UPDATE só toca linhas sem reserva, então é seguro rodar em todas as
+ * subidas e em várias instâncias ao mesmo tempo.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // o schema (ddl-auto) já existe quando roda
+public class AjusteCaixasAbertos implements InitializingBean {
+
+    // as tabelas derivadas evitam o erro do MySQL ao ler, no WHERE, a própria tabela do UPDATE
+    static final String SQL = "UPDATE caixa SET aberto_usuario_id = usuario_id " +
+            "WHERE aberto_usuario_id IS NULL AND status = 'ABERTO' " +
+            "AND id IN (SELECT id FROM (SELECT MAX(id) AS id FROM caixa WHERE status = 'ABERTO' " +
+            "GROUP BY usuario_id) ultimos) " +
+            "AND usuario_id NOT IN (SELECT usuario_id FROM (SELECT aberto_usuario_id AS usuario_id FROM caixa " +
+            "WHERE aberto_usuario_id IS NOT NULL) reservados)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AjusteCaixasAbertos(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            int linhas = jdbcTemplate.update(SQL);
+            if (linhas > 0) {
+                log.info("Reserva de caixa aberto preenchida em {} caixa(s)", linhas);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // outra instância (ou uma abertura) reservou o mesmo usuário entre a leitura e a escrita
+            log.warn("Reserva de caixa aberto não preenchida; será tentada na próxima subida: {}", e.getMessage());
+        }
+    }
+}
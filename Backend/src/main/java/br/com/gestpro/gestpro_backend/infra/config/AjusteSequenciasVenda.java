@@ -0,0 +1,74 @@
+package br.com.gestpro.gestpro_backend.infra.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * Venda e ItemVenda passaram de IDENTITY para sequence. No MySQL a sequence é uma tabela ({@code venda_seq},
+ * {@code item_venda_seq}) que o Hibernate cria começando em 1, mesmo com vendas já gravadas: os primeiros ids
+ * gerados colidiriam com os existentes.
+ *
+ * Na subida, antes de qualquer insert, leva cada tabela de sequence para pelo menos {@code MAX(id) + 1} da
+ * tabela correspondente. O UPDATE só aumenta o valor, então é seguro rodar em todas as subidas e em várias
+ * instâncias ao mesmo tempo. Com o otimizador pooled-lo (application.properties), o valor gravado é o próximo
+ * id a ser entregue. Em bancos com sequence nativa (H2 nos testes) não há tabela e nada é feito.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // o schema (ddl-auto) já existe quando roda
+public class AjusteSequenciasVenda implements InitializingBean {
+
+    /** Tabela de sequence → tabela cujos ids ela gera. */
+    static final Map<String, String> SEQUENCIAS = Map.of(
+            "venda_seq", "venda",
+            "item_venda_seq", "item_venda");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AjusteSequenciasVenda(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SEQUENCIAS.forEach(this::ajustar);
+    }
+
+    void ajustar(String sequencia, String tabela) {
+        if (!existeTabela(sequencia)) {
+            log.debug("Sem tabela {}: sequence nativa, nada a ajustar", sequencia);
+            return;
+        }
+
+        String proximo = "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + tabela + ")";
+        int linhas = jdbcTemplate.update(
+                "UPDATE " + sequencia + " SET next_val = GREATEST(next_val, " + proximo + ")");
+        if (linhas == 0) {
+            // tabela criada à mão, sem a linha inicial que o Hibernate grava
+            jdbcTemplate.update("INSERT INTO " + sequencia + " (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM " + tabela);
+        }
+        log.info("Sequence {} ajustada acima dos ids de {}", sequencia, tabela);
+    }
+
+    private boolean existeTabela(String nome) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            DatabaseMetaData metaData = conexao.getMetaData();
+            for (String candidato : new String[]{nome, nome.toUpperCase()}) {
+                try (ResultSet tabelas = metaData.getTables(conexao.getCatalog(), null, candidato, new String[]{"TABLE"})) {
+                    if (tabelas.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
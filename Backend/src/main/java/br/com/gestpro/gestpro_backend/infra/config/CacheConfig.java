@@ -1,26 +1,62 @@
 package br.com.gestpro.gestpro_backend.infra.config;
 
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.caixa.RegistroCaixasAbertos;
+import br.com.gestpro.gestpro_backend.infra.cache.CacheManagerDoisNiveis;
+import br.com.gestpro.gestpro_backend.infra.cache.CodecsDashboard;
+import br.com.gestpro.gestpro_backend.infra.cache.OpcoesRecalculo;
+import br.com.gestpro.gestpro_backend.infra.cache.RedisTravaDistribuida;
+import br.com.gestpro.gestpro_backend.infra.cache.SerializadorCacheBinario;
+import br.com.gestpro.gestpro_backend.infra.jwt.CachePrincipalJwt;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Valores em Redis: binário compacto para os DTOs do dashboard (app.cache.serializador=binario) ou
+     * JSON com tipo em todas as entradas (json). O binário lê entradas JSON antigas normalmente.
+     */
     @Bean
-    public RedisCacheConfiguration redisCacheConfiguration() {
+    public RedisCacheConfiguration redisCacheConfiguration(
+            @Value("${app.cache.serializador:binario}") String serializador,
+            @Value("${app.cache.serializador.comprimir-acima-bytes:512}") int comprimirAcimaBytes) {
+        GenericJackson2JsonRedisSerializer json = serializadorJson();
+        RedisSerializer<Object> valores = "json".equalsIgnoreCase(serializador)
+                ? json
+                : new SerializadorCacheBinario(CodecsDashboard.todos(), json, comprimirAcimaBytes);
+
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(30))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valores));
+    }
+
+    public static GenericJackson2JsonRedisSerializer serializadorJson() {
         ObjectMapper mapper = new ObjectMapper();
         // suporte para java.time
         mapper.registerModule(new JavaTimeModule());
@@ -32,18 +68,73 @@ public class CacheConfig {
                 JsonTypeInfo.As.PROPERTY
         );
 
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(mapper);
-
-        return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+        return new GenericJackson2JsonRedisSerializer(mapper);
     }
 
+    /**
+     * Caffeine (L1, por instância) na frente do Redis (L2). Invalidações chegam às outras instâncias
+     * pelo canal {@link CacheManagerDoisNiveis#CANAL}. Ver {@link OpcoesRecalculo} para o recalculo
+     * de entradas ausentes (@Cacheable(sync = true)).
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(redisCacheConfiguration())
-                .transactionAware()
+    public CacheManagerDoisNiveis cacheManager(RedisConnectionFactory connectionFactory,
+                                               RedisCacheConfiguration redisCacheConfiguration,
+                                               StringRedisTemplate stringRedisTemplate,
+                                               @Value("${app.cache.local.ttl-segundos:60}") long ttlLocalSegundos,
+                                               @Value("${app.cache.local.tamanho-maximo:10000}") long tamanhoMaximoLocal,
+                                               @Value("${app.cache.recalculo.caches-com-stale:}") Set<String> cachesComStale,
+                                               @Value("${app.cache.recalculo.stale-ttl-segundos:300}") long ttlStaleSegundos,
+                                               @Value("${app.cache.recalculo.threads:2}") int threadsRecalculo,
+                                               @Value("${app.cache.recalculo.trava-distribuida:false}") boolean travaDistribuida,
+                                               @Value("${app.cache.recalculo.trava-ttl-ms:10000}") long ttlTravaMs,
+                                               @Value("${app.cache.recalculo.trava-espera-ms:3000}") long esperaTravaMs) {
+        // sem transactionAware aqui: o decorator fica por fora dos dois níveis
+        RedisCacheManager redis = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration)
                 .build();
+        redis.afterPropertiesSet();
+
+        OpcoesRecalculo recalculo = new OpcoesRecalculo(
+                cachesComStale,
+                Duration.ofSeconds(ttlStaleSegundos),
+                poolRecalculo(threadsRecalculo),
+                travaDistribuida ? new RedisTravaDistribuida(stringRedisTemplate) : null,
+                Duration.ofMillis(ttlTravaMs),
+                Duration.ofMillis(esperaTravaMs));
+
+        return new CacheManagerDoisNiveis(redis, Duration.ofSeconds(ttlLocalSegundos), tamanhoMaximoLocal, true,
+                mensagem -> stringRedisTemplate.convertAndSend(CacheManagerDoisNiveis.CANAL, mensagem), recalculo);
+    }
+
+    /**
+     * Recalculos em segundo plano do stale-while-revalidate. Fila pequena: se encher, a leitura segue
+     * com o valor antigo e tenta de novo na próxima.
+     */
+    private static ExecutorService poolRecalculo(int threads) {
+        AtomicInteger contador = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100), r -> {
+            Thread t = new Thread(r, "cache-recalculo-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Um único container para os canais entre instâncias: invalidação do cache, revogação de tokens, mudança
+     * de plano/status no principal do JWT e abertura/fechamento de caixas.
+     */
+    @Bean
+    public RedisMessageListenerContainer invalidacaoCacheListener(RedisConnectionFactory connectionFactory,
+                                                                  CacheManagerDoisNiveis cacheManager,
+                                                                  RevogacaoTokens revogacaoTokens,
+                                                                  CachePrincipalJwt cachePrincipalJwt,
+                                                                  RegistroCaixasAbertos registroCaixasAbertos) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(CacheManagerDoisNiveis.CANAL));
+        container.addMessageListener(revogacaoTokens, new ChannelTopic(RevogacaoTokens.CANAL));
+        container.addMessageListener(cachePrincipalJwt, new ChannelTopic(CachePrincipalJwt.CANAL));
+        container.addMessageListener(registroCaixasAbertos, new ChannelTopic(RegistroCaixasAbertos.CANAL));
+        return container;
     }
 }
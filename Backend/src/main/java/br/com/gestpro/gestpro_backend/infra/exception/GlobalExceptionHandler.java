@@ -2,6 +2,7 @@ package br.com.gestpro.gestpro_backend.infra.exception;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
@@ -105,7 +106,27 @@ public class GlobalExceptionHandler {
     }
 
     // =====================================================
-    // 5. Qualquer outra exceção não prevista
+    // 5. Conflito de concorrência otimista (@Version)
+    // Outra transação (inclusive de outra instância) gravou antes: 409 para o cliente tentar de novo
+    // =====================================================
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<RetornoErroAPI> handleOptimisticLockingFailure(OptimisticLockingFailureException ex,
+                                                                         HttpServletRequest request) {
+
+        RetornoErroAPI retorno = new RetornoErroAPI(
+                false,
+                "Registro alterado por outra operação. Tente novamente.",
+                409,
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                null
+        );
+
+        return ResponseEntity.status(409).body(retorno);
+    }
+
+    // =====================================================
+    // 6. Qualquer outra exceção não prevista
     // =====================================================
     @ExceptionHandler(Exception.class)
     public ResponseEntity<RetornoErroAPI> handleAllExceptions(Exception ex, HttpServletRequest request) {
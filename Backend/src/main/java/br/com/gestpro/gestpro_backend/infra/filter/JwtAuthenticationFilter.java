@@ -2,12 +2,17 @@ package br.com.gestpro.gestpro_backend.infra.filter;
 
 import br.com.gestpro.gestpro_backend.domain.model.auth.UsuarioPrincipal;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
+import br.com.gestpro.gestpro_backend.infra.jwt.CachePrincipalJwt;
+import br.com.gestpro.gestpro_backend.infra.jwt.CacheTokensVerificados;
 import br.com.gestpro.gestpro_backend.infra.jwt.JwtService;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
+import br.com.gestpro.gestpro_backend.infra.jwt.TokenVerificado;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,16 +20,34 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Autentica pelo cookie jwt_token. Com {@code app.jwt.principal-do-token} (padrão), o principal sai dos
+ * claims do token já verificado, sem consulta ao banco (ver {@link CachePrincipalJwt}); sem ele, o usuário
+ * é buscado pelo e-mail a cada requisição. Tokens revogados antes do exp (ver {@link RevogacaoTokens}) não autenticam.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final CacheTokensVerificados cacheTokens;
+    private final RevogacaoTokens revogacao;
     private final UsuarioRepository usuarioRepository;
+    private final CachePrincipalJwt cachePrincipal;
+    private final boolean principalDoToken;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UsuarioRepository usuarioRepository) {
+    public JwtAuthenticationFilter(JwtService jwtService, CacheTokensVerificados cacheTokens,
+                                   RevogacaoTokens revogacao,
+                                   UsuarioRepository usuarioRepository,
+                                   CachePrincipalJwt cachePrincipal,
+                                   @Value("${app.jwt.principal-do-token:true}") boolean principalDoToken) {
         this.jwtService = jwtService;
+        this.cacheTokens = cacheTokens;
+        this.revogacao = revogacao;
         this.usuarioRepository = usuarioRepository;
+        this.cachePrincipal = cachePrincipal;
+        this.principalDoToken = principalDoToken;
     }
 
     @Override
@@ -47,25 +70,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Só processa se houver token e ninguém estiver autenticado ainda
             if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // assinatura e expiração conferidas uma única vez (ou reaproveitadas do cache); o resto lê deste objeto
+                TokenVerificado verificado = cacheTokens.verificar(token);
+                String email = verificado.email();
 
-                String email = jwtService.getEmailFromToken(token);
-
-                if (email != null) {
+                if (revogacao.revogado(verificado)) {
+                    // logout, troca de senha ou plano expirado depois da emissão: segue sem autenticação
+                } else if (email != null && principalDoToken) {
+                    Optional<UsuarioPrincipal> principal = cachePrincipal.obter(email, verificado.emitidoEm(),
+                            () -> jwtService.usuarioDoToken(verificado), () -> usuarioRepository.findByEmail(email));
+                    principal.ifPresent(userDetails -> autenticar(userDetails, request));
+                } else if (email != null) {
                     var usuarioOpt = usuarioRepository.findByEmail(email);
 
                     if (usuarioOpt.isPresent()) {
                         var userDetails = new UsuarioPrincipal(usuarioOpt.get());
 
                         // Valida token antes de autenticar
-                        if (jwtService.validarToken(token, userDetails)) {
-                            UsernamePasswordAuthenticationToken authToken =
-                                    new UsernamePasswordAuthenticationToken(
-                                            userDetails,
-                                            null,
-                                            userDetails.getAuthorities()
-                                    );
-                            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                            SecurityContextHolder.getContext().setAuthentication(authToken);
+                        if (jwtService.validarToken(verificado, userDetails)) {
+                            autenticar(userDetails, request);
                         }
                     }
                 }
@@ -77,4 +100,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void autenticar(UsuarioPrincipal userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
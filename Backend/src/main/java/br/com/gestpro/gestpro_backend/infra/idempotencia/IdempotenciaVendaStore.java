@@ -0,0 +1,48 @@
+package br.com.gestpro.gestpro_backend.infra.idempotencia;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
+
+import java.util.Optional;
+
+/**
+ * Armazena as respostas de vendas já registradas por Idempotency-Key, para que
+ * retentativas do PDV devolvam a mesma venda sem tocar no banco.
+ *
+ * Fluxo: {@link #buscar} → {@link #reservar} → registra a venda → {@link #concluir}
+ * (ou {@link #liberar} em caso de erro, para permitir nova tentativa).
+ *
+ * Cada entrada guarda o hash do corpo da requisição que a criou: a mesma chave com outro corpo
+ * não é uma retentativa e não deve receber a resposta guardada.
+ */
+public interface IdempotenciaVendaStore {
+
+    /**
+     * @param hashPayload hash do corpo da requisição que reservou a chave
+     * @param resposta    resposta concluída, ou null enquanto a venda está em processamento
+     */
+    record Registro(String hashPayload, VendaResponseDTO resposta) {
+
+        public boolean emProcessamento() {
+            return resposta == null;
+        }
+    }
+
+    /**
+     * Entrada da chave (reservada ou concluída), se existir e não tiver expirado.
+     */
+    Optional<Registro> buscar(String chave);
+
+    /**
+     * Reserva a chave para processamento. Devolve o token da reserva, a ser passado a {@link #liberar},
+     * ou null se ela já estiver reservada ou concluída.
+     */
+    String reservar(String chave, String hashPayload);
+
+    void concluir(String chave, String hashPayload, VendaResponseDTO resposta);
+
+    /**
+     * Desfaz a reserva, só se ela ainda for a do token informado (pode ter expirado e sido pega por outra
+     * requisição) e ainda não tiver resposta.
+     */
+    void liberar(String chave, String reserva);
+}
@@ -0,0 +1,82 @@
+package br.com.gestpro.gestpro_backend.infra.idempotencia;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store em memória (padrão): um ConcurrentHashMap com expiração por TTL.
+ * Entradas vencidas são ignoradas na leitura e removidas periodicamente.
+ */
+@Component
+@ConditionalOnProperty(name = "app.vendas.idempotencia.store", havingValue = "memoria", matchIfMissing = true)
+public class MemoriaIdempotenciaVendaStore implements IdempotenciaVendaStore {
+
+    private record Entrada(String hashPayload, String reserva, VendaResponseDTO resposta, long expiraEm) {
+    }
+
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public MemoriaIdempotenciaVendaStore(@Value("${app.vendas.idempotencia.ttl-minutos:60}") long ttlMinutos) {
+        this(Duration.ofMinutes(ttlMinutos), Clock.systemUTC());
+    }
+
+    MemoriaIdempotenciaVendaStore(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<Registro> buscar(String chave) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null || expirada(entrada)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Registro(entrada.hashPayload(), entrada.resposta()));
+    }
+
+    @Override
+    public String reservar(String chave, String hashPayload) {
+        Entrada nova = new Entrada(hashPayload, UUID.randomUUID().toString(), null, clock.millis() + ttl.toMillis());
+        // compute é atômico por chave: só uma requisição consegue a reserva
+        Entrada atual = entradas.compute(chave, (k, existente) ->
+                existente == null || expirada(existente) ? nova : existente);
+        return atual == nova ? nova.reserva() : null;
+    }
+
+    @Override
+    public void concluir(String chave, String hashPayload, VendaResponseDTO resposta) {
+        entradas.put(chave, new Entrada(hashPayload, null, resposta, clock.millis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void liberar(String chave, String reserva) {
+        entradas.computeIfPresent(chave, (k, existente) ->
+                existente.resposta() == null && existente.reserva().equals(reserva) ? null : existente);
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000) // a cada 5 minutos
+    public void removerExpiradas() {
+        entradas.values().removeIf(this::expirada);
+    }
+
+    int tamanho() {
+        return entradas.size();
+    }
+
+    private boolean expirada(Entrada entrada) {
+        return entrada.expiraEm() <= clock.millis();
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.gestpro.gestpro_backend.infra.idempotencia;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Store compartilhado entre instâncias (app.vendas.idempotencia.store=redis).
+ * A reserva usa SET NX com TTL e um marcador com o hash do corpo e um token aleatório; a resposta concluída
+ * (com o hash) substitui o marcador. A liberação só apaga a chave se o marcador ainda for o da reserva,
+ * como em RedisTravaDistribuida.
+ *
+ * A reserva tem TTL curto (app.vendas.idempotencia.reserva-segundos, acima da espera pela trava do caixa mais a
+ * duração da transação): se a instância cair no meio da venda, a chave volta a ser aceita em instantes em vez de
+ * responder 409 até o TTL da resposta. Só a resposta concluída fica pelo TTL completo.
+ */
+@Component
+@ConditionalOnProperty(name = "app.vendas.idempotencia.store", havingValue = "redis")
+public class RedisIdempotenciaVendaStore implements IdempotenciaVendaStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisIdempotenciaVendaStore.class);
+
+    private static final String PREFIXO = "idempotencia:venda:";
+    private static final String EM_PROCESSAMENTO = "__EM_PROCESSAMENTO__:";
+
+    private static final DefaultRedisScript<Long> LIBERAR = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /** Resposta concluída como fica no Redis. */
+    private record RespostaSalva(String hashPayload, VendaResponseDTO resposta) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Duration ttlReserva;
+    private final ObjectMapper mapper;
+
+    public RedisIdempotenciaVendaStore(StringRedisTemplate redisTemplate,
+                                       @Value("${app.vendas.idempotencia.ttl-minutos:60}") long ttlMinutos,
+                                       @Value("${app.vendas.idempotencia.reserva-segundos:60}") long reservaSegundos) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofMinutes(ttlMinutos);
+        this.ttlReserva = Duration.ofSeconds(reservaSegundos);
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public Optional<Registro> buscar(String chave) {
+        String valor = redisTemplate.opsForValue().get(PREFIXO + chave);
+        if (valor == null) {
+            return Optional.empty();
+        }
+        if (valor.startsWith(EM_PROCESSAMENTO)) {
+            // __EM_PROCESSAMENTO__:<hash>:<token>
+            String resto = valor.substring(EM_PROCESSAMENTO.length());
+            return Optional.of(new Registro(resto.substring(0, resto.indexOf(':')), null));
+        }
+        try {
+            RespostaSalva salva = mapper.readValue(valor, RespostaSalva.class);
+            if (salva.hashPayload() == null || salva.resposta() == null) {
+                log.warn("Resposta idempotente em formato antigo no Redis, ignorada. chave={}", chave);
+                return Optional.empty();
+            }
+            return Optional.of(new Registro(salva.hashPayload(), salva.resposta()));
+        } catch (JsonProcessingException e) {
+            log.warn("Resposta idempotente ilegível no Redis. chave={}", chave, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String reservar(String chave, String hashPayload) {
+        String reserva = EM_PROCESSAMENTO + hashPayload + ":" + UUID.randomUUID();
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(PREFIXO + chave, reserva, ttlReserva))
+                ? reserva : null;
+    }
+
+    /**
+     * Substitui a reserva pela resposta, já com o TTL completo.
+     */
+    @Override
+    public void concluir(String chave, String hashPayload, VendaResponseDTO resposta) {
+        try {
+            redisTemplate.opsForValue().set(PREFIXO + chave,
+                    mapper.writeValueAsString(new RespostaSalva(hashPayload, resposta)), ttl);
+        } catch (JsonProcessingException e) {
+            // a venda já foi registrada; sem a resposta guardada, a retentativa recebe 409 até o TTL vencer
+            log.error("Falha ao serializar resposta idempotente. chave={}", chave, e);
+        }
+    }
+
+    @Override
+    public void liberar(String chave, String reserva) {
+        redisTemplate.execute(LIBERAR, List.of(PREFIXO + chave), reserva);
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.gestpro.gestpro_backend.infra.jwt;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.auth.UsuarioPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Principais autenticados por e-mail, montados a partir dos claims do token (sem ir ao banco).
+ *
+ * Os claims de plano e status valem do momento em que o token foi emitido. Quando plano ou status mudam,
+ * {@link #invalidar} remove o principal e anota a hora da mudança: tokens emitidos antes dela passam a ser
+ * resolvidos pelo banco até expirarem. A mudança chega às outras instâncias pelo canal {@link #CANAL}, com a
+ * mesma hora, e cada uma faz a mesma anotação. Se a mensagem se perder, o principal antigo vale lá no máximo
+ * {@code app.jwt.principal.ttl-segundos}, depois volta a sair dos claims do token.
+ */
+@Component
+public class CachePrincipalJwt implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CachePrincipalJwt.class);
+
+    public static final String CANAL = "jwt:principal";
+
+    private final Cache<String, UsuarioPrincipal> principais;
+    private final Cache<String, Long> alteradosEm;
+    private final StringRedisTemplate redis;
+    private final String origem = UUID.randomUUID().toString();
+
+    public CachePrincipalJwt(StringRedisTemplate redis,
+                             @Value("${app.jwt.principal.ttl-segundos:60}") long ttlSegundos,
+                             @Value("${app.jwt.principal.tamanho-maximo:10000}") long tamanhoMaximo,
+                             @Value("${app.jwt-expiration-ms}") long jwtExpirationMs) {
+        this.redis = redis;
+        this.principais = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .maximumSize(tamanhoMaximo)
+                .build();
+        // depois disso nenhum token emitido antes da mudança ainda é válido
+        this.alteradosEm = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
+                .maximumSize(tamanhoMaximo)
+                .build();
+    }
+
+    /**
+     * @param doToken  usuário montado com os claims do token
+     * @param doBanco  usado se o token for anterior à última mudança de plano/status
+     * @return vazio se o token for anterior à mudança e o usuário não existir mais
+     */
+    public Optional<UsuarioPrincipal> obter(String email, Date emitidoEm,
+                                            Supplier<Usuario> doToken, Supplier<Optional<Usuario>> doBanco) {
+        UsuarioPrincipal principal = principais.getIfPresent(email);
+        if (principal != null) {
+            return Optional.of(principal);
+        }
+
+        Long alterado = alteradosEm.getIfPresent(email);
+        boolean claimsAntigos = alterado != null && (emitidoEm == null || emitidoEm.getTime() < alterado);
+        Optional<UsuarioPrincipal> novo = (claimsAntigos ? doBanco.get() : Optional.of(doToken.get()))
+                .map(UsuarioPrincipal::new);
+
+        novo.ifPresent(p -> principais.put(email, p));
+        return novo;
+    }
+
+    /**
+     * Plano ou status do usuário mudou. Dentro de uma transação, vale depois do commit (antes dele,
+     * o banco ainda teria o valor antigo).
+     */
+    public void invalidar(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removerEPublicar(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    removerEPublicar(email);
+                }
+            }
+        });
+    }
+
+    /**
+     * Mensagem: origem|alteradoEm|email. As próprias mensagens são ignoradas.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] partes = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (partes.length < 3 || origem.equals(partes[0])) {
+            return;
+        }
+        try {
+            remover(partes[2], Long.parseLong(partes[1]));
+        } catch (NumberFormatException e) {
+            log.warn("Mensagem inválida no canal {}: {}", CANAL, partes[1]);
+        }
+    }
+
+    private void removerEPublicar(String email) {
+        long agora = System.currentTimeMillis();
+        remover(email, agora);
+        try {
+            redis.convertAndSend(CANAL, origem + "|" + agora + "|" + email);
+        } catch (RuntimeException e) {
+            log.warn("Mudança de plano/status de {} não publicada; outras instâncias usam o principal antigo até o TTL: {}",
+                    email, e.getMessage());
+        }
+    }
+
+    private void remover(String email, long alteradoEm) {
+        // fica a mudança mais recente, se duas chegarem fora de ordem
+        alteradosEm.asMap().merge(email, alteradoEm, Math::max);
+        principais.invalidate(email);
+    }
+}
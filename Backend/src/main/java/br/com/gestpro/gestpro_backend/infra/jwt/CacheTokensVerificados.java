@@ -0,0 +1,105 @@
+package br.com.gestpro.gestpro_backend.infra.jwt;
+
+import br.com.gestpro.gestpro_backend.api.dto.auth.jwt.EstatisticasCacheTokensDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens já verificados, para que o mesmo cookie não passe de novo por HMAC e leitura do JSON a cada requisição.
+ *
+ * A chave é o SHA-256 do token (o token em si não fica em memória). Cada entrada vale até o exp do token e
+ * o cache tem tamanho máximo; tokens inválidos não entram. Uma entrada expirada nunca é devolvida: além
+ * da expiração do Caffeine, o exp é conferido de novo na leitura.
+ */
+@Component
+public class CacheTokensVerificados {
+
+    private final JwtService jwtService;
+    private final Cache<String, TokenVerificado> tokens;
+
+    public CacheTokensVerificados(JwtService jwtService,
+                                  @Value("${app.jwt.cache-tokens.tamanho-maximo:10000}") long tamanhoMaximo) {
+        this.jwtService = jwtService;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new AteOExp())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Mesmo contrato de {@link JwtService#verificar}: lança exceção se o token não for válido.
+     */
+    public TokenVerificado verificar(String token) {
+        String chave = digest(token);
+        TokenVerificado verificado = tokens.getIfPresent(chave);
+        if (verificado != null && !expirado(verificado)) {
+            return verificado;
+        }
+        if (verificado != null) {
+            tokens.invalidate(chave);
+        }
+
+        verificado = jwtService.verificar(token);
+        tokens.put(chave, verificado);
+        return verificado;
+    }
+
+    public EstatisticasCacheTokensDTO estatisticas() {
+        CacheStats stats = tokens.stats();
+        return new EstatisticasCacheTokensDTO(stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), tokens.estimatedSize());
+    }
+
+    // ------------------ MÉTODOS AUXILIARES ------------------
+
+    private static boolean expirado(TokenVerificado token) {
+        Date exp = token.expiraEm();
+        return exp != null && !exp.after(new Date());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e); // obrigatório em toda JVM
+        }
+    }
+
+    /**
+     * Cada entrada expira junto com o token; sem exp, não fica em cache.
+     */
+    private static final class AteOExp implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String chave, TokenVerificado token, long agoraNanos) {
+            Date exp = token.expiraEm();
+            if (exp == null) {
+                return 0;
+            }
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(exp.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, TokenVerificado token, long agoraNanos, long duracaoAtual) {
+            return expireAfterCreate(chave, token, agoraNanos);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, TokenVerificado token, long agoraNanos, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.gestpro.gestpro_backend.infra.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings: "não contém" é certeza, "talvez contenha" erra em cerca de {@code taxaFalsoPositivo}
+ * enquanto o número de itens não passar da capacidade. Não remove itens; para tirar os vencidos, monta-se outro.
+ * Leituras e escritas concorrentes são seguras (bits em um AtomicLongArray).
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long tamanhoBits;
+    private final int funcoes;
+
+    FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        long n = Math.max(1, capacidade);
+        long m = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.tamanhoBits = Math.max(64, m);
+        this.funcoes = Math.max(1, (int) Math.round((double) tamanhoBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((tamanhoBits + 63) / 64));
+    }
+
+    void adicionar(String item) {
+        long hash = hash(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < funcoes; i++) {
+            long bit = posicao(h1, h2, i);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual;
+            do {
+                atual = bits.get(palavra);
+            } while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    boolean talvezContenha(String item) {
+        long hash = hash(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < funcoes; i++) {
+            long bit = posicao(h1, h2, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * i-ésima posição por hash duplo (h1 + i·h2), que dispensa k funções de hash independentes.
+     */
+    private long posicao(int h1, int h2, int i) {
+        long combinado = h1 + (long) i * h2;
+        return Math.floorMod(combinado, tamanhoBits);
+    }
+
+    /**
+     * FNV-1a de 64 bits com a mistura final do MurmurHash3, para espalhar bem as duas metades.
+     */
+    private static long hash(String item) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,8 +1,11 @@
 package br.com.gestpro.gestpro_backend.infra.jwt;
 
 import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
+import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -13,78 +16,101 @@ import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Gera e confere os tokens JWT. A chave e o parser são montados uma vez, na criação (o parser é imutável e
+ * pode ser usado por várias threads); cada token é verificado uma vez por {@link #verificar}.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long jwtExpirationMs;
 
-    @Value("${app.jwt-expiration-ms}")
-    private long jwtExpirationMs;
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${app.jwt-expiration-ms}") long jwtExpirationMs) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+    }
 
 
     // GERAÇÃO DE TOKEN
     public String gerarToken(Usuario usuario) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // jti, para revogar um token sozinho
                 .setSubject(usuario.getEmail())
+                .claim("id", usuario.getId())
                 .claim("nome", usuario.getNome())
                 .claim("foto", usuario.getFoto())
                 .claim("tipoPlano", usuario.getTipoPlano().toString())
                 .claim("statusAcesso", usuario.getStatusAcesso().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
 
+    // VERIFICAÇÃO
+    /**
+     * Confere assinatura e expiração e devolve os claims; lança exceção se o token não for válido.
+     */
+    public TokenVerificado verificar(String token) {
+        try {
+            return new TokenVerificado(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Erro ao extrair claims do token JWT", e);
+        }
+    }
+
+    /**
+     * Usuário com os dados gravados no token (id, nome, foto, plano e status no momento da emissão).
+     * O id é nulo em tokens emitidos antes de ele entrar nos claims.
+     */
+    public Usuario usuarioDoToken(TokenVerificado token) {
+        Usuario usuario = new Usuario();
+        Number id = token.claim("id", Number.class);
+        usuario.setId(id != null ? id.longValue() : null);
+        usuario.setEmail(token.email());
+        usuario.setNome(token.claim("nome", String.class));
+        usuario.setFoto(token.claim("foto", String.class));
+        usuario.setTipoPlano(TipoPlano.valueOf(token.claim("tipoPlano", String.class)));
+        usuario.setStatusAcesso(StatusAcesso.valueOf(token.claim("statusAcesso", String.class)));
+        return usuario;
+    }
+
+
     // EXTRAÇÃO DE INFORMAÇÕES
     public String getEmailFromToken(String token) {
-        return extrairClaim(token, Claims::getSubject);
+        return verificar(token).email();
     }
 
     public <T> T extrairClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extrairTodosClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verificar(token).claims());
     }
 
-    private Claims extrairTodosClaims(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (JwtException | IllegalArgumentException e) {
-            throw new RuntimeException("Erro ao extrair claims do token JWT", e);
-        }
-    }
 
     // VALIDAÇÃO
     public boolean validarToken(String token, UserDetails userDetails) {
-        final String email = getEmailFromToken(token);
-        return (email.equals(userDetails.getUsername()) && !estaExpirado(token));
-    }
-
-    private boolean estaExpirado(String token) {
-        return extrairClaim(token, Claims::getExpiration).before(new Date());
+        return validarToken(verificar(token), userDetails);
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * A expiração já foi conferida em {@link #verificar}; falta o dono do token.
+     */
+    public boolean validarToken(TokenVerificado token, UserDetails userDetails) {
+        return token.email().equals(userDetails.getUsername());
     }
 
 
     // VALIDAÇÃO SIMPLES
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true; // token válido
         } catch (JwtException | IllegalArgumentException e) {
             return false; // token inválido ou expirado
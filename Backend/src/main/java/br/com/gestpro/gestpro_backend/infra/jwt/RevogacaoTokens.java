@@ -0,0 +1,231 @@
+package br.com.gestpro.gestpro_backend.infra.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lista de tokens revogados antes do exp: um token (pelo jti, ex.: logout) ou todos os tokens de um usuário
+ * emitidos antes de um instante (troca de senha, plano expirado).
+ *
+ * A lista fica no Redis em dois sorted sets ({@link #CHAVE_TOKENS}: jti → exp; {@link #CHAVE_USUARIOS}:
+ * e-mail → instante da revogação). Cada instância guarda um filtro de Bloom com os mesmos itens, então o caso
+ * comum (token não revogado) é respondido em memória, sem ida ao Redis; só um "talvez" é confirmado lá.
+ * Revogações chegam às outras instâncias pelo canal {@link #CANAL}, e o filtro é remontado a partir do Redis
+ * de tempos em tempos, o que também descarta entradas cujos tokens já venceram.
+ *
+ * Se o Redis falhar na confirmação, o token é tratado como revogado (o usuário entra de novo). Se falhar ao
+ * gravar uma revogação, a falha é registrada no log e não sobe: o logout e a troca de senha seguem, e o token
+ * continua valendo até o exp.
+ */
+@Component
+public class RevogacaoTokens implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RevogacaoTokens.class);
+
+    public static final String CANAL = "jwt:revogacao";
+    static final String CHAVE_TOKENS = "jwt:revogados";
+    static final String CHAVE_USUARIOS = "jwt:revogados-usuarios";
+    private static final String ITEM_TOKEN = "j:";
+    private static final String ITEM_USUARIO = "u:";
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+
+    private final StringRedisTemplate redis;
+    private final long jwtExpirationMs;
+    private final long capacidade;
+
+    /**
+     * Instante da revogação por usuário, já lido do Redis: tokens emitidos depois dela (novo login) não
+     * voltam ao Redis a cada requisição. Uma nova revogação do mesmo usuário descarta a entrada.
+     */
+    private final Cache<String, Long> revogacoesUsuario;
+
+    private volatile FiltroBloom filtro;
+    private List<String> recebidosDuranteRecarga; // guardado por this
+
+    public RevogacaoTokens(StringRedisTemplate redis,
+                           @Value("${app.jwt-expiration-ms}") long jwtExpirationMs,
+                           @Value("${app.jwt.revogacao.bloom.capacidade:100000}") long capacidade,
+                           @Value("${app.jwt.revogacao.recarregar-ms:300000}") long recarregarMs) {
+        this.redis = redis;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.capacidade = capacidade;
+        this.revogacoesUsuario = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(recarregarMs))
+                .maximumSize(capacidade)
+                .build();
+        this.filtro = new FiltroBloom(capacidade, TAXA_FALSO_POSITIVO);
+    }
+
+    /**
+     * Revoga um único token até o exp dele. Sem jti (tokens antigos), não há o que revogar.
+     */
+    public void revogarToken(TokenVerificado token) {
+        String jti = token.id();
+        if (jti == null) {
+            return;
+        }
+        Date exp = token.expiraEm();
+        long expMs = exp != null ? exp.getTime() : System.currentTimeMillis() + jwtExpirationMs;
+        if (gravar(CHAVE_TOKENS, jti, expMs)) {
+            publicar(ITEM_TOKEN + jti);
+        }
+    }
+
+    /**
+     * Revoga todos os tokens do usuário emitidos até agora. O iat do JWT tem precisão de segundos, então o
+     * instante é truncado: um login no mesmo segundo, logo depois, continua valendo.
+     */
+    public void revogarDoUsuario(String email) {
+        long agora = System.currentTimeMillis() / 1000 * 1000;
+        if (gravar(CHAVE_USUARIOS, email, agora)) {
+            publicar(ITEM_USUARIO + email);
+        }
+    }
+
+    public boolean revogado(TokenVerificado token) {
+        String jti = token.id();
+        String email = token.email();
+        FiltroBloom atual = filtro;
+        boolean talvezToken = jti != null && atual.talvezContenha(ITEM_TOKEN + jti);
+        boolean talvezUsuario = email != null && atual.talvezContenha(ITEM_USUARIO + email);
+        if (!talvezToken && !talvezUsuario) {
+            return false;
+        }
+
+        try {
+            if (talvezToken && redis.opsForZSet().score(CHAVE_TOKENS, jti) != null) {
+                return true;
+            }
+            if (talvezUsuario) {
+                long revogadoEm = revogacoesUsuario.get(email, this::revogacaoNoRedis);
+                Date emitidoEm = token.emitidoEm();
+                return revogadoEm != Long.MIN_VALUE && (emitidoEm == null || emitidoEm.getTime() < revogadoEm);
+            }
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao consultar revogação do token de {}: {}", email, e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        aplicar(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @PostConstruct
+    void carregarNaSubida() {
+        try {
+            recarregar();
+        } catch (RuntimeException e) {
+            log.warn("Lista de tokens revogados não carregada na subida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remonta o filtro só com as revogações ainda em vigor e apaga do Redis as vencidas. Itens recebidos
+     * pelo canal durante a leitura entram também no filtro novo, para não se perderem na troca.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revogacao.recarregar-ms:300000}",
+            initialDelayString = "${app.jwt.revogacao.recarregar-ms:300000}")
+    public void recarregar() {
+        synchronized (this) {
+            recebidosDuranteRecarga = new ArrayList<>();
+        }
+        try {
+            long agora = System.currentTimeMillis();
+            ZSetOperations<String, String> zset = redis.opsForZSet();
+            zset.removeRangeByScore(CHAVE_TOKENS, Double.NEGATIVE_INFINITY, agora);
+            zset.removeRangeByScore(CHAVE_USUARIOS, Double.NEGATIVE_INFINITY, agora - jwtExpirationMs);
+            Set<String> tokens = zset.range(CHAVE_TOKENS, 0, -1);
+            Set<String> usuarios = zset.range(CHAVE_USUARIOS, 0, -1);
+
+            int total = tamanho(tokens) + tamanho(usuarios);
+            FiltroBloom novo = new FiltroBloom(Math.max(capacidade, 2L * total), TAXA_FALSO_POSITIVO);
+            if (tokens != null) {
+                tokens.forEach(jti -> novo.adicionar(ITEM_TOKEN + jti));
+            }
+            if (usuarios != null) {
+                usuarios.forEach(email -> novo.adicionar(ITEM_USUARIO + email));
+            }
+
+            synchronized (this) {
+                recebidosDuranteRecarga.forEach(novo::adicionar);
+                filtro = novo;
+            }
+            revogacoesUsuario.invalidateAll();
+        } finally {
+            synchronized (this) {
+                recebidosDuranteRecarga = null;
+            }
+        }
+    }
+
+    // ------------------ MÉTODOS AUXILIARES ------------------
+
+    /**
+     * Sem a entrada no Redis a revogação não vale em nenhuma instância (a confirmação é feita lá), então também
+     * não é publicada.
+     */
+    private boolean gravar(String chave, String item, long score) {
+        try {
+            redis.opsForZSet().add(chave, item, score);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Revogação de {} não gravada no Redis; o token segue válido até o exp: {}", item, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Marca no filtro local na hora e avisa as outras instâncias.
+     */
+    private void publicar(String item) {
+        aplicar(item);
+        try {
+            redis.convertAndSend(CANAL, item);
+        } catch (RuntimeException e) {
+            log.warn("Revogação {} não publicada; outras instâncias a verão na próxima recarga: {}",
+                    item, e.getMessage());
+        }
+    }
+
+    private synchronized void aplicar(String item) {
+        filtro.adicionar(item);
+        if (recebidosDuranteRecarga != null) {
+            recebidosDuranteRecarga.add(item);
+        }
+        if (item.startsWith(ITEM_USUARIO)) {
+            revogacoesUsuario.invalidate(item.substring(ITEM_USUARIO.length()));
+        }
+    }
+
+    /**
+     * Sem entrada no Redis (falso positivo do filtro ou revogação já vencida): nada a revogar.
+     */
+    private Long revogacaoNoRedis(String email) {
+        Double score = redis.opsForZSet().score(CHAVE_USUARIOS, email);
+        return score != null ? score.longValue() : Long.MIN_VALUE;
+    }
+
+    private static int tamanho(Set<String> itens) {
+        return itens != null ? itens.size() : 0;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.gestpro.gestpro_backend.infra.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Token JWT com assinatura e expiração já conferidas por {@link JwtService#verificar}.
+ * Lido uma vez por requisição; quem precisar de e-mail, datas ou claims usa este objeto em vez de reabrir o token.
+ */
+public record TokenVerificado(Claims claims) {
+
+    public String email() {
+        return claims.getSubject();
+    }
+
+    /**
+     * jti; nulo em tokens emitidos antes de ele entrar nos claims.
+     */
+    public String id() {
+        return claims.getId();
+    }
+
+    public Date emitidoEm() {
+        return claims.getIssuedAt();
+    }
+
+    public Date expiraEm() {
+        return claims.getExpiration();
+    }
+
+    public <T> T claim(String nome, Class<T> tipo) {
+        return claims.get(nome, tipo);
+    }
+}
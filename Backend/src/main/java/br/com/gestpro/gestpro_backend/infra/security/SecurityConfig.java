@@ -3,29 +3,44 @@ package br.com.gestpro.gestpro_backend.infra.security;
 import br.com.gestpro.gestpro_backend.infra.filter.JwtAuthenticationFilter;
 import br.com.gestpro.gestpro_backend.infra.filter.OAuth2LoginSuccessHandler;
 import br.com.gestpro.gestpro_backend.infra.util.backups.GoogleAuthService;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Configuration
 public class SecurityConfig {
 
     private final CustomOAuth2UserService customOAuth2UserService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final GoogleAuthService googleAuthService;
+    private final Set<String> administradores;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
                           CustomOAuth2UserService customOAuth2UserService,
-                          GoogleAuthService googleAuthService) {
+                          GoogleAuthService googleAuthService,
+                          @Value("${app.admin.emails:}") List<String> administradores) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.customOAuth2UserService = customOAuth2UserService;
         this.googleAuthService = googleAuthService;
+        this.administradores = administradores.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     @Bean
@@ -35,9 +50,12 @@ public class SecurityConfig {
                 .csrf().disable()
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()//Retomada das respostas assíncronas (stream/exportação), já autorizadas na requisição original
                         .requestMatchers("/api-docs/**", "/swagger-ui/**", "/h2-console/**").permitAll()//Documentação do projeto e H2(Banco de dados para testes)
                         .requestMatchers("/api/auth/esqueceu-senha", "/api/auth/redefinir-senha").permitAll()//Redefinir senha do usuario
                         .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/cadastro").permitAll() //Login ou Cadastro com o meu Banco de Dados
+                        .requestMatchers("/api/dashboard/cache/**").access((autenticacao, contexto) ->
+                                new AuthorizationDecision(administrador(autenticacao.get())))//Estatísticas globais do cache, só para os e-mails em app.admin.emails
                         .requestMatchers("/api/dashboard/**").authenticated()
                         .requestMatchers("/auth/**", "/oauth2/**").permitAll()//Login ou Cadastro com o Google
                         .requestMatchers("/api/usuario").authenticated()
@@ -56,6 +74,11 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean administrador(Authentication autenticacao) {
+        return autenticacao != null && autenticacao.isAuthenticated() && autenticacao.getName() != null
+                && administradores.contains(autenticacao.getName().toLowerCase(Locale.ROOT));
+    }
+
     //Criptografar as senhas salvas no banco de dados para segurança do usuario caso aja vazamentos de informações ou algo do tipo.
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -0,0 +1,54 @@
+package br.com.gestpro.gestpro_backend.domain.repository.modules;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:caixa-repository;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CaixaRepositoryTest {
+
+    @Autowired
+    private CaixaRepository caixaRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void incrementarTotalVendas_sobeAVersaoENaoDeixaCaixaGerenciadoDesatualizado() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail("caixa@teste.com");
+        entityManager.persist(usuario);
+
+        Caixa caixa = new Caixa();
+        caixa.setValorInicial(BigDecimal.ZERO);
+        caixa.setTotalVendas(new BigDecimal("10.00"));
+        caixa.setAbertoPor("caixa@teste.com");
+        caixa.setUsuario(usuario);
+        entityManager.persist(caixa);
+        entityManager.flush();
+        Long versaoAntes = caixa.getVersion();
+
+        assertEquals(1, caixaRepository.incrementarTotalVendas(caixa.getId(), new BigDecimal("5.50")));
+
+        assertFalse(entityManager.contains(caixa), "o Caixa carregado antes do UPDATE não deve seguir gerenciado");
+        Caixa relido = caixaRepository.findById(caixa.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("15.50").compareTo(relido.getTotalVendas()));
+        assertEquals(versaoAntes + 1, relido.getVersion());
+    }
+}
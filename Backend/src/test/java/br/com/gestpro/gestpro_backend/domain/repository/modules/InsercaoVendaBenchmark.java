@@ -0,0 +1,140 @@
+package br.com.gestpro.gestpro_backend.domain.repository.modules;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vendas gravadas por segundo com os comandos que o Hibernate emite para cada estratégia de id:
+ * IDENTITY (um INSERT por linha, cada um devolvendo a chave gerada, sem batch) contra sequence em blocos de 50
+ * no formato de tabela do MySQL (uma ida à sequence a cada 50 ids, INSERT da venda e dos itens em batch).
+ * Cada chamada é uma venda com seus itens, em uma transação. Não roda com os testes; depois de
+ * {@code mvn test-compile}:
+ *
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main InsercaoVendaBenchmark
+ * </pre>
+ *
+ * Por padrão usa um H2 em memória, sem rede. Para o número que importa, aponte {@code -p url=...} para um
+ * schema descartável do MySQL com {@code rewriteBatchedStatements=true} (as tabelas *_benchmark são criadas e
+ * apagadas pelo benchmark).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsercaoVendaBenchmark {
+
+    private static final int BLOCO = 50;
+
+    @Param({"1", "10", "40"})
+    public int itensPorVenda;
+
+    @Param("jdbc:h2:mem:insercao-venda-benchmark;DB_CLOSE_DELAY=-1")
+    public String url;
+
+    @Param("sa")
+    public String usuario;
+
+    @Param("")
+    public String senha;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    /** Estado do otimizador pooled-lo: próximo id do bloco e fim do bloco, por sequence. */
+    private final long[] proximoVenda = new long[2];
+    private final long[] proximoItem = new long[2];
+
+    @Setup
+    public void setup() {
+        dataSource = new SingleConnectionDataSource(url, usuario, senha, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        apagarTabelas();
+        jdbcTemplate.execute("CREATE TABLE venda_identity_benchmark (id BIGINT AUTO_INCREMENT PRIMARY KEY, total DECIMAL(10,2))");
+        jdbcTemplate.execute("CREATE TABLE item_identity_benchmark (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "venda_id BIGINT NOT NULL, produto_id BIGINT NOT NULL, quantidade INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE venda_sequence_benchmark (id BIGINT PRIMARY KEY, total DECIMAL(10,2))");
+        jdbcTemplate.execute("CREATE TABLE item_sequence_benchmark (id BIGINT PRIMARY KEY, " +
+                "venda_id BIGINT NOT NULL, produto_id BIGINT NOT NULL, quantidade INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE venda_seq_benchmark (next_val BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE item_seq_benchmark (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO venda_seq_benchmark VALUES (1)");
+        jdbcTemplate.update("INSERT INTO item_seq_benchmark VALUES (1)");
+    }
+
+    @TearDown
+    public void tearDown() {
+        apagarTabelas();
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public long identity() {
+        return transactionTemplate.execute(status -> {
+            long idVenda = inserirComChave("INSERT INTO venda_identity_benchmark (total) VALUES (10.00)");
+            for (int i = 0; i < itensPorVenda; i++) {
+                jdbcTemplate.update("INSERT INTO item_identity_benchmark (venda_id, produto_id, quantidade) " +
+                        "VALUES (?, ?, 1)", idVenda, i + 1);
+            }
+            return idVenda;
+        });
+    }
+
+    @Benchmark
+    public long sequenceEmBlocos() {
+        return transactionTemplate.execute(status -> {
+            long idVenda = proximoId(proximoVenda, "venda_seq_benchmark");
+            jdbcTemplate.update("INSERT INTO venda_sequence_benchmark (id, total) VALUES (?, 10.00)", idVenda);
+            List<Object[]> itens = new ArrayList<>(itensPorVenda);
+            for (int i = 0; i < itensPorVenda; i++) {
+                itens.add(new Object[]{proximoId(proximoItem, "item_seq_benchmark"), idVenda, i + 1});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO item_sequence_benchmark (id, venda_id, produto_id, quantidade) " +
+                    "VALUES (?, ?, ?, 1)", itens);
+            return idVenda;
+        });
+    }
+
+    private long inserirComChave(String sql) {
+        KeyHolder chave = new GeneratedKeyHolder();
+        jdbcTemplate.update(conexao -> conexao.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), chave);
+        return chave.getKey().longValue();
+    }
+
+    /**
+     * Como o TableStructure do Hibernate com pooled-lo: lê next_val e avança um bloco; os ids
+     * [next_val, next_val + BLOCO) saem da memória.
+     */
+    private long proximoId(long[] estado, String tabela) {
+        if (estado[0] == estado[1]) {
+            long inicio = jdbcTemplate.queryForObject("SELECT next_val FROM " + tabela + " FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE " + tabela + " SET next_val = ?", inicio + BLOCO);
+            estado[0] = inicio;
+            estado[1] = inicio + BLOCO;
+        }
+        return estado[0]++;
+    }
+
+    private void apagarTabelas() {
+        for (String tabela : new String[]{"venda_identity_benchmark", "item_identity_benchmark",
+                "venda_sequence_benchmark", "item_sequence_benchmark", "venda_seq_benchmark", "item_seq_benchmark"}) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + tabela);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.gestpro.gestpro_backend.domain.repository.modules;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Com ids por sequence pooled e hibernate.jdbc.batch_size, os itens de uma venda
+ * devem sair em um único statement em batch (antes, com IDENTITY, era um INSERT por item).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:venda-batch;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class VendaRepositoryBatchInsertTest {
+
+    private static final int ITENS_POR_VENDA = 20;
+
+    @Autowired
+    private VendaRepository vendaRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void salvarVenda_itensSaemEmBatch() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail("batch@teste.com");
+        entityManager.persist(usuario);
+
+        Caixa caixa = new Caixa();
+        caixa.setDataAbertura(LocalDateTime.now());
+        caixa.setValorInicial(BigDecimal.ZERO);
+        caixa.setTotalVendas(BigDecimal.ZERO);
+        caixa.setAberto(true);
+        caixa.setAbertoPor("batch@teste.com");
+        caixa.setUsuario(usuario);
+        entityManager.persist(caixa);
+
+        Produto produto = new Produto();
+        produto.setNome("Produto");
+        produto.setPreco(new BigDecimal("1.00"));
+        produto.setQuantidadeEstoque(100);
+        produto.setUsuario(usuario);
+        entityManager.persist(produto);
+        entityManager.flush();
+
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setCaixa(caixa);
+        venda.setFormaPagamento(FormaDePagamento.PIX);
+        for (int i = 0; i < ITENS_POR_VENDA; i++) {
+            ItemVenda item = new ItemVenda(produto, 1);
+            item.setVenda(venda);
+            venda.getItens().add(item);
+        }
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        vendaRepository.save(venda);
+        entityManager.flush();
+
+        assertEquals(1 + ITENS_POR_VENDA, stats.getEntityInsertCount());
+        // 1 INSERT de venda + 1 batch de itens + chamadas às sequences (uma por bloco de 50 ids)
+        long statements = stats.getPrepareStatementCount();
+        assertTrue(statements <= 5, "Esperado INSERT de itens em batch, mas foram preparados " + statements + " statements");
+    }
+}
@@ -13,7 +13,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -33,7 +32,7 @@ class CadastroManualOperationTest {
     private EmailService emailService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private HashSenhaOperation hashSenha;
 
     @Mock
     private UploadFotoOperation uploadFotoOperation;
@@ -52,7 +51,7 @@ class CadastroManualOperationTest {
         when(usuarioRepository.findByEmail(anyString()))
                 .thenReturn(Optional.empty());
 
-        when(passwordEncoder.encode(anyString()))
+        when(hashSenha.codificar(anyString(), anyString()))
                 .thenReturn("senha-criptografada");
 
         when(foto.isEmpty()).thenReturn(true);
@@ -0,0 +1,69 @@
+package br.com.gestpro.gestpro_backend.domain.service.authService;
+
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HashSenhaOperationTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private ExecutorService pool;
+
+    @AfterEach
+    void encerrar() {
+        liberar.countDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void confere_rodaNoPoolEDevolveOResultado() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches("senha", "hash")).thenAnswer(i -> Thread.currentThread().getName().startsWith("pool"));
+        pool = Executors.newSingleThreadExecutor(r -> new Thread(r, "pool-teste"));
+
+        HashSenhaOperation operation = new HashSenhaOperation(encoder, pool, 1000);
+
+        assertTrue(operation.confere("senha", "hash", "/auth/login"));
+    }
+
+    @Test
+    void filaCheia_responde429NaHora() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(any())).thenAnswer(i -> {
+            liberar.await();
+            return "hash";
+        });
+        pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        HashSenhaOperation operation = new HashSenhaOperation(encoder, pool, 5000);
+
+        pool.submit(() -> encoder.encode("ocupando a thread"));
+        pool.submit(() -> encoder.encode("ocupando a fila"));
+
+        ApiException ex = assertThrows(ApiException.class, () -> operation.codificar("senha", "/auth/cadastro"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+        assertEquals("/auth/cadastro", ex.getPath());
+    }
+
+    @Test
+    void esperaEsgotada_responde503() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(any(), any())).thenAnswer(i -> {
+            liberar.await();
+            return true;
+        });
+        pool = Executors.newSingleThreadExecutor();
+        HashSenhaOperation operation = new HashSenhaOperation(encoder, pool, 50);
+
+        ApiException ex = assertThrows(ApiException.class, () -> operation.confere("senha", "hash", "/auth/login"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.gestpro.gestpro_backend.domain.service.authService;
+
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteTentativasLoginOperationTest {
+
+    private static final String CAMINHO = "/auth/login";
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    void conta_esgotada_bloqueiaEEnche_comOTempo() {
+        // conta: 3 tentativas seguidas, depois 1 a cada 20s
+        LimiteTentativasLoginOperation limite = new LimiteTentativasLoginOperation(100, 100, 3, 3, 1000, relogio::get);
+
+        for (int i = 0; i < 3; i++) {
+            limite.verificar("10.0.0.1", "loja@teste.com", CAMINHO);
+        }
+        ApiException ex = assertThrows(ApiException.class,
+                () -> limite.verificar("10.0.0.1", " Loja@Teste.com ", CAMINHO));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+
+        limite.verificar("10.0.0.1", "outra@teste.com", CAMINHO); // outra conta segue livre
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        limite.verificar("10.0.0.1", "loja@teste.com", CAMINHO);
+        assertThrows(ApiException.class, () -> limite.verificar("10.0.0.1", "loja@teste.com", CAMINHO));
+    }
+
+    @Test
+    void limitesPadrao_umIpInsistindoNaConta_naoTrancaODono() {
+        // 20/min por IP, 5/min por conta, como em application.properties
+        LimiteTentativasLoginOperation limite = new LimiteTentativasLoginOperation(20, 20, 5, 5, 1000, relogio::get);
+
+        // o atacante usa todo o balde do IP na conta do dono: 5 passam, 15 são barradas pela conta
+        int barradas = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                limite.verificar("10.0.0.9", "alvo@teste.com", CAMINHO);
+            } catch (ApiException e) {
+                barradas++;
+            }
+        }
+        assertEquals(15, barradas);
+
+        // o dono, de casa, tem todas as tentativas da conta
+        for (int i = 0; i < 5; i++) {
+            limite.verificar("192.168.0.5", "alvo@teste.com", CAMINHO);
+        }
+    }
+
+    @Test
+    void ipBarrado_naoGastaOBaldeDaConta() {
+        LimiteTentativasLoginOperation limite = new LimiteTentativasLoginOperation(2, 2, 3, 3, 1000, relogio::get);
+
+        limite.verificar("10.0.0.9", "alvo@teste.com", CAMINHO);
+        limite.verificar("10.0.0.9", "alvo@teste.com", CAMINHO);
+        for (int i = 0; i < 10; i++) {
+            assertThrows(ApiException.class, () -> limite.verificar("10.0.0.9", "alvo@teste.com", CAMINHO));
+        }
+
+        // o dono, de outro IP, ainda tem a última tentativa da conta
+        limite.verificar("192.168.0.5", "alvo@teste.com", CAMINHO);
+    }
+}
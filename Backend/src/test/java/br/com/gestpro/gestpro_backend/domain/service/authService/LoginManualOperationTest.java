@@ -15,7 +15,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -29,7 +28,7 @@ class LoginManualOperationTest {
     private UsuarioRepository usuarioRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private HashSenhaOperation hashSenha;
 
     @Mock
     private VerificarPlanoOperation verificarPlano;
@@ -93,7 +92,7 @@ class LoginManualOperationTest {
         when(usuarioRepository.findByEmail(any()))
                 .thenReturn(Optional.of(usuario));
 
-        when(passwordEncoder.matches(any(), any()))
+        when(hashSenha.confere(any(), any(), any()))
                 .thenReturn(false);
 
         ApiException ex = assertThrows(ApiException.class,
@@ -109,7 +108,7 @@ class LoginManualOperationTest {
         when(usuarioRepository.findByEmail(any()))
                 .thenReturn(Optional.of(usuario));
 
-        when(passwordEncoder.matches(any(), any()))
+        when(hashSenha.confere(any(), any(), any()))
                 .thenReturn(true);
 
         doThrow(new ApiException(
@@ -132,7 +131,7 @@ class LoginManualOperationTest {
         when(usuarioRepository.findByEmail(any()))
                 .thenReturn(Optional.of(usuario));
 
-        when(passwordEncoder.matches(any(), any()))
+        when(hashSenha.confere(any(), any(), any()))
                 .thenReturn(true);
 
         when(jwtTokenService.gerarToken(any()))
@@ -154,7 +153,7 @@ class LoginManualOperationTest {
         when(usuarioRepository.findByEmail(any()))
                 .thenReturn(Optional.of(usuario));
 
-        when(passwordEncoder.encode(any()))
+        when(hashSenha.codificar(any(), any()))
                 .thenReturn("senha-nova");
 
         when(jwtTokenService.gerarToken(any()))
@@ -165,7 +164,7 @@ class LoginManualOperationTest {
         assertEquals("token-google", response.token());
         assertFalse(usuario.isLoginGoogle());
 
-        verify(passwordEncoder).encode(any());
+        verify(hashSenha).codificar(any(), any());
         verify(usuarioRepository).save(usuario);
         verify(verificarPlano).execute(usuario);
         verify(jwtTokenService).gerarToken(usuario);
@@ -4,6 +4,7 @@ import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.domain.service.EmailService;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +33,9 @@ class UpdatePasswordServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private RevogacaoTokens revogacaoTokens;
+
     @InjectMocks
     private UpdatePasswordService updatePasswordService;
 
@@ -99,6 +103,7 @@ class UpdatePasswordServiceTest {
         updatePasswordService.resetPassword(usuario.getEmail(), codigo, "novaSenha");
 
         verify(usuarioRepository, times(2)).save(usuario);
+        verify(revogacaoTokens).revogarDoUsuario(usuario.getEmail());
         assertEquals("senha-criptografada", usuario.getSenha());
     }
 
@@ -5,6 +5,7 @@ import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
 import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import br.com.gestpro.gestpro_backend.infra.jwt.CachePrincipalJwt;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -25,6 +26,9 @@ class AtualizarPlanoOperationTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private CachePrincipalJwt cachePrincipal;
+
     @InjectMocks
     private AtualizarPlanoOperation atualizarPlanoOperation;
 
@@ -62,6 +66,7 @@ class AtualizarPlanoOperationTest {
         assertTrue(exception.getMessage().contains("Usuário inativo"));
 
         verify(usuarioRepository, never()).save(any());
+        verifyNoInteractions(cachePrincipal);
     }
 
     @Test
@@ -84,6 +89,7 @@ class AtualizarPlanoOperationTest {
         assertTrue(atualizado.getDataAssinaturaPlus().isAfter(LocalDateTime.now()));
 
         verify(usuarioRepository).save(usuario);
+        verify(cachePrincipal).invalidar(EMAIL);
     }
 
     @Test
@@ -5,6 +5,8 @@ import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
 import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
 import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import br.com.gestpro.gestpro_backend.infra.jwt.CachePrincipalJwt;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -23,6 +25,12 @@ class VerificarPlanoOperationTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private CachePrincipalJwt cachePrincipal;
+
+    @Mock
+    private RevogacaoTokens revogacaoTokens;
+
     @InjectMocks
     private VerificarPlanoOperation verificarPlanoOperation;
 
@@ -54,6 +62,8 @@ class VerificarPlanoOperationTest {
         assertTrue(exception.getMessage().contains("experimental"));
 
         verify(usuarioRepository).save(usuario);
+        verify(cachePrincipal).invalidar(usuario.getEmail());
+        verify(revogacaoTokens).revogarDoUsuario(usuario.getEmail());
         assertEquals(StatusAcesso.INATIVO, usuario.getStatusAcesso());
     }
 
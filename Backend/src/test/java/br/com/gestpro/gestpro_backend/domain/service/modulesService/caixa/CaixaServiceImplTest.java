@@ -0,0 +1,201 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.caixa;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.caixa.AbrirCaixaRequest;
+import br.com.gestpro.gestpro_backend.api.dto.modules.caixa.CaixaResponse;
+import br.com.gestpro.gestpro_backend.api.dto.modules.caixa.FecharCaixaRequest;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.StatusCaixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.CaixaRepository;
+import br.com.gestpro.gestpro_backend.infra.concorrencia.TravasPorCaixa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaixaServiceImplTest {
+
+    @Mock
+    private CaixaRepository caixaRepository;
+    @Mock
+    private UsuarioRepository usuarioRepository;
+    @Mock
+    private TravasPorCaixa travasPorCaixa;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private StringRedisTemplate redis;
+
+    private RegistroCaixasAbertos registro;
+    private CaixaServiceImpl caixaService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        registro = new RegistroCaixasAbertos(caixaRepository, redis, 60);
+        caixaService = new CaixaServiceImpl(caixaRepository, usuarioRepository, registro, travasPorCaixa, eventPublisher,
+                transactionManager);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        lenient().when(travasPorCaixa.executarComTrava(anyLong(), anyString(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(2).get());
+
+        usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setEmail("loja@teste.com");
+        lenient().when(usuarioRepository.findByEmail("loja@teste.com")).thenReturn(Optional.of(usuario));
+        lenient().when(caixaRepository.saveAndFlush(any(Caixa.class))).thenAnswer(inv -> {
+            Caixa c = inv.getArgument(0);
+            if (c.getId() == null) {
+                c.setId(100L);
+            }
+            return c;
+        });
+    }
+
+    @Test
+    void abrirCaixa_consultaPorUsuarioUmaVezEDepoisRespondeDoRegistro() {
+        when(caixaRepository.buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class)))
+                .thenReturn(List.of());
+
+        CaixaResponse resp = caixaService.abrirCaixa(request());
+
+        assertEquals(100L, resp.getId());
+        assertEquals(7L, resp.getUsuarioId());
+        verify(redis).convertAndSend(eq(RegistroCaixasAbertos.CANAL), endsWith("|7"));
+
+        // segunda abertura: o registro já sabe do caixa 100 e só o confirma pela chave primária
+        when(caixaRepository.buscarIdsAbertos(Set.of(100L))).thenReturn(Set.of(100L));
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> caixaService.abrirCaixa(request()));
+        assertEquals("Já existe um caixa aberto.", ex.getMessage());
+        verify(caixaRepository, times(1)).buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class));
+        verify(caixaRepository, times(1)).saveAndFlush(any(Caixa.class));
+    }
+
+    @Test
+    void abrirCaixa_guardaOUsuarioNaColunaDaRestricaoUnica() {
+        when(caixaRepository.buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class)))
+                .thenReturn(List.of());
+
+        caixaService.abrirCaixa(request());
+
+        verify(caixaRepository).saveAndFlush(argThat(c -> Long.valueOf(7L).equals(c.getAbertoUsuarioId())));
+    }
+
+    @Test
+    void abrirCaixa_caixaDoRegistroFechadoEmOutraInstancia_releDoBancoEAbre() {
+        when(caixaRepository.buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class)))
+                .thenReturn(List.of());
+        caixaService.abrirCaixa(request());
+
+        // o caixa 100 foi fechado por outra instância e a mensagem não chegou
+        when(caixaRepository.buscarIdsAbertos(Set.of(100L))).thenReturn(Set.of());
+
+        caixaService.abrirCaixa(request());
+
+        verify(caixaRepository, times(2)).buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class));
+        verify(caixaRepository, times(2)).saveAndFlush(any(Caixa.class));
+    }
+
+    @Test
+    void abrirCaixa_restricaoUnicaRecusa_deveLancarIllegalStateEDescartarORegistro() {
+        when(caixaRepository.buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class)))
+                .thenReturn(List.of(), List.of(200L));
+        // caixa aberto por outra instância depois da consulta: o banco recusa
+        when(caixaRepository.saveAndFlush(any(Caixa.class)))
+                .thenThrow(new DataIntegrityViolationException("aberto_usuario_id"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> caixaService.abrirCaixa(request()));
+        assertEquals("Já existe um caixa aberto.", ex.getMessage());
+
+        // o "nenhum caixa aberto" foi descartado: a próxima verificação vai ao banco
+        when(caixaRepository.buscarIdsAbertos(Set.of(200L))).thenReturn(Set.of(200L));
+        assertEquals(Optional.of(200L), registro.caixaAberto(7L));
+        verify(caixaRepository, times(2)).buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class));
+    }
+
+    @Test
+    void mensagemDeOutraInstancia_descartaORegistroDoUsuario() {
+        when(caixaRepository.buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class)))
+                .thenReturn(List.of(), List.of(300L));
+        assertEquals(Optional.empty(), registro.caixaAberto(7L));
+
+        registro.onMessage(mensagem("outra-instancia|7"), null);
+
+        when(caixaRepository.buscarIdsAbertos(Set.of(300L))).thenReturn(Set.of(300L));
+        assertEquals(Optional.of(300L), registro.caixaAberto(7L));
+    }
+
+    @Test
+    void abrirCaixa_caixaAbertoNoBanco_deveLancarIllegalState() {
+        when(caixaRepository.buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class)))
+                .thenReturn(List.of(55L));
+
+        when(caixaRepository.buscarIdsAbertos(Set.of(55L))).thenReturn(Set.of(55L));
+
+        assertThrows(IllegalStateException.class, () -> caixaService.abrirCaixa(request()));
+        verify(caixaRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void fecharCaixa_liberaAberturaSemNovaConsulta() {
+        when(caixaRepository.buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class)))
+                .thenReturn(List.of());
+        caixaService.abrirCaixa(request());
+
+        Caixa caixa = new Caixa();
+        caixa.setId(100L);
+        caixa.setUsuario(usuario);
+        when(caixaRepository.findById(100L)).thenReturn(Optional.of(caixa));
+        when(caixaRepository.somarTotalVendas(100L)).thenReturn(BigDecimal.ZERO);
+
+        FecharCaixaRequest fechar = new FecharCaixaRequest();
+        fechar.setCaixaId(100L);
+        fechar.setFechadoPor("loja@teste.com");
+        fechar.setSaldoFinal(BigDecimal.TEN);
+        caixaService.fecharCaixa(fechar);
+
+        var ordem = inOrder(travasPorCaixa, transactionManager);
+        ordem.verify(travasPorCaixa).executarComTrava(eq(100L), eq("/api/v1/caixas/fechar"), any());
+        ordem.verify(transactionManager).getTransaction(any());
+
+        assertNull(caixa.getAbertoUsuarioId());
+
+        caixaService.abrirCaixa(request());
+        verify(caixaRepository, times(3)).saveAndFlush(any(Caixa.class)); // abertura, fechamento, abertura
+        verify(caixaRepository, times(1)).buscarIdsPorUsuarioEStatus(eq(7L), eq(StatusCaixa.ABERTO), any(Limit.class));
+    }
+
+    private AbrirCaixaRequest request() {
+        AbrirCaixaRequest req = new AbrirCaixaRequest();
+        req.setAbertoPor("loja@teste.com");
+        req.setSaldoInicial(BigDecimal.ZERO);
+        return req;
+    }
+
+    private static DefaultMessage mensagem(String corpo) {
+        return new DefaultMessage(RegistroCaixasAbertos.CANAL.getBytes(StandardCharsets.UTF_8),
+                corpo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,207 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.*;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtualizarCachesDashboardOperationTest {
+
+    private static final String EMAIL = "loja@teste.com";
+
+    private ConcurrentMapCacheManager cacheManager;
+    private AtualizarCachesDashboardOperation operacao;
+    private Usuario usuario;
+    private Produto cafe;
+    private Produto pao;
+
+    @BeforeEach
+    void setup() {
+        cacheManager = new ConcurrentMapCacheManager();
+        operacao = new AtualizarCachesDashboardOperation(cacheManager);
+
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail(EMAIL);
+        cafe = produto(1L, "Café");
+        pao = produto(2L, "Pão");
+    }
+
+    @Test
+    void registrar_somaAVendaNosTresCaches() {
+        cachesPreenchidos(48L);
+        operacao.antesDoCommit(new VendasEmConfirmacaoEvento(Set.of(EMAIL)));
+
+        operacao.aoConfirmarVendas(evento(Map.of(),
+                venda(FormaDePagamento.PIX, "9.00", item(cafe, 2), item(pao, 1)),
+                venda(FormaDePagamento.DINHEIRO, "3.00", item(pao, 3))));
+
+        DashboardVisaoGeralResponse visao = valor(AtualizarCachesDashboardOperation.VISAO_GERAL);
+        assertEquals(7L, visao.getVendasHoje());
+        assertEquals(50L, visao.getVendasSemana());
+        assertEquals(5L, visao.getProdutosComEstoque());
+        // chegou à meta: o alerta de vendas da semana sai
+        assertFalse(visao.getAlertas().contains(VisaoGeralOperation.ALERTA_VENDAS_SEMANA));
+
+        List<MetodoPagamentoDTO> metodos = valor(AtualizarCachesDashboardOperation.METODOS);
+        assertEquals(2, metodos.size());
+        assertEquals("PIX", metodos.get(0).getMetodo());
+        assertEquals(4L, metodos.get(0).getTotal());
+        assertEquals("DINHEIRO", metodos.get(1).getMetodo());
+        assertEquals(1L, metodos.get(1).getTotal());
+
+        List<VendasDiariasDTO> diarias = valor(AtualizarCachesDashboardOperation.DIARIAS);
+        int hoje = LocalDate.now().getDayOfWeek().getValue() - 1;
+        assertEquals(22.0, diarias.get(hoje).getTotal(), 0.0001);
+
+        EstatisticasCacheDashboardDTO stats = operacao.estatisticas();
+        assertEquals(3, stats.getAtualizacoes());
+        assertEquals(0, stats.getRecalculos());
+        assertEquals(0, stats.getSemEntrada());
+        assertEquals(0, stats.getConflitos());
+    }
+
+    @Test
+    void registrar_entradaRegravadaEntreORegistroEOCommit_removeEmVezDeSomar() {
+        cachesPreenchidos(10L);
+        operacao.antesDoCommit(new VendasEmConfirmacaoEvento(Set.of(EMAIL)));
+        // recalculo concorrente depois do commit: o valor novo já pode incluir a venda
+        cacheManager.getCache(AtualizarCachesDashboardOperation.METODOS).put(EMAIL,
+                new ArrayList<>(List.of(new MetodoPagamentoDTO(FormaDePagamento.PIX, 4L))));
+
+        operacao.aoConfirmarVendas(evento(Map.of(), venda(FormaDePagamento.PIX, "4.00", item(cafe, 1))));
+
+        assertNull(cacheManager.getCache(AtualizarCachesDashboardOperation.METODOS).get(EMAIL));
+        DashboardVisaoGeralResponse visao = valor(AtualizarCachesDashboardOperation.VISAO_GERAL);
+        assertEquals(6L, visao.getVendasHoje());
+
+        EstatisticasCacheDashboardDTO stats = operacao.estatisticas();
+        assertEquals(2, stats.getAtualizacoes());
+        assertEquals(1, stats.getConflitos());
+        assertEquals(1, stats.getRecalculos());
+    }
+
+    @Test
+    void registrar_duasTransacoesDoMesmoUsuario_segundaRemoveAEntrada() {
+        cachesPreenchidos(10L);
+        operacao.antesDoCommit(new VendasEmConfirmacaoEvento(Set.of(EMAIL)));
+        operacao.antesDoCommit(new VendasEmConfirmacaoEvento(Set.of(EMAIL)));
+
+        operacao.aoConfirmarVendas(evento(Map.of(), venda(FormaDePagamento.PIX, "4.00", item(cafe, 1))));
+        operacao.aoConfirmarVendas(evento(Map.of(), venda(FormaDePagamento.PIX, "2.00", item(pao, 1))));
+
+        // a segunda encontra a soma da primeira, não o valor de antes do commit dela
+        assertNull(cacheManager.getCache(AtualizarCachesDashboardOperation.VISAO_GERAL).get(EMAIL));
+        assertEquals(3, operacao.estatisticas().getConflitos());
+    }
+
+    @Test
+    void registrar_semRegistroAntesDoCommit_removeEntrada() {
+        cachesPreenchidos(10L);
+
+        operacao.aoConfirmarVendas(evento(Map.of(), venda(FormaDePagamento.PIX, "4.00", item(cafe, 1))));
+
+        for (String nome : AtualizarCachesDashboardOperation.CACHES) {
+            assertNull(cacheManager.getCache(nome).get(EMAIL), nome);
+        }
+        assertEquals(0, operacao.estatisticas().getAtualizacoes());
+        assertEquals(3, operacao.estatisticas().getConflitos());
+    }
+
+    @Test
+    void registrar_produtoZerado_removeVisaoGeralEAtualizaGraficos() {
+        cachesPreenchidos(10L);
+        operacao.antesDoCommit(new VendasEmConfirmacaoEvento(Set.of(EMAIL)));
+
+        operacao.aoConfirmarVendas(evento(Map.of(EMAIL, List.of("Café")),
+                venda(FormaDePagamento.PIX, "4.00", item(cafe, 1))));
+
+        assertNull(cacheManager.getCache(AtualizarCachesDashboardOperation.VISAO_GERAL).get(EMAIL));
+        List<MetodoPagamentoDTO> metodos = valor(AtualizarCachesDashboardOperation.METODOS);
+        assertEquals(4L, metodos.get(0).getTotal());
+
+        EstatisticasCacheDashboardDTO stats = operacao.estatisticas();
+        assertEquals(2, stats.getAtualizacoes());
+        assertEquals(1, stats.getRecalculos());
+    }
+
+    @Test
+    void registrar_valorComFormatoInesperado_removeEntrada() {
+        cacheManager.getCache(AtualizarCachesDashboardOperation.DIARIAS)
+                .put(EMAIL, new ArrayList<>(List.of(new VendasDiariasDTO("Seg", 1.0))));
+        operacao.antesDoCommit(new VendasEmConfirmacaoEvento(Set.of(EMAIL)));
+
+        operacao.aoConfirmarVendas(evento(Map.of(), venda(FormaDePagamento.PIX, "4.00", item(cafe, 1))));
+
+        assertNull(cacheManager.getCache(AtualizarCachesDashboardOperation.DIARIAS).get(EMAIL));
+        EstatisticasCacheDashboardDTO stats = operacao.estatisticas();
+        assertEquals(0, stats.getAtualizacoes());
+        assertEquals(1, stats.getRecalculos());
+        assertEquals(2, stats.getSemEntrada());
+    }
+
+    // ------------------ MÉTODOS AUXILIARES ------------------
+
+    private void cachesPreenchidos(long vendasSemana) {
+        cacheManager.getCache(AtualizarCachesDashboardOperation.VISAO_GERAL).put(EMAIL,
+                new DashboardVisaoGeralResponse(5L, 5L, 0L, 2L, vendasSemana, new PlanoDTO("ASSINATURA", 30),
+                        VisaoGeralOperation.comAlertaVendasSemana(List.of(), vendasSemana)));
+        cacheManager.getCache(AtualizarCachesDashboardOperation.METODOS).put(EMAIL,
+                new ArrayList<>(List.of(new MetodoPagamentoDTO(FormaDePagamento.PIX, 3L))));
+        List<VendasDiariasDTO> diarias = new ArrayList<>();
+        for (String dia : List.of("Seg", "Ter", "Qua", "Qui", "Sex", "Sáb", "Dom")) {
+            diarias.add(new VendasDiariasDTO(dia, 10.0));
+        }
+        cacheManager.getCache(AtualizarCachesDashboardOperation.DIARIAS).put(EMAIL, diarias);
+    }
+
+    private VendasConfirmadasEvento evento(Map<String, List<String>> produtosZerados, Venda... vendas) {
+        List<VendaResumida> resumidas = new ArrayList<>();
+        for (Venda venda : vendas) {
+            resumidas.add(VendaResumida.de(venda));
+        }
+        return new VendasConfirmadasEvento(resumidas, produtosZerados);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T valor(String cache) {
+        return (T) cacheManager.getCache(cache).get(EMAIL).get();
+    }
+
+    private Produto produto(Long id, String nome) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome(nome);
+        produto.setPreco(BigDecimal.ONE);
+        return produto;
+    }
+
+    private ItemVenda item(Produto produto, int quantidade) {
+        return new ItemVenda(produto, quantidade);
+    }
+
+    private Venda venda(FormaDePagamento forma, String valorFinal, ItemVenda... itens) {
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setFormaPagamento(forma);
+        venda.setDataVenda(LocalDateTime.now());
+        venda.setItens(new ArrayList<>(List.of(itens)));
+        venda.setValorFinal(new BigDecimal(valorFinal));
+        return venda;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContadorMaisVendidosTest {
+
+    @Test
+    void somar_reordenaSemPerderOTotal() {
+        ContadorMaisVendidos contador = new ContadorMaisVendidos(3,
+                List.of(new ProdutoVendasDTO("Café", 5L), new ProdutoVendasDTO("Pão", 3L)), 8);
+
+        contador.somar("Pão", 4);
+        contador.somar("Bolo", 1);
+
+        assertEquals(List.of(
+                new ContadorMaisVendidos.Item("Pão", 7, 0),
+                new ContadorMaisVendidos.Item("Café", 5, 0)), contador.top(2));
+        assertEquals(3, contador.top(10).size());
+        assertEquals(13, contador.total());
+    }
+
+    @Test
+    void somar_cheio_substituiOUltimoEHerdaAQuantidadeComoErro() {
+        ContadorMaisVendidos contador = new ContadorMaisVendidos(2,
+                List.of(new ProdutoVendasDTO("Café", 5L), new ProdutoVendasDTO("Pão", 2L), new ProdutoVendasDTO("Bolo", 1L)), 8);
+
+        contador.somar("Suco", 4);
+
+        // Pão sai; Suco entra com 2 + 4, dos quais até 2 podem não ser dele
+        assertEquals(List.of(
+                new ContadorMaisVendidos.Item("Suco", 6, 2),
+                new ContadorMaisVendidos.Item("Café", 5, 0)), contador.top(5));
+        assertEquals(12, contador.total());
+    }
+}
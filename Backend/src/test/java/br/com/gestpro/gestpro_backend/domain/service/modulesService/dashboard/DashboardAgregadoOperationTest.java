@@ -0,0 +1,85 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.*;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardAgregadoOperationTest {
+
+    private static final String EMAIL = "loja@teste.com";
+
+    @Mock
+    private DashboardServiceInterface dashboardService;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void dashboardCompleto_consultasEmParalelo_tempoDaMaisLenta() {
+        when(dashboardService.visaoGeral(EMAIL)).thenAnswer(inv -> demorar(300, new DashboardVisaoGeralResponse()));
+        when(dashboardService.vendasPorMetodoPagamento(EMAIL)).thenAnswer(inv -> demorar(300, List.of(new MetodoPagamentoDTO(FormaDePagamento.PIX, 2L))));
+        when(dashboardService.vendasPorProduto(EMAIL)).thenAnswer(inv -> demorar(300, List.<ProdutoVendasDTO>of()));
+        when(dashboardService.vendasDiariasSemana(EMAIL)).thenAnswer(inv -> demorar(300, List.<VendasDiariasDTO>of()));
+        DashboardAgregadoOperation operation = new DashboardAgregadoOperation(dashboardService, executor, 5000);
+
+        long inicio = System.nanoTime();
+        DashboardCompletoResponse resp = operation.dashboardCompleto(EMAIL);
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // em sequência seriam 1200 ms
+        assertTrue(decorridoMs < 900, "levou " + decorridoMs + " ms");
+        assertNotNull(resp.getVisaoGeral());
+        assertEquals("PIX", resp.getVendasPorMetodoPagamento().get(0).getMetodo());
+        assertNotNull(resp.getVendasPorProduto());
+        assertNotNull(resp.getVendasDiarias());
+        assertTrue(resp.getSecoesIndisponiveis().isEmpty());
+    }
+
+    @Test
+    void dashboardCompleto_secaoLentaOuComFalha_voltaIndisponivelSemDerrubarAsOutras() {
+        when(dashboardService.visaoGeral(EMAIL)).thenReturn(new DashboardVisaoGeralResponse());
+        when(dashboardService.vendasPorMetodoPagamento(EMAIL)).thenAnswer(inv -> demorar(5000, List.<MetodoPagamentoDTO>of()));
+        when(dashboardService.vendasPorProduto(EMAIL)).thenThrow(new IllegalStateException("banco fora"));
+        when(dashboardService.vendasDiariasSemana(EMAIL)).thenReturn(List.of());
+        DashboardAgregadoOperation operation = new DashboardAgregadoOperation(dashboardService, executor, 200);
+
+        long inicio = System.nanoTime();
+        DashboardCompletoResponse resp = operation.dashboardCompleto(EMAIL);
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertTrue(decorridoMs < 2000, "levou " + decorridoMs + " ms");
+        assertNotNull(resp.getVisaoGeral());
+        assertNotNull(resp.getVendasDiarias());
+        assertNull(resp.getVendasPorMetodoPagamento());
+        assertNull(resp.getVendasPorProduto());
+        assertEquals(List.of(DashboardAgregadoOperation.METODO_PAGAMENTO, DashboardAgregadoOperation.PRODUTO),
+                resp.getSecoesIndisponiveis());
+    }
+
+    private static <T> T demorar(long ms, T valor) throws InterruptedException {
+        Thread.sleep(ms);
+        return valor;
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.controller.modules.DashboardController;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class DashboardStreamOperationTest {
+
+    private static final String EMAIL = "loja@teste.com";
+    private static final String OUTRO = "outra@teste.com";
+
+    @Test
+    void stream_recebeSoAsVendasDoProprioUsuario() throws Exception {
+        ExecutorService envios = Executors.newSingleThreadExecutor();
+        DashboardStreamOperation stream = new DashboardStreamOperation(envios, 60_000, 100, 5);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new DashboardController(mock(DashboardServiceInterface.class),
+                mock(DashboardAgregadoOperation.class), mock(AtualizarCachesDashboardOperation.class), stream,
+                mock(SerieVendasOperation.class), mock(RankingProdutosOperation.class))).build();
+
+        MvcResult doUsuario = conectar(mvc, EMAIL);
+        MvcResult doOutro = conectar(mvc, OUTRO);
+        assertEquals(2, stream.conexoesAtivas());
+
+        stream.aoConfirmarVendas(new VendasConfirmadasEvento(List.of(
+                venda(FormaDePagamento.PIX, "9.00", Map.of("Café", 2L)),
+                venda(FormaDePagamento.PIX, "4.00", Map.of("Café", 1L, "Pão", 1L))),
+                Map.of(EMAIL, List.of("Café"))));
+        envios.shutdown();
+        assertTrue(envios.awaitTermination(5, TimeUnit.SECONDS));
+
+        String corpo = doUsuario.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(corpo.contains("event:" + DashboardStreamOperation.EVENTO_VENDA), corpo);
+        assertTrue(corpo.contains("\"vendasHoje\":2"), corpo);
+        assertTrue(corpo.contains("\"faturamento\":13.00"), corpo);
+        assertTrue(corpo.contains("\"vendasPorMetodo\":{\"PIX\":2}"), corpo);
+        assertTrue(corpo.contains("\"Café\":3"), corpo);
+        assertTrue(corpo.contains("Produto Café está com estoque zerado!"), corpo);
+
+        String corpoOutro = doOutro.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertFalse(corpoOutro.contains("event:"), corpoOutro);
+    }
+
+    @Test
+    void inscrever_acimaDosLimites_recusa() {
+        DashboardStreamOperation stream = new DashboardStreamOperation(Executors.newSingleThreadExecutor(), 60_000, 3, 2);
+
+        stream.inscrever(EMAIL);
+        stream.inscrever(EMAIL);
+        ApiException porUsuario = assertThrows(ApiException.class, () -> stream.inscrever(EMAIL));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, porUsuario.getStatus());
+
+        stream.inscrever(OUTRO);
+        ApiException total = assertThrows(ApiException.class, () -> stream.inscrever("terceira@teste.com"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, total.getStatus());
+        assertEquals(3, stream.conexoesAtivas());
+
+        stream.encerrar();
+    }
+
+    private MvcResult conectar(MockMvc mvc, String email) throws Exception {
+        return mvc.perform(get("/api/dashboard/stream").principal(new UsernamePasswordAuthenticationToken(email, null)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private VendaResumida venda(FormaDePagamento forma, String valorFinal, Map<String, Long> quantidadePorProduto) {
+        return new VendaResumida(EMAIL, LocalDate.now(), forma, new BigDecimal(valorFinal), quantidadePorProduto, Set.of());
+    }
+}
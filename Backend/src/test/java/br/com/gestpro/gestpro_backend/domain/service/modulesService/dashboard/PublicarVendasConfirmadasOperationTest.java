@@ -0,0 +1,105 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.ProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicarVendasConfirmadasOperationTest {
+
+    private static final String EMAIL = "loja@teste.com";
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    private PublicarVendasConfirmadasOperation operacao;
+
+    @BeforeEach
+    void setup() {
+        operacao = new PublicarVendasConfirmadasOperation(eventos, produtoRepository);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void limpar() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void registrar_publicaSoDepoisDoCommit() {
+        List<Object[]> semEstoque = new ArrayList<>();
+        semEstoque.add(new Object[]{EMAIL, "Café"});
+        when(produtoRepository.buscarSemEstoque(anyCollection())).thenReturn(semEstoque);
+
+        operacao.registrar(List.of(venda()));
+        // ainda dentro da transação, só o aviso para quem guarda a base
+        verify(eventos).publishEvent(new VendasEmConfirmacaoEvento(Set.of(EMAIL)));
+        verify(eventos, never()).publishEvent(any(VendasConfirmadasEvento.class));
+
+        completar(TransactionSynchronization.STATUS_COMMITTED);
+
+        ArgumentCaptor<VendasConfirmadasEvento> captor = ArgumentCaptor.forClass(VendasConfirmadasEvento.class);
+        verify(eventos).publishEvent(captor.capture());
+        VendasConfirmadasEvento evento = captor.getValue();
+        assertEquals(1, evento.vendas().size());
+        assertEquals(2L, evento.vendas().get(0).quantidadePorProduto().get("Café"));
+        assertEquals(List.of("Café"), evento.produtosZerados(EMAIL));
+    }
+
+    @Test
+    void registrar_rollback_naoPublica() {
+        when(produtoRepository.buscarSemEstoque(anyCollection())).thenReturn(List.of());
+
+        operacao.registrar(List.of(venda()));
+        completar(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(eventos, never()).publishEvent(any(VendasConfirmadasEvento.class));
+    }
+
+    private void completar(int status) {
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        syncs.forEach(s -> s.afterCompletion(status));
+        TransactionSynchronizationManager.initSynchronization(); // para o clearSynchronization do @AfterEach
+    }
+
+    private Venda venda() {
+        Usuario usuario = new Usuario();
+        usuario.setEmail(EMAIL);
+        Produto cafe = new Produto();
+        cafe.setId(1L);
+        cafe.setNome("Café");
+        cafe.setPreco(new BigDecimal("4.00"));
+
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setFormaPagamento(FormaDePagamento.PIX);
+        venda.setItens(new ArrayList<>(List.of(new ItemVenda(cafe, 2))));
+        return venda;
+    }
+}
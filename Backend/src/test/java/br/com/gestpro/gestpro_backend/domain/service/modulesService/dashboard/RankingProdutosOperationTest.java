@@ -0,0 +1,157 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.modules.dashboard.ResumoVendaDiariaProduto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ranking-produtos;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "app.dashboard.ranking.capacidade=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RankingProdutosOperation.class)
+class RankingProdutosOperationTest {
+
+    private static final LocalDate ONTEM = LocalDate.of(2026, 3, 4);
+    private static final LocalDate HOJE = LocalDate.of(2026, 3, 5);
+
+    @Autowired
+    private RankingProdutosOperation ranking;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        // um usuário por teste: o ranking em memória dura além do rollback
+        usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail("ranking-" + System.nanoTime() + "@teste.com");
+        entityManager.persist(usuario);
+
+        Produto cafe = produto("Café");
+        Produto pao = produto("Pão");
+        Produto bolo = produto("Bolo");
+        Produto suco = produto("Suco");
+        resumo(ONTEM, cafe, 10);
+        resumo(HOJE, cafe, 2);
+        resumo(HOJE, pao, 7);
+        resumo(ONTEM, bolo, 4);
+        resumo(HOJE, suco, 1);
+        entityManager.flush();
+    }
+
+    @Test
+    void ranking_semPeriodo_limitaEAgrupaORestanteEmOutros() {
+        List<ProdutoVendasDTO> top = ranking.ranking(usuario.getEmail(), 2, null, null);
+
+        assertEquals(List.of("Café", "Pão", RankingProdutosOperation.OUTROS), nomes(top));
+        assertEquals(12L, top.get(0).getQuantidade());
+        assertEquals(7L, top.get(1).getQuantidade());
+        assertEquals(5L, top.get(2).getQuantidade()); // Bolo 4 + Suco 1
+
+        assertEquals(4, ranking.ranking(usuario.getEmail(), 3, null, null).size());
+    }
+
+    @Test
+    void ranking_comPeriodo_consideraSoOsDiasPedidos() {
+        List<ProdutoVendasDTO> top = ranking.ranking(usuario.getEmail(), 3, HOJE, HOJE);
+
+        assertEquals(List.of("Pão", "Café", "Suco"), nomes(top)); // sem "Outros": nada sobrou
+        assertEquals(2L, top.get(1).getQuantidade());
+
+        assertThrows(ApiException.class, () -> ranking.ranking(usuario.getEmail(), 3, HOJE, ONTEM));
+        assertThrows(ApiException.class, () -> ranking.ranking(usuario.getEmail(), 4, null, null));
+        assertThrows(ApiException.class, () -> ranking.ranking(usuario.getEmail(), 0, null, null));
+    }
+
+    @Test
+    void aoConfirmarVendas_somaNoRankingJaCarregado() {
+        ranking.ranking(usuario.getEmail(), 3, null, null);
+
+        ranking.antesDoCommit(new VendasEmConfirmacaoEvento(Set.of(usuario.getEmail())));
+        ranking.aoConfirmarVendas(confirmadas());
+
+        // lido da memória: o resumo no banco não mudou
+        List<ProdutoVendasDTO> top = ranking.ranking(usuario.getEmail(), 2, null, null);
+        assertEquals(List.of("Pão", "Café", RankingProdutosOperation.OUTROS), nomes(top));
+        assertEquals(13L, top.get(0).getQuantidade());
+        assertEquals(6L, top.get(2).getQuantidade()); // Bolo 5 + Suco 1
+    }
+
+    @Test
+    void aoConfirmarVendas_contadorCarregadoDepoisDoInicioDaTransacao_descartaEmVezDeSomar() {
+        ranking.antesDoCommit(new VendasEmConfirmacaoEvento(Set.of(usuario.getEmail())));
+        // lido entre o commit e o evento: o resumo já teria a venda
+        ranking.ranking(usuario.getEmail(), 3, null, null);
+
+        ranking.aoConfirmarVendas(confirmadas());
+
+        // relido do resumo, sem a soma em dobro
+        List<ProdutoVendasDTO> top = ranking.ranking(usuario.getEmail(), 2, null, null);
+        assertEquals(List.of("Café", "Pão", RankingProdutosOperation.OUTROS), nomes(top));
+        assertEquals(7L, top.get(1).getQuantidade());
+    }
+
+    @Test
+    void aoConfirmarVendas_semBase_descartaOContador() {
+        ranking.ranking(usuario.getEmail(), 3, null, null);
+
+        // sem antesDoCommit (ex.: outra transação já consumiu a base): não dá para saber se o contador inclui a venda
+        ranking.aoConfirmarVendas(confirmadas());
+
+        assertEquals(7L, ranking.ranking(usuario.getEmail(), 2, null, null).get(1).getQuantidade());
+    }
+
+    private VendasConfirmadasEvento confirmadas() {
+        return new VendasConfirmadasEvento(List.of(new VendaResumida(usuario.getEmail(), HOJE,
+                null, BigDecimal.TEN, Map.of("Pão", 6L, "Bolo", 1L), Set.of())), Map.of());
+    }
+
+    private static List<String> nomes(List<ProdutoVendasDTO> produtos) {
+        return produtos.stream().map(ProdutoVendasDTO::getNome).toList();
+    }
+
+    private Produto produto(String nome) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(BigDecimal.ONE);
+        produto.setQuantidadeEstoque(10);
+        produto.setUsuario(usuario);
+        entityManager.persist(produto);
+        return produto;
+    }
+
+    private void resumo(LocalDate dia, Produto produto, long quantidade) {
+        ResumoVendaDiariaProduto resumo = new ResumoVendaDiariaProduto();
+        resumo.setUsuario(usuario);
+        resumo.setDia(dia);
+        resumo.setProduto(produto);
+        resumo.setQuantidade(quantidade);
+        resumo.setFaturamento(BigDecimal.valueOf(quantidade));
+        entityManager.persist(resumo);
+    }
+}
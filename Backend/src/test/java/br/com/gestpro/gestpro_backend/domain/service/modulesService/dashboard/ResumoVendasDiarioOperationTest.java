@@ -0,0 +1,162 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.MetodoPagamentoDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ProdutoVendasDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.VendasDiariasDTO;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:resumo-vendas;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ResumoVendasDiarioOperation.class, GraficoServiceOperation.class, SerieVendasOperation.class,
+        RankingProdutosOperation.class})
+class ResumoVendasDiarioOperationTest {
+
+    private static final String EMAIL = "resumo@teste.com";
+
+    @Autowired
+    private ResumoVendasDiarioOperation resumoOperation;
+    @Autowired
+    private GraficoServiceOperation graficoOperation;
+    @Autowired
+    private RankingProdutosOperation rankingProdutos;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario usuario;
+    private Caixa caixa;
+    private Produto cafe;
+    private Produto pao;
+
+    @BeforeEach
+    void setup() {
+        usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail(EMAIL);
+        entityManager.persist(usuario);
+
+        caixa = new Caixa();
+        caixa.setDataAbertura(LocalDateTime.now());
+        caixa.setAbertoPor(EMAIL);
+        caixa.setUsuario(usuario);
+        entityManager.persist(caixa);
+
+        cafe = produto("Café", "4.00");
+        pao = produto("Pão", "1.00");
+    }
+
+    @Test
+    void registrar_somaVendasDoDiaEGraficosLeemDoResumo() {
+        List<Venda> vendas = List.of(
+                venda(FormaDePagamento.PIX, item(cafe, 2), item(pao, 1)),   // 9.00
+                venda(FormaDePagamento.PIX, item(cafe, 1)),                 // 4.00
+                venda(FormaDePagamento.DINHEIRO, item(pao, 3)));            // 3.00
+
+        resumoOperation.registrar(vendas.subList(0, 1));
+        resumoOperation.registrar(vendas.subList(1, 3)); // segunda chamada cai no UPDATE das linhas existentes
+
+        // uma linha por usuário/dia, não por venda
+        assertEquals(1, contar("resumo_venda_diaria"));
+        assertEquals(2, contar("resumo_venda_diaria_pagamento"));
+        assertEquals(2, contar("resumo_venda_diaria_produto"));
+
+        assertGraficos();
+    }
+
+    @Test
+    void reconstruir_produzOMesmoResultadoQueOIncremental() {
+        List<Venda> vendas = List.of(
+                venda(FormaDePagamento.PIX, item(cafe, 2), item(pao, 1)),
+                venda(FormaDePagamento.PIX, item(cafe, 1)),
+                venda(FormaDePagamento.DINHEIRO, item(pao, 3)));
+        resumoOperation.registrar(List.of(vendas.get(0))); // resumo parcial, que será descartado
+
+        resumoOperation.reconstruir();
+
+        assertGraficos();
+    }
+
+    private void assertGraficos() {
+        Map<String, Long> porMetodo = graficoOperation.vendasPorMetodoPagamento(EMAIL).stream()
+                .collect(Collectors.toMap(MetodoPagamentoDTO::getMetodo, MetodoPagamentoDTO::getTotal));
+        assertEquals(Map.of("PIX", 2L, "DINHEIRO", 1L), porMetodo);
+
+        // com período: lê o resumo, sem o ranking mantido em memória (compartilhado entre os testes)
+        List<ProdutoVendasDTO> porProduto = rankingProdutos.ranking(EMAIL, 10, LocalDate.now(), LocalDate.now());
+        assertEquals(2, porProduto.size());
+        assertEquals("Pão", porProduto.get(0).getNome());
+        assertEquals(4L, porProduto.get(0).getQuantidade());
+        assertEquals("Café", porProduto.get(1).getNome());
+        assertEquals(3L, porProduto.get(1).getQuantidade());
+
+        List<VendasDiariasDTO> diarias = graficoOperation.vendasDiariasSemana(EMAIL);
+        assertEquals(7, diarias.size());
+        int hoje = LocalDate.now().getDayOfWeek().getValue() - 1;
+        assertEquals(16.0, diarias.get(hoje).getTotal(), 0.0001);
+        assertEquals(16.0, diarias.stream().mapToDouble(VendasDiariasDTO::getTotal).sum(), 0.0001);
+    }
+
+    private int contar(String tabela) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela, Integer.class);
+    }
+
+    private Produto produto(String nome, String preco) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(new BigDecimal(preco));
+        produto.setQuantidadeEstoque(100);
+        produto.setUsuario(usuario);
+        entityManager.persist(produto);
+        return produto;
+    }
+
+    private ItemVenda item(Produto produto, int quantidade) {
+        return new ItemVenda(produto, quantidade);
+    }
+
+    private Venda venda(FormaDePagamento forma, ItemVenda... itens) {
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setCaixa(caixa);
+        venda.setFormaPagamento(forma);
+        venda.setItens(new ArrayList<>());
+        for (ItemVenda item : itens) {
+            item.setVenda(venda);
+            venda.getItens().add(item);
+        }
+        entityManager.persist(venda);
+        entityManager.flush();
+        return venda;
+    }
+}
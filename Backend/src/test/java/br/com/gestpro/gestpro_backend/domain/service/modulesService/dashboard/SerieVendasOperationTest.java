@@ -0,0 +1,171 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.ComparacaoPeriodoDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.PontoSerieDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.SerieVendasResponse;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.Granularidade;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.dashboard.ResumoVendaDiaria;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda no H2: a série não usa funções de data do MySQL (DAYOFWEEK/DAYNAME).
+ * Março de 2026 começa num domingo, então 04/03 é uma quarta e 02/03, 09/03 e 16/03 são segundas.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:serie-vendas;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SerieVendasOperation.class)
+class SerieVendasOperationTest {
+
+    private static final String EMAIL = "serie@teste.com";
+
+    @Autowired
+    private SerieVendasOperation serieVendas;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail(EMAIL);
+        entityManager.persist(usuario);
+    }
+
+    @Test
+    void serie_porSemana_preencheBaldesVaziosEComparaComPeriodoAnterior() {
+        resumo(LocalDate.of(2026, 2, 10), 9, "100.00"); // fora dos dois períodos
+        resumo(LocalDate.of(2026, 3, 3), 4, "40.00");   // período anterior, mesma semana do início
+        resumo(LocalDate.of(2026, 3, 5), 2, "20.00");
+        resumo(LocalDate.of(2026, 3, 16), 1, "5.00");
+        entityManager.flush();
+
+        SerieVendasResponse resp = serieVendas.serie(EMAIL, LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 17),
+                Granularidade.SEMANA, true);
+
+        List<PontoSerieDTO> pontos = resp.getPontos();
+        assertEquals(3, pontos.size());
+        assertPonto(pontos.get(0), LocalDate.of(2026, 3, 4), 2, "20.00"); // balde parcial começa no início pedido
+        assertPonto(pontos.get(1), LocalDate.of(2026, 3, 9), 0, "0");
+        assertPonto(pontos.get(2), LocalDate.of(2026, 3, 16), 1, "5.00");
+        assertEquals(3, resp.getTotalVendas());
+        assertEquals(0, new BigDecimal("25.00").compareTo(resp.getTotalFaturamento()));
+
+        ComparacaoPeriodoDTO anterior = resp.getComparacao();
+        assertEquals(LocalDate.of(2026, 2, 18), anterior.getInicio());
+        assertEquals(LocalDate.of(2026, 3, 3), anterior.getFim());
+        assertEquals(3, anterior.getPontos().size());
+        assertPonto(anterior.getPontos().get(2), LocalDate.of(2026, 3, 2), 4, "40.00");
+        assertEquals(4, anterior.getTotalVendas());
+        assertEquals(-25.0, anterior.getVariacaoVendasPercentual());
+        assertEquals(-37.5, anterior.getVariacaoFaturamentoPercentual());
+
+        SerieVendasResponse porMes = serieVendas.serie(EMAIL, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 31),
+                Granularidade.MES, false);
+        assertEquals(2, porMes.getPontos().size());
+        assertEquals(9, porMes.getPontos().get(0).getQuantidadeVendas());
+        assertEquals(7, porMes.getPontos().get(1).getQuantidadeVendas());
+        assertNull(porMes.getComparacao());
+    }
+
+    @Test
+    void serie_porHora_agrupaAsVendasDoDia() {
+        Caixa caixa = new Caixa();
+        caixa.setDataAbertura(LocalDateTime.now());
+        caixa.setAbertoPor(EMAIL);
+        caixa.setUsuario(usuario);
+        entityManager.persist(caixa);
+
+        venda(caixa, "10.00", LocalDateTime.of(2026, 3, 5, 9, 15));
+        venda(caixa, "5.00", LocalDateTime.of(2026, 3, 5, 9, 40));
+        venda(caixa, "3.00", LocalDateTime.of(2026, 3, 5, 14, 5));
+        venda(caixa, "8.00", LocalDateTime.of(2026, 3, 6, 0, 0)); // dia seguinte, fora
+
+        SerieVendasResponse resp = serieVendas.serie(EMAIL, LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 5),
+                Granularidade.HORA, false);
+
+        assertEquals(24, resp.getPontos().size());
+        assertEquals(LocalDateTime.of(2026, 3, 5, 9, 0), resp.getPontos().get(9).getInicio());
+        assertEquals(2, resp.getPontos().get(9).getQuantidadeVendas());
+        assertEquals(0, new BigDecimal("15.00").compareTo(resp.getPontos().get(9).getFaturamento()));
+        assertEquals(1, resp.getPontos().get(14).getQuantidadeVendas());
+        assertEquals(3, resp.getTotalVendas());
+    }
+
+    @Test
+    void serie_intervaloGrandeDemais_recusa() {
+        assertThrows(ApiException.class, () -> serieVendas.serie(EMAIL, LocalDate.of(2026, 1, 1),
+                LocalDate.of(2026, 3, 1), Granularidade.HORA, false));
+        assertThrows(ApiException.class, () -> serieVendas.serie(EMAIL, LocalDate.of(2026, 3, 2),
+                LocalDate.of(2026, 3, 1), Granularidade.DIA, false));
+    }
+
+    private void assertPonto(PontoSerieDTO ponto, LocalDate inicio, long vendas, String faturamento) {
+        assertEquals(inicio.atStartOfDay(), ponto.getInicio());
+        assertEquals(vendas, ponto.getQuantidadeVendas());
+        assertEquals(0, new BigDecimal(faturamento).compareTo(ponto.getFaturamento()));
+    }
+
+    private void resumo(LocalDate dia, long quantidade, String faturamento) {
+        ResumoVendaDiaria resumo = new ResumoVendaDiaria();
+        resumo.setUsuario(usuario);
+        resumo.setDia(dia);
+        resumo.setQuantidadeVendas(quantidade);
+        resumo.setFaturamento(new BigDecimal(faturamento));
+        entityManager.persist(resumo);
+    }
+
+    private void venda(Caixa caixa, String preco, LocalDateTime quando) {
+        Produto produto = new Produto();
+        produto.setNome("Produto " + preco);
+        produto.setPreco(new BigDecimal(preco));
+        produto.setQuantidadeEstoque(10);
+        produto.setUsuario(usuario);
+        entityManager.persist(produto);
+
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setCaixa(caixa);
+        venda.setItens(new ArrayList<>());
+        ItemVenda item = new ItemVenda(produto, 1);
+        item.setVenda(venda);
+        venda.getItens().add(item);
+        entityManager.persist(venda);
+        entityManager.flush();
+
+        // data_venda é preenchida pelo @CreationTimestamp
+        jdbcTemplate.update("UPDATE venda SET data_venda = ? WHERE id = ?", Timestamp.valueOf(quando), venda.getId());
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.DashboardVisaoGeralResponse;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
+import br.com.gestpro.gestpro_backend.domain.model.modules.cliente.Cliente;
+import br.com.gestpro.gestpro_backend.domain.model.modules.dashboard.ResumoVendaDiaria;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A visão geral saía de 5 consultas (contadores, vendasSemana duas vezes, findByEmail do plano e
+ * todos os produtos zerados como entidades); agora é um único statement.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:visao-geral;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(VisaoGeralOperation.class)
+class VisaoGeralOperationTest {
+
+    private static final String EMAIL = "visao@teste.com";
+
+    @Autowired
+    private VisaoGeralOperation visaoGeralOperation;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail(EMAIL);
+        usuario.setTipoPlano(TipoPlano.EXPERIMENTAL);
+        entityManager.persist(usuario);
+
+        for (int i = 0; i < 12; i++) {
+            produto(String.format("Zerado %02d", i), 0);
+        }
+        produto("Com estoque 1", 5);
+        produto("Com estoque 2", 1);
+
+        cliente(true);
+        cliente(true);
+        cliente(false);
+
+        LocalDate hoje = LocalDate.now();
+        resumo(hoje, 3);
+        if (hoje.getDayOfWeek() != DayOfWeek.MONDAY) {
+            resumo(hoje.with(DayOfWeek.MONDAY), 4);
+        }
+        resumo(hoje.with(DayOfWeek.MONDAY).minusDays(1), 100); // semana anterior, fora da conta
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void visaoGeral_umaUnicaConsulta() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        DashboardVisaoGeralResponse resp = visaoGeralOperation.visaoGeral(EMAIL);
+
+        assertEquals(1, stats.getPrepareStatementCount());
+
+        long esperadoSemana = LocalDate.now().getDayOfWeek() == DayOfWeek.MONDAY ? 3 : 7;
+        assertEquals(3L, resp.getVendasHoje());
+        assertEquals(esperadoSemana, resp.getVendasSemana());
+        assertEquals(2L, resp.getProdutosComEstoque());
+        assertEquals(12L, resp.getProdutosSemEstoque());
+        assertEquals(2L, resp.getClientesAtivos());
+        assertEquals("EXPERIMENTAL", resp.getPlanoUsuario().getTipoPlano());
+        assertEquals(7L, resp.getPlanoUsuario().getDiasRestantes());
+
+        // 10 produtos zerados (limitados no SQL) + alerta de vendas da semana
+        assertEquals(11, resp.getAlertas().size());
+        assertEquals("Produto Zerado 00 está com estoque zerado!", resp.getAlertas().get(0));
+        assertEquals("Vendas da semana abaixo do esperado", resp.getAlertas().get(10));
+    }
+
+    @Test
+    void visaoGeral_usuarioInexistente_retornaZerosEPlanoNenhum() {
+        DashboardVisaoGeralResponse resp = visaoGeralOperation.visaoGeral("ninguem@teste.com");
+
+        assertEquals(0L, resp.getVendasHoje());
+        assertEquals("NENHUM", resp.getPlanoUsuario().getTipoPlano());
+        assertTrue(resp.getAlertas().contains("Nenhum produto está com estoque zerado!"));
+    }
+
+    private void produto(String nome, int estoque) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(BigDecimal.ONE);
+        produto.setQuantidadeEstoque(estoque);
+        produto.setUsuario(usuario);
+        entityManager.persist(produto);
+    }
+
+    private void cliente(boolean ativo) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente");
+        cliente.setAtivo(ativo);
+        cliente.setUsuario(usuario);
+        entityManager.persist(cliente);
+    }
+
+    private void resumo(LocalDate dia, long quantidade) {
+        ResumoVendaDiaria resumo = new ResumoVendaDiaria();
+        resumo.setUsuario(usuario);
+        resumo.setDia(dia);
+        resumo.setQuantidadeVendas(quantidade);
+        resumo.setFaturamento(BigDecimal.TEN);
+        entityManager.persist(resumo);
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura e baixa de estoque de uma venda, por tamanho de carrinho: uma ida ao banco por item (findById e save
+ * de cada produto, como era antes) contra uma consulta IN e um único batch de UPDATEs condicionais
+ * ({@link BaixaEstoqueOperation}). Cada chamada é uma transação, como em registrarVenda.
+ * Não roda com os testes; depois de {@code mvn test-compile}:
+ *
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main BaixaEstoqueBenchmark
+ * </pre>
+ *
+ * Por padrão usa um H2 em memória, que não tem rede: a diferença medida é só o custo por comando. Para ver o
+ * peso das idas ao banco, aponte {@code -p url=...} para um schema descartável (a tabela {@code produto} é
+ * criada e apagada pelo benchmark), por exemplo
+ * {@code jdbc:mysql://localhost:3306/gestpro_bench?rewriteBatchedStatements=true} com {@code -p usuario} e
+ * {@code -p senha}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaixaEstoqueBenchmark {
+
+    private static final int PRODUTOS = 40;
+    private static final String PATH = "/api/vendas";
+
+    @Param({"1", "10", "40"})
+    public int tamanhoCarrinho;
+
+    @Param("jdbc:h2:mem:baixa-estoque-benchmark;DB_CLOSE_DELAY=-1")
+    public String url;
+
+    @Param("sa")
+    public String usuario;
+
+    @Param("")
+    public String senha;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private BaixaEstoqueOperation baixaEstoque;
+    private List<Long> carrinho;
+
+    private static final RowMapper<Produto> PRODUTO = (rs, linha) -> {
+        Produto produto = new Produto();
+        produto.setId(rs.getLong("id"));
+        produto.setNome(rs.getString("nome"));
+        produto.setQuantidadeEstoque(rs.getInt("quantidade_estoque"));
+        return produto;
+    };
+
+    @Setup
+    public void setup() {
+        // uma conexão só: o que se mede são os comandos, não o pool
+        dataSource = new SingleConnectionDataSource(url, usuario, senha, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        baixaEstoque = new BaixaEstoqueOperation(jdbcTemplate);
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS produto");
+        jdbcTemplate.execute("CREATE TABLE produto (id BIGINT PRIMARY KEY, nome VARCHAR(100) NOT NULL, " +
+                "quantidade_estoque INT NOT NULL)");
+        List<Object[]> linhas = new ArrayList<>();
+        for (long id = 1; id <= PRODUTOS; id++) {
+            linhas.add(new Object[]{id, "Produto " + id, 1_000_000_000});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO produto (id, nome, quantidade_estoque) VALUES (?, ?, ?)", linhas);
+
+        carrinho = new ArrayList<>();
+        for (long id = 1; id <= tamanhoCarrinho; id++) {
+            carrinho.add(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS produto");
+        dataSource.destroy();
+    }
+
+    /**
+     * Uma leitura e uma escrita por item do carrinho.
+     */
+    @Benchmark
+    public int umaIdaPorItem() {
+        return transactionTemplate.execute(status -> {
+            int baixados = 0;
+            for (Long id : carrinho) {
+                Produto produto = jdbcTemplate.queryForObject(
+                        "SELECT id, nome, quantidade_estoque FROM produto WHERE id = ?", PRODUTO, id);
+                if (produto.getQuantidadeEstoque() < 1) {
+                    throw new IllegalStateException("Estoque insuficiente para o produto: " + produto.getNome());
+                }
+                baixados += jdbcTemplate.update("UPDATE produto SET quantidade_estoque = ? WHERE id = ?",
+                        produto.getQuantidadeEstoque() - 1, id);
+            }
+            return baixados;
+        });
+    }
+
+    /**
+     * Uma consulta IN para o carrinho todo e um batch de UPDATEs condicionais.
+     */
+    @Benchmark
+    public int umaConsultaEUmBatch() {
+        return transactionTemplate.execute(status -> {
+            Map<Long, Produto> produtos = namedJdbcTemplate.query(
+                            "SELECT id, nome, quantidade_estoque FROM produto WHERE id IN (:ids)",
+                            Map.of("ids", carrinho), PRODUTO)
+                    .stream()
+                    .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+            Map<Long, Integer> baixas = new TreeMap<>();
+            for (Long id : carrinho) {
+                baixas.merge(id, 1, Integer::sum);
+            }
+            baixaEstoque.baixar(baixas, produtos, PATH);
+            return baixas.size();
+        });
+    }
+}
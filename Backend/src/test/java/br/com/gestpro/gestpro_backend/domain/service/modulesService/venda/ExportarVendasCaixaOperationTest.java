@@ -0,0 +1,144 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.ItemVenda;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:venda-exportacao;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "app.vendas.exportacao.fetch-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ExportarVendasCaixaOperation.class)
+class ExportarVendasCaixaOperationTest {
+
+    @Autowired
+    private ExportarVendasCaixaOperation operation;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Caixa caixa;
+
+    @BeforeEach
+    void setup() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail("exporta@teste.com");
+        entityManager.persist(usuario);
+
+        caixa = new Caixa();
+        caixa.setDataAbertura(LocalDateTime.now());
+        caixa.setValorInicial(BigDecimal.ZERO);
+        caixa.setTotalVendas(BigDecimal.ZERO);
+        caixa.setAberto(true);
+        caixa.setAbertoPor("exporta@teste.com");
+        caixa.setUsuario(usuario);
+        entityManager.persist(caixa);
+
+        Produto cafe = produto(usuario, "Café");
+        Produto pao = produto(usuario, "Pão");
+
+        // 5 vendas (mais que o fetch size), a primeira com dois produtos
+        persistirVenda(usuario, "mesa 1, balcão", item(cafe, 2), item(pao, 3));
+        for (int i = 0; i < 4; i++) {
+            persistirVenda(usuario, null, item(cafe, 1));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void execute_ndjson_umaVendaPorLinhaComItensAninhados() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        operation.execute(caixa.getId(), ExportarVendasCaixaOperation.Formato.NDJSON, out);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, linhas.length);
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode primeira = mapper.readTree(linhas[0]);
+        assertEquals(caixa.getId().longValue(), primeira.get("idCaixa").asLong());
+        assertEquals("exporta@teste.com", primeira.get("emailUsuario").asText());
+        assertEquals(2, primeira.get("itens").size());
+        assertEquals("Café", primeira.get("itens").get(0).get("nomeProduto").asText());
+        assertEquals(0, new BigDecimal("5.00").compareTo(primeira.get("valorFinal").decimalValue()));
+
+        for (int i = 1; i < linhas.length; i++) {
+            assertEquals(1, mapper.readTree(linhas[i]).get("itens").size());
+        }
+    }
+
+    @Test
+    void execute_csv_cabecalhoEUmaLinhaPorVenda() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        operation.execute(caixa.getId(), ExportarVendasCaixaOperation.Formato.CSV, out);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(6, linhas.length);
+        assertTrue(linhas[0].startsWith("id,idCaixa,dataVenda"));
+        // quantidade de unidades e observação com vírgula entre aspas
+        assertTrue(linhas[1].endsWith(",5,\"mesa 1, balcão\""), linhas[1]);
+    }
+
+    @Test
+    void execute_caixaSemVendas_naoEscreveNada() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        operation.execute(-1L, ExportarVendasCaixaOperation.Formato.NDJSON, out);
+
+        assertEquals(0, out.size());
+    }
+
+    private Produto produto(Usuario usuario, String nome) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(new BigDecimal("1.00"));
+        produto.setQuantidadeEstoque(100);
+        produto.setUsuario(usuario);
+        entityManager.persist(produto);
+        return produto;
+    }
+
+    private ItemVenda item(Produto produto, int quantidade) {
+        return new ItemVenda(produto, quantidade);
+    }
+
+    private void persistirVenda(Usuario usuario, String observacao, ItemVenda... itens) {
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setCaixa(caixa);
+        venda.setFormaPagamento(FormaDePagamento.PIX);
+        venda.setObservacao(observacao);
+        for (ItemVenda item : itens) {
+            item.setVenda(venda);
+            venda.getItens().add(item);
+        }
+        entityManager.persist(venda);
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO.ItemVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import br.com.gestpro.gestpro_backend.infra.idempotencia.HashPayload;
+import br.com.gestpro.gestpro_backend.infra.idempotencia.IdempotenciaVendaStore;
+import br.com.gestpro.gestpro_backend.infra.idempotencia.MemoriaIdempotenciaVendaStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotenciaVendaOperationTest {
+
+    @Mock
+    private VendaServiceInterface vendaService;
+
+    private IdempotenciaVendaStore store;
+    private IdempotenciaVendaOperation operacao;
+
+    @BeforeEach
+    void setup() {
+        store = new MemoriaIdempotenciaVendaStore(60);
+        operacao = new IdempotenciaVendaOperation(vendaService, store);
+        lenient().when(vendaService.registrarVenda(any())).thenAnswer(inv -> venda(42L));
+    }
+
+    @Test
+    void semChave_registraDireto() {
+        VendaResponseDTO resposta = operacao.execute(dto(1), "loja@teste.com", null);
+
+        assertEquals(42L, resposta.getId());
+        verify(vendaService, times(1)).registrarVenda(any());
+    }
+
+    @Test
+    void retentativaComMesmaChaveEMesmoCorpo_devolveRespostaOriginalSemRegistrarDeNovo() {
+        VendaResponseDTO primeira = operacao.execute(dto(1), "loja@teste.com", "k1");
+        VendaResponseDTO segunda = operacao.execute(dto(1), "loja@teste.com", "k1");
+
+        assertEquals(primeira.getId(), segunda.getId());
+        verify(vendaService, times(1)).registrarVenda(any());
+    }
+
+    @Test
+    void mesmaChaveComOutroCorpo_deveLancar422() {
+        operacao.execute(dto(1), "loja@teste.com", "k1");
+
+        ApiException ex = assertThrows(ApiException.class, () -> operacao.execute(dto(2), "loja@teste.com", "k1"));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, ex.getStatus());
+        verify(vendaService, times(1)).registrarVenda(any());
+    }
+
+    @Test
+    void mesmaChaveDeOutroUsuario_naoColide() {
+        operacao.execute(dto(1), "loja-a@teste.com", "k1");
+        operacao.execute(dto(1), "loja-b@teste.com", "k1");
+
+        verify(vendaService, times(2)).registrarVenda(any());
+    }
+
+    @Test
+    void chaveAindaEmProcessamento_deveLancar409() {
+        store.reservar("loja@teste.com:k1", HashPayload.de(dto(1)));
+
+        ApiException ex = assertThrows(ApiException.class, () -> operacao.execute(dto(1), "loja@teste.com", "k1"));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        verifyNoInteractions(vendaService);
+    }
+
+    @Test
+    void falhaAoRegistrar_liberaAChaveParaNovaTentativa() {
+        when(vendaService.registrarVenda(any()))
+                .thenThrow(new ApiException("Estoque insuficiente", HttpStatus.BAD_REQUEST, "/api/vendas"))
+                .thenAnswer(inv -> venda(43L));
+
+        assertThrows(ApiException.class, () -> operacao.execute(dto(1), "loja@teste.com", "k1"));
+
+        assertEquals(43L, operacao.execute(dto(1), "loja@teste.com", "k1").getId());
+    }
+
+    private RegistrarVendaDTO dto(int quantidade) {
+        return RegistrarVendaDTO.builder()
+                .emailUsuario("loja@teste.com")
+                .idCaixa(10L)
+                .formaPagamento(FormaDePagamento.DINHEIRO)
+                .itens(List.of(ItemVendaDTO.builder().idProduto(1L).quantidade(quantidade).build()))
+                .build();
+    }
+
+    private static Venda venda(Long id) {
+        Venda venda = new Venda();
+        venda.setId(id);
+        return venda;
+    }
+}
@@ -0,0 +1,285 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO.ItemVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ResultadoVendaLoteDTO;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.CaixaRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.ClienteRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.ProdutoRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.VendaRepository;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.PublicarVendasConfirmadasOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.ResumoVendasDiarioOperation;
+import br.com.gestpro.gestpro_backend.infra.concorrencia.TravasPorCaixa;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrarVendasLoteOperationTest {
+
+    private static final String EMAIL = "loja@teste.com";
+
+    @Mock
+    private VendaRepository vendaRepository;
+    @Mock
+    private ProdutoRepository produtoRepository;
+    @Mock
+    private UsuarioRepository usuarioRepository;
+    @Mock
+    private CaixaRepository caixaRepository;
+    @Mock
+    private ClienteRepository clienteRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TravasPorCaixa travasPorCaixa;
+    @Mock
+    private ResumoVendasDiarioOperation resumoVendasDiario;
+    @Mock
+    private PublicarVendasConfirmadasOperation vendasConfirmadas;
+    @Mock
+    private BaixaEstoqueOperation baixaEstoque;
+
+    /** Cópia de cada mapa de baixas não vazio enviado (o vazio não vai ao banco), na ordem das chamadas. */
+    private final List<Map<Long, Integer>> baixasEnviadas = new ArrayList<>();
+
+    private Usuario usuario;
+    private Caixa caixa;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        lenient().when(travasPorCaixa.executarComTrava(anyCollection(), anyString(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(2).get());
+
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail(EMAIL);
+        caixa = new Caixa();
+        caixa.setId(10L);
+        caixa.setUsuario(usuario);
+
+        lenient().when(usuarioRepository.findByEmailIn(anyCollection())).thenReturn(List.of(usuario));
+        lenient().when(caixaRepository.findAllById(anyCollection())).thenReturn(List.of(caixa));
+        lenient().when(caixaRepository.buscarIdsAbertos(anyCollection())).thenReturn(Set.of(10L));
+        lenient().doAnswer(inv -> {
+            Map<Long, Integer> baixas = inv.getArgument(0);
+            if (!baixas.isEmpty()) baixasEnviadas.add(new TreeMap<>(baixas));
+            return null;
+        }).when(baixaEstoque).baixar(anyMap(), anyMap(), anyString());
+    }
+
+    @Test
+    void execute_agrupaBaixasPorProdutoETotaisPorCaixaPorChunk() {
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto(1L, 1000), produto(2L, 1000)));
+
+        List<RegistrarVendaDTO> vendas = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            vendas.add(venda(i % 2 == 0 ? 1L : 2L, 1));
+        }
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(100).execute(vendas, EMAIL);
+
+        assertEquals(250, resultados.size());
+        assertTrue(resultados.stream().allMatch(ResultadoVendaLoteDTO::isSucesso));
+
+        // referências carregadas uma única vez para o lote todo
+        verify(usuarioRepository, times(1)).findByEmailIn(anyCollection());
+        verify(produtoRepository, times(1)).findAllById(anyCollection());
+        // 3 chunks (100, 100, 50): um batch de baixas (uma por produto) e um incremento por caixa em cada
+        assertEquals(List.of(Map.of(1L, 50, 2L, 50), Map.of(1L, 50, 2L, 50), Map.of(1L, 25, 2L, 25)), baixasEnviadas);
+        verify(vendaRepository, times(3)).saveAll(anyCollection());
+        verify(caixaRepository, times(2)).incrementarTotalVendas(10L, new BigDecimal("200.00"));
+        verify(caixaRepository, times(1)).incrementarTotalVendas(10L, new BigDecimal("100.00"));
+        verify(resumoVendasDiario, times(3)).registrar(anyCollection());
+        verify(vendasConfirmadas, times(3)).registrar(anyCollection());
+        // um travamento dos caixas do chunk por transação, antes de abri-la
+        verify(travasPorCaixa, times(3)).executarComTrava(eq(Set.of(10L)), eq("/api/vendas/lote"), any());
+    }
+
+    @Test
+    void execute_vendaSemEstoqueFalhaSozinha() {
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto(1L, 3)));
+
+        List<RegistrarVendaDTO> vendas = List.of(venda(1L, 2), venda(1L, 2), venda(1L, 1));
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(100).execute(vendas, EMAIL);
+
+        assertTrue(resultados.get(0).isSucesso());
+        assertFalse(resultados.get(1).isSucesso());
+        assertTrue(resultados.get(1).getErro().contains("Estoque insuficiente"));
+        assertTrue(resultados.get(2).isSucesso());
+        assertEquals(List.of(Map.of(1L, 3)), baixasEnviadas);
+    }
+
+    @Test
+    void execute_quantidadeNaoPositiva_falhaSemBaixarEstoque() {
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto(1L, 3)));
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(100).execute(List.of(venda(1L, 0), venda(1L, -5), venda(1L, 1)), EMAIL);
+
+        assertEquals("Quantidade deve ser maior que zero", resultados.get(0).getErro());
+        assertEquals("Quantidade deve ser maior que zero", resultados.get(1).getErro());
+        assertTrue(resultados.get(2).isSucesso());
+        assertEquals(List.of(Map.of(1L, 1)), baixasEnviadas);
+    }
+
+    @Test
+    void execute_conflitoDeEstoqueNoChunk_reprocessaVendaAVenda() {
+        when(produtoRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(produto(1L, 10)))  // carga inicial
+                .thenReturn(List.of(produto(1L, 1)));  // recarga após o conflito
+        // o chunk inteiro (2 unidades) falha; depois, venda a venda, só a primeira passa
+        doThrow(new ApiException("Estoque insuficiente para o produto: Produto 1", HttpStatus.BAD_REQUEST, "/api/vendas/lote"))
+                .when(baixaEstoque).baixar(eq(Map.of(1L, 2)), anyMap(), anyString());
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(100).execute(List.of(venda(1L, 1), venda(1L, 1)), EMAIL);
+
+        assertTrue(resultados.get(0).isSucesso());
+        assertFalse(resultados.get(1).isSucesso());
+        assertEquals(List.of(Map.of(1L, 1)), baixasEnviadas);
+    }
+
+    @Test
+    void execute_caixaFechadoDepoisDaCarga_vendasDoCaixaFalham() {
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto(1L, 10)));
+        // carregado aberto, mas fechado antes do chunk pegar a trava
+        when(caixaRepository.buscarIdsAbertos(anyCollection())).thenReturn(Set.of());
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(100).execute(List.of(venda(1L, 1), venda(1L, 1)), EMAIL);
+
+        assertTrue(resultados.stream().noneMatch(ResultadoVendaLoteDTO::isSucesso));
+        assertEquals("Caixa está fechado", resultados.get(0).getErro());
+        assertTrue(baixasEnviadas.isEmpty());
+        verify(caixaRepository).buscarIdsAbertos(Set.of(10L));
+        verify(caixaRepository, never()).incrementarTotalVendas(anyLong(), any());
+    }
+
+    @Test
+    void execute_falhaDeInfraestruturaNoChunk_naoReprocessaEFalhaORestante() {
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto(1L, 1000)));
+        when(vendaRepository.saveAll(anyCollection()))
+                .thenAnswer(inv -> new ArrayList<>(inv.<Collection<?>>getArgument(0)))
+                .thenThrow(new DataAccessResourceFailureException("conexão perdida"));
+
+        List<RegistrarVendaDTO> vendas = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            vendas.add(venda(1L, 1));
+        }
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(2).execute(vendas, EMAIL);
+
+        // primeiro chunk gravado; o segundo falha e o lote para, sem refazer venda a venda nem seguir para o terceiro
+        assertTrue(resultados.get(0).isSucesso());
+        assertTrue(resultados.get(1).isSucesso());
+        assertTrue(resultados.subList(2, 6).stream().noneMatch(ResultadoVendaLoteDTO::isSucesso));
+        assertFalse(resultados.get(2).getErro().contains("conexão perdida"), "Detalhe interno não vai para o PDV");
+        verify(vendaRepository, times(2)).saveAll(anyCollection());
+        verify(produtoRepository, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    void execute_caixaOcupado_naoReprocessaVendaAVenda() {
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto(1L, 10)));
+        doThrow(new ApiException("Caixa ocupado com outra operação. Tente novamente.", HttpStatus.CONFLICT, "/api/vendas/lote"))
+                .when(travasPorCaixa).executarComTrava(anyCollection(), anyString(), any());
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(100).execute(List.of(venda(1L, 1), venda(1L, 1)), EMAIL);
+
+        assertTrue(resultados.stream().allMatch(r -> "Caixa ocupado com outra operação. Tente novamente.".equals(r.getErro())));
+        verify(travasPorCaixa, times(1)).executarComTrava(anyCollection(), anyString(), any());
+    }
+
+    @Test
+    void execute_caixaDeOutroUsuario_vendaFalhaSozinha() {
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto(1L, 10)));
+        Usuario outro = new Usuario();
+        outro.setId(2L);
+        caixa.setUsuario(outro);
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(100).execute(List.of(venda(1L, 1)), EMAIL);
+
+        assertEquals("Caixa não pertence ao usuário", resultados.get(0).getErro());
+        assertTrue(baixasEnviadas.isEmpty());
+    }
+
+    @Test
+    void execute_vendaEmNomeDeOutroUsuario_falhaSozinha() {
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto(1L, 10)));
+
+        List<ResultadoVendaLoteDTO> resultados = operacao(100).execute(List.of(venda(1L, 1)), "outra@teste.com");
+
+        assertEquals("Venda em nome de outro usuário", resultados.get(0).getErro());
+        assertTrue(baixasEnviadas.isEmpty());
+    }
+
+    @Test
+    void execute_loteVazio_deveLancarApiException() {
+        assertThrows(ApiException.class, () -> operacao(100).execute(List.of(), EMAIL));
+    }
+
+    @Test
+    void execute_loteAcimaDoMaximo_recusaSemTocarNoBanco() {
+        List<RegistrarVendaDTO> vendas = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            vendas.add(venda(1L, 1));
+        }
+
+        ApiException ex = assertThrows(ApiException.class, () -> operacao(100, 5).execute(vendas, EMAIL));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, ex.getStatus());
+        verifyNoInteractions(produtoRepository, caixaRepository, vendaRepository);
+    }
+
+    private RegistrarVendasLoteOperation operacao(int tamanhoChunk) {
+        return operacao(tamanhoChunk, 1000);
+    }
+
+    private RegistrarVendasLoteOperation operacao(int tamanhoChunk, int tamanhoMaximo) {
+        return new RegistrarVendasLoteOperation(vendaRepository, produtoRepository, usuarioRepository,
+                caixaRepository, clienteRepository, transactionManager, travasPorCaixa, resumoVendasDiario, vendasConfirmadas,
+                baixaEstoque, tamanhoChunk, tamanhoMaximo);
+    }
+
+    private RegistrarVendaDTO venda(Long idProduto, int quantidade) {
+        return RegistrarVendaDTO.builder()
+                .emailUsuario(EMAIL)
+                .idCaixa(10L)
+                .formaPagamento(FormaDePagamento.DINHEIRO)
+                .itens(List.of(ItemVendaDTO.builder().idProduto(idProduto).quantidade(quantidade).build()))
+                .build();
+    }
+
+    private Produto produto(Long id, int estoque) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome("Produto " + id);
+        produto.setPreco(new BigDecimal("2.00"));
+        produto.setQuantidadeEstoque(estoque);
+        return produto;
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO.ItemVendaDTO;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
+import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.CaixaRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.ProdutoRepository;
+import br.com.gestpro.gestpro_backend.domain.repository.modules.VendaRepository;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.PublicarVendasConfirmadasOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.ResumoVendasDiarioOperation;
+import br.com.gestpro.gestpro_backend.infra.concorrencia.TravasPorCaixa;
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Baixa de estoque com o banco de verdade: vários terminais (caixas diferentes, então sem a trava por caixa
+ * entre eles) disputando o mesmo produto por {@link VendaServiceImpl#registrarVenda} não vendem além do saldo.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:venda-estoque-concorrencia;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({VendaServiceImpl.class, RegistrarVendasLoteOperation.class, BaixaEstoqueOperation.class, TravasPorCaixa.class,
+        ResumoVendasDiarioOperation.class, PublicarVendasConfirmadasOperation.class})
+class VendaEstoqueConcorrenciaTest {
+
+    @Autowired
+    private VendaServiceImpl vendaService;
+    @Autowired
+    private BaixaEstoqueOperation baixaEstoque;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private CaixaRepository caixaRepository;
+    @Autowired
+    private VendaRepository vendaRepository;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM item_venda");
+        jdbcTemplate.update("DELETE FROM venda");
+        jdbcTemplate.update("DELETE FROM resumo_venda_diaria_produto");
+        jdbcTemplate.update("DELETE FROM resumo_venda_diaria_pagamento");
+        jdbcTemplate.update("DELETE FROM resumo_venda_diaria");
+        caixaRepository.deleteAll();
+        produtoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void registrarVenda_concorrente_naoVendeAlemDoEstoque() throws Exception {
+        int estoqueInicial = 50;
+        int terminais = 16;
+        int tentativasPorTerminal = 10; // 160 tentativas para 50 unidades
+
+        Produto produto = criarProduto(criarUsuario("loja@teste.com"), "Produto concorrido", estoqueInicial);
+        List<Caixa> caixas = new ArrayList<>();
+        for (int t = 0; t < terminais; t++) {
+            caixas.add(criarCaixa(criarUsuario("terminal" + t + "@teste.com")));
+        }
+
+        AtomicInteger vendidos = new AtomicInteger();
+        AtomicInteger semEstoque = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(terminais);
+        List<Future<?>> futuros = new ArrayList<>();
+
+        for (Caixa caixa : caixas) {
+            futuros.add(pool.submit(() -> {
+                largada.await();
+                for (int i = 0; i < tentativasPorTerminal; i++) {
+                    try {
+                        vendaService.registrarVenda(venda(caixa, produto.getId(), 1));
+                        vendidos.incrementAndGet();
+                    } catch (ApiException e) {
+                        assertTrue(e.getMessage().contains("Estoque insuficiente"), e.getMessage());
+                        semEstoque.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> futuro : futuros) {
+            futuro.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(estoqueInicial, vendidos.get(), "Todas as unidades devem ser vendidas, nenhuma a mais");
+        assertEquals(terminais * tentativasPorTerminal - estoqueInicial, semEstoque.get());
+        assertEquals(0, produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEstoque());
+        assertEquals(estoqueInicial, vendaRepository.count());
+    }
+
+    @Test
+    void baixar_umProdutoSemSaldo_desfazOBatchInteiro() {
+        Usuario usuario = criarUsuario("loja@teste.com");
+        Produto cafe = criarProduto(usuario, "Café", 5);
+        Produto pao = criarProduto(usuario, "Pão", 3);
+        Map<Long, Integer> baixas = new TreeMap<>(Map.of(cafe.getId(), 1, pao.getId(), 4));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        ApiException ex = assertThrows(ApiException.class, () -> tx.executeWithoutResult(status ->
+                baixaEstoque.baixar(baixas, Map.of(cafe.getId(), cafe, pao.getId(), pao), "/api/vendas")));
+
+        assertEquals("Estoque insuficiente para o produto: Pão", ex.getMessage());
+        assertEquals(5, produtoRepository.findById(cafe.getId()).orElseThrow().getQuantidadeEstoque());
+        assertEquals(3, produtoRepository.findById(pao.getId()).orElseThrow().getQuantidadeEstoque());
+    }
+
+    private RegistrarVendaDTO venda(Caixa caixa, Long idProduto, int quantidade) {
+        return RegistrarVendaDTO.builder()
+                .emailUsuario(caixa.getAbertoPor())
+                .idCaixa(caixa.getId())
+                .formaPagamento(FormaDePagamento.DINHEIRO)
+                .itens(List.of(ItemVendaDTO.builder().idProduto(idProduto).quantidade(quantidade).build()))
+                .build();
+    }
+
+    private Usuario criarUsuario(String email) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail(email);
+        return usuarioRepository.save(usuario);
+    }
+
+    private Produto criarProduto(Usuario usuario, String nome, int estoque) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(new BigDecimal("9.90"));
+        produto.setQuantidadeEstoque(estoque);
+        produto.setUsuario(usuario);
+        return produtoRepository.save(produto);
+    }
+
+    private Caixa criarCaixa(Usuario usuario) {
+        Caixa caixa = new Caixa();
+        caixa.setAbertoPor(usuario.getEmail());
+        caixa.setUsuario(usuario);
+        return caixaRepository.save(caixa);
+    }
+}
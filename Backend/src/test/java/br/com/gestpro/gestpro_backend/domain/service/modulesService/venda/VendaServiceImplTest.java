@@ -1,7 +1,10 @@
 package br.com.gestpro.gestpro_backend.domain.service.modulesService.venda;
 
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.ItemVendaProjecao;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.PaginaVendasDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO;
 import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.RegistrarVendaDTO.ItemVendaDTO;
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResumoProjecao;
 import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
 import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
 import br.com.gestpro.gestpro_backend.domain.model.modules.produto.Produto;
@@ -11,17 +14,30 @@ import br.com.gestpro.gestpro_backend.domain.repository.modules.CaixaRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.ClienteRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.ProdutoRepository;
 import br.com.gestpro.gestpro_backend.domain.repository.modules.VendaRepository;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.PublicarVendasConfirmadasOperation;
+import br.com.gestpro.gestpro_backend.domain.service.modulesService.dashboard.ResumoVendasDiarioOperation;
+import br.com.gestpro.gestpro_backend.infra.concorrencia.TravasPorCaixa;
 import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,13 +55,26 @@ class VendaServiceImplTest {
     private CaixaRepository caixaRepository;
     @Mock
     private ClienteRepository clienteRepository;
+    @Mock
+    private TravasPorCaixa travasPorCaixa;
+    @Mock
+    private ResumoVendasDiarioOperation resumoVendasDiario;
+    @Mock
+    private PublicarVendasConfirmadasOperation vendasConfirmadas;
+    @Mock
+    private BaixaEstoqueOperation baixaEstoque;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private VendaServiceImpl vendaService;
 
     @BeforeEach
     void setup() {
-        // MockitoExtension já inicializa os mocks automaticamente
+        // MockitoExtension já inicializa os mocks automaticamente; a trava só executa a operação
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        lenient().when(travasPorCaixa.executarComTrava(nullable(Long.class), anyString(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(2).get());
     }
 
     @Test
@@ -56,7 +85,7 @@ class VendaServiceImplTest {
                 .emailUsuario("u@teste.com")
                 .idCaixa(10L)
                 .itens(List.of(item))
-                .desconto(BigDecimal.ZERO)
+                .desconto(new BigDecimal("5.00"))
                 .build();
 
         // mocks
@@ -66,6 +95,7 @@ class VendaServiceImplTest {
 
         Caixa caixa = new Caixa();
         caixa.setId(10L);
+        caixa.setUsuario(usuario);
         caixa.setTotalVendas(BigDecimal.ZERO);
         when(caixaRepository.findById(10L)).thenReturn(Optional.of(caixa));
 
@@ -74,7 +104,7 @@ class VendaServiceImplTest {
         produto.setNome("Produto X");
         produto.setPreco(new BigDecimal("10.00"));
         produto.setQuantidadeEstoque(5);
-        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto));
 
         when(vendaRepository.save(any(Venda.class))).thenAnswer(invocation -> {
             Venda v = invocation.getArgument(0);
@@ -88,14 +118,93 @@ class VendaServiceImplTest {
         // verificações básicas
         assertNotNull(resultado, "Venda não deve ser nula");
         assertEquals(100L, resultado.getId(), "ID da venda salva deve ser 100L");
+        assertEquals(new BigDecimal("5.00"), resultado.getDesconto(), "Desconto é gravado na venda, como no lote");
+        assertEquals(new BigDecimal("15.00"), resultado.getValorFinal());
 
-        // produto estoque diminuiu de 5 para 3
-        assertEquals(3, produto.getQuantidadeEstoque(), "Estoque do produto deve ter sido decrementado");
+        // estoque baixado em um batch de UPDATEs condicionais (2 unidades do produto 1)
+        verify(baixaEstoque, times(1)).baixar(eq(Map.of(1L, 2)), anyMap(), eq("/api/vendas"));
 
         // interações com repositórios
-        verify(produtoRepository, times(1)).save(produto);
-        verify(caixaRepository, times(1)).save(caixa);
+        verify(produtoRepository, times(1)).findAllById(anyCollection());
+        verify(produtoRepository, never()).save(any());
+        verify(caixaRepository, times(1)).incrementarTotalVendas(10L, new BigDecimal("15.00"));
+        verify(caixaRepository, never()).save(any());
         verify(vendaRepository, times(1)).save(any(Venda.class));
+        verify(resumoVendasDiario, times(1)).registrar(List.of(resultado));
+    }
+
+    @Test
+    void registrarVenda_caixaFechado_deveLancarApiExceptionSemTocarEstoque() {
+        RegistrarVendaDTO dto = RegistrarVendaDTO.builder()
+                .emailUsuario("u@teste.com")
+                .idCaixa(10L)
+                .itens(List.of(ItemVendaDTO.builder().idProduto(1L).quantidade(1).build()))
+                .build();
+
+        Usuario usuario = new Usuario();
+        usuario.setId(5L);
+        when(usuarioRepository.findByEmail("u@teste.com")).thenReturn(Optional.of(usuario));
+        Caixa caixa = new Caixa();
+        caixa.setId(10L);
+        caixa.setUsuario(usuario);
+        caixa.setAberto(false);
+        when(caixaRepository.findById(10L)).thenReturn(Optional.of(caixa));
+
+        ApiException ex = assertThrows(ApiException.class, () -> vendaService.registrarVenda(dto));
+        assertEquals("Caixa está fechado", ex.getMessage());
+
+        // a trava do caixa é pega antes de abrir a transação, e esta antes de ler o estado dele
+        var ordem = inOrder(travasPorCaixa, transactionManager, caixaRepository);
+        ordem.verify(travasPorCaixa).executarComTrava(eq(10L), eq("/api/vendas"), any());
+        ordem.verify(transactionManager).getTransaction(any());
+        ordem.verify(caixaRepository).findById(10L);
+        ordem.verify(transactionManager).rollback(any());
+        verifyNoInteractions(baixaEstoque);
+    }
+
+    @Test
+    void registrarVenda_quantidadeNaoPositiva_deveLancarApiExceptionSemTocarEstoque() {
+        RegistrarVendaDTO dto = RegistrarVendaDTO.builder()
+                .emailUsuario("u@teste.com")
+                .idCaixa(10L)
+                .itens(List.of(ItemVendaDTO.builder().idProduto(1L).quantidade(-3).build()))
+                .build();
+
+        Usuario usuario = new Usuario();
+        usuario.setId(5L);
+        when(usuarioRepository.findByEmail("u@teste.com")).thenReturn(Optional.of(usuario));
+        Caixa caixa = new Caixa();
+        caixa.setId(10L);
+        caixa.setUsuario(usuario);
+        when(caixaRepository.findById(10L)).thenReturn(Optional.of(caixa));
+
+        ApiException ex = assertThrows(ApiException.class, () -> vendaService.registrarVenda(dto));
+        assertEquals("Quantidade deve ser maior que zero", ex.getMessage());
+        verifyNoInteractions(baixaEstoque);
+    }
+
+    @Test
+    void registrarVenda_caixaDeOutroUsuario_deveLancar403SemTocarEstoque() {
+        RegistrarVendaDTO dto = RegistrarVendaDTO.builder()
+                .emailUsuario("u@teste.com")
+                .idCaixa(10L)
+                .itens(List.of(ItemVendaDTO.builder().idProduto(1L).quantidade(1).build()))
+                .build();
+
+        Usuario usuario = new Usuario();
+        usuario.setId(5L);
+        Usuario dono = new Usuario();
+        dono.setId(6L);
+        when(usuarioRepository.findByEmail("u@teste.com")).thenReturn(Optional.of(usuario));
+        Caixa caixa = new Caixa();
+        caixa.setId(10L);
+        caixa.setUsuario(dono);
+        when(caixaRepository.findById(10L)).thenReturn(Optional.of(caixa));
+
+        ApiException ex = assertThrows(ApiException.class, () -> vendaService.registrarVenda(dto));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatus());
+        verifyNoInteractions(baixaEstoque);
+        verify(vendaRepository, never()).save(any());
     }
 
     @Test
@@ -113,6 +222,7 @@ class VendaServiceImplTest {
 
         Caixa caixa = new Caixa();
         caixa.setId(11L);
+        caixa.setUsuario(usuario);
         caixa.setTotalVendas(BigDecimal.ZERO);
         when(caixaRepository.findById(11L)).thenReturn(Optional.of(caixa));
 
@@ -121,13 +231,171 @@ class VendaServiceImplTest {
         produto.setNome("Produto Y");
         produto.setPreco(new BigDecimal("5.00"));
         produto.setQuantidadeEstoque(3); // estoque insuficiente
-        when(produtoRepository.findById(2L)).thenReturn(Optional.of(produto));
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto));
 
         ApiException ex = assertThrows(ApiException.class, () -> vendaService.registrarVenda(dto));
         assertTrue(ex.getMessage().contains("Estoque insuficiente"));
 
         // Não deve salvar nada se houve erro
-        verify(produtoRepository, never()).save(any());
+        verifyNoInteractions(baixaEstoque);
+        verify(vendaRepository, never()).save(any());
+    }
+
+    @Test
+    void registrarVenda_estoqueConsumidoPorOutraVenda_deveLancarApiException() {
+        ItemVendaDTO item = ItemVendaDTO.builder().idProduto(4L).quantidade(1).build();
+        RegistrarVendaDTO dto = RegistrarVendaDTO.builder()
+                .emailUsuario("u5@teste.com")
+                .idCaixa(14L)
+                .itens(List.of(item))
+                .build();
+
+        Usuario usuario = new Usuario();
+        usuario.setId(9L);
+        when(usuarioRepository.findByEmail("u5@teste.com")).thenReturn(Optional.of(usuario));
+
+        Caixa caixa = new Caixa();
+        caixa.setId(14L);
+        caixa.setUsuario(usuario);
+        when(caixaRepository.findById(14L)).thenReturn(Optional.of(caixa));
+
+        Produto produto = new Produto();
+        produto.setId(4L);
+        produto.setNome("Produto W");
+        produto.setPreco(new BigDecimal("3.00"));
+        produto.setQuantidadeEstoque(1); // leitura ainda mostra saldo...
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto));
+        // ...mas outra venda levou a última unidade antes do UPDATE
+        doThrow(new ApiException("Estoque insuficiente para o produto: Produto W", HttpStatus.BAD_REQUEST, "/api/vendas"))
+                .when(baixaEstoque).baixar(eq(Map.of(4L, 1)), anyMap(), eq("/api/vendas"));
+
+        ApiException ex = assertThrows(ApiException.class, () -> vendaService.registrarVenda(dto));
+        assertTrue(ex.getMessage().contains("Estoque insuficiente"));
         verify(vendaRepository, never()).save(any());
+        verify(caixaRepository, never()).incrementarTotalVendas(anyLong(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 40})
+    void registrarVenda_carrinhoGrande_carregaProdutosEmUmaUnicaConsulta(int tamanhoCarrinho) {
+        Usuario usuario = new Usuario();
+        usuario.setId(7L);
+        when(usuarioRepository.findByEmail("u3@teste.com")).thenReturn(Optional.of(usuario));
+
+        Caixa caixa = new Caixa();
+        caixa.setId(12L);
+        caixa.setUsuario(usuario);
+        caixa.setTotalVendas(BigDecimal.ZERO);
+        when(caixaRepository.findById(12L)).thenReturn(Optional.of(caixa));
+
+        List<ItemVendaDTO> itens = new ArrayList<>();
+        List<Produto> produtos = new ArrayList<>();
+        for (long id = 1; id <= tamanhoCarrinho; id++) {
+            itens.add(ItemVendaDTO.builder().idProduto(id).quantidade(1).build());
+
+            Produto produto = new Produto();
+            produto.setId(id);
+            produto.setNome("Produto " + id);
+            produto.setPreco(new BigDecimal("1.00"));
+            produto.setQuantidadeEstoque(10);
+            produtos.add(produto);
+        }
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(produtos);
+        when(vendaRepository.save(any(Venda.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RegistrarVendaDTO dto = RegistrarVendaDTO.builder()
+                .emailUsuario("u3@teste.com")
+                .idCaixa(12L)
+                .itens(itens)
+                .desconto(BigDecimal.ZERO)
+                .build();
+
+        Venda resultado = vendaService.registrarVenda(dto);
+
+        assertEquals(tamanhoCarrinho, resultado.getItens().size());
+        assertEquals(new BigDecimal("1.00").multiply(BigDecimal.valueOf(tamanhoCarrinho)), resultado.getTotal());
+
+        // uma única leitura de produtos e uma única escrita de estoque (um batch com um UPDATE por produto)
+        verify(produtoRepository, times(1)).findAllById(anyCollection());
+        verify(baixaEstoque, times(1)).baixar(argThat(baixas -> baixas.size() == tamanhoCarrinho), anyMap(), eq("/api/vendas"));
+        verify(produtoRepository, never()).findById(any());
+        verify(produtoRepository, never()).save(any());
+    }
+
+    @Test
+    void registrarVenda_produtoRepetido_somaQuantidadesAntesDeValidarEstoque() {
+        ItemVendaDTO linha1 = ItemVendaDTO.builder().idProduto(3L).quantidade(2).build();
+        ItemVendaDTO linha2 = ItemVendaDTO.builder().idProduto(3L).quantidade(2).build();
+        RegistrarVendaDTO dto = RegistrarVendaDTO.builder()
+                .emailUsuario("u4@teste.com")
+                .idCaixa(13L)
+                .itens(List.of(linha1, linha2))
+                .build();
+
+        Usuario usuario = new Usuario();
+        usuario.setId(8L);
+        when(usuarioRepository.findByEmail("u4@teste.com")).thenReturn(Optional.of(usuario));
+
+        Caixa caixa = new Caixa();
+        caixa.setId(13L);
+        caixa.setUsuario(usuario);
+        when(caixaRepository.findById(13L)).thenReturn(Optional.of(caixa));
+
+        Produto produto = new Produto();
+        produto.setId(3L);
+        produto.setNome("Produto Z");
+        produto.setPreco(new BigDecimal("2.00"));
+        produto.setQuantidadeEstoque(3); // cada linha cabe no estoque, a soma não
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto));
+
+        ApiException ex = assertThrows(ApiException.class, () -> vendaService.registrarVenda(dto));
+        assertTrue(ex.getMessage().contains("Estoque insuficiente"));
+        assertEquals(3, produto.getQuantidadeEstoque());
+    }
+
+    @Test
+    void listarPorCaixaPaginado_buscaItensDaPaginaEmUmaConsultaEDevolveCursor() {
+        LocalDateTime agora = LocalDateTime.of(2026, 1, 1, 12, 0);
+        VendaResumoProjecao v3 = resumo(3L, agora);
+        VendaResumoProjecao v2 = resumo(2L, agora.minusMinutes(1));
+        VendaResumoProjecao v1 = resumo(1L, agora.minusMinutes(2));
+        // tamanho 2: o repositório recebe limite 3 para detectar a próxima página
+        when(vendaRepository.listarResumoPorCaixa(eq(10L), eq(Limit.of(3)))).thenReturn(List.of(v3, v2, v1));
+
+        ItemVendaProjecao item = mock(ItemVendaProjecao.class);
+        when(item.getIdVenda()).thenReturn(3L);
+        when(item.getNomeProduto()).thenReturn("Produto X");
+        when(vendaRepository.listarItensPorVendas(List.of(3L, 2L))).thenReturn(List.of(item));
+
+        PaginaVendasDTO pagina = vendaService.listarPorCaixaPaginado(10L, null, null, 2);
+
+        assertEquals(2, pagina.getVendas().size());
+        assertTrue(pagina.isTemMais());
+        assertEquals(2L, pagina.getProximoId());
+        assertEquals(agora.minusMinutes(1), pagina.getProximaData());
+        assertEquals(1, pagina.getVendas().get(0).getItens().size());
+        assertTrue(pagina.getVendas().get(1).getItens().isEmpty());
+        verify(vendaRepository, times(1)).listarItensPorVendas(anyCollection());
+        verify(vendaRepository, never()).findByCaixaId(any());
+    }
+
+    @Test
+    void listarPorCaixaPaginado_comCursor_usaConsultaKeyset() {
+        LocalDateTime cursor = LocalDateTime.of(2026, 1, 1, 11, 59);
+        when(vendaRepository.listarResumoPorCaixaApos(10L, cursor, 2L, Limit.of(51))).thenReturn(List.of());
+
+        PaginaVendasDTO pagina = vendaService.listarPorCaixaPaginado(10L, cursor, 2L, 50);
+
+        assertTrue(pagina.getVendas().isEmpty());
+        assertFalse(pagina.isTemMais());
+        assertNull(pagina.getProximoId());
+        verify(vendaRepository, never()).listarItensPorVendas(any());
+    }
+
+    private VendaResumoProjecao resumo(Long id, LocalDateTime dataVenda) {
+        VendaResumoProjecao resumo = mock(VendaResumoProjecao.class);
+        lenient().when(resumo.getId()).thenReturn(id);
+        lenient().when(resumo.getDataVenda()).thenReturn(dataVenda);
+        return resumo;
     }
 }
@@ -0,0 +1,175 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duas "instâncias" com o mesmo L2 (ConcurrentMapCacheManager no lugar do Redis) e um canal em memória
+ * no lugar do pub/sub.
+ */
+class CacheManagerDoisNiveisTest {
+
+    private static final String CACHE = "dashboard-v2";
+
+    private ConcurrentMapCacheManager redis;
+    private CacheManagerDoisNiveis instanciaA;
+    private CacheManagerDoisNiveis instanciaB;
+
+    @BeforeEach
+    void setup() {
+        redis = new ConcurrentMapCacheManager();
+        List<CacheManagerDoisNiveis> inscritos = new ArrayList<>();
+        instanciaA = new CacheManagerDoisNiveis(redis, Duration.ofMinutes(1), 100, false,
+                mensagem -> inscritos.forEach(m -> m.aplicarInvalidacao(mensagem)));
+        instanciaB = new CacheManagerDoisNiveis(redis, Duration.ofMinutes(1), 100, false,
+                mensagem -> inscritos.forEach(m -> m.aplicarInvalidacao(mensagem)));
+        inscritos.add(instanciaA);
+        inscritos.add(instanciaB);
+    }
+
+    @Test
+    void get_segundaLeituraSaiDoL1SemIrAoRedis() {
+        redis.getCache(CACHE).put("loja@teste.com", "v1");
+        Cache cache = instanciaA.getCache(CACHE);
+
+        assertEquals("v1", cache.get("loja@teste.com", String.class));
+
+        // alteração direta no Redis, sem invalidação: a instância continua servindo a cópia local
+        redis.getCache(CACHE).put("loja@teste.com", "alterado");
+        assertEquals("v1", cache.get("loja@teste.com", String.class));
+    }
+
+    @Test
+    void evict_emUmaInstancia_descartaL1DasOutras() {
+        Cache cacheA = instanciaA.getCache(CACHE);
+        Cache cacheB = instanciaB.getCache(CACHE);
+        cacheA.put("loja@teste.com", "v1");
+        assertEquals("v1", cacheB.get("loja@teste.com", String.class)); // B guarda no L1
+
+        cacheA.evict("loja@teste.com");
+
+        assertNull(cacheB.get("loja@teste.com"));
+        assertNull(redis.getCache(CACHE).get("loja@teste.com"));
+    }
+
+    @Test
+    void put_emUmaInstancia_outrasLeemValorNovo_eAPropriaMantemL1() {
+        Cache cacheA = instanciaA.getCache(CACHE);
+        Cache cacheB = instanciaB.getCache(CACHE);
+        cacheA.put("loja@teste.com", "v1");
+        assertEquals("v1", cacheB.get("loja@teste.com", String.class));
+
+        cacheA.put("loja@teste.com", "v2");
+
+        assertEquals("v2", cacheB.get("loja@teste.com", String.class));
+        // a mensagem da própria instância é ignorada: A continua no L1
+        redis.getCache(CACHE).put("loja@teste.com", "alterado");
+        assertEquals("v2", cacheA.get("loja@teste.com", String.class));
+    }
+
+    @Test
+    void clear_limpaL1DeTodasAsInstancias() {
+        Cache cacheA = instanciaA.getCache(CACHE);
+        Cache cacheB = instanciaB.getCache(CACHE);
+        cacheA.put("a@teste.com", 1);
+        cacheA.put("b@teste.com", 2);
+        assertEquals(1, cacheB.get("a@teste.com", Integer.class));
+        assertEquals(2, cacheB.get("b@teste.com", Integer.class));
+
+        cacheA.clear();
+
+        assertNull(cacheB.get("a@teste.com"));
+        assertNull(cacheB.get("b@teste.com"));
+    }
+
+    @Test
+    void getComLoader_acessosSimultaneos_calculamUmaVez() throws Exception {
+        Cache cache = instanciaA.getCache(CACHE);
+        AtomicInteger calculos = new AtomicInteger();
+        Callable<String> loader = () -> {
+            calculos.incrementAndGet();
+            Thread.sleep(200);
+            return "calculado";
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                resultados.add(pool.submit(() -> {
+                    largada.await();
+                    return cache.get("loja@teste.com", loader);
+                }));
+            }
+            largada.countDown();
+            for (Future<String> resultado : resultados) {
+                assertEquals("calculado", resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, calculos.get());
+    }
+
+    @Test
+    void getComLoader_aposRemocao_serveValorAntigoERecalculaEmSegundoPlano() throws Exception {
+        ExecutorService recalculo = Executors.newSingleThreadExecutor();
+        try {
+            CacheManagerDoisNiveis manager = new CacheManagerDoisNiveis(redis, Duration.ofMinutes(1), 100, false, m -> {
+            }, new OpcoesRecalculo(Set.of(CACHE), Duration.ofMinutes(1), recalculo, null, Duration.ZERO, Duration.ZERO));
+            Cache cache = manager.getCache(CACHE);
+            cache.put("loja@teste.com", "v1");
+            cache.evict("loja@teste.com");
+
+            CountDownLatch liberarCalculo = new CountDownLatch(1);
+            String servido = cache.get("loja@teste.com", () -> {
+                liberarCalculo.await();
+                return "v2";
+            });
+            assertEquals("v1", servido); // não esperou o cálculo
+
+            liberarCalculo.countDown();
+            recalculo.shutdown();
+            assertTrue(recalculo.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals("v2", cache.get("loja@teste.com", String.class));
+        } finally {
+            recalculo.shutdownNow();
+        }
+    }
+
+    @Test
+    void getComLoader_travaComOutraInstancia_usaOValorQueElaGravar() {
+        TravaDistribuida ocupada = new TravaDistribuida() {
+            @Override
+            public String adquirir(String chave, Duration ttl) {
+                // a outra instância termina o cálculo enquanto esperamos
+                redis.getCache(CACHE).put("loja@teste.com", "da-outra-instancia");
+                return null;
+            }
+
+            @Override
+            public void liberar(String chave, String token) {
+                fail("não adquiriu a trava");
+            }
+        };
+        CacheManagerDoisNiveis manager = new CacheManagerDoisNiveis(redis, Duration.ofMinutes(1), 100, false, m -> {
+        }, new OpcoesRecalculo(Set.of(), Duration.ZERO, Runnable::run, ocupada, Duration.ofSeconds(10), Duration.ofSeconds(2)));
+
+        String valor = manager.getCache(CACHE).get("loja@teste.com", () -> fail("não deveria calcular"));
+
+        assertEquals("da-outra-instancia", valor);
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.*;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.infra.config.CacheConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Valores do cache do dashboard gravados e lidos pelo serializador JSON anterior contra o
+ * {@link SerializadorCacheBinario}. Os métodos {@code serializar} e {@code desserializar} medem cada lado
+ * separadamente; o contador {@code bytes} traz o tamanho gravado no Redis (é fixo por valor, então aparece igual
+ * em todas as iterações). Não roda com os testes; depois de {@code mvn test-compile}:
+ *
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main SerializadorCacheBinarioBenchmark
+ * </pre>
+ *
+ * {@code produtos200} passa do limite de compressão (512 bytes, o padrão de app.cache.serializador.comprimir-acima-bytes) no
+ * binário, então inclui o custo do Deflate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializadorCacheBinarioBenchmark {
+
+    @Param({"json", "binario"})
+    public String formato;
+
+    @Param({"visaoGeral", "vendasDiarias", "metodosPagamento", "produtos10", "produtos200"})
+    public String valor;
+
+    private RedisSerializer<Object> serializador;
+    private Object objeto;
+    private byte[] gravado;
+
+    @Setup
+    public void setup() {
+        GenericJackson2JsonRedisSerializer json = CacheConfig.serializadorJson();
+        serializador = "json".equals(formato) ? json : new SerializadorCacheBinario(CodecsDashboard.todos(), json, 512);
+        objeto = switch (valor) {
+            case "visaoGeral" -> new DashboardVisaoGeralResponse(3L, 10L, 1L, null, 21L, new PlanoDTO("PRO", 12),
+                    List.of("Produto Café está com estoque zerado!", "Vendas da semana abaixo do esperado"));
+            case "vendasDiarias" -> diarias();
+            // ArrayList como nas consultas: List.of é final e o JSON com NON_FINAL não consegue relê-la
+            case "metodosPagamento" -> new ArrayList<>(List.of(new MetodoPagamentoDTO(FormaDePagamento.PIX, 4L),
+                    new MetodoPagamentoDTO(FormaDePagamento.DINHEIRO, 2L)));
+            case "produtos10" -> produtos(10);
+            case "produtos200" -> produtos(200);
+            default -> throw new IllegalArgumentException(valor);
+        };
+        gravado = serializador.serialize(objeto);
+    }
+
+    /**
+     * Tamanho do valor gravado, em bytes.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Tamanho {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void medir(SerializadorCacheBinarioBenchmark benchmark) {
+            bytes = benchmark.gravado.length;
+        }
+    }
+
+    @Benchmark
+    public byte[] serializar(Tamanho tamanho) {
+        return serializador.serialize(objeto);
+    }
+
+    @Benchmark
+    public Object desserializar() {
+        return serializador.deserialize(gravado);
+    }
+
+    private static List<VendasDiariasDTO> diarias() {
+        List<VendasDiariasDTO> dias = new ArrayList<>();
+        String[] nomes = {"SEG", "TER", "QUA", "QUI", "SEX", "SAB", "DOM"};
+        for (int i = 0; i < nomes.length; i++) {
+            dias.add(new VendasDiariasDTO(nomes[i], i * 15.25));
+        }
+        return dias;
+    }
+
+    private static List<ProdutoVendasDTO> produtos(int quantidade) {
+        List<ProdutoVendasDTO> produtos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            produtos.add(new ProdutoVendasDTO("Produto " + i, (long) i));
+        }
+        return produtos;
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.gestpro.gestpro_backend.infra.cache;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.dashboard.*;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.infra.config.CacheConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializadorCacheBinarioTest {
+
+    private final GenericJackson2JsonRedisSerializer json = CacheConfig.serializadorJson();
+    private final SerializadorCacheBinario binario = new SerializadorCacheBinario(CodecsDashboard.todos(), json, 512);
+
+    @Test
+    void visaoGeral_idaEVolta() {
+        DashboardVisaoGeralResponse lido = (DashboardVisaoGeralResponse) binario.deserialize(binario.serialize(visaoGeral()));
+
+        assertEquals(3L, lido.getVendasHoje());
+        assertNull(lido.getClientesAtivos());
+        assertEquals("PRO", lido.getPlanoUsuario().getTipoPlano());
+        assertEquals(12L, lido.getPlanoUsuario().getDiasRestantes());
+        assertEquals(List.of("Produto Café está com estoque zerado!", "Vendas da semana abaixo do esperado"), lido.getAlertas());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listas_idaEVolta_incluindoVazia() {
+        List<MetodoPagamentoDTO> metodos = (List<MetodoPagamentoDTO>) binario.deserialize(binario.serialize(
+                List.of(new MetodoPagamentoDTO(FormaDePagamento.PIX, 4L), new MetodoPagamentoDTO(null, 1L))));
+        assertEquals("PIX", metodos.get(0).getMetodo());
+        assertNull(metodos.get(1).getMetodo());
+        assertEquals(1L, metodos.get(1).getTotal());
+
+        List<VendasDiariasDTO> diarias = (List<VendasDiariasDTO>) binario.deserialize(binario.serialize(diarias()));
+        assertEquals("QUA", diarias.get(2).getDia());
+        assertEquals(30.5, diarias.get(2).getTotal(), 0.0);
+
+        assertEquals(List.of(), binario.deserialize(binario.serialize(List.of())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listaGrande_comprimidaAcimaDoLimite() {
+        List<ProdutoVendasDTO> produtos = produtos(200);
+        byte[] semCompressao = new SerializadorCacheBinario(CodecsDashboard.todos(), json, Integer.MAX_VALUE).serialize(produtos);
+        byte[] comCompressao = binario.serialize(produtos);
+
+        assertTrue(comCompressao.length < semCompressao.length);
+        List<ProdutoVendasDTO> lido = (List<ProdutoVendasDTO>) binario.deserialize(comCompressao);
+        assertEquals(200, lido.size());
+        assertEquals("Produto 199", lido.get(199).getNome());
+    }
+
+    @Test
+    void tiposSemCodecEEntradasJsonAntigas_passamPeloJson() {
+        PlanoDTO antigo = (PlanoDTO) binario.deserialize(json.serialize(new PlanoDTO("BASICO", 3)));
+        assertEquals("BASICO", antigo.getTipoPlano());
+
+        assertEquals("texto", binario.deserialize(binario.serialize("texto")));
+    }
+
+    @Test
+    void versaoDoCodecDiferente_lidaComoAusente() {
+        byte[] gravado = binario.serialize(new PlanoDTO("PRO", 12));
+        byte[] listaGravada = binario.serialize(List.of(new PlanoDTO("PRO", 12)));
+
+        SerializadorCacheBinario novaVersao = new SerializadorCacheBinario(
+                List.of(comVersao(CodecsDashboard.PLANO, (byte) 2)), json, 512);
+
+        assertNull(novaVersao.deserialize(gravado));
+        assertNull(novaVersao.deserialize(listaGravada));
+        assertEquals(List.of(), novaVersao.deserialize(binario.serialize(List.of())));
+    }
+
+    @Test
+    void formatoBinarioAnteriorSemVersao_lidoComoAusente() {
+        byte[] gravado = binario.serialize(visaoGeral());
+        gravado[0] = (byte) 0xB1;
+
+        assertNull(binario.deserialize(gravado));
+    }
+
+    /**
+     * Tempo de ida e volta fica no SerializadorCacheBinarioBenchmark; aqui só o tamanho, que é determinístico.
+     */
+    @Test
+    void tamanhoMenorQueMetadeDoJson() {
+        List<Object> valores = List.of(visaoGeral(), diarias(), produtos(10),
+                // ArrayList como nas consultas: List.of é final e o JSON com NON_FINAL não consegue relê-la
+                new ArrayList<>(List.of(new MetodoPagamentoDTO(FormaDePagamento.PIX, 4L), new MetodoPagamentoDTO(FormaDePagamento.DINHEIRO, 2L))));
+
+        for (Object valor : valores) {
+            int bytesJson = json.serialize(valor).length;
+            int bytesBinario = binario.serialize(valor).length;
+            assertTrue(bytesBinario < bytesJson / 2, valor.getClass().getSimpleName() + ": " + bytesBinario + " >= " + bytesJson + "/2");
+        }
+    }
+
+    private static <T> CodecCache<T> comVersao(CodecCache<T> codec, byte versao) {
+        return new CodecCache<>() {
+            public byte id() {
+                return codec.id();
+            }
+
+            public byte versao() {
+                return versao;
+            }
+
+            public Class<T> tipo() {
+                return codec.tipo();
+            }
+
+            public void escrever(T valor, DataOutputStream out) throws IOException {
+                codec.escrever(valor, out);
+            }
+
+            public T ler(DataInputStream in) throws IOException {
+                return codec.ler(in);
+            }
+        };
+    }
+
+    private static DashboardVisaoGeralResponse visaoGeral() {
+        return new DashboardVisaoGeralResponse(3L, 10L, 1L, null, 21L, new PlanoDTO("PRO", 12),
+                List.of("Produto Café está com estoque zerado!", "Vendas da semana abaixo do esperado"));
+    }
+
+    private static List<VendasDiariasDTO> diarias() {
+        List<VendasDiariasDTO> dias = new ArrayList<>();
+        String[] nomes = {"SEG", "TER", "QUA", "QUI", "SEX", "SAB", "DOM"};
+        for (int i = 0; i < nomes.length; i++) {
+            dias.add(new VendasDiariasDTO(nomes[i], i * 15.25));
+        }
+        return dias;
+    }
+
+    private static List<ProdutoVendasDTO> produtos(int quantidade) {
+        List<ProdutoVendasDTO> produtos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            produtos.add(new ProdutoVendasDTO("Produto " + i, (long) i));
+        }
+        return produtos;
+    }
+}
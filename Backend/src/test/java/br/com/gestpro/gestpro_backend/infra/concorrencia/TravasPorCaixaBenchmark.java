@@ -0,0 +1,173 @@
+package br.com.gestpro.gestpro_backend.infra.concorrencia;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vendas concorrentes somando no total do mesmo caixa: o comportamento anterior (cada transação lê o caixa, grava
+ * com {@code WHERE version = ?} e, se perder a corrida, refaz tudo, como o PDV faz ao receber o conflito) contra
+ * a trava por caixa ({@link TravasPorCaixa}) antes da transação, que mantém o mesmo UPDATE com versão.
+ *
+ * Roda com 16 threads (terminais), cada uma com sua conexão. O modo SampleTime reporta a distribuição da latência
+ * por venda (p0.99, p0.999), incluindo as retentativas; o contador {@code retentativas} mostra quantas transações
+ * foram refeitas. Com {@code caixas=1} todos os terminais disputam o mesmo caixa; com {@code caixas=16}, cada um
+ * tem o seu e a trava não deve custar nada. Não roda com os testes; depois de {@code mvn test-compile}:
+ *
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main TravasPorCaixaBenchmark
+ * </pre>
+ *
+ * Por padrão usa um H2 em memória; para medir contra o banco real, aponte {@code -p url=...} para um schema
+ * descartável (a tabela {@code caixa_benchmark} é criada e apagada pelo benchmark), com {@code -p usuario} e
+ * {@code -p senha}. A trava só serializa dentro de uma JVM: com várias instâncias, a disputa entre elas continua
+ * caindo na versão, como no comportamento anterior.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class TravasPorCaixaBenchmark {
+
+    private static final String PATH = "/benchmark";
+    private static final BigDecimal VALOR_VENDA = new BigDecimal("9.90");
+
+    @Param({"1", "16"})
+    public int caixas;
+
+    @Param("jdbc:h2:mem:travas-caixa-benchmark;DB_CLOSE_DELAY=-1")
+    public String url;
+
+    @Param("sa")
+    public String usuario;
+
+    @Param("")
+    public String senha;
+
+    private SingleConnectionDataSource dataSourceSetup;
+    private TravasPorCaixa travas;
+
+    @Setup
+    public void setup() {
+        dataSourceSetup = new SingleConnectionDataSource(url, usuario, senha, true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSourceSetup);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS caixa_benchmark");
+        jdbcTemplate.execute("CREATE TABLE caixa_benchmark (id BIGINT PRIMARY KEY, " +
+                "total_vendas DECIMAL(19, 2) NOT NULL, version BIGINT NOT NULL)");
+        List<Object[]> linhas = new ArrayList<>();
+        for (long id = 1; id <= caixas; id++) {
+            linhas.add(new Object[]{id, BigDecimal.ZERO, 0L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO caixa_benchmark (id, total_vendas, version) VALUES (?, ?, ?)", linhas);
+
+        travas = new TravasPorCaixa(5000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        new JdbcTemplate(dataSourceSetup).execute("DROP TABLE IF EXISTS caixa_benchmark");
+        dataSourceSetup.destroy();
+    }
+
+    /**
+     * Um terminal: conexão própria e o caixa em que vende.
+     */
+    @State(Scope.Thread)
+    public static class Terminal {
+
+        private SingleConnectionDataSource dataSource;
+        private JdbcTemplate jdbcTemplate;
+        private TransactionTemplate transactionTemplate;
+        private long idCaixa;
+
+        @Setup
+        public void setup(TravasPorCaixaBenchmark benchmark, ThreadParams thread) {
+            dataSource = new SingleConnectionDataSource(benchmark.url, benchmark.usuario, benchmark.senha, true);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            idCaixa = thread.getThreadIndex() % benchmark.caixas + 1;
+        }
+
+        @TearDown
+        public void tearDown() {
+            dataSource.destroy();
+        }
+    }
+
+    /**
+     * Transações refeitas por conflito de versão (ou de trava de linha no banco), por iteração.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Contadores {
+
+        public long retentativas;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            retentativas = 0;
+        }
+    }
+
+    /**
+     * Comportamento anterior: só a versão protege o total, e quem perde a corrida refaz a transação.
+     */
+    @Benchmark
+    public int versaoERetentativa(Terminal terminal, Contadores contadores) {
+        return somarComRetentativa(terminal, contadores);
+    }
+
+    /**
+     * Trava do caixa antes da transação; a versão continua no UPDATE, só deixa de perder corridas na mesma JVM.
+     */
+    @Benchmark
+    public int travaPorCaixa(Terminal terminal, Contadores contadores) {
+        return travas.executarComTrava(terminal.idCaixa, PATH, () -> somarComRetentativa(terminal, contadores));
+    }
+
+    private static int somarComRetentativa(Terminal terminal, Contadores contadores) {
+        int tentativas = 1;
+        while (!somar(terminal)) {
+            contadores.retentativas++;
+            tentativas++;
+        }
+        return tentativas;
+    }
+
+    /**
+     * Lê o caixa e grava o novo total condicionado à versão lida, em uma transação.
+     *
+     * @return false se outra transação gravou o caixa antes (a venda precisa ser refeita)
+     */
+    private static boolean somar(Terminal terminal) {
+        try {
+            Boolean gravou = terminal.transactionTemplate.execute(status -> {
+                Map<String, Object> caixa = terminal.jdbcTemplate.queryForMap(
+                        "SELECT total_vendas, version FROM caixa_benchmark WHERE id = ?", terminal.idCaixa);
+                BigDecimal total = (BigDecimal) caixa.get("total_vendas");
+                long versao = ((Number) caixa.get("version")).longValue();
+                return terminal.jdbcTemplate.update(
+                        "UPDATE caixa_benchmark SET total_vendas = ?, version = version + 1 WHERE id = ? AND version = ?",
+                        total.add(VALOR_VENDA), terminal.idCaixa, versao) == 1;
+            });
+            return Boolean.TRUE.equals(gravou);
+        } catch (TransientDataAccessException e) {
+            // conflito de trava de linha ou deadlock no banco: também vira retentativa
+            return false;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.gestpro.gestpro_backend.infra.concorrencia;
+
+import br.com.gestpro.gestpro_backend.infra.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TravasPorCaixaTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERACOES_POR_THREAD = 200;
+
+    @Test
+    void mesmoCaixa_operacoesConcorrentesSaoSerializadas() throws Exception {
+        TravasPorCaixa travas = new TravasPorCaixa(5000);
+        AtomicInteger dentro = new AtomicInteger();
+        AtomicInteger maximoSimultaneo = new AtomicInteger();
+        int[] total = {0}; // sem sincronização própria: só fica certo se a trava serializar
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(pool.submit(() -> {
+                largada.await();
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    travas.executarComTrava(1L, "/teste", () -> {
+                        maximoSimultaneo.accumulateAndGet(dentro.incrementAndGet(), Math::max);
+                        total[0]++;
+                        return dentro.decrementAndGet();
+                    });
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS); // nenhuma operação esgotou a espera
+        }
+        pool.shutdown();
+
+        assertEquals(1, maximoSimultaneo.get());
+        assertEquals(THREADS * OPERACOES_POR_THREAD, total[0]);
+        assertEquals(0, travas.travasEmUso(), "Travas sem uso devem ser descartadas");
+    }
+
+    @Test
+    void caixasDiferentes_naoEsperamUmPeloOutro() throws Exception {
+        TravasPorCaixa travas = new TravasPorCaixa(5000);
+        CountDownLatch caixa1Travado = new CountDownLatch(1);
+        CountDownLatch liberarCaixa1 = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<?> segurando = pool.submit(() -> travas.executarComTrava(1L, "/teste", () -> {
+            caixa1Travado.countDown();
+            return aguardar(liberarCaixa1);
+        }));
+        assertTrue(caixa1Travado.await(5, TimeUnit.SECONDS));
+
+        // caixa 2 segue enquanto o caixa 1 continua travado
+        Future<?> outroCaixa = pool.submit(() -> travas.executarComTrava(2L, "/teste", () -> true));
+        outroCaixa.get(2, TimeUnit.SECONDS);
+
+        liberarCaixa1.countDown();
+        segurando.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+        assertEquals(0, travas.travasEmUso());
+    }
+
+    @Test
+    void esperaEsgotada_deveLancarConflito() throws Exception {
+        TravasPorCaixa travas = new TravasPorCaixa(50);
+        CountDownLatch travado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<?> segurando = pool.submit(() -> travas.executarComTrava(1L, "/teste", () -> {
+            travado.countDown();
+            return aguardar(liberar);
+        }));
+        assertTrue(travado.await(5, TimeUnit.SECONDS));
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> travas.executarComTrava(1L, "/teste", () -> true));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+
+        // o caixa 0 vem antes na ordem e já tinha sido travado quando o 1 esgotou a espera: deve ser liberado
+        assertThrows(ApiException.class, () -> travas.executarComTrava(List.of(1L, 0L), "/teste", () -> true));
+        // em outra thread (a do pool está presa segurando o caixa 1): nesta a trava seria reentrante
+        ExecutorService outra = Executors.newSingleThreadExecutor();
+        assertTrue(outra.submit(() -> travas.executarComTrava(0L, "/teste", () -> true)).get(1, TimeUnit.SECONDS));
+        outra.shutdown();
+
+        liberar.countDown();
+        segurando.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+        assertEquals(0, travas.travasEmUso());
+    }
+
+    @Test
+    void dentroDeTransacao_deveLancarIllegalState() {
+        TravasPorCaixa travas = new TravasPorCaixa(50);
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(IllegalStateException.class, () -> travas.executarComTrava(1L, "/teste", () -> true));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(0, travas.travasEmUso());
+    }
+
+    @Test
+    void operacaoComErro_liberaATrava() {
+        TravasPorCaixa travas = new TravasPorCaixa(50);
+
+        assertThrows(IllegalArgumentException.class, () -> travas.executarComTrava(1L, "/teste", () -> {
+            throw new IllegalArgumentException("falhou");
+        }));
+
+        assertEquals(0, travas.travasEmUso());
+        assertTrue(travas.executarComTrava(1L, "/teste", () -> true));
+    }
+
+    private static boolean aguardar(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
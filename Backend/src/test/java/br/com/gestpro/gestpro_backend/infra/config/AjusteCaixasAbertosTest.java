@@ -0,0 +1,105 @@
+package br.com.gestpro.gestpro_backend.infra.config;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.StatusCaixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Caixas abertos antes da restrição única não têm a coluna preenchida; só o mais recente de cada usuário
+ * passa a ocupar a reserva.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ajuste-caixas;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AjusteCaixasAbertos.class)
+class AjusteCaixasAbertosTest {
+
+    @Autowired
+    private AjusteCaixasAbertos ajuste;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void afterPropertiesSet_reservaSoOCaixaAbertoMaisRecenteDeCadaUsuario() {
+        Usuario loja = novoUsuario("loja@teste.com");
+        Caixa antigo = novoCaixa(loja, StatusCaixa.ABERTO);
+        Caixa recente = novoCaixa(loja, StatusCaixa.ABERTO);
+        Caixa fechado = novoCaixa(loja, StatusCaixa.FECHADO);
+
+        ajuste.afterPropertiesSet();
+
+        assertNull(reserva(antigo));
+        assertEquals(loja.getId(), reserva(recente));
+        assertNull(reserva(fechado));
+    }
+
+    @Test
+    void afterPropertiesSet_usuarioJaReservado_naoMexe() {
+        Usuario loja = novoUsuario("reservado@teste.com");
+        Caixa reservado = novoCaixa(loja, StatusCaixa.ABERTO);
+        jdbcTemplate.update("UPDATE caixa SET aberto_usuario_id = ? WHERE id = ?", loja.getId(), reservado.getId());
+        Caixa duplicado = novoCaixa(loja, StatusCaixa.ABERTO);
+
+        ajuste.afterPropertiesSet();
+        ajuste.afterPropertiesSet();
+
+        assertEquals(loja.getId(), reserva(reservado));
+        assertNull(reserva(duplicado));
+    }
+
+    @Test
+    void restricaoUnica_recusaSegundaReservaDoMesmoUsuario() {
+        Usuario loja = novoUsuario("unica@teste.com");
+        Caixa primeiro = novoCaixa(loja, StatusCaixa.ABERTO);
+        Caixa segundo = novoCaixa(loja, StatusCaixa.ABERTO);
+        jdbcTemplate.update("UPDATE caixa SET aberto_usuario_id = ? WHERE id = ?", loja.getId(), primeiro.getId());
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "UPDATE caixa SET aberto_usuario_id = ? WHERE id = ?", loja.getId(), segundo.getId()));
+    }
+
+    private Long reserva(Caixa caixa) {
+        return jdbcTemplate.queryForObject("SELECT aberto_usuario_id FROM caixa WHERE id = ?", Long.class, caixa.getId());
+    }
+
+    private Usuario novoUsuario(String email) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail(email);
+        entityManager.persist(usuario);
+        return usuario;
+    }
+
+    private Caixa novoCaixa(Usuario usuario, StatusCaixa status) {
+        Caixa caixa = new Caixa();
+        caixa.setValorInicial(BigDecimal.ZERO);
+        caixa.setTotalVendas(BigDecimal.ZERO);
+        caixa.setAbertoPor(usuario.getEmail());
+        caixa.setUsuario(usuario);
+        caixa.setStatus(status);
+        caixa.setAberto(status == StatusCaixa.ABERTO);
+        entityManager.persist(caixa);
+        entityManager.flush();
+        return caixa;
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.gestpro.gestpro_backend.infra.config;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.FormaDePagamento;
+import br.com.gestpro.gestpro_backend.domain.model.modules.caixa.Caixa;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Com o dialeto do MySQL as sequences de Venda/ItemVenda são tabelas; um banco que já tinha vendas com ids
+ * de IDENTITY precisa que elas comecem acima do maior id.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ajuste-sequencias;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AjusteSequenciasVenda.class)
+class AjusteSequenciasVendaTest {
+
+    @Autowired
+    private AjusteSequenciasVenda ajuste;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ajustar_vendasExistentes_sequenceComecaAcimaDoMaiorId() {
+        Venda venda = novaVenda();
+        jdbcTemplate.update("UPDATE venda SET id = 500 WHERE id = ?", venda.getId()); // id legado de IDENTITY
+        jdbcTemplate.update("UPDATE venda_seq SET next_val = 1");
+
+        ajuste.ajustar("venda_seq", "venda");
+
+        assertEquals(501L, proximoValor("venda_seq"));
+    }
+
+    @Test
+    void ajustar_sequenceJaAFrente_naoRecua() {
+        novaVenda();
+        jdbcTemplate.update("UPDATE venda_seq SET next_val = 10000");
+
+        ajuste.ajustar("venda_seq", "venda");
+
+        assertEquals(10000L, proximoValor("venda_seq"));
+    }
+
+    @Test
+    void ajustar_tabelaDeSequenceVazia_gravaALinha() {
+        jdbcTemplate.update("DELETE FROM item_venda_seq");
+
+        ajuste.ajustar("item_venda_seq", "item_venda");
+
+        assertEquals(1L, proximoValor("item_venda_seq"));
+    }
+
+    private long proximoValor(String sequencia) {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM " + sequencia, Long.class);
+    }
+
+    private Venda novaVenda() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Loja");
+        usuario.setEmail("sequencia@teste.com");
+        entityManager.persist(usuario);
+
+        Caixa caixa = new Caixa();
+        caixa.setValorInicial(BigDecimal.ZERO);
+        caixa.setTotalVendas(BigDecimal.ZERO);
+        caixa.setAbertoPor("sequencia@teste.com");
+        caixa.setUsuario(usuario);
+        entityManager.persist(caixa);
+
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setCaixa(caixa);
+        venda.setFormaPagamento(FormaDePagamento.PIX);
+        entityManager.persist(venda);
+        entityManager.flush();
+        return venda;
+    }
+}
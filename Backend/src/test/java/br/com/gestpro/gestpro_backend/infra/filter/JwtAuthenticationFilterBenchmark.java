@@ -0,0 +1,108 @@
+package br.com.gestpro.gestpro_backend.infra.filter;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
+import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
+import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
+import br.com.gestpro.gestpro_backend.infra.jwt.CachePrincipalJwt;
+import br.com.gestpro.gestpro_backend.infra.jwt.CacheTokensVerificados;
+import br.com.gestpro.gestpro_backend.infra.jwt.JwtService;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Custo do filtro JWT por requisição. Não roda com os testes; depois de {@code mvn test-compile}:
+ *
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main JwtAuthenticationFilterBenchmark
+ * </pre>
+ *
+ * principalDoBanco usa um repositório simulado: mede o filtro sem o tempo da consulta em si. A lista de
+ * revogados está vazia, então a checagem fica no filtro de Bloom (o Redis simulado nunca é chamado).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String EMAIL = "loja@teste.com";
+    private static final long EXPIRACAO_MS = 3_600_000;
+
+    private JwtAuthenticationFilter doToken;
+    private JwtAuthenticationFilter doTokenSemCacheDeTokens;
+    private JwtAuthenticationFilter doBanco;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtService jwtService = new JwtService(
+                Base64.getEncoder().encodeToString("chave-de-benchmark-com-pelo-menos-32-bytes".getBytes()), EXPIRACAO_MS);
+
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNome("Loja");
+        usuario.setEmail(EMAIL);
+        usuario.setTipoPlano(TipoPlano.ASSINANTE);
+        usuario.setStatusAcesso(StatusAcesso.ATIVO);
+        token = jwtService.gerarToken(usuario);
+
+        UsuarioRepository repositorio = mock(UsuarioRepository.class);
+        when(repositorio.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+
+        doToken = filtro(jwtService, repositorio, 100, true);
+        doTokenSemCacheDeTokens = filtro(jwtService, repositorio, 0, true);
+        doBanco = filtro(jwtService, repositorio, 100, false);
+    }
+
+    @Benchmark
+    public Authentication principalDoToken() throws Exception {
+        return filtrar(doToken);
+    }
+
+    /**
+     * Verifica a assinatura a cada requisição (cache de tokens com tamanho zero).
+     */
+    @Benchmark
+    public Authentication principalDoTokenSemCacheDeTokens() throws Exception {
+        return filtrar(doTokenSemCacheDeTokens);
+    }
+
+    @Benchmark
+    public Authentication principalDoBanco() throws Exception {
+        return filtrar(doBanco);
+    }
+
+    private static JwtAuthenticationFilter filtro(JwtService jwtService, UsuarioRepository repositorio,
+                                                  long tokensEmCache, boolean principalDoToken) {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        RevogacaoTokens revogacao = new RevogacaoTokens(redis, EXPIRACAO_MS, 1000, 300_000);
+        return new JwtAuthenticationFilter(jwtService, new CacheTokensVerificados(jwtService, tokensEmCache),
+                revogacao, repositorio, new CachePrincipalJwt(redis, 60, 100, EXPIRACAO_MS), principalDoToken);
+    }
+
+    private Authentication filtrar(JwtAuthenticationFilter filtro) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("jwt_token", token));
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
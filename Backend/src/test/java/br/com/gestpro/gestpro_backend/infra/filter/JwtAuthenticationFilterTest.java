@@ -0,0 +1,138 @@
+package br.com.gestpro.gestpro_backend.infra.filter;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.auth.UsuarioPrincipal;
+import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
+import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
+import br.com.gestpro.gestpro_backend.domain.repository.auth.UsuarioRepository;
+import br.com.gestpro.gestpro_backend.infra.jwt.CachePrincipalJwt;
+import br.com.gestpro.gestpro_backend.infra.jwt.CacheTokensVerificados;
+import br.com.gestpro.gestpro_backend.infra.jwt.JwtService;
+import br.com.gestpro.gestpro_backend.infra.jwt.RevogacaoTokens;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "loja@teste.com";
+    private static final long EXPIRACAO_MS = 3_600_000;
+
+    private JwtService jwtService;
+    private UsuarioRepository usuarioRepository;
+    private CachePrincipalJwt cachePrincipal;
+    private ZSetOperations<String, String> revogados;
+    private RevogacaoTokens revogacao;
+    private JwtAuthenticationFilter filtro;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        jwtService = new JwtService(
+                Base64.getEncoder().encodeToString("chave-de-teste-com-pelo-menos-32-bytes".getBytes()), EXPIRACAO_MS);
+
+        usuarioRepository = mock(UsuarioRepository.class);
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        cachePrincipal = new CachePrincipalJwt(redis, 60, 100, EXPIRACAO_MS);
+        revogados = mock(ZSetOperations.class);
+        when(redis.opsForZSet()).thenReturn(revogados);
+        revogacao = new RevogacaoTokens(redis, EXPIRACAO_MS, 1000, 300_000);
+        filtro = new JwtAuthenticationFilter(jwtService, new CacheTokensVerificados(jwtService, 100), revogacao,
+                usuarioRepository, cachePrincipal, true);
+    }
+
+    @AfterEach
+    void limpar() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalDoToken_naoConsultaOBanco() throws Exception {
+        String token = jwtService.gerarToken(usuario(TipoPlano.EXPERIMENTAL));
+
+        Usuario autenticado = autenticar(token);
+        autenticar(token);
+
+        assertEquals(EMAIL, autenticado.getEmail());
+        assertEquals(7L, autenticado.getId());
+        assertEquals(TipoPlano.EXPERIMENTAL, autenticado.getTipoPlano());
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void principalDoToken_depoisDeMudarOPlano_tokenAntigoLeDoBanco() throws Exception {
+        String token = jwtService.gerarToken(usuario(TipoPlano.EXPERIMENTAL));
+        autenticar(token);
+
+        when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario(TipoPlano.ASSINANTE)));
+        Thread.sleep(5); // mudança depois da emissão
+        cachePrincipal.invalidar(EMAIL);
+
+        assertEquals(TipoPlano.ASSINANTE, autenticar(token).getTipoPlano());
+        assertEquals(TipoPlano.ASSINANTE, autenticar(token).getTipoPlano()); // segunda vez, do cache
+        verify(usuarioRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void tokenRevogado_naoAutentica() throws Exception {
+        String token = jwtService.gerarToken(usuario(TipoPlano.EXPERIMENTAL));
+        autenticar(token);
+
+        String jti = jwtService.verificar(token).id();
+        revogacao.revogarToken(jwtService.verificar(token));
+        when(revogados.score(anyString(), eq(jti))).thenReturn(1.0);
+
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("jwt_token", token));
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void tokenInvalido_naoAutentica() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("jwt_token", "nao.e.um.token"));
+
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private Usuario autenticar(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("jwt_token", token));
+
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(autenticacao);
+        return ((UsuarioPrincipal) autenticacao.getPrincipal()).getUsuario();
+    }
+
+    private Usuario usuario(TipoPlano plano) {
+        Usuario usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setNome("Loja");
+        usuario.setEmail(EMAIL);
+        usuario.setTipoPlano(plano);
+        usuario.setStatusAcesso(StatusAcesso.ATIVO);
+        return usuario;
+    }
+}
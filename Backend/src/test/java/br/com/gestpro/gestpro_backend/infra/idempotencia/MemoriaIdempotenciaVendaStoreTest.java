@@ -0,0 +1,122 @@
+package br.com.gestpro.gestpro_backend.infra.idempotencia;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoriaIdempotenciaVendaStoreTest {
+
+    private RelogioManual relogio;
+    private MemoriaIdempotenciaVendaStore store;
+
+    @BeforeEach
+    void setup() {
+        relogio = new RelogioManual();
+        store = new MemoriaIdempotenciaVendaStore(Duration.ofMinutes(10), relogio);
+    }
+
+    @Test
+    void reservar_segundaTentativaComMesmaChave_falha() {
+        assertNotNull(store.reservar("k1", "h1"));
+        assertNull(store.reservar("k1", "h1"));
+
+        IdempotenciaVendaStore.Registro registro = store.buscar("k1").orElseThrow();
+        assertTrue(registro.emProcessamento(), "Reserva em andamento não tem resposta");
+        assertEquals("h1", registro.hashPayload());
+    }
+
+    @Test
+    void concluir_retentativaRecebeMesmaRespostaEOHash() {
+        VendaResponseDTO resposta = resposta(42L);
+
+        store.reservar("k2", "h2");
+        store.concluir("k2", "h2", resposta);
+
+        IdempotenciaVendaStore.Registro registro = store.buscar("k2").orElseThrow();
+        assertSame(resposta, registro.resposta());
+        assertEquals("h2", registro.hashPayload());
+        assertNull(store.reservar("k2", "h2"));
+    }
+
+    @Test
+    void liberar_permiteNovaTentativaAposErro() {
+        String reserva = store.reservar("k3", "h3");
+        store.liberar("k3", reserva);
+
+        assertNotNull(store.reservar("k3", "h3"));
+    }
+
+    @Test
+    void liberar_comReservaDeOutraRequisicao_naoApaga() {
+        String antiga = store.reservar("k6", "h6");
+        relogio.avancar(Duration.ofMinutes(10)); // a reserva expira e outra requisição pega a chave
+        String atual = store.reservar("k6", "h6");
+        assertNotNull(atual);
+
+        store.liberar("k6", antiga);
+
+        assertNull(store.reservar("k6", "h6"), "A reserva atual deve continuar valendo");
+    }
+
+    @Test
+    void liberar_naoApagaRespostaConcluida() {
+        String reserva = store.reservar("k4", "h4");
+        store.concluir("k4", "h4", resposta(7L));
+        store.liberar("k4", reserva);
+
+        assertFalse(store.buscar("k4").orElseThrow().emProcessamento());
+    }
+
+    @Test
+    void entradaExpirada_naoEDevolvidaERemovidaNaLimpeza() {
+        store.reservar("k5", "h5");
+        store.concluir("k5", "h5", resposta(9L));
+
+        relogio.avancar(Duration.ofMinutes(10));
+
+        assertTrue(store.buscar("k5").isEmpty());
+        assertNotNull(store.reservar("k5", "h5"), "Chave expirada pode ser reservada de novo");
+
+        relogio.avancar(Duration.ofMinutes(10));
+        store.removerExpiradas();
+        assertEquals(0, store.tamanho());
+    }
+
+    private VendaResponseDTO resposta(Long id) {
+        Venda venda = new Venda();
+        venda.setId(id);
+        return new VendaResponseDTO(venda);
+    }
+
+    private static class RelogioManual extends Clock {
+        private Instant agora = Instant.parse("2026-01-01T10:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.gestpro.gestpro_backend.infra.idempotencia;
+
+import br.com.gestpro.gestpro_backend.api.dto.modules.vendas.VendaResponseDTO;
+import br.com.gestpro.gestpro_backend.domain.model.modules.venda.Venda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RedisIdempotenciaVendaStoreTest {
+
+    private ValueOperations<String, String> valores;
+    private RedisIdempotenciaVendaStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        valores = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(valores);
+        store = new RedisIdempotenciaVendaStore(redis, 60, 30);
+    }
+
+    @Test
+    void reservar_usaOTtlCurtoDaReserva() {
+        when(valores.setIfAbsent(eq("idempotencia:venda:k1"), anyString(), any(Duration.class))).thenReturn(true);
+
+        String reserva = store.reservar("k1", "h1");
+
+        assertNotNull(reserva);
+        verify(valores).setIfAbsent("idempotencia:venda:k1", reserva, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void concluir_estendeParaOTtlDaResposta() {
+        Venda venda = new Venda();
+        venda.setId(42L);
+
+        store.concluir("k1", "h1", new VendaResponseDTO(venda));
+
+        verify(valores).set(eq("idempotencia:venda:k1"), contains("\"hashPayload\":\"h1\""), eq(Duration.ofMinutes(60)));
+    }
+}
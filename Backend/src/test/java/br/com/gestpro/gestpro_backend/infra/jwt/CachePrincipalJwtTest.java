@@ -0,0 +1,101 @@
+package br.com.gestpro.gestpro_backend.infra.jwt;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachePrincipalJwtTest {
+
+    private static final String EMAIL = "loja@teste.com";
+    private static final long EXPIRACAO_MS = 3_600_000;
+
+    private StringRedisTemplate redis;
+    private CachePrincipalJwt estaInstancia;
+    private CachePrincipalJwt outraInstancia;
+    private Date emitidoEm;
+
+    @BeforeEach
+    void setup() {
+        redis = mock(StringRedisTemplate.class);
+        estaInstancia = new CachePrincipalJwt(redis, 60, 100, EXPIRACAO_MS);
+        outraInstancia = new CachePrincipalJwt(redis, 60, 100, EXPIRACAO_MS);
+        emitidoEm = new Date(System.currentTimeMillis() - 1000);
+    }
+
+    @Test
+    void mudancaEmOutraInstancia_tokenAntigoPassaASerResolvidoPeloBanco() {
+        assertEquals(TipoPlano.EXPERIMENTAL, plano(outraInstancia));
+
+        estaInstancia.invalidar(EMAIL);
+        outraInstancia.onMessage(mensagem(publicada()), null);
+
+        assertEquals(TipoPlano.ASSINANTE, plano(outraInstancia));
+    }
+
+    @Test
+    void propriaMensagem_ignorada() {
+        assertEquals(TipoPlano.EXPERIMENTAL, plano(estaInstancia));
+        estaInstancia.invalidar(EMAIL);
+        assertEquals(TipoPlano.ASSINANTE, plano(estaInstancia));
+
+        // a mensagem volta pelo canal para quem publicou: não muda a hora já anotada
+        estaInstancia.onMessage(mensagem(publicada()), null);
+
+        assertEquals(TipoPlano.ASSINANTE, plano(estaInstancia));
+    }
+
+    @Test
+    void redisIndisponivel_invalidaSoNestaInstancia() {
+        doThrow(new IllegalStateException("sem conexão")).when(redis).convertAndSend(anyString(), anyString());
+        assertEquals(TipoPlano.EXPERIMENTAL, plano(estaInstancia));
+
+        assertDoesNotThrow(() -> estaInstancia.invalidar(EMAIL));
+
+        assertEquals(TipoPlano.ASSINANTE, plano(estaInstancia));
+    }
+
+    @Test
+    void tokenEmitidoDepoisDaMudanca_continuaSaindoDosClaims() {
+        estaInstancia.invalidar(EMAIL);
+        outraInstancia.onMessage(mensagem(publicada()), null);
+        emitidoEm = new Date(System.currentTimeMillis() + 1000); // novo login
+
+        assertEquals(TipoPlano.EXPERIMENTAL, plano(outraInstancia));
+    }
+
+    private TipoPlano plano(CachePrincipalJwt cache) {
+        return cache.obter(EMAIL, emitidoEm, () -> usuario(TipoPlano.EXPERIMENTAL),
+                        () -> Optional.of(usuario(TipoPlano.ASSINANTE)))
+                .orElseThrow().getUsuario().getTipoPlano();
+    }
+
+    private String publicada() {
+        ArgumentCaptor<String> corpo = ArgumentCaptor.forClass(String.class);
+        verify(redis).convertAndSend(eq(CachePrincipalJwt.CANAL), corpo.capture());
+        return corpo.getValue();
+    }
+
+    private static DefaultMessage mensagem(String corpo) {
+        return new DefaultMessage(CachePrincipalJwt.CANAL.getBytes(StandardCharsets.UTF_8),
+                corpo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Usuario usuario(TipoPlano plano) {
+        Usuario usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setEmail(EMAIL);
+        usuario.setTipoPlano(plano);
+        return usuario;
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.gestpro.gestpro_backend.infra.jwt;
+
+import br.com.gestpro.gestpro_backend.api.dto.auth.jwt.EstatisticasCacheTokensDTO;
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
+import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheTokensVerificadosTest {
+
+    private static final String SEGREDO =
+            Base64.getEncoder().encodeToString("chave-de-teste-com-pelo-menos-32-bytes".getBytes());
+
+    @Test
+    void verificar_mesmoToken_verificaUmaVez() {
+        JwtService jwtService = spy(new JwtService(SEGREDO, 60_000));
+        CacheTokensVerificados cache = new CacheTokensVerificados(jwtService, 100);
+        String token = jwtService.gerarToken(usuario());
+
+        assertEquals("loja@teste.com", cache.verificar(token).email());
+        assertEquals("loja@teste.com", cache.verificar(token).email());
+        cache.verificar(token);
+
+        verify(jwtService, times(1)).verificar(token);
+        EstatisticasCacheTokensDTO stats = cache.estatisticas();
+        assertEquals(2, stats.getAcertos());
+        assertEquals(1, stats.getFaltas());
+        assertEquals(2.0 / 3, stats.getTaxaAcerto(), 0.0001);
+        assertEquals(1, stats.getTamanho());
+    }
+
+    @Test
+    void verificar_tokenExpirado_naoVemDoCache() throws InterruptedException {
+        JwtService jwtService = new JwtService(SEGREDO, 1_000); // exp em segundos: vence em até 1s
+        CacheTokensVerificados cache = new CacheTokensVerificados(jwtService, 100);
+        String token = jwtService.gerarToken(usuario());
+        cache.verificar(token);
+
+        Thread.sleep(1_100);
+
+        assertThrows(RuntimeException.class, () -> cache.verificar(token));
+    }
+
+    @Test
+    void verificar_tokenInvalido_naoEntraNoCache() {
+        CacheTokensVerificados cache = new CacheTokensVerificados(new JwtService(SEGREDO, 60_000), 100);
+
+        assertThrows(RuntimeException.class, () -> cache.verificar("token.quebrado.fake"));
+        assertThrows(RuntimeException.class, () -> cache.verificar("token.quebrado.fake"));
+
+        assertEquals(0, cache.estatisticas().getAcertos());
+        assertEquals(0, cache.estatisticas().getTamanho());
+    }
+
+    private Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("loja@teste.com");
+        usuario.setNome("Loja");
+        usuario.setTipoPlano(TipoPlano.EXPERIMENTAL);
+        usuario.setStatusAcesso(StatusAcesso.ATIVO);
+        return usuario;
+    }
+}
@@ -10,7 +10,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.security.Key;
 import java.util.Base64;
@@ -27,14 +26,11 @@ class JwtServiceTest {
 
     @BeforeEach
     void setup() {
-        jwtService = new JwtService();
-
         // Gera chave segura
         Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
         secretKeyBase64 = Base64.getEncoder().encodeToString(key.getEncoded());
 
-        ReflectionTestUtils.setField(jwtService, "secretKey", secretKeyBase64);
-        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 1000 * 60); // 1 minuto
+        jwtService = new JwtService(secretKeyBase64, 1000 * 60); // 1 minuto
 
         usuario = new Usuario();
         usuario.setEmail("teste@email.com");
@@ -65,6 +61,21 @@ class JwtServiceTest {
         assertEquals("teste@email.com", email);
     }
 
+    @Test
+    void deveVerificarUmaVezEExporClaims() {
+        usuario.setId(42L);
+        String token = jwtService.gerarToken(usuario);
+
+        TokenVerificado verificado = jwtService.verificar(token);
+
+        assertEquals("teste@email.com", verificado.email());
+        assertEquals("EXPERIMENTAL", verificado.claim("tipoPlano", String.class));
+        assertTrue(verificado.expiraEm().after(verificado.emitidoEm()));
+        Usuario doToken = jwtService.usuarioDoToken(verificado);
+        assertEquals(42L, doToken.getId());
+        assertEquals(StatusAcesso.ATIVO, doToken.getStatusAcesso());
+    }
+
     // -------------------- VALIDAÇÃO --------------------
 
     @Test
@@ -99,7 +110,7 @@ class JwtServiceTest {
 
     @Test
     void deveDetectarTokenExpirado() throws InterruptedException {
-        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 1L);
+        jwtService = new JwtService(secretKeyBase64, 1L);
 
         String token = jwtService.gerarToken(usuario);
 
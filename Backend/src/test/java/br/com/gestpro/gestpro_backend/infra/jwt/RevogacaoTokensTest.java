@@ -0,0 +1,151 @@
+package br.com.gestpro.gestpro_backend.infra.jwt;
+
+import br.com.gestpro.gestpro_backend.domain.model.auth.Usuario;
+import br.com.gestpro.gestpro_backend.domain.model.enums.StatusAcesso;
+import br.com.gestpro.gestpro_backend.domain.model.enums.TipoPlano;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RevogacaoTokensTest {
+
+    private static final String EMAIL = "loja@teste.com";
+    private static final long EXPIRACAO_MS = 3_600_000;
+
+    private final JwtService jwtService = new JwtService(
+            Base64.getEncoder().encodeToString("chave-de-teste-com-pelo-menos-32-bytes".getBytes()), EXPIRACAO_MS);
+
+    private StringRedisTemplate redis;
+    private ZSetOperations<String, String> zset;
+    private RevogacaoTokens revogacao;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        redis = mock(StringRedisTemplate.class);
+        zset = mock(ZSetOperations.class);
+        when(redis.opsForZSet()).thenReturn(zset);
+        revogacao = new RevogacaoTokens(redis, EXPIRACAO_MS, 1000, 300_000);
+    }
+
+    @Test
+    void revogado_foraDoFiltro_naoConsultaORedis() {
+        TokenVerificado token = novoToken();
+
+        assertFalse(revogacao.revogado(token));
+        assertFalse(revogacao.revogado(token));
+
+        verifyNoInteractions(zset);
+    }
+
+    @Test
+    void revogarToken_gravaOExpEPublica() {
+        TokenVerificado token = novoToken();
+
+        revogacao.revogarToken(token);
+        when(zset.score(RevogacaoTokens.CHAVE_TOKENS, token.id())).thenReturn(1.0);
+
+        verify(zset).add(RevogacaoTokens.CHAVE_TOKENS, token.id(), token.expiraEm().getTime());
+        verify(redis).convertAndSend(RevogacaoTokens.CANAL, "j:" + token.id());
+        assertTrue(revogacao.revogado(token));
+        assertFalse(revogacao.revogado(novoToken()));
+    }
+
+    @Test
+    void revogarDoUsuario_derrubaTokensAntigos_eNaoOsEmitidosDepois() throws InterruptedException {
+        TokenVerificado antigo = novoToken();
+        Thread.sleep(1_000); // iat em segundos
+
+        revogacao.revogarDoUsuario(EMAIL);
+        long revogadoEm = System.currentTimeMillis() / 1000 * 1000;
+        when(zset.score(RevogacaoTokens.CHAVE_USUARIOS, EMAIL)).thenReturn((double) revogadoEm);
+        TokenVerificado novo = novoToken();
+
+        assertTrue(revogacao.revogado(antigo));
+        assertFalse(revogacao.revogado(novo));
+        assertFalse(revogacao.revogado(novo));
+        verify(zset, times(1)).score(RevogacaoTokens.CHAVE_USUARIOS, EMAIL); // instante guardado em memória
+    }
+
+    @Test
+    void revogado_redisFora_trataComoRevogado() {
+        TokenVerificado token = novoToken();
+        revogacao.revogarToken(token);
+        when(zset.score(anyString(), anyString())).thenThrow(new IllegalStateException("sem conexão"));
+
+        assertTrue(revogacao.revogado(token));
+    }
+
+    @Test
+    void revogar_redisFora_naoLancaENaoPublica() {
+        when(zset.add(anyString(), anyString(), anyDouble())).thenThrow(new IllegalStateException("sem conexão"));
+
+        assertDoesNotThrow(() -> revogacao.revogarToken(novoToken()));
+        assertDoesNotThrow(() -> revogacao.revogarDoUsuario(EMAIL));
+
+        verify(redis, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void onMessage_revogacaoDeOutraInstancia_entraNoFiltro() {
+        TokenVerificado token = novoToken();
+        when(zset.score(RevogacaoTokens.CHAVE_TOKENS, token.id())).thenReturn(1.0);
+
+        revogacao.onMessage(new DefaultMessage(RevogacaoTokens.CANAL.getBytes(StandardCharsets.UTF_8),
+                ("j:" + token.id()).getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(revogacao.revogado(token));
+        verify(redis, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void recarregar_montaOFiltroDoRedisEApagaVencidos() {
+        TokenVerificado token = novoToken();
+        when(zset.range(RevogacaoTokens.CHAVE_TOKENS, 0, -1)).thenReturn(Set.of(token.id()));
+        when(zset.range(RevogacaoTokens.CHAVE_USUARIOS, 0, -1)).thenReturn(Set.of());
+        when(zset.score(RevogacaoTokens.CHAVE_TOKENS, token.id())).thenReturn(1.0);
+
+        revogacao.recarregar();
+
+        verify(zset).removeRangeByScore(eq(RevogacaoTokens.CHAVE_TOKENS), eq(Double.NEGATIVE_INFINITY), anyDouble());
+        verify(zset).removeRangeByScore(eq(RevogacaoTokens.CHAVE_USUARIOS), eq(Double.NEGATIVE_INFINITY), anyDouble());
+        assertTrue(revogacao.revogado(token));
+        assertFalse(revogacao.revogado(novoToken()));
+    }
+
+    @Test
+    void filtroBloom_semFalsoNegativo_eFalsoPositivoPerto_daTaxa() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("j:" + i);
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.talvezContenha("j:" + i));
+            if (filtro.talvezContenha("u:" + i)) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 200, "falsos positivos: " + falsosPositivos);
+    }
+
+    private TokenVerificado novoToken() {
+        Usuario usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setEmail(EMAIL);
+        usuario.setNome("Loja");
+        usuario.setTipoPlano(TipoPlano.EXPERIMENTAL);
+        usuario.setStatusAcesso(StatusAcesso.ATIVO);
+        return jwtService.verificar(jwtService.gerarToken(usuario));
+    }
+}